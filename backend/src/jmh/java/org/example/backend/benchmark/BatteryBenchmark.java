@@ -0,0 +1,64 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.calculation.BatterySimulator;
+import org.example.backend.calculation.HourlySimulator;
+import org.example.backend.calculation.IrradianceSeries;
+import org.example.backend.calculation.LoadProfile;
+import org.example.backend.model.BatteryConfig;
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserPvConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Speichersimulation: ein SoC-Durchlauf vs. Sweep über 20 Kapazitäten (0,25–5 kWh) auf denselben Kurven
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatteryBenchmark {
+
+    private static final double CONSUMPTION = 3500;
+
+    private final BatteryConfig battery = new BatteryConfig(2.0, 0.9, 0.8, 0.8);
+    private double[] pvKwh;
+    private double[] loadShare;
+    private double[] capacities;
+    private double[] selfConsumed;
+    private double[] supplied;
+    private double[] discharged;
+
+    @Setup
+    public void setUp() {
+        HourlySimulator simulator = new HourlySimulator(IrradianceSeries.synthetic(51.2, 10.4, 1100), 0.9, 0.96, 0.2, -0.0037);
+        pvKwh = new double[HourlySimulator.HOURS_PER_YEAR];
+        simulator.simulate(UserPvConfig.PREMIUM_PV_COMBI, Direction.SOUTH, 30, 0.0, pvKwh);
+
+        LoadProfile profile = LoadProfile.forHousehold(3);
+        loadShare = new double[LoadProfile.HOURS_PER_YEAR];
+        for (int h = 0; h < loadShare.length; h++) {
+            loadShare[h] = profile.share(h);
+        }
+
+        capacities = new double[20];
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = 0.25 * (i + 1);
+        }
+        selfConsumed = new double[capacities.length];
+        supplied = new double[capacities.length];
+        discharged = new double[capacities.length];
+    }
+
+    @Benchmark
+    public BatterySimulator.Result simulate() {
+        return BatterySimulator.simulate(pvKwh, 1.0, loadShare, CONSUMPTION, battery);
+    }
+
+    @Benchmark
+    public double[] sweep() {
+        BatterySimulator.sweep(pvKwh, 1.0, loadShare, CONSUMPTION, battery, capacities, selfConsumed, supplied, discharged);
+        return supplied;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.calculation.DegradationModel;
+import org.example.backend.calculation.SelfConsumptionModel;
+import org.example.backend.calculation.YieldCalculator;
+import org.example.backend.calculation.YieldTable;
+import org.example.backend.model.*;
+import org.example.backend.repo.ResultAggregateRepository;
+import org.example.backend.repo.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+// Gemeinsame Testdaten und In-Memory-Stubs für UserRepository/ResultAggregateRepository (ohne Mockito-Overhead)
+final class BenchmarkFixtures {
+
+    static final UserInfo INFO = new UserInfo(32, 3, 3500, "10115");
+    static final UserConditions CONDITIONS = new UserConditions(
+            UserPvConfig.MEDIUM_PV_COMBI, 35, Direction.SOUTHWEST, 0.1
+    );
+
+    private BenchmarkFixtures() {
+    }
+
+    static YieldCalculator yieldCalculator() {
+        YieldTable table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        return new YieldCalculator(table, table, SelfConsumptionModel.standard());
+    }
+
+    static User calculatedUser() {
+        return new User("bench-user", INFO, CONDITIONS, yieldCalculator().calculate(INFO, CONDITIONS));
+    }
+
+    // findById liefert immer denselben User, Schreibzugriffe geben den aktualisierten User zurück
+    static UserRepository stubRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(user);
+                    case "save" -> args[0];
+                    case "updateUserResult" -> Optional.of(new User(
+                            user.userId(), user.userInfo(), user.userConditions(), (UserResult) args[1], user.version()));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    // Aggregat-Updates werden verworfen: gemessen wird der Aufbau der Änderungen, nicht der Schreibzugriff
+    static ResultAggregateRepository stubAggregateRepository() {
+        return (ResultAggregateRepository) Proxy.newProxyInstance(
+                ResultAggregateRepository.class.getClassLoader(),
+                new Class<?>[]{ResultAggregateRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "apply" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+}
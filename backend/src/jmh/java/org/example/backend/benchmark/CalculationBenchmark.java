@@ -0,0 +1,70 @@
+package org.example.backend.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.calculation.ConfigurationOptimizer;
+import org.example.backend.calculation.UncertaintyModel;
+import org.example.backend.calculation.YieldCalculator;
+import org.example.backend.calculation.YieldResultCache;
+import org.example.backend.model.OptimizationConstraints;
+import org.example.backend.model.OptimizationResult;
+import org.example.backend.model.UncertaintyResult;
+import org.example.backend.model.User;
+import org.example.backend.model.UserResult;
+import org.example.backend.service.RecalculationQueue;
+import org.example.backend.service.ResultAggregateService;
+import org.example.backend.service.UserResultEvents;
+import org.example.backend.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculationBenchmark {
+
+    private UserService userService;
+    private YieldCalculator yieldCalculator;
+
+    @Setup
+    public void setUp() {
+        yieldCalculator = BenchmarkFixtures.yieldCalculator();
+        User user = new User("bench-user", BenchmarkFixtures.INFO, BenchmarkFixtures.CONDITIONS, null);
+        userService = new UserService(
+                BenchmarkFixtures.stubRepository(user),
+                new YieldResultCache(yieldCalculator, new SimpleMeterRegistry(), 10_000, Duration.ofHours(1)),
+                yieldCalculator,
+                new ConfigurationOptimizer(yieldCalculator),
+                new UncertaintyModel(yieldCalculator, 10_000, 0.05, 0.05, 0.1, 42L),
+                new RecalculationQueue(false, 1, new SimpleMeterRegistry()),
+                new UserResultEvents(16, Duration.ofMinutes(30), new SimpleMeterRegistry()),
+                new ResultAggregateService(BenchmarkFixtures.stubAggregateRepository(), null, new SimpleMeterRegistry())
+        );
+    }
+
+    @Benchmark
+    public User calculateUserResult() {
+        return userService.calculateUserResult("bench-user");
+    }
+
+    @Benchmark
+    public UserResult yieldCalculatorOnly() {
+        return yieldCalculator.calculate(BenchmarkFixtures.INFO, BenchmarkFixtures.CONDITIONS);
+    }
+
+    // Gesamter Suchraum (3 Module × 8 Ausrichtungen × 19 Winkel)
+    @Benchmark
+    public OptimizationResult optimizeAll() {
+        return userService.optimizeUserConditions(BenchmarkFixtures.INFO, OptimizationConstraints.all());
+    }
+
+    // Monte-Carlo mit 10.000 Stichproben (Standard)
+    @Benchmark
+    public UncertaintyResult uncertainty() {
+        return userService.previewUncertainty(BenchmarkFixtures.INFO, BenchmarkFixtures.CONDITIONS, null);
+    }
+}
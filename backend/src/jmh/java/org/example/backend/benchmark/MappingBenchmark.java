@@ -0,0 +1,38 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.dto.UserResponseDTO;
+import org.example.backend.dto.UserResultDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.mapper.UserResponseMapping;
+import org.example.backend.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private UserMapper mapper;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        mapper = new UserMapper();
+        user = BenchmarkFixtures.calculatedUser();
+    }
+
+    @Benchmark
+    public UserResponseDTO toUserResponseDTO() {
+        return UserResponseMapping.toUserResponseDTO(mapper, user);
+    }
+
+    @Benchmark
+    public UserResultDTO toUserResultDTO() {
+        return mapper.toUserResultDTO(user.userResult());
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.backend.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.example.backend.config.MongoConfig;
+import org.example.backend.model.*;
+import org.example.backend.repo.UserIds;
+import org.example.backend.repo.UserRepository;
+import org.example.backend.repo.UserRepositoryCustomImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// UserRepository gegen Embedded MongoDB (flapdoodle): Insert, Lookup nach _id und die indizierten Abfragen
+// bei 1 Mio. vorhandenen Dokumenten, zufällige UUIDv4 vs. zeitlich sortierte UUIDv7 als _id.
+// Vorbefüllung einmal je Trial per Bulk-Insert, Indizes aus den Annotationen am User vorher angelegt.
+// Lädt beim ersten Lauf die Mongo-Binaries herunter; Vorbefüllung dauert je Parameter einige Minuten:
+// mvn -P benchmark verify -DskipTests -Djmh.args="RepositoryBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(8)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    public enum IdStrategy {
+        RANDOM_UUID,
+        UUID_V7
+    }
+
+    private static final int BATCH = 10_000;
+    private static final int PAGE = 50;
+    private static final UserInfo INFO = new UserInfo(32, 3, 3500);
+    private static final List<UserConditions> CONDITIONS = List.of(
+            new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 30, Direction.SOUTH, 0.0),
+            new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 35, Direction.SOUTHWEST, 0.1),
+            new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 20, Direction.EAST, 0.05)
+    );
+
+    @Param({"1000000"})
+    public int documents;
+
+    @Param
+    public IdStrategy idStrategy;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient client;
+    private UserRepository repository;
+    private String[] ids;
+    private Instant firstCreated;
+    private long createdSpanMillis;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongod = Mongod.instance().start(Version.Main.V8_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        client = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        MongoTemplate template = template(client);
+        repository = new MongoRepositoryFactory(template).getRepository(UserRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new UserRepositoryCustomImpl(template)));
+
+        ids = new String[documents];
+        List<User> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < documents; i++) {
+            User user = newUser(i);
+            ids[i] = user.userId();
+            batch.add(user);
+            if (batch.size() == BATCH) {
+                template.insert(batch, User.class);
+                batch.clear();
+            }
+        }
+        template.insert(batch, User.class);
+
+        firstCreated = repository.findById(ids[0]).orElseThrow().createdAt();
+        createdSpanMillis = Math.max(1, Duration.between(firstCreated, Instant.now()).toMillis());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        mongod.close();
+    }
+
+    @Benchmark
+    public User insert() {
+        return repository.save(newUser(ThreadLocalRandom.current().nextInt(CONDITIONS.size())));
+    }
+
+    @Benchmark
+    public User findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]).orElseThrow();
+    }
+
+    @Benchmark
+    public Slice<User> findCreatedBetween() {
+        Instant from = firstCreated.plusMillis(ThreadLocalRandom.current().nextLong(createdSpanMillis));
+        return repository.findByCreatedAtBetween(from, from.plusSeconds(60),
+                PageRequest.of(0, PAGE, Sort.by("createdAt")));
+    }
+
+    @Benchmark
+    public long countByPvConfig() {
+        return repository.countByUserConditionsUserPvConfig(
+                CONDITIONS.get(ThreadLocalRandom.current().nextInt(CONDITIONS.size())).userPvConfig());
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private User newUser(int i) {
+        String id = idStrategy == IdStrategy.UUID_V7 ? UserIds.next() : UUID.randomUUID().toString();
+        Instant createdAt = idStrategy == IdStrategy.UUID_V7 ? UserIds.timestamp(id) : Instant.now();
+        return new User(id, INFO, CONDITIONS.get(i % CONDITIONS.size()), null, null, createdAt);
+    }
+
+    // Wie im Anwendungskontext: UserPvConfig als String, Indizes aus @Indexed/@CompoundIndex
+    private static MongoTemplate template(MongoClient client) {
+        SimpleMongoClientDatabaseFactory factory = new SimpleMongoClientDatabaseFactory(client, "solarcheck-benchmark");
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+
+        MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(factory), context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        MongoTemplate template = new MongoTemplate(factory, converter);
+
+        template.dropCollection(User.class);
+        IndexOperations indexOps = template.indexOps(User.class);
+        new MongoPersistentEntityIndexResolver(context).resolveIndexFor(User.class).forEach(indexOps::createIndex);
+        return template;
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.JacksonConfig;
+import org.example.backend.dto.UserResponseDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.mapper.UserResponseMapping;
+import org.example.backend.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Antwortformate im Vergleich (Content Negotiation, WireFormatConfig): Kodieren und Dekodieren eines
+// vollständigen UserResponseDTO; die Nutzlast je Format steht als Sekundärmetrik payloadBytes im JMH-Ergebnis.
+// serializeUser: derselbe Body direkt aus dem User (UserJsonSerializer) inklusive Mapping, Vergleich mit
+// mapAndSerializeUserResponse; Allokationen je Aufruf mit -prof gc (gc.alloc.rate.norm).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    public enum Format { JSON, CBOR, SMILE }
+
+    // Nutzlast der letzten Kodierung; AuxCounters landen als Sekundärergebnis im Report (auch -rf json)
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public Format format;
+
+    private ObjectWriter writer;
+    private ObjectWriter userWriter;
+    private ObjectReader reader;
+    private UserMapper userMapper;
+    private User user;
+    private UserResponseDTO response;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case JSON -> new ObjectMapper();
+            case CBOR -> new ObjectMapper(new CBORFactory());
+            case SMILE -> new ObjectMapper(new SmileFactory());
+        };
+        mapper.registerModule(new JacksonConfig().userJsonModule(new SimpleMeterRegistry()));
+        writer = mapper.writerFor(UserResponseDTO.class);
+        userWriter = mapper.writerFor(User.class);
+        reader = mapper.readerFor(UserResponseDTO.class);
+        userMapper = new UserMapper();
+        user = BenchmarkFixtures.calculatedUser();
+        response = UserResponseMapping.toUserResponseDTO(userMapper, user);
+        payload = writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeUserResponse(Payload size) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(response);
+        size.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeUserResponse() throws IOException {
+        return writer.writeValueAsBytes(UserResponseMapping.toUserResponseDTO(userMapper, user));
+    }
+
+    @Benchmark
+    public byte[] serializeUser(Payload size) throws IOException {
+        byte[] bytes = userWriter.writeValueAsBytes(user);
+        size.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public UserResponseDTO deserializeUserResponse() throws IOException {
+        return reader.readValue(payload);
+    }
+}
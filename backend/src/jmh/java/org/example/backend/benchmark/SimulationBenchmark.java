@@ -0,0 +1,38 @@
+package org.example.backend.benchmark;
+
+import org.example.backend.calculation.HourlySimulator;
+import org.example.backend.calculation.IrradianceSeries;
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserPvConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Stundensimulation: Jahresertrag ohne Puffer vs. Zeitreihe in vorallokiertem Puffer
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+
+    private HourlySimulator simulator;
+    private double[] acPower;
+
+    @Setup
+    public void setUp() {
+        simulator = new HourlySimulator(IrradianceSeries.synthetic(51.2, 10.4, 1100), 0.9, 0.96, 0.2, -0.0037);
+        acPower = new double[HourlySimulator.HOURS_PER_YEAR];
+    }
+
+    @Benchmark
+    public double yearlyYield() {
+        return simulator.yearlyYield(UserPvConfig.MEDIUM_PV_COMBI, Direction.SOUTHWEST, 35, 0.1);
+    }
+
+    @Benchmark
+    public double simulateIntoBuffer() {
+        return simulator.simulate(UserPvConfig.MEDIUM_PV_COMBI, Direction.SOUTHWEST, 35, 0.1, acPower);
+    }
+}
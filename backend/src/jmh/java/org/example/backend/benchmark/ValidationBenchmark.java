@@ -0,0 +1,51 @@
+package org.example.backend.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.example.backend.dto.UserConditionsDTO;
+import org.example.backend.dto.UserInfoDTO;
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserPvConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private UserInfoDTO info;
+    private UserConditionsDTO conditions;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        info = new UserInfoDTO(32, 3, 3500);
+        conditions = new UserConditionsDTO(UserPvConfig.MEDIUM_PV_COMBI, 35, Direction.SOUTHWEST, 0.1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserInfoDTO>> validateUserInfo() {
+        return validator.validate(info);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserConditionsDTO>> validateUserConditions() {
+        return validator.validate(conditions);
+    }
+}
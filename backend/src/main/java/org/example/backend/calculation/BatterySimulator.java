@@ -0,0 +1,102 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.BatteryConfig;
+
+// Stromspeicher im Stundentakt: Ladezustand (SoC) läuft einmal über PV- und Lastkurve, ohne Allokation
+// in der Schleife. Überschuss lädt (begrenzt durch Ladeleistung und freie Kapazität), Defizit entlädt
+// (begrenzt durch Entladeleistung und Ladezustand). Der Wirkungsgrad wird je zur Hälfte auf Laden und
+// Entladen verteilt (√η). Start und Ende des Jahres mit leerem Speicher, keine Selbstentladung.
+// Eine Simulation kostet etwa so viel wie die reine Eigenverbrauchsschleife; sweep() rechnet viele
+// Kapazitäten über dieselben Kurven und schreibt in vom Aufrufer gestellte Arrays.
+public final class BatterySimulator {
+
+    private static final int HOURS_PER_YEAR = IrradianceSeries.HOURS_PER_YEAR;
+
+    private BatterySimulator() {
+    }
+
+    // Jahressummen in kWh: selbst genutzt (direkt + in den Speicher geladen), aus PV + Speicher gedeckte Last,
+    // aus dem Speicher entladen
+    public record Result(
+            double selfConsumedKwh,
+            double suppliedKwh,
+            double dischargedKwh
+    ) {}
+
+    public static Result simulate(double[] pvKwh, double pvScale, double[] loadShare, double annualConsumption,
+                                  BatteryConfig battery) {
+        validate(battery);
+        double[] selfConsumed = new double[1];
+        double[] supplied = new double[1];
+        double discharged = run(pvKwh, pvScale, loadShare, annualConsumption, battery.capacityKwh(),
+                battery.roundTripEfficiency(), battery.maxChargeKw(), battery.maxDischargeKw(),
+                selfConsumed, supplied, 0);
+        return new Result(selfConsumed[0], supplied[0], discharged);
+    }
+
+    // Gleiche Kurven, Wirkungsgrad und Leistungsgrenzen wie template, Kapazität aus capacitiesKwh;
+    // Ergebnisse je Index in selfConsumedKwh, suppliedKwh und dischargedKwh
+    public static void sweep(double[] pvKwh, double pvScale, double[] loadShare, double annualConsumption,
+                             BatteryConfig template, double[] capacitiesKwh,
+                             double[] selfConsumedKwh, double[] suppliedKwh, double[] dischargedKwh) {
+        validate(template);
+        if (selfConsumedKwh.length < capacitiesKwh.length || suppliedKwh.length < capacitiesKwh.length
+                || dischargedKwh.length < capacitiesKwh.length) {
+            throw new IllegalArgumentException("Ergebnis-Arrays kürzer als die Liste der Kapazitäten.");
+        }
+        for (int i = 0; i < capacitiesKwh.length; i++) {
+            if (!(capacitiesKwh[i] >= 0)) {
+                throw new IllegalArgumentException("Speicherkapazität darf nicht negativ sein: " + capacitiesKwh[i]);
+            }
+            dischargedKwh[i] = run(pvKwh, pvScale, loadShare, annualConsumption, capacitiesKwh[i],
+                    template.roundTripEfficiency(), template.maxChargeKw(), template.maxDischargeKw(),
+                    selfConsumedKwh, suppliedKwh, i);
+        }
+    }
+
+    // ---- Hilfsmethoden ----
+
+    // Liefert die entladene Energie; selbst genutzte und gedeckte Energie landen in selfConsumed[index]/supplied[index]
+    private static double run(double[] pvKwh, double pvScale, double[] loadShare, double annualConsumption,
+                              double capacity, double roundTripEfficiency, double maxCharge, double maxDischarge,
+                              double[] selfConsumed, double[] supplied, int index) {
+        double efficiency = Math.sqrt(roundTripEfficiency);
+        double soc = 0;
+        double direct = 0;
+        double charged = 0;
+        double discharged = 0;
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            double pv = pvKwh[h] * pvScale;
+            double load = loadShare[h] * annualConsumption;
+            if (pv >= load) {
+                direct += load;
+                double charge = Math.min(Math.min(pv - load, maxCharge), (capacity - soc) / efficiency);
+                soc += charge * efficiency;
+                charged += charge;
+            } else {
+                direct += pv;
+                double discharge = Math.min(Math.min(load - pv, maxDischarge), soc * efficiency);
+                soc -= discharge / efficiency;
+                discharged += discharge;
+            }
+        }
+        selfConsumed[index] = direct + charged;
+        supplied[index] = direct + discharged;
+        return discharged;
+    }
+
+    private static void validate(BatteryConfig battery) {
+        if (battery == null) {
+            throw new IllegalArgumentException("Speicherkonfiguration fehlt.");
+        }
+        if (!(battery.capacityKwh() > 0)) {
+            throw new IllegalArgumentException("Speicherkapazität muss größer 0 sein: " + battery.capacityKwh());
+        }
+        if (!(battery.roundTripEfficiency() > 0 && battery.roundTripEfficiency() <= 1)) {
+            throw new IllegalArgumentException("Speicher-Wirkungsgrad muss in (0, 1] liegen: " + battery.roundTripEfficiency());
+        }
+        if (!(battery.maxChargeKw() > 0) || !(battery.maxDischargeKw() > 0)) {
+            throw new IllegalArgumentException("Lade- und Entladeleistung müssen größer 0 sein.");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.*;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Sucht über alle UserPvConfig × Ausrichtung × Winkel die Pareto-Front nach Amortisationszeit (min),
+// Ersparnis (max) und Autarkiegrad (max).
+// Stufe 1: nur Jahresertrag, parallel für alle Kandidaten – daraus folgen Ersparnis und Amortisation exakt,
+//          der Autarkiegrad ist durch min(1, Ertrag / Verbrauch) nach oben beschränkt.
+// Stufe 2: vollständige Berechnung (mit Stundenrechnung) blockweise parallel, nach Ersparnis absteigend;
+//          Kandidaten, die schon mit ihrer Schranke von der bisherigen Front dominiert werden, entfallen.
+// Rechnet direkt mit dem YieldCalculator (ohne YieldResultCache, damit eine Suche den Cache nicht verdrängt).
+@Component
+public class ConfigurationOptimizer {
+
+    private static final int MIN_BLOCK_SIZE = 16;
+
+    private final YieldCalculator yieldCalculator;
+
+    public ConfigurationOptimizer(YieldCalculator yieldCalculator) {
+        this.yieldCalculator = yieldCalculator;
+    }
+
+    public OptimizationResult optimize(UserInfo info, OptimizationConstraints constraints) {
+        if (info == null) {
+            throw new IllegalStateException("UserInfo fehlen.");
+        }
+        if (constraints == null) {
+            throw new IllegalStateException("Suchraum fehlt.");
+        }
+
+        // Stufe 1: Schranken
+        List<Candidate> candidates = candidates(constraints).parallelStream()
+                .map(conditions -> bound(info, conditions))
+                .sorted(Comparator.comparingInt(Candidate::savings).reversed()
+                        .thenComparingDouble(Candidate::amortisationTime)
+                        .thenComparing(Comparator.comparingDouble(Candidate::autarkyBound).reversed()))
+                .toList();
+
+        // Stufe 2: blockweise voll berechnen, dazwischen gegen die Front prüfen
+        int blockSize = Math.max(MIN_BLOCK_SIZE, 2 * Runtime.getRuntime().availableProcessors());
+        List<OptimizationOption> front = new ArrayList<>();
+        int calculated = 0;
+        int next = 0;
+        while (next < candidates.size()) {
+            List<Candidate> block = new ArrayList<>(blockSize);
+            while (next < candidates.size() && block.size() < blockSize) {
+                Candidate candidate = candidates.get(next++);
+                if (!dominatedByFront(front, candidate)) {
+                    block.add(candidate);
+                }
+            }
+
+            List<OptimizationOption> options = block.parallelStream()
+                    .map(candidate -> new OptimizationOption(candidate.conditions(),
+                            yieldCalculator.calculate(info, candidate.conditions())))
+                    .toList();
+            calculated += options.size();
+            options.forEach(option -> addToFront(front, option));
+        }
+
+        front.sort(Comparator.comparingDouble((OptimizationOption option) -> option.userResult().userAmortisationTime())
+                .thenComparing(option -> -option.userResult().userAmountOfPossibleSavings()));
+        return new OptimizationResult(candidates.size(), calculated, List.copyOf(front));
+    }
+
+    // ---- Hilfsmethoden ----
+
+    // Schranke aus Stufe 1; Ersparnis und Amortisation wie im YieldCalculator, Autarkie höchstens Ertrag / Verbrauch
+    record Candidate(
+            UserConditions conditions,
+            int savings,
+            double amortisationTime,
+            double autarkyBound
+    ) {}
+
+    static List<UserConditions> candidates(OptimizationConstraints constraints) {
+        List<UserConditions> candidates = new ArrayList<>(constraints.candidateCount());
+        for (UserPvConfig config : constraints.pvConfigs()) {
+            for (Direction direction : constraints.directions()) {
+                for (int angle = constraints.minAngle(); angle <= constraints.maxAngle(); angle += constraints.angleStep()) {
+                    candidates.add(new UserConditions(config, angle, direction, constraints.montageShadeFactor(),
+                            constraints.latitude(), constraints.longitude()));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Candidate bound(UserInfo info, UserConditions conditions) {
+        double yearlyYield = yieldCalculator.yearlyYield(conditions);
+        int savings = YieldCalculator.savings(info, (int) Math.round(yearlyYield));
+        double consumption = info.userElectricityConsumption();
+        return new Candidate(
+                conditions,
+                savings,
+                YieldCalculator.amortisationTime(conditions.userPvConfig().getInstallationCostEur(), savings),
+                consumption > 0 ? Math.min(1.0, yearlyYield / consumption) : 0.0
+        );
+    }
+
+    // Ein Mitglied der Front ist in allen Zielen mindestens so gut wie die bestmögliche Variante des Kandidaten
+    // und in einem echt besser → der Kandidat kann nicht Pareto-optimal sein
+    static boolean dominatedByFront(List<OptimizationOption> front, Candidate candidate) {
+        for (OptimizationOption option : front) {
+            UserResult result = option.userResult();
+            if (dominates(result.userAmortisationTime(), result.userAmountOfPossibleSavings(), result.userAutarkyRate(),
+                    candidate.amortisationTime(), candidate.savings(), candidate.autarkyBound())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void addToFront(List<OptimizationOption> front, OptimizationOption option) {
+        UserResult result = option.userResult();
+        for (OptimizationOption member : front) {
+            UserResult other = member.userResult();
+            if (dominates(other.userAmortisationTime(), other.userAmountOfPossibleSavings(), other.userAutarkyRate(),
+                    result.userAmortisationTime(), result.userAmountOfPossibleSavings(), result.userAutarkyRate())) {
+                return;
+            }
+        }
+        front.removeIf(member -> dominates(
+                result.userAmortisationTime(), result.userAmountOfPossibleSavings(), result.userAutarkyRate(),
+                member.userResult().userAmortisationTime(), member.userResult().userAmountOfPossibleSavings(),
+                member.userResult().userAutarkyRate()));
+        front.add(option);
+    }
+
+    private static boolean dominates(double amortisation, int savings, double autarky,
+                                     double otherAmortisation, int otherSavings, double otherAutarky) {
+        return amortisation <= otherAmortisation && savings >= otherSavings && autarky >= otherAutarky
+                && (amortisation < otherAmortisation || savings > otherSavings || autarky > otherAutarky);
+    }
+}
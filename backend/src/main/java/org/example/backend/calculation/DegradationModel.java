@@ -0,0 +1,112 @@
+package org.example.backend.calculation;
+
+import java.util.Arrays;
+
+// Degradationsmodell über die Systemlebensdauer. Die Faktoren je Betriebsjahr und deren
+// Summe werden einmal pro Konfiguration berechnet, pro Anfrage bleibt nur eine Multiplikation.
+public final class DegradationModel {
+
+    public enum Curve {
+        GEOMETRIC, // konstante relative Degradation pro Jahr
+        LINEAR     // Leistungsgarantie: fester Abzug pro Jahr vom Nennwert
+    }
+
+    private final double[] yearlyFactors;
+    private final double lifetimeFactor;
+
+    private DegradationModel(double[] yearlyFactors, double lifetimeFactor) {
+        this.yearlyFactors = yearlyFactors;
+        this.lifetimeFactor = lifetimeFactor;
+    }
+
+    public static DegradationModel of(Curve curve, int lifetimeYears, double annualRate, double firstYearLoss) {
+        return switch (curve) {
+            case GEOMETRIC -> geometric(lifetimeYears, annualRate, firstYearLoss);
+            case LINEAR -> linear(lifetimeYears, annualRate, firstYearLoss);
+        };
+    }
+
+    public static DegradationModel geometric(int lifetimeYears, double annualRate) {
+        return geometric(lifetimeYears, annualRate, 0.0);
+    }
+
+    // Faktor im Jahr y: (1 - firstYearLoss) * (1 - annualRate)^y
+    public static DegradationModel geometric(int lifetimeYears, double annualRate, double firstYearLoss) {
+        validate(lifetimeYears, annualRate, firstYearLoss);
+
+        double q = 1.0 - annualRate;
+        double start = 1.0 - firstYearLoss;
+
+        double[] factors = new double[lifetimeYears];
+        double factor = start;
+        for (int y = 0; y < lifetimeYears; y++) {
+            factors[y] = factor;
+            factor *= q;
+        }
+
+        // Geometrische Reihe geschlossen: start * (1 - q^n) / (1 - q)
+        double lifetimeFactor = annualRate == 0.0
+                ? start * lifetimeYears
+                : start * (1.0 - Math.pow(q, lifetimeYears)) / annualRate;
+
+        return new DegradationModel(factors, lifetimeFactor);
+    }
+
+    // Faktor im Jahr y: max(0, 1 - firstYearLoss - annualRate * y)
+    public static DegradationModel linear(int lifetimeYears, double annualRate, double firstYearLoss) {
+        validate(lifetimeYears, annualRate, firstYearLoss);
+
+        double start = 1.0 - firstYearLoss;
+        double[] factors = new double[lifetimeYears];
+        double lifetimeFactor = 0.0;
+        for (int y = 0; y < lifetimeYears; y++) {
+            factors[y] = Math.max(0.0, start - annualRate * y);
+            lifetimeFactor += factors[y];
+        }
+
+        return new DegradationModel(factors, lifetimeFactor);
+    }
+
+    public int lifetimeYears() {
+        return yearlyFactors.length;
+    }
+
+    // Summe aller Jahresfaktoren
+    public double lifetimeFactor() {
+        return lifetimeFactor;
+    }
+
+    // Faktor für Betriebsjahr 0..lifetimeYears-1
+    public double yearlyFactor(int year) {
+        return yearlyFactors[year];
+    }
+
+    public double lifetimeYield(double firstYearYield) {
+        return firstYearYield * lifetimeFactor;
+    }
+
+    // Ertrag je Betriebsjahr, z.B. für Cashflow-Rechnungen
+    public double[] yearlyYields(double firstYearYield) {
+        double[] yields = new double[yearlyFactors.length];
+        for (int y = 0; y < yields.length; y++) {
+            yields[y] = firstYearYield * yearlyFactors[y];
+        }
+        return yields;
+    }
+
+    public double[] yearlyFactors() {
+        return Arrays.copyOf(yearlyFactors, yearlyFactors.length);
+    }
+
+    private static void validate(int lifetimeYears, double annualRate, double firstYearLoss) {
+        if (lifetimeYears < 1) {
+            throw new IllegalArgumentException("Lebensdauer muss mindestens 1 Jahr sein: " + lifetimeYears);
+        }
+        if (annualRate < 0.0 || annualRate >= 1.0) {
+            throw new IllegalArgumentException("Degradationsrate muss in [0, 1) liegen: " + annualRate);
+        }
+        if (firstYearLoss < 0.0 || firstYearLoss >= 1.0) {
+            throw new IllegalArgumentException("Anfangsverlust muss in [0, 1) liegen: " + firstYearLoss);
+        }
+    }
+}
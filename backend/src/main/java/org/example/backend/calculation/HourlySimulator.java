@@ -0,0 +1,192 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserPvConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.FloatBuffer;
+
+// Stundensimulation über 8760 Stunden: Einstrahlung auf die Modulebene (isotropes Himmelsmodell),
+// DC-Leistung mit Performance Ratio und Temperaturverlust der Zellen, Wechselrichter mit Wirkungsgrad
+// und Begrenzung auf UserPvConfig.getInverterWatt() (ersetzt den festen clippingFactor).
+// Die Zeitreihen kommen je Standort aus der IrradianceSource (synthetisch oder TMY-Datei) und werden
+// nur gelesen; keine Allokation pro Stunde.
+@Component
+public class HourlySimulator implements YieldModel {
+
+    public static final int HOURS_PER_YEAR = IrradianceSeries.HOURS_PER_YEAR;
+
+    private static final int MIN_ANGLE = 0;
+    private static final int MAX_ANGLE = 90;
+    private static final double CELL_HEATING = 0.03;        // K Zellerwärmung je W/m² (≈ NOCT 45 °C)
+    private static final double STC_TEMPERATURE = 25.0;     // °C
+
+    private final IrradianceSource irradianceSource;
+    private final double performanceRatio;
+    private final double inverterEfficiency;
+    private final double albedo;
+    private final double temperatureCoefficient;
+
+    public HourlySimulator(IrradianceSeries irradiance, double performanceRatio, double inverterEfficiency,
+                           double albedo, double temperatureCoefficient) {
+        this(IrradianceSource.fixed(irradiance), performanceRatio, inverterEfficiency, albedo, temperatureCoefficient);
+    }
+
+    @Autowired
+    public HourlySimulator(
+            IrradianceSource irradianceSource,
+            @Value("${solarcheck.simulation.performance-ratio:0.9}") double performanceRatio,
+            @Value("${solarcheck.simulation.inverter-efficiency:0.96}") double inverterEfficiency,
+            @Value("${solarcheck.simulation.albedo:0.2}") double albedo,
+            @Value("${solarcheck.simulation.temperature-coefficient:-0.0037}") double temperatureCoefficient) {
+        if (performanceRatio <= 0 || performanceRatio > 1) {
+            throw new IllegalArgumentException("Performance Ratio muss in (0, 1] liegen: " + performanceRatio);
+        }
+        if (inverterEfficiency <= 0 || inverterEfficiency > 1) {
+            throw new IllegalArgumentException("Wechselrichter-Wirkungsgrad muss in (0, 1] liegen: " + inverterEfficiency);
+        }
+        if (albedo < 0 || albedo > 1) {
+            throw new IllegalArgumentException("Albedo muss in [0, 1] liegen: " + albedo);
+        }
+        if (temperatureCoefficient > 0 || temperatureCoefficient < -0.01) {
+            throw new IllegalArgumentException("Temperaturkoeffizient muss in [-0.01, 0] liegen: " + temperatureCoefficient);
+        }
+        this.irradianceSource = irradianceSource;
+        this.performanceRatio = performanceRatio;
+        this.inverterEfficiency = inverterEfficiency;
+        this.albedo = albedo;
+        this.temperatureCoefficient = temperatureCoefficient;
+    }
+
+    // Synthetisches Referenzjahr (Mitte Deutschlands) mit den Standardwerten aus application.properties;
+    // für Berechnungen ohne Spring-Kontext, einmal angelegt und geteilt
+    public static HourlySimulator standard() {
+        return Standard.INSTANCE;
+    }
+
+    // Jahresertrag in kWh (AC) am Standardstandort, ohne Zwischenpuffer
+    @Override
+    public double yearlyYield(UserPvConfig config, Direction direction, int angle, double shadeFactor) {
+        return run(irradianceSource.defaultSeries(), config, direction, angle, shadeFactor, null);
+    }
+
+    // Jahresertrag am Standort der Anlage (falls angegeben)
+    @Override
+    public double yearlyYield(UserConditions conditions) {
+        return run(series(conditions), conditions.userPvConfig(), conditions.montageDirection(),
+                conditions.montageAngle(), conditions.montageShadeFactor(), null);
+    }
+
+    // Füllt acPowerKw mit der mittleren AC-Leistung je Stunde (= kWh je Stunde) und liefert die Jahressumme
+    public double simulate(UserPvConfig config, Direction direction, int angle, double shadeFactor, double[] acPowerKw) {
+        checkBuffer(acPowerKw);
+        return run(irradianceSource.defaultSeries(), config, direction, angle, shadeFactor, acPowerKw);
+    }
+
+    public double simulate(UserConditions conditions, double[] acPowerKw) {
+        checkBuffer(acPowerKw);
+        return run(series(conditions), conditions.userPvConfig(), conditions.montageDirection(),
+                conditions.montageAngle(), conditions.montageShadeFactor(), acPowerKw);
+    }
+
+    // Mit vorab bestimmter Zeitreihe (z.B. aus irradianceOrDefault)
+    public double simulate(IrradianceSeries irradiance, UserConditions conditions, double[] acPowerKw) {
+        checkBuffer(acPowerKw);
+        return run(irradiance, conditions.userPvConfig(), conditions.montageDirection(),
+                conditions.montageAngle(), conditions.montageShadeFactor(), acPowerKw);
+    }
+
+    public IrradianceSeries irradiance(UserConditions conditions) {
+        return series(conditions);
+    }
+
+    // Wie irradiance(), außerhalb der verfügbaren Standorte aber die Zeitreihe ohne Standortangabe statt Fehler
+    // (nur die Kurvenform zählt, der Jahresertrag kommt aus dem aktiven Ertragsmodell)
+    public IrradianceSeries irradianceOrDefault(UserConditions conditions) {
+        try {
+            return series(conditions);
+        } catch (IllegalArgumentException e) {
+            return irradianceSource.defaultSeries();
+        }
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private IrradianceSeries series(UserConditions conditions) {
+        return conditions.hasLocation()
+                ? irradianceSource.at(conditions.latitude(), conditions.longitude())
+                : irradianceSource.defaultSeries();
+    }
+
+    // Eine Schleife für beide Varianten; acPowerKw == null → nur Summe
+    private double run(IrradianceSeries irradiance, UserPvConfig config, Direction direction, int angle,
+                       double shadeFactor, double[] acPowerKw) {
+        double tilt = Math.toRadians(clampAngle(angle));
+        double azimuth = azimuth(direction);
+        double beamZ = Math.cos(tilt);
+        double beamCos = Math.sin(tilt) * Math.cos(azimuth);
+        double beamSin = Math.sin(tilt) * Math.sin(azimuth);
+        double skyView = (1 + Math.cos(tilt)) / 2;
+        double groundView = albedo * (1 - Math.cos(tilt)) / 2;
+        double acPerWm2 = config.getTotalModuleKwp() * (1 - shadeFactor) * performanceRatio / 1000.0 * inverterEfficiency;
+        double inverterKw = config.getInverterWatt() / 1000.0;
+        double gamma = temperatureCoefficient;
+
+        // Absolute get(int) auf Direkt-/Mapped-Puffern: keine Kopie, vom JIT zu einfachen Loads optimiert
+        FloatBuffer cz = irradiance.cosZenith;
+        FloatBuffer szca = irradiance.sinZenithCosAzimuth;
+        FloatBuffer szsa = irradiance.sinZenithSinAzimuth;
+        FloatBuffer ghi = irradiance.ghi;
+        FloatBuffer dni = irradiance.dni;
+        FloatBuffer dhi = irradiance.dhi;
+        FloatBuffer temperature = irradiance.temperature;
+
+        double sum = 0;
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            double cosIncidence = cz.get(h) * beamZ + szca.get(h) * beamCos + szsa.get(h) * beamSin;
+            double poa = Math.max(cosIncidence, 0.0) * dni.get(h) + dhi.get(h) * skyView + ghi.get(h) * groundView;
+            double cellTemperature = temperature.get(h) + poa * CELL_HEATING;
+            double ac = Math.min(poa * acPerWm2 * (1 + gamma * (cellTemperature - STC_TEMPERATURE)), inverterKw);
+            if (acPowerKw != null) {
+                acPowerKw[h] = ac;
+            }
+            sum += ac;
+        }
+        return sum;
+    }
+
+    private static void checkBuffer(double[] acPowerKw) {
+        if (acPowerKw.length < HOURS_PER_YEAR) {
+            throw new IllegalArgumentException("Puffer muss mindestens " + HOURS_PER_YEAR + " Werte fassen.");
+        }
+    }
+
+    private static int clampAngle(int angle) {
+        if (angle < MIN_ANGLE) return MIN_ANGLE;
+        if (angle > MAX_ANGLE) return MAX_ANGLE;
+        return angle;
+    }
+
+    private static final class Standard {
+        static final HourlySimulator INSTANCE = new HourlySimulator(
+                IrradianceSeries.synthetic(51.2, 10.4, 1100), 0.9, 0.96, 0.2, -0.0037);
+    }
+
+    // Modulazimut im Bogenmaß: Süd = 0, West positiv
+    private static double azimuth(Direction direction) {
+        double degrees = switch (direction) {
+            case SOUTH -> 0;
+            case SOUTHWEST -> 45;
+            case WEST -> 90;
+            case NORTHWEST -> 135;
+            case NORTH -> 180;
+            case NORTHEAST -> -135;
+            case EAST -> -90;
+            case SOUTHEAST -> -45;
+        };
+        return Math.toRadians(degrees);
+    }
+}
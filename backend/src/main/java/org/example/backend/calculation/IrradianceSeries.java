@@ -0,0 +1,274 @@
+package org.example.backend.calculation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.SplittableRandom;
+
+// Stündliche Einstrahlung, Lufttemperatur und Sonnenstand eines Standorts über ein Jahr (8760 Werte, UTC).
+// Alle Kanäle sind float-Sichten auf einen zusammenhängenden Block ("Zelle"), entweder im Heap-fernen
+// Direktspeicher (synthetisch) oder direkt in der gemappten TMY-Datei (TmyStore) – ohne Kopie.
+// Sonnenstand als Komponenten gespeichert (cos Zenit, sin Zenit × cos/sin Azimut), damit
+// der Einfallswinkel auf die Modulebene eine reine Linearkombination ist (Azimut: Süd = 0, West positiv).
+public final class IrradianceSeries {
+
+    public static final int HOURS_PER_YEAR = 8760;
+
+    // Kanäle in Speicherreihenfolge einer Zelle (je 8760 float, little endian)
+    static final int COS_ZENITH = 0;
+    static final int SIN_ZENITH_COS_AZIMUTH = 1;
+    static final int SIN_ZENITH_SIN_AZIMUTH = 2;
+    static final int GHI = 3;
+    static final int DNI = 4;
+    static final int DHI = 5;
+    static final int TEMPERATURE = 6;
+    static final int CHANNELS = 7;
+    static final int CELL_BYTES = CHANNELS * HOURS_PER_YEAR * Float.BYTES;
+    // Zusätzlicher Eintrag im Ergebnis von sunPosition() (wird nicht gespeichert)
+    static final int EXTRATERRESTRIAL = 3;
+
+    private static final double SOLAR_CONSTANT = 1367.0; // W/m²
+    private static final double MIN_COS_ZENITH = 0.0872; // unter ~5° Sonnenhöhe nur Diffuslicht
+    private static final int DAYS_PER_YEAR = HOURS_PER_YEAR / 24;
+    private static final long CLEARNESS_SEED = 8760L;
+
+    final FloatBuffer cosZenith;
+    final FloatBuffer sinZenithCosAzimuth;
+    final FloatBuffer sinZenithSinAzimuth;
+    final FloatBuffer ghi; // Globalstrahlung horizontal, W/m²
+    final FloatBuffer dni; // Direktstrahlung normal, W/m²
+    final FloatBuffer dhi; // Diffusstrahlung horizontal, W/m²
+    final FloatBuffer temperature; // Lufttemperatur, °C
+
+    private final double latitude;
+    private final double longitude;
+
+    // cell: CHANNELS × 8760 Werte ab der aktuellen Position; die Kanäle werden nur als Sicht angelegt
+    IrradianceSeries(double latitude, double longitude, FloatBuffer cell) {
+        if (cell.remaining() < CHANNELS * HOURS_PER_YEAR) {
+            throw new IllegalArgumentException("Zelle muss " + CHANNELS + " × " + HOURS_PER_YEAR + " Stundenwerte haben.");
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.cosZenith = channel(cell, COS_ZENITH);
+        this.sinZenithCosAzimuth = channel(cell, SIN_ZENITH_COS_AZIMUTH);
+        this.sinZenithSinAzimuth = channel(cell, SIN_ZENITH_SIN_AZIMUTH);
+        this.ghi = channel(cell, GHI);
+        this.dni = channel(cell, DNI);
+        this.dhi = channel(cell, DHI);
+        this.temperature = channel(cell, TEMPERATURE);
+    }
+
+    // Synthetisches Referenzjahr: Clear-Sky-Modell (Haurwitz) × Bewölkung je Tag (klar / wechselhaft / bedeckt,
+    // im Sommer häufiger klar; feste Saat → reproduzierbar), skaliert auf die Jahressumme der Globalstrahlung
+    // am Standort. Aufteilung direkt/diffus nach Erbs, Temperatur als Jahres- und Tagesgang.
+    public static IrradianceSeries synthetic(double latitude, double longitude, double annualGhiKwhPerM2) {
+        validateLocation(latitude, longitude);
+        if (annualGhiKwhPerM2 <= 0) {
+            throw new IllegalArgumentException("Jahressumme der Globalstrahlung muss positiv sein.");
+        }
+
+        double[][] sun = sunPosition(latitude, longitude);
+        double[] cosZenith = sun[COS_ZENITH];
+        double[] extraterrestrial = sun[EXTRATERRESTRIAL];
+
+        double[] clearSky = new double[HOURS_PER_YEAR];
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            double cz = cosZenith[h];
+            clearSky[h] = cz > 0 ? 1098.0 * cz * Math.exp(-0.057 / cz) : 0.0;
+        }
+
+        double[] ghi = scaleToAnnualSum(clearSky, dailyClearness(latitude), annualGhiKwhPerM2 * 1000.0);
+
+        double[] dni = new double[HOURS_PER_YEAR];
+        double[] dhi = new double[HOURS_PER_YEAR];
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            splitBeamDiffuse(h, ghi[h], cosZenith[h], extraterrestrial[h], dni, dhi);
+        }
+
+        ByteBuffer cell = ByteBuffer.allocateDirect(CELL_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        writeCell(cell, sun, ghi, dni, dhi, syntheticTemperature(latitude, longitude));
+        return new IrradianceSeries(latitude, longitude, cell.flip().asFloatBuffer());
+    }
+
+    public double latitude() {
+        return latitude;
+    }
+
+    public double longitude() {
+        return longitude;
+    }
+
+    // Jahressumme der Globalstrahlung in kWh/m²
+    public double annualGhi() {
+        double sum = 0;
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            sum += ghi.get(h);
+        }
+        return sum / 1000.0;
+    }
+
+    // ---- Zellformat (gemeinsam mit TmyStore / TmyStoreBuilder) ----
+
+    static void validateLocation(double latitude, double longitude) {
+        if (latitude < -66 || latitude > 66) {
+            throw new IllegalArgumentException("Breitengrad außerhalb des unterstützten Bereichs (-66° bis 66°): " + latitude);
+        }
+        if (longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Längengrad muss zwischen -180° und 180° liegen: " + longitude);
+        }
+    }
+
+    // Schreibt eine Zelle kanalweise in target (little endian); sun aus sunPosition()
+    static void writeCell(ByteBuffer target, double[][] sun,
+                          double[] ghi, double[] dni, double[] dhi, double[] temperature) {
+        for (double[] series : new double[][]{
+                sun[COS_ZENITH], sun[SIN_ZENITH_COS_AZIMUTH], sun[SIN_ZENITH_SIN_AZIMUTH], ghi, dni, dhi, temperature}) {
+            for (int h = 0; h < HOURS_PER_YEAR; h++) {
+                target.putFloat((float) series[h]);
+            }
+        }
+    }
+
+    // Sonnenstand zur Stundenmitte (Deklination nach Cooper, Zeitgleichung nach Spencer/Duffie-Beckman).
+    // Liefert cos Zenit, sin Zenit × cos/sin Azimut (Indizes wie die Kanäle) und die extraterrestrische Strahlung.
+    static double[][] sunPosition(double latitude, double longitude) {
+        double[] cosZenith = new double[HOURS_PER_YEAR];
+        double[] sinZenithCosAzimuth = new double[HOURS_PER_YEAR];
+        double[] sinZenithSinAzimuth = new double[HOURS_PER_YEAR];
+        double[] extraterrestrial = new double[HOURS_PER_YEAR];
+
+        double phi = Math.toRadians(latitude);
+        double sinPhi = Math.sin(phi);
+        double cosPhi = Math.cos(phi);
+
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            int day = h / 24 + 1;
+            double utcHour = h % 24 + 0.5;
+
+            double b = 2 * Math.PI * (day - 81) / 364.0;
+            double equationOfTimeMin = 9.87 * Math.sin(2 * b) - 7.53 * Math.cos(b) - 1.5 * Math.sin(b);
+            double declination = Math.toRadians(23.45 * Math.sin(2 * Math.PI * (284 + day) / 365.0));
+
+            double solarTime = utcHour + longitude / 15.0 + equationOfTimeMin / 60.0;
+            double hourAngle = Math.toRadians(15.0 * (solarTime - 12.0));
+
+            double sinDecl = Math.sin(declination);
+            double cosDecl = Math.cos(declination);
+            double cz = sinPhi * sinDecl + cosPhi * cosDecl * Math.cos(hourAngle);
+
+            cosZenith[h] = cz;
+            sinZenithCosAzimuth[h] = (cz * sinPhi - sinDecl) / cosPhi;
+            sinZenithSinAzimuth[h] = cosDecl * Math.sin(hourAngle);
+            extraterrestrial[h] = SOLAR_CONSTANT * (1 + 0.033 * Math.cos(2 * Math.PI * day / 365.0));
+        }
+
+        double[][] sun = new double[4][];
+        sun[COS_ZENITH] = cosZenith;
+        sun[SIN_ZENITH_COS_AZIMUTH] = sinZenithCosAzimuth;
+        sun[SIN_ZENITH_SIN_AZIMUTH] = sinZenithSinAzimuth;
+        sun[EXTRATERRESTRIAL] = extraterrestrial;
+        return sun;
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static FloatBuffer channel(FloatBuffer cell, int channel) {
+        return cell.slice(cell.position() + channel * HOURS_PER_YEAR, HOURS_PER_YEAR);
+    }
+
+    // Anteil der Clear-Sky-Einstrahlung je Tag; Sommer = Jahresmitte auf der Nordhalbkugel
+    private static double[] dailyClearness(double latitude) {
+        SplittableRandom random = new SplittableRandom(CLEARNESS_SEED);
+        double[] clearness = new double[DAYS_PER_YEAR];
+        for (int day = 0; day < DAYS_PER_YEAR; day++) {
+            double season = 0.5 - 0.5 * Math.cos(2 * Math.PI * (day - 10) / DAYS_PER_YEAR);
+            if (latitude < 0) {
+                season = 1 - season;
+            }
+            double clearProbability = 0.15 + 0.30 * season;
+            double overcastProbability = 0.45 - 0.25 * season;
+
+            double u = random.nextDouble();
+            if (u < clearProbability) {
+                clearness[day] = 0.90 + 0.10 * random.nextDouble();
+            } else if (u < clearProbability + overcastProbability) {
+                clearness[day] = 0.10 + 0.20 * random.nextDouble();
+            } else {
+                clearness[day] = 0.40 + 0.35 * random.nextDouble();
+            }
+        }
+        return clearness;
+    }
+
+    // Skaliert die Tagesfaktoren auf die Ziel-Jahressumme (Wh/m²); kein Tag heller als Clear-Sky
+    private static double[] scaleToAnnualSum(double[] clearSky, double[] clearness, double targetWhPerM2) {
+        double[] dailyClearSky = new double[DAYS_PER_YEAR];
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            dailyClearSky[h / 24] += clearSky[h];
+        }
+
+        double[] factor = clearness.clone();
+        for (int iteration = 0; iteration < 5; iteration++) {
+            double sum = 0;
+            for (int day = 0; day < DAYS_PER_YEAR; day++) {
+                sum += factor[day] * dailyClearSky[day];
+            }
+            double scale = targetWhPerM2 / sum;
+            for (int day = 0; day < DAYS_PER_YEAR; day++) {
+                factor[day] = Math.min(factor[day] * scale, 1.0);
+            }
+        }
+
+        double[] ghi = new double[HOURS_PER_YEAR];
+        double sum = 0;
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            ghi[h] = clearSky[h] * factor[h / 24];
+            sum += ghi[h];
+        }
+        // Rest exakt angleichen (weicht nur ab, wenn die Kappung gegriffen hat)
+        double correction = targetWhPerM2 / sum;
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            ghi[h] *= correction;
+        }
+        return ghi;
+    }
+
+    // Lufttemperatur: Jahresmittel 9 °C, Jahresgang ±9 K (Minimum Mitte Januar), Tagesgang ±4 K (Maximum 15 Uhr Sonnenzeit)
+    private static double[] syntheticTemperature(double latitude, double longitude) {
+        double[] temperature = new double[HOURS_PER_YEAR];
+        double hemisphere = latitude < 0 ? -1 : 1;
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            double day = h / 24.0;
+            double solarHour = h % 24 + 0.5 + longitude / 15.0;
+            double seasonal = -Math.cos(2 * Math.PI * (day - 15) / DAYS_PER_YEAR) * hemisphere;
+            double diurnal = -Math.cos(2 * Math.PI * (solarHour - 3) / 24.0);
+            temperature[h] = 9.0 + 9.0 * seasonal + 4.0 * diurnal;
+        }
+        return temperature;
+    }
+
+    // Erbs-Korrelation: Diffusanteil aus dem Klarheitsindex kt
+    private static void splitBeamDiffuse(int h, double ghi, double cosZenith, double extraterrestrial,
+                                         double[] dni, double[] dhi) {
+        if (ghi <= 0 || cosZenith < MIN_COS_ZENITH) {
+            dni[h] = 0.0;
+            dhi[h] = Math.max(ghi, 0.0);
+            return;
+        }
+
+        double kt = Math.min(ghi / (extraterrestrial * cosZenith), 1.0);
+        double diffuseFraction;
+        if (kt <= 0.22) {
+            diffuseFraction = 1.0 - 0.09 * kt;
+        } else if (kt <= 0.80) {
+            diffuseFraction = 0.9511 - 0.1604 * kt + 4.388 * kt * kt
+                    - 16.638 * kt * kt * kt + 12.336 * kt * kt * kt * kt;
+        } else {
+            diffuseFraction = 0.165;
+        }
+
+        dhi[h] = diffuseFraction * ghi;
+        dni[h] = (ghi - dhi[h]) / cosZenith;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.backend.calculation;
+
+// Liefert die Einstrahlungszeitreihe für einen Standort.
+// Implementierungen geben vorhandene Daten als Sicht heraus, ohne sie je Anfrage zu kopieren.
+public interface IrradianceSource {
+
+    // Zeitreihe am nächstgelegenen verfügbaren Standort
+    IrradianceSeries at(double latitude, double longitude);
+
+    // Zeitreihe für Anlagen ohne Standortangabe
+    IrradianceSeries defaultSeries();
+
+    // Eine Zeitreihe für alle Standorte (synthetisches Referenzjahr ohne TMY-Datei)
+    static IrradianceSource fixed(IrradianceSeries series) {
+        return new IrradianceSource() {
+            @Override
+            public IrradianceSeries at(double latitude, double longitude) {
+                return series;
+            }
+
+            @Override
+            public IrradianceSeries defaultSeries() {
+                return series;
+            }
+        };
+    }
+}
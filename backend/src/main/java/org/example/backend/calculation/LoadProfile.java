@@ -0,0 +1,123 @@
+package org.example.backend.calculation;
+
+// Stündlicher Haushaltsverbrauch über ein Jahr als Anteil am Jahresverbrauch (Summe 1, UTC wie IrradianceSeries).
+// Verlauf angelehnt an das Standardlastprofil H0 (Typtage Werktag/Samstag/Sonntag für Winter/Sommer,
+// Übergang als Mittel, Dynamisierung je Tag), Tagesanteil abhängig von der Haushaltsgröße.
+// Die Profile werden einmal beim Laden der Klasse berechnet und von allen Anfragen nur gelesen.
+public final class LoadProfile {
+
+    public static final int HOURS_PER_YEAR = IrradianceSeries.HOURS_PER_YEAR;
+    public static final int MAX_HOUSEHOLD_SIZE = 5; // größere Haushalte wie 5 Personen
+
+    private static final int UTC_OFFSET_HOURS = 1; // MEZ, ohne Sommerzeit
+    private static final int FIRST_WEEKDAY = 0;    // Referenzjahr 2018: 1. Januar = Montag (0 = Montag)
+
+    // Typtage (Stundenmittel in Ortszeit, relative Leistung)
+    private static final double[] WINTER_WORKDAY = {
+            70, 55, 50, 48, 48, 55, 90, 130, 140, 135, 135, 145,
+            160, 150, 135, 130, 140, 175, 205, 210, 195, 175, 145, 105};
+    private static final double[] WINTER_SATURDAY = {
+            85, 65, 55, 52, 50, 52, 65, 95, 135, 160, 170, 180,
+            185, 170, 150, 145, 155, 180, 200, 200, 185, 170, 150, 115};
+    private static final double[] WINTER_SUNDAY = {
+            95, 70, 58, 53, 50, 50, 55, 75, 115, 160, 185, 205,
+            215, 185, 150, 140, 145, 170, 195, 195, 180, 160, 135, 100};
+    private static final double[] SUMMER_WORKDAY = {
+            80, 60, 52, 50, 50, 55, 80, 110, 120, 120, 122, 130,
+            145, 140, 125, 118, 120, 135, 150, 155, 155, 165, 150, 110};
+    private static final double[] SUMMER_SATURDAY = {
+            95, 70, 58, 53, 50, 52, 62, 85, 120, 145, 155, 165,
+            170, 155, 135, 125, 125, 135, 150, 150, 148, 160, 150, 120};
+    private static final double[] SUMMER_SUNDAY = {
+            105, 78, 62, 55, 52, 52, 55, 70, 105, 145, 170, 190,
+            200, 170, 135, 120, 120, 130, 145, 148, 148, 155, 140, 108};
+
+    // Anwesenheit tagsüber (8–16 Uhr Ortszeit) je Haushaltsgröße 1..5
+    private static final double[] DAYTIME_FACTOR = {0.85, 0.95, 1.0, 1.05, 1.10};
+
+    private static final LoadProfile[] PROFILES = new LoadProfile[MAX_HOUSEHOLD_SIZE];
+
+    static {
+        for (int persons = 1; persons <= MAX_HOUSEHOLD_SIZE; persons++) {
+            PROFILES[persons - 1] = new LoadProfile(persons, build(DAYTIME_FACTOR[persons - 1]));
+        }
+    }
+
+    private final int householdSize;
+    private final double[] share;
+
+    private LoadProfile(int householdSize, double[] share) {
+        this.householdSize = householdSize;
+        this.share = share;
+    }
+
+    public static LoadProfile forHousehold(int persons) {
+        if (persons < 1) {
+            throw new IllegalArgumentException("Haushaltsgröße muss mindestens 1 sein: " + persons);
+        }
+        return PROFILES[Math.min(persons, MAX_HOUSEHOLD_SIZE) - 1];
+    }
+
+    public int householdSize() {
+        return householdSize;
+    }
+
+    // Anteil der Stunde h am Jahresverbrauch
+    public double share(int hour) {
+        return share[hour];
+    }
+
+    // Gemeinsames Array, nur lesen (für die Schleifen in der Berechnung)
+    double[] shares() {
+        return share;
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static double[] build(double daytimeFactor) {
+        double[] local = new double[HOURS_PER_YEAR];
+        double sum = 0;
+        for (int day = 0; day < HOURS_PER_YEAR / 24; day++) {
+            double dynamization = dynamization(day + 1);
+            int weekday = (FIRST_WEEKDAY + day) % 7;
+            for (int hour = 0; hour < 24; hour++) {
+                double value = typicalDay(day, weekday, hour) * dynamization;
+                if (hour >= 8 && hour < 16) {
+                    value *= daytimeFactor;
+                }
+                local[day * 24 + hour] = value;
+                sum += value;
+            }
+        }
+
+        // Ortszeit → UTC, normiert auf Jahressumme 1
+        double[] utc = new double[HOURS_PER_YEAR];
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            utc[Math.floorMod(h - UTC_OFFSET_HOURS, HOURS_PER_YEAR)] = local[h] / sum;
+        }
+        return utc;
+    }
+
+    // Saison nach H0: Winter 1.11.–20.3., Sommer 15.5.–14.9., sonst Übergang (Mittel aus beiden)
+    private static double typicalDay(int day, int weekday, int hour) {
+        double winter = dayType(weekday, WINTER_WORKDAY, WINTER_SATURDAY, WINTER_SUNDAY)[hour];
+        double summer = dayType(weekday, SUMMER_WORKDAY, SUMMER_SATURDAY, SUMMER_SUNDAY)[hour];
+        if (day >= 304 || day <= 78) return winter;
+        if (day >= 134 && day <= 256) return summer;
+        return (winter + summer) / 2;
+    }
+
+    private static double[] dayType(int weekday, double[] workday, double[] saturday, double[] sunday) {
+        return switch (weekday) {
+            case 5 -> saturday;
+            case 6 -> sunday;
+            default -> workday;
+        };
+    }
+
+    // Dynamisierungsfaktor des H0-Profils (Polynom 4. Grades über den Tag des Jahres)
+    private static double dynamization(int dayOfYear) {
+        double t = dayOfYear;
+        return -3.92e-10 * t * t * t * t + 3.2e-7 * t * t * t - 7.02e-5 * t * t + 2.1e-3 * t + 1.24;
+    }
+}
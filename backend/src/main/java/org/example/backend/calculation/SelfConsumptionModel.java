@@ -0,0 +1,187 @@
+package org.example.backend.calculation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.backend.model.BatteryConfig;
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserInfo;
+import org.example.backend.model.UserPvConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Eigenverbrauch und Autarkie aus stündlicher Erzeugung und Haushaltslast (ersetzt die Stufentabelle).
+// Die PV-Kurve kommt aus der Stundensimulation, normiert auf Jahressumme 1 und je (Anlage, Ausrichtung,
+// Standortzelle) einmal berechnet und geteilt; skaliert wird mit dem Jahresertrag des aktiven Ertragsmodells.
+// Die Last ist das vorberechnete Profil der Haushaltsgröße × Jahresverbrauch.
+// Je Stunde wird nur min(Erzeugung, Last) aufsummiert – ein Durchlauf über zwei double[], ohne Allokation.
+// Mit Speicher (UserConditions.battery) folgt ein zweiter Durchlauf im BatterySimulator über dieselben Kurven.
+@Component
+public class SelfConsumptionModel {
+
+    private static final int HOURS_PER_YEAR = IrradianceSeries.HOURS_PER_YEAR;
+    // Wie solarcheck.self-consumption.curve-cache-size, nur für standard() ohne Spring
+    private static final long DEFAULT_CURVE_CACHE_SIZE = 256;
+    private static final Battery NO_BATTERY_EFFECT = new Battery(0.0, 0.0, 0.0, 0.0, 0.0);
+
+    private final HourlySimulator hourlySimulator;
+    // Normierte Kurven (je 8760 double ≈ 70 KB); Zeitreihen sind je Standortzelle dieselbe Instanz
+    private final Cache<CurveKey, double[]> curves;
+
+    public SelfConsumptionModel(
+            HourlySimulator hourlySimulator,
+            @Value("${solarcheck.self-consumption.curve-cache-size:256}") long curveCacheSize) {
+        this.hourlySimulator = hourlySimulator;
+        this.curves = Caffeine.newBuilder()
+                .maximumSize(curveCacheSize)
+                .build();
+    }
+
+    // Mit synthetischem Referenzjahr und Standardparametern (ohne Spring, z.B. in Tests)
+    public static SelfConsumptionModel standard() {
+        return Standard.INSTANCE;
+    }
+
+    // battery nur mit Speicher in den Eingaben, sonst null
+    public record Result(
+            double selfConsumedKwh,
+            double selfConsumptionRate,
+            double autarkyRate,
+            Battery battery
+    ) {
+        public Result(double selfConsumedKwh, double selfConsumptionRate, double autarkyRate) {
+            this(selfConsumedKwh, selfConsumptionRate, autarkyRate, null);
+        }
+    }
+
+    // selfConsumedKwh: direkt genutzt + in den Speicher geladen (ohne Netzeinspeisung),
+    // suppliedKwh: tatsächlich gedeckte Last (direkt + aus dem Speicher entladen, nach Verlusten)
+    public record Battery(
+            double selfConsumedKwh,
+            double suppliedKwh,
+            double selfConsumptionRate,
+            double autarkyRate,
+            double fullCyclesPerYear
+    ) {}
+
+    // Werte ohne Speicher und je Speicherkapazität (gleiche Reihenfolge wie capacitiesKwh)
+    public record Sweep(
+            Result withoutBattery,
+            List<Battery> batteries
+    ) {}
+
+    public Result calculate(UserInfo info, UserConditions conditions, double yearlyYieldKwh) {
+        double annualConsumption = info.userElectricityConsumption();
+        BatteryConfig batteryConfig = conditions.battery();
+        if (yearlyYieldKwh <= 0 || annualConsumption <= 0) {
+            return new Result(0.0, 0.0, 0.0, batteryConfig != null ? NO_BATTERY_EFFECT : null);
+        }
+
+        double[] pvShare = curve(conditions);
+        if (pvShare == null) {
+            return new Result(0.0, 0.0, 0.0, batteryConfig != null ? NO_BATTERY_EFFECT : null);
+        }
+
+        double[] loadShare = LoadProfile.forHousehold(info.userHouseholdNumber()).shares();
+        double selfConsumed = selfConsumed(pvShare, yearlyYieldKwh, loadShare, annualConsumption);
+
+        Battery battery = null;
+        if (batteryConfig != null) {
+            BatterySimulator.Result stored = BatterySimulator.simulate(pvShare, yearlyYieldKwh, loadShare, annualConsumption, batteryConfig);
+            battery = battery(stored.selfConsumedKwh(), stored.suppliedKwh(), stored.dischargedKwh(),
+                    batteryConfig.capacityKwh(), yearlyYieldKwh, annualConsumption);
+        }
+
+        return new Result(
+                selfConsumed,
+                Math.min(1.0, selfConsumed / yearlyYieldKwh),
+                Math.min(1.0, selfConsumed / annualConsumption),
+                battery
+        );
+    }
+
+    // Viele Speichergrößen je Anfrage: PV-Kurve einmal holen, der Durchlauf ohne Speicher einmal, dann je Kapazität
+    // ein SoC-Durchlauf. Wirkungsgrad und Leistungsgrenzen aus template, Kapazitäten größer 0
+    public Sweep sweepBattery(UserInfo info, UserConditions conditions, double yearlyYieldKwh,
+                              BatteryConfig template, double[] capacitiesKwh) {
+        double annualConsumption = info.userElectricityConsumption();
+        double[] pvShare = yearlyYieldKwh > 0 && annualConsumption > 0 ? curve(conditions) : null;
+        if (pvShare == null) {
+            return new Sweep(new Result(0.0, 0.0, 0.0), Collections.nCopies(capacitiesKwh.length, NO_BATTERY_EFFECT));
+        }
+
+        double[] loadShare = LoadProfile.forHousehold(info.userHouseholdNumber()).shares();
+        double selfConsumed = selfConsumed(pvShare, yearlyYieldKwh, loadShare, annualConsumption);
+        double[] storedKwh = new double[capacitiesKwh.length];
+        double[] suppliedKwh = new double[capacitiesKwh.length];
+        double[] dischargedKwh = new double[capacitiesKwh.length];
+        BatterySimulator.sweep(pvShare, yearlyYieldKwh, loadShare, annualConsumption,
+                template, capacitiesKwh, storedKwh, suppliedKwh, dischargedKwh);
+
+        List<Battery> batteries = new ArrayList<>(capacitiesKwh.length);
+        for (int i = 0; i < capacitiesKwh.length; i++) {
+            batteries.add(battery(storedKwh[i], suppliedKwh[i], dischargedKwh[i], capacitiesKwh[i],
+                    yearlyYieldKwh, annualConsumption));
+        }
+        return new Sweep(new Result(
+                selfConsumed,
+                Math.min(1.0, selfConsumed / yearlyYieldKwh),
+                Math.min(1.0, selfConsumed / annualConsumption)
+        ), batteries);
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static Battery battery(double selfConsumedKwh, double suppliedKwh, double dischargedKwh,
+                                   double capacityKwh, double yearlyYieldKwh, double annualConsumption) {
+        return new Battery(
+                selfConsumedKwh,
+                suppliedKwh,
+                Math.min(1.0, selfConsumedKwh / yearlyYieldKwh),
+                Math.min(1.0, suppliedKwh / annualConsumption),
+                capacityKwh > 0 ? dischargedKwh / capacityKwh : 0.0
+        );
+    }
+
+    // Standort außerhalb der TMY-Daten → Kurve der Standardzeitreihe (Jahresertrag bleibt der des Ertragsmodells);
+    // null, wenn die Anlage rechnerisch nichts erzeugt
+    private double[] curve(UserConditions conditions) {
+        UserPvConfig config = conditions.userPvConfig();
+        CurveKey key = new CurveKey(hourlySimulator.irradianceOrDefault(conditions), conditions.montageDirection(),
+                conditions.montageAngle(), config.getTotalModuleKwp() * (1 - conditions.montageShadeFactor()),
+                config.getInverterWatt());
+        double[] shares = curves.get(key, k -> normalizedCurve(k.irradiance(), conditions));
+        return shares.length == 0 ? null : shares;
+    }
+
+    private double[] normalizedCurve(IrradianceSeries irradiance, UserConditions conditions) {
+        double[] shares = new double[HOURS_PER_YEAR];
+        double total = hourlySimulator.simulate(irradiance, conditions, shares);
+        if (total <= 0) {
+            return new double[0];
+        }
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            shares[h] /= total;
+        }
+        return shares;
+    }
+
+    static double selfConsumed(double[] pvKwh, double pvScale, double[] loadShare, double annualConsumption) {
+        double sum = 0;
+        for (int h = 0; h < HOURS_PER_YEAR; h++) {
+            sum += Math.min(pvKwh[h] * pvScale, loadShare[h] * annualConsumption);
+        }
+        return sum;
+    }
+
+    // Bestimmt die Kurvenform: Modulleistung nach Verschattung und Wechselrichtergrenze statt Produktname
+    private record CurveKey(IrradianceSeries irradiance, Direction direction, int angle, double dcKwp, int inverterWatt) {}
+
+    private static final class Standard {
+        static final SelfConsumptionModel INSTANCE = new SelfConsumptionModel(HourlySimulator.standard(), DEFAULT_CURVE_CACHE_SIZE);
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.backend.calculation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Stündliche TMY-Daten (typisches meteorologisches Jahr) auf einem Breiten-/Längengrad-Raster,
+// als Binärdatei per mmap eingeblendet. Eine Abfrage liefert nur float-Sichten auf die gemappten Seiten –
+// keine Kopie in den Heap, das Betriebssystem lädt die benötigten Zellen bei Bedarf nach.
+//
+// Dateiformat (little endian, erzeugt von TmyStoreBuilder):
+//   Header (64 Byte): Magic "SCTM", Version, Kanäle, Stunden, Anzahl Breiten, Anzahl Längen,
+//                     minimaler Breitengrad, minimaler Längengrad, Rasterweite (double)
+//   Zellen zeilenweise (Breite außen, Länge innen), je Zelle IrradianceSeries.CELL_BYTES
+public final class TmyStore implements IrradianceSource, AutoCloseable {
+
+    static final int MAGIC = 0x4D544353; // "SCTM" little endian
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    // Ein MappedByteBuffer fasst höchstens 2 GB, größere Dateien werden in Segmente aufgeteilt
+    private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final int latitudeCount;
+    private final int longitudeCount;
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double step;
+    private final int cellsPerSegment;
+    private final MappedByteBuffer[] segments;
+    private final AtomicReferenceArray<IrradianceSeries> cells;
+    private final IrradianceSeries defaultSeries;
+
+    private TmyStore(FileChannel channel, ByteBuffer header, double defaultLatitude, double defaultLongitude)
+            throws IOException {
+        this.channel = channel;
+        this.latitudeCount = header.getInt(16);
+        this.longitudeCount = header.getInt(20);
+        this.minLatitude = header.getDouble(24);
+        this.minLongitude = header.getDouble(32);
+        this.step = header.getDouble(40);
+
+        int cellCount = Math.multiplyExact(latitudeCount, longitudeCount);
+        long expectedSize = HEADER_BYTES + (long) cellCount * IrradianceSeries.CELL_BYTES;
+        if (latitudeCount <= 0 || longitudeCount <= 0 || step <= 0 || channel.size() != expectedSize) {
+            throw new IllegalStateException("TMY-Datei unvollständig oder beschädigt (erwartet "
+                    + expectedSize + " Byte, gefunden " + channel.size() + ").");
+        }
+
+        this.cellsPerSegment = (int) (MAX_SEGMENT_BYTES / IrradianceSeries.CELL_BYTES);
+        int segmentCount = (cellCount + cellsPerSegment - 1) / cellsPerSegment;
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long offset = HEADER_BYTES + (long) i * cellsPerSegment * IrradianceSeries.CELL_BYTES;
+            long size = (long) Math.min(cellsPerSegment, cellCount - i * cellsPerSegment) * IrradianceSeries.CELL_BYTES;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        }
+        this.cells = new AtomicReferenceArray<>(cellCount);
+        this.defaultSeries = at(defaultLatitude, defaultLongitude);
+    }
+
+    public static TmyStore open(Path file, double defaultLatitude, double defaultLongitude) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.read(header, 0) != HEADER_BYTES) {
+                throw new IllegalStateException("TMY-Datei zu kurz: " + file);
+            }
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalStateException("Keine TMY-Datei im SolarCheck-Format (Version " + VERSION + "): " + file);
+            }
+            if (header.getInt(8) != IrradianceSeries.CHANNELS || header.getInt(12) != IrradianceSeries.HOURS_PER_YEAR) {
+                throw new IllegalStateException("TMY-Datei hat ein abweichendes Zellformat: " + file);
+            }
+            return new TmyStore(channel, header, defaultLatitude, defaultLongitude);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Nächstgelegene Rasterzelle; Sichten werden je Zelle einmal angelegt und wiederverwendet
+    @Override
+    public IrradianceSeries at(double latitude, double longitude) {
+        int latIndex = gridIndex(latitude, minLatitude, latitudeCount);
+        int lonIndex = gridIndex(longitude, minLongitude, longitudeCount);
+        if (latIndex < 0 || lonIndex < 0) {
+            throw new IllegalArgumentException("Standort außerhalb des TMY-Rasters: " + latitude + ", " + longitude);
+        }
+
+        int cell = latIndex * longitudeCount + lonIndex;
+        IrradianceSeries series = cells.get(cell);
+        if (series == null) {
+            series = view(cell, minLatitude + latIndex * step, minLongitude + lonIndex * step);
+            if (!cells.compareAndSet(cell, null, series)) {
+                series = cells.get(cell);
+            }
+        }
+        return series;
+    }
+
+    @Override
+    public IrradianceSeries defaultSeries() {
+        return defaultSeries;
+    }
+
+    public int cellCount() {
+        return cells.length();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Die Abbildungen bleiben bis zur Garbage Collection gültig, nur der Kanal wird freigegeben
+        channel.close();
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private IrradianceSeries view(int cell, double latitude, double longitude) {
+        MappedByteBuffer segment = segments[cell / cellsPerSegment];
+        int offset = (cell % cellsPerSegment) * IrradianceSeries.CELL_BYTES;
+        ByteBuffer bytes = segment.slice(offset, IrradianceSeries.CELL_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        return new IrradianceSeries(latitude, longitude, bytes.asFloatBuffer());
+    }
+
+    // Index der nächsten Rasterlinie, -1 wenn mehr als eine halbe Rasterweite außerhalb
+    private int gridIndex(double value, double min, int count) {
+        if (Double.isNaN(value)) {
+            return -1;
+        }
+        long index = Math.round((value - min) / step);
+        return index >= 0 && index < count ? (int) index : -1;
+    }
+}
@@ -0,0 +1,253 @@
+package org.example.backend.calculation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// Build-Tool: wandelt lokale TMY-Dateien (PVGIS-CSV oder EPW) in die Binärdatei für TmyStore um.
+// Jede Rasterzelle erhält die Messreihe der nächstgelegenen Station, der Sonnenstand wird für die
+// Zellmitte berechnet. Die Ausgabe wird erst nach vollständigem Schreiben an ihren Platz verschoben,
+// damit ein laufender Server nie eine halbe Datei einblendet.
+//
+// Aufruf: mvn -P tmy-store compile -Dtmy.args="<ausgabe> <minBreite> <maxBreite> <minLänge> <maxLänge> <raster> <eingabe...>"
+public final class TmyStoreBuilder {
+
+    private TmyStoreBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Kein System.exit: läuft auch innerhalb der Maven-JVM (exec:java)
+        if (args.length < 7) {
+            throw new IllegalArgumentException("Aufruf: TmyStoreBuilder <ausgabe> <minBreite> <maxBreite> <minLänge> <maxLänge> <raster> <eingabe...>"
+                    + " (Eingaben: PVGIS-TMY-CSV, EPW oder Verzeichnisse mit solchen Dateien)");
+        }
+
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 6; i < args.length; i++) {
+            inputs.add(Path.of(args[i]));
+        }
+        int cells = build(inputs, Path.of(args[0]),
+                Double.parseDouble(args[1]), Double.parseDouble(args[2]),
+                Double.parseDouble(args[3]), Double.parseDouble(args[4]),
+                Double.parseDouble(args[5]));
+        System.out.println(cells + " Rasterzellen nach " + args[0] + " geschrieben.");
+    }
+
+    // Liefert die Anzahl geschriebener Zellen
+    public static int build(List<Path> inputs, Path output,
+                            double minLatitude, double maxLatitude,
+                            double minLongitude, double maxLongitude,
+                            double step) throws IOException {
+        if (step <= 0 || maxLatitude < minLatitude || maxLongitude < minLongitude) {
+            throw new IllegalArgumentException("Ungültiges Raster: Breite " + minLatitude + "–" + maxLatitude
+                    + ", Länge " + minLongitude + "–" + maxLongitude + ", Raster " + step);
+        }
+        IrradianceSeries.validateLocation(minLatitude, minLongitude);
+        IrradianceSeries.validateLocation(maxLatitude, maxLongitude);
+
+        List<Station> stations = new ArrayList<>();
+        for (Path input : inputs) {
+            for (Path file : expand(input)) {
+                stations.add(read(file));
+            }
+        }
+        if (stations.isEmpty()) {
+            throw new IllegalArgumentException("Keine TMY-Dateien gefunden: " + inputs);
+        }
+
+        int latitudeCount = (int) Math.floor((maxLatitude - minLatitude) / step + 1e-9) + 1;
+        int longitudeCount = (int) Math.floor((maxLongitude - minLongitude) / step + 1e-9) + 1;
+
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(TmyStore.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(TmyStore.MAGIC)
+                    .putInt(TmyStore.VERSION)
+                    .putInt(IrradianceSeries.CHANNELS)
+                    .putInt(IrradianceSeries.HOURS_PER_YEAR)
+                    .putInt(latitudeCount)
+                    .putInt(longitudeCount)
+                    .putDouble(minLatitude)
+                    .putDouble(minLongitude)
+                    .putDouble(step);
+            writeFully(channel, header.clear());
+
+            // Ein Zellpuffer für alle Zellen, geschrieben wird zeilenweise in Dateireihenfolge
+            ByteBuffer cell = ByteBuffer.allocateDirect(IrradianceSeries.CELL_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int latIndex = 0; latIndex < latitudeCount; latIndex++) {
+                for (int lonIndex = 0; lonIndex < longitudeCount; lonIndex++) {
+                    double latitude = minLatitude + latIndex * step;
+                    double longitude = minLongitude + lonIndex * step;
+                    Station station = nearest(stations, latitude, longitude);
+
+                    cell.clear();
+                    IrradianceSeries.writeCell(cell, IrradianceSeries.sunPosition(latitude, longitude),
+                            station.ghi(), station.dni(), station.dhi(), station.temperature());
+                    writeFully(channel, cell.flip());
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return latitudeCount * longitudeCount;
+    }
+
+    // Messreihe einer Station, stündlich in UTC
+    record Station(double latitude, double longitude,
+                   double[] ghi, double[] dni, double[] dhi, double[] temperature) {
+    }
+
+    static Station read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".epw")
+                ? readEpw(file, lines)
+                : readPvgisCsv(file, lines);
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static List<Path> expand(Path input) throws IOException {
+        if (!Files.isDirectory(input)) {
+            return List.of(input);
+        }
+        try (Stream<Path> files = Files.list(input)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+                        return name.endsWith(".csv") || name.endsWith(".epw");
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // PVGIS-TMY (CSV): Kopfzeilen mit Breiten-/Längengrad, dann Spalten time(UTC), T2m, G(h), Gb(n), Gd(h), ...
+    private static Station readPvgisCsv(Path file, List<String> lines) {
+        Double latitude = null;
+        Double longitude = null;
+        int row = 0;
+        while (row < lines.size() && !lines.get(row).startsWith("time(UTC)")) {
+            String line = lines.get(row);
+            if (line.startsWith("Latitude")) latitude = headerValue(file, line);
+            if (line.startsWith("Longitude")) longitude = headerValue(file, line);
+            row++;
+        }
+        if (latitude == null || longitude == null || row == lines.size()) {
+            throw new IllegalArgumentException("Keine PVGIS-TMY-Datei (Kopf oder Spaltenzeile fehlt): " + file);
+        }
+
+        List<String> columns = List.of(lines.get(row).split(","));
+        int temperatureColumn = column(file, columns, "T2m");
+        int ghiColumn = column(file, columns, "G(h)");
+        int dniColumn = column(file, columns, "Gb(n)");
+        int dhiColumn = column(file, columns, "Gd(h)");
+
+        Station station = emptyStation(latitude, longitude);
+        int hour = 0;
+        for (row++; row < lines.size() && !lines.get(row).isBlank() && Character.isDigit(lines.get(row).charAt(0)); row++) {
+            String[] fields = lines.get(row).split(",");
+            checkHour(file, hour);
+            station.temperature()[hour] = Double.parseDouble(fields[temperatureColumn]);
+            station.ghi()[hour] = Double.parseDouble(fields[ghiColumn]);
+            station.dni()[hour] = Double.parseDouble(fields[dniColumn]);
+            station.dhi()[hour] = Double.parseDouble(fields[dhiColumn]);
+            hour++;
+        }
+        checkComplete(file, hour);
+        return station;
+    }
+
+    // EnergyPlus Weather (EPW): LOCATION-Zeile mit Breite, Länge, Zeitzone; 8 Kopfzeilen; Werte in Ortszeit
+    // (Stunde endet zur angegebenen Uhrzeit) → Verschiebung um die Zeitzone nach UTC
+    private static Station readEpw(Path file, List<String> lines) {
+        String[] location = lines.isEmpty() ? new String[0] : lines.get(0).split(",");
+        if (location.length < 9 || !location[0].equals("LOCATION")) {
+            throw new IllegalArgumentException("Keine EPW-Datei (LOCATION-Zeile fehlt): " + file);
+        }
+        double latitude = Double.parseDouble(location[6].trim());
+        double longitude = Double.parseDouble(location[7].trim());
+        int timeZone = (int) Math.round(Double.parseDouble(location[8].trim()));
+
+        Station station = emptyStation(latitude, longitude);
+        int hour = 0;
+        for (int row = 8; row < lines.size() && !lines.get(row).isBlank(); row++) {
+            String[] fields = lines.get(row).split(",");
+            checkHour(file, hour);
+            int utc = Math.floorMod(hour - timeZone, IrradianceSeries.HOURS_PER_YEAR);
+            station.temperature()[utc] = Double.parseDouble(fields[6]);
+            station.ghi()[utc] = Double.parseDouble(fields[13]);
+            station.dni()[utc] = Double.parseDouble(fields[14]);
+            station.dhi()[utc] = Double.parseDouble(fields[15]);
+            hour++;
+        }
+        checkComplete(file, hour);
+        return station;
+    }
+
+    private static Station emptyStation(double latitude, double longitude) {
+        int hours = IrradianceSeries.HOURS_PER_YEAR;
+        return new Station(latitude, longitude, new double[hours], new double[hours], new double[hours], new double[hours]);
+    }
+
+    private static double headerValue(Path file, String line) {
+        int colon = line.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Ungültige Kopfzeile in " + file + ": " + line);
+        }
+        return Double.parseDouble(line.substring(colon + 1).split(",")[0].trim());
+    }
+
+    private static int column(Path file, List<String> columns, String name) {
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Spalte " + name + " fehlt in " + file);
+        }
+        return index;
+    }
+
+    private static void checkHour(Path file, int hour) {
+        if (hour >= IrradianceSeries.HOURS_PER_YEAR) {
+            throw new IllegalArgumentException("Mehr als " + IrradianceSeries.HOURS_PER_YEAR + " Stundenwerte in " + file);
+        }
+    }
+
+    private static void checkComplete(Path file, int hours) {
+        if (hours != IrradianceSeries.HOURS_PER_YEAR) {
+            throw new IllegalArgumentException("Erwartet " + IrradianceSeries.HOURS_PER_YEAR
+                    + " Stundenwerte, gefunden " + hours + " in " + file);
+        }
+    }
+
+    // Nächste Station nach Abstand auf der Kugel (äquirektangulär genähert, für Rasterweiten ausreichend)
+    private static Station nearest(List<Station> stations, double latitude, double longitude) {
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        Station best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (Station station : stations) {
+            double dLat = station.latitude() - latitude;
+            double dLon = (station.longitude() - longitude) * cosLatitude;
+            double distance = dLat * dLat + dLon * dLon;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = station;
+            }
+        }
+        return best;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
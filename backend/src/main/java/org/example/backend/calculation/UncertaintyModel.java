@@ -0,0 +1,128 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Monte-Carlo-Modus: streut Verschattung (absolut), Einstrahlung des Jahres und Strompreis (relativ, normalverteilt)
+// und liefert P10/P50/P90 für Jahresertrag, Ersparnis und Amortisation.
+// Der Ertrag ohne Verschattung wird einmal mit dem aktiven Ertragsmodell berechnet; je Stichprobe bleibt
+// Ertrag = Ertrag₀ × (1 − Verschattung) × Einstrahlungsfaktor (Wechselrichterbegrenzung der Stundensimulation
+// wird dabei vernachlässigt). Die Stichproben laufen in festen Blöcken mit je einem abgespaltenen
+// SplittableRandom parallel in primitive double[] – gleicher Seed → gleiches Ergebnis, unabhängig von der Kernzahl.
+@Component
+public class UncertaintyModel {
+
+    public static final int MIN_SAMPLES = 100;
+    public static final int MAX_SAMPLES = 100_000;
+
+    private static final int BLOCKS = 64;
+
+    private final YieldCalculator yieldCalculator;
+    private final int defaultSamples;
+    private final double shadeSigma;
+    private final double irradianceSigma;
+    private final double priceSigma;
+    private final long seed;
+
+    public UncertaintyModel(
+            YieldCalculator yieldCalculator,
+            @Value("${solarcheck.uncertainty.samples:10000}") int defaultSamples,
+            @Value("${solarcheck.uncertainty.shade-sigma:0.05}") double shadeSigma,
+            @Value("${solarcheck.uncertainty.irradiance-sigma:0.05}") double irradianceSigma,
+            @Value("${solarcheck.uncertainty.price-sigma:0.1}") double priceSigma,
+            @Value("${solarcheck.uncertainty.seed:42}") long seed) {
+        checkSamples(defaultSamples);
+        if (shadeSigma < 0 || irradianceSigma < 0 || priceSigma < 0) {
+            throw new IllegalArgumentException("Standardabweichungen dürfen nicht negativ sein.");
+        }
+        this.yieldCalculator = yieldCalculator;
+        this.defaultSamples = defaultSamples;
+        this.shadeSigma = shadeSigma;
+        this.irradianceSigma = irradianceSigma;
+        this.priceSigma = priceSigma;
+        this.seed = seed;
+    }
+
+    public UncertaintyResult estimate(UserInfo info, UserConditions conditions) {
+        return estimate(info, conditions, defaultSamples);
+    }
+
+    public UncertaintyResult estimate(UserInfo info, UserConditions conditions, int samples) {
+        if (conditions == null) {
+            throw new IllegalStateException("UserConditions fehlen.");
+        }
+        if (info == null) {
+            throw new IllegalStateException("UserInfo fehlen.");
+        }
+        if (conditions.userPvConfig() == null) {
+            throw new IllegalStateException("Kein PV-Modul gewählt.");
+        }
+        checkSamples(samples);
+
+        double unshadedYield = yieldCalculator.yearlyYield(new UserConditions(
+                conditions.userPvConfig(), conditions.montageAngle(), conditions.montageDirection(), 0.0,
+                conditions.latitude(), conditions.longitude(), conditions.battery()));
+        double shade = conditions.montageShadeFactor();
+        double price = info.userRateOfElectricity() / 100.0;
+        double cost = conditions.userPvConfig().getInstallationCostEur();
+
+        double[] yield = new double[samples];
+        double[] savings = new double[samples];
+        double[] amortisation = new double[samples];
+
+        // Seeds der Blöcke sequenziell abspalten, damit die Reihenfolge der parallelen Ausführung keine Rolle spielt
+        int blocks = Math.min(BLOCKS, samples);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] random = new SplittableRandom[blocks];
+        for (int b = 0; b < blocks; b++) {
+            random[b] = root.split();
+        }
+
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            SplittableRandom rng = random[b];
+            int to = (int) ((long) (b + 1) * samples / blocks);
+            for (int i = (int) ((long) b * samples / blocks); i < to; i++) {
+                double sampledShade = clamp(shade + shadeSigma * rng.nextGaussian(), 0.0, 1.0);
+                double irradianceFactor = Math.max(0.0, 1.0 + irradianceSigma * rng.nextGaussian());
+                double sampledPrice = price * Math.max(0.0, 1.0 + priceSigma * rng.nextGaussian());
+
+                double sampledYield = unshadedYield * (1 - sampledShade) * irradianceFactor;
+                double sampledSavings = sampledYield * sampledPrice;
+                yield[i] = sampledYield;
+                savings[i] = sampledSavings;
+                amortisation[i] = sampledSavings > 0 ? cost / sampledSavings : Double.MAX_VALUE;
+            }
+        });
+
+        return new UncertaintyResult(samples, band(yield), band(savings), band(amortisation));
+    }
+
+    // ---- Hilfsmethoden ----
+
+    // Sortiert values (in place) und liest die Perzentile ab (Nearest-Rank)
+    static UncertaintyBand band(double[] values) {
+        Arrays.parallelSort(values);
+        return new UncertaintyBand(percentile(values, 0.1), percentile(values, 0.5), percentile(values, 0.9));
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static void checkSamples(int samples) {
+        if (samples < MIN_SAMPLES || samples > MAX_SAMPLES) {
+            throw new IllegalArgumentException("Anzahl der Stichproben muss zwischen " + MIN_SAMPLES
+                    + " und " + MAX_SAMPLES + " liegen: " + samples);
+        }
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
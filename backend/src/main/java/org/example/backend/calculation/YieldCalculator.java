@@ -0,0 +1,211 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.*;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class YieldCalculator {
+
+    private final YieldTable yieldTable;
+    private final YieldModel yieldModel;
+    private final SelfConsumptionModel selfConsumptionModel;
+
+    // Constants
+    private static final double CO2_PER_KWH = 0.4; // kg CO₂ pro kWh
+
+    // Zusätzliche Konstanten für Tagesberechnung
+    private static final double HOME_OFFICE_DAILY_KWH = 3.0;     // angenommener Verbrauch pro Tag im Homeoffice
+    private static final double EBIKE_KWH_PER_KM = 0.015;         // Verbrauch E-Bike
+    private static final double ECAR_KWH_PER_KM = 0.17;           // Verbrauch E-Auto
+
+    // Speicher
+    private static final double BATTERY_COST_PER_KWH = 500.0;     // € je kWh nutzbarer Kapazität inkl. Einbau
+    private static final double FEED_IN_TARIFF_PER_KWH = 0.08;    // € je kWh eingespeister Überschuss
+
+    // yieldModel liefert den Jahresertrag (statisch oder stündlich simuliert), yieldTable Degradation/Tageswerte,
+    // selfConsumptionModel Eigenverbrauch/Autarkie aus Stundenwerten
+    public YieldCalculator(YieldTable yieldTable, YieldModel yieldModel, SelfConsumptionModel selfConsumptionModel) {
+        this.yieldTable = yieldTable;
+        this.yieldModel = yieldModel;
+        this.selfConsumptionModel = selfConsumptionModel;
+    }
+
+    // ERTRAGSRECHNER (ohne Seiteneffekte, keine DB-Zugriffe)
+    public UserResult calculate(UserInfo info, UserConditions conditions) {
+        // Validate required data exists
+        if (conditions == null) {
+            throw new IllegalStateException("UserConditions fehlen.");
+        }
+        if (info == null) {
+            throw new IllegalStateException("UserInfo fehlen.");
+        }
+
+        UserPvConfig pvConfig = conditions.userPvConfig();
+        if (pvConfig == null) {
+            throw new IllegalStateException("Kein PV-Modul gewählt.");
+        }
+
+        int installationCost = pvConfig.getInstallationCostEur();
+
+        // --- Jahresertrag ---
+        double yearlyYield = yearlyYield(conditions);
+
+        int possibleElectricity = (int) Math.round(yearlyYield);
+
+        double pricePerKwh = info.userRateOfElectricity() / 100.0;
+        int savings = savings(info, possibleElectricity);
+
+        double amortisationTime = amortisationTime(installationCost, savings);
+
+        // --- Neue Berechnungen ---
+        // 1) Gesamtertrag über Systemlebensdauer (mit Degradation)
+        double lifetimeYield = yieldTable.lifetimeYield(yearlyYield);
+
+        // 2) CO₂-Ersparnis pro Jahr
+        double co2SavingsKgPerYear = possibleElectricity * CO2_PER_KWH;
+
+        // 3) Eigenverbrauchsquote und 4) Autarkiegrad aus PV-Stundenkurve und Lastprofil des Haushalts
+        SelfConsumptionModel.Result selfConsumption = selfConsumptionModel.calculate(info, conditions, yearlyYield);
+        double selfConsumptionRate = selfConsumption.selfConsumptionRate();
+        double autarkyRate = selfConsumption.autarkyRate();
+
+        // 5) Mit Speicher: Quoten und Amortisation von PV + Speicher
+        BatteryResult batteryResult = selfConsumption.battery() != null
+                ? calculateBatteryResult(conditions.battery(), selfConsumption.selfConsumedKwh(),
+                        selfConsumption.battery(), installationCost, yearlyYield, pricePerKwh)
+                : null;
+
+        // --- Tageswerte ---
+        double dailyYield = roundToOneDecimal(yieldTable.dailyYield(yearlyYield));
+        double dailySavings = roundToOneDecimal(dailyYield * pricePerKwh);
+        double homeofficeCoverageRate = roundToOneDecimal(calculateHomeofficeCoverageRate(dailyYield));
+        double dailyEBikeRangeKm = roundToOneDecimal(calculateDailyEBikeRangeKm(dailyYield));
+        double dailyECarRangeKm = roundToOneDecimal(calculateDailyECarRangeKm(dailyYield));
+
+        // --- Ergebnisobjekt ---
+        return new UserResult(
+                possibleElectricity,
+                savings,
+                amortisationTime,
+                lifetimeYield,
+                co2SavingsKgPerYear,
+                selfConsumptionRate,
+                autarkyRate,
+                dailyYield,
+                dailySavings,
+                homeofficeCoverageRate,
+                dailyEBikeRangeKm,
+                dailyECarRangeKm,
+                batteryResult
+        );
+    }
+
+    // Nur Jahresertrag (ohne Stundenrechnung für Eigenverbrauch), z.B. für die Vorauswahl im ConfigurationOptimizer
+    public double yearlyYield(UserConditions conditions) {
+        return yieldModel.yearlyYield(conditions);
+    }
+
+    // Mehrere Speichergrößen mit Wirkungsgrad und Leistungsgrenzen aus conditions.battery();
+    // PV-Kurve und Durchlauf ohne Speicher werden für alle Kapazitäten geteilt
+    public List<BatteryOption> sweepBattery(UserInfo info, UserConditions conditions, double[] capacitiesKwh) {
+        if (conditions == null || conditions.userPvConfig() == null) {
+            throw new IllegalStateException("Kein PV-Modul gewählt.");
+        }
+        if (info == null) {
+            throw new IllegalStateException("UserInfo fehlen.");
+        }
+        BatteryConfig template = conditions.battery();
+        if (template == null) {
+            throw new IllegalArgumentException("Speicherkonfiguration fehlt.");
+        }
+        for (double capacity : capacitiesKwh) {
+            if (!(capacity > 0)) {
+                throw new IllegalArgumentException("Speicherkapazität muss größer 0 sein: " + capacity);
+            }
+        }
+
+        double yearlyYield = yearlyYield(conditions);
+        SelfConsumptionModel.Sweep sweep = selfConsumptionModel.sweepBattery(info, conditions, yearlyYield,
+                template, capacitiesKwh);
+        double pricePerKwh = info.userRateOfElectricity() / 100.0;
+        int installationCost = conditions.userPvConfig().getInstallationCostEur();
+
+        List<BatteryOption> options = new ArrayList<>(capacitiesKwh.length);
+        for (int i = 0; i < capacitiesKwh.length; i++) {
+            BatteryConfig battery = new BatteryConfig(capacitiesKwh[i], template.roundTripEfficiency(),
+                    template.maxChargeKw(), template.maxDischargeKw());
+            options.add(new BatteryOption(capacitiesKwh[i], calculateBatteryResult(battery,
+                    sweep.withoutBattery().selfConsumedKwh(), sweep.batteries().get(i),
+                    installationCost, yearlyYield, pricePerKwh)));
+        }
+        return options;
+    }
+
+    static int savings(UserInfo info, int possibleElectricity) {
+        return (int) Math.round(possibleElectricity * (info.userRateOfElectricity() / 100.0));
+    }
+
+    static double amortisationTime(int installationCost, int savings) {
+        return savings > 0
+                ? (double) installationCost / savings
+                : Double.MAX_VALUE;
+    }
+
+    // ----------------------------------------------------
+    //  Hilfsmethoden
+    // ----------------------------------------------------
+
+    // Gedeckte Last spart den Strompreis, vergütet wird nur der tatsächlich eingespeiste Überschuss. Geladene Energie
+    // zählt erst beim Entladen (nach Verlusten); was am Jahresende im Speicher bleibt, spart nichts
+    private BatteryResult calculateBatteryResult(BatteryConfig battery, double directSelfConsumedKwh,
+                                                 SelfConsumptionModel.Battery withBattery, int installationCost,
+                                                 double yearlyYield, double pricePerKwh) {
+        int batteryCost = (int) Math.round(battery.capacityKwh() * BATTERY_COST_PER_KWH);
+        double withBatterySavings = yearlySavings(withBattery.suppliedKwh(), withBattery.selfConsumedKwh(),
+                yearlyYield, pricePerKwh);
+        double pvOnlySavings = yearlySavings(directSelfConsumedKwh, directSelfConsumedKwh, yearlyYield, pricePerKwh);
+
+        return new BatteryResult(
+                withBattery.selfConsumptionRate(),
+                withBattery.autarkyRate(),
+                Math.max(0.0, withBattery.suppliedKwh() - directSelfConsumedKwh),
+                batteryCost,
+                payback(installationCost + batteryCost, withBatterySavings),
+                payback(installationCost, pvOnlySavings),
+                withBattery.fullCyclesPerYear()
+        );
+    }
+
+    // suppliedKwh: aus PV (+ Speicher) gedeckte Last, retainedKwh: nicht eingespeiste Erzeugung
+    private static double yearlySavings(double suppliedKwh, double retainedKwh, double yearlyYield, double pricePerKwh) {
+        return suppliedKwh * pricePerKwh + Math.max(0.0, yearlyYield - retainedKwh) * FEED_IN_TARIFF_PER_KWH;
+    }
+
+    private static double payback(double cost, double yearlySavings) {
+        return yearlySavings > 0 ? cost / yearlySavings : Double.MAX_VALUE;
+    }
+
+    private double calculateHomeofficeCoverageRate(double dailyYieldKwh) {
+        // Anteil des Homeoffice-Verbrauchs, der durch PV gedeckt wird
+        return HOME_OFFICE_DAILY_KWH > 0
+                ? Math.min(100.0, (dailyYieldKwh / HOME_OFFICE_DAILY_KWH) * 100.0)
+                : 0.0;
+    }
+
+    private double calculateDailyEBikeRangeKm(double dailyYieldKwh) {
+        // Maximale km Reichweite E-Bike pro Tag basierend auf PV-Ertrag
+        return dailyYieldKwh / EBIKE_KWH_PER_KM;
+    }
+
+    private double calculateDailyECarRangeKm(double dailyYieldKwh) {
+        // Maximale km Reichweite E-Auto pro Tag basierend auf PV-Ertrag
+        return dailyYieldKwh / ECAR_KWH_PER_KM;
+    }
+
+    private double roundToOneDecimal(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
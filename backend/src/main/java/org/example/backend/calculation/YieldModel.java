@@ -0,0 +1,27 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserPvConfig;
+
+// Jahresertrag einer Anlage in kWh (ungerundet).
+// STATIC: Faktortabelle (YieldTable), HOURLY: Stundensimulation (HourlySimulator)
+public interface YieldModel {
+
+    enum Type {
+        STATIC,
+        HOURLY
+    }
+
+    double yearlyYield(UserPvConfig config, Direction direction, int angle, double shadeFactor);
+
+    // Standortabhängige Modelle überschreiben diese Variante (Standort aus den UserConditions)
+    default double yearlyYield(UserConditions conditions) {
+        return yearlyYield(
+                conditions.userPvConfig(),
+                conditions.montageDirection(),
+                conditions.montageAngle(),
+                conditions.montageShadeFactor()
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.backend.calculation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.backend.model.BatteryConfig;
+import org.example.backend.model.PvProduct;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserInfo;
+import org.example.backend.model.UserResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Cache vor dem YieldCalculator: gleiche Eingaben → dasselbe (unveränderliche) UserResult.
+// Größen- und zeitbasierte Verdrängung (W-TinyLFU), Statistiken für Hit/Miss/Eviction.
+@Component
+public class YieldResultCache {
+
+    private final YieldCalculator yieldCalculator;
+    private final Cache<Fingerprint, UserResult> cache;
+    private final Timer calculationTimer;
+
+    public YieldResultCache(
+            YieldCalculator yieldCalculator,
+            MeterRegistry meterRegistry,
+            @Value("${solarcheck.result-cache.maximum-size:10000}") long maximumSize,
+            @Value("${solarcheck.result-cache.expire-after-write:1h}") Duration expireAfterWrite) {
+        this.yieldCalculator = yieldCalculator;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        // Hit/Miss/Eviction als cache.* Metriken, Rechenzeit nur für echte Berechnungen (Cache-Miss)
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "yieldResults");
+        this.calculationTimer = Timer.builder("solarcheck.calculation")
+                .description("Dauer der Ertragsberechnung")
+                .register(meterRegistry);
+    }
+
+    public UserResult calculate(UserInfo info, UserConditions conditions) {
+        // Unvollständige Eingaben nicht cachen, der Calculator liefert die passende Fehlermeldung
+        if (info == null || conditions == null
+                || conditions.userPvConfig() == null || conditions.montageDirection() == null) {
+            return yieldCalculator.calculate(info, conditions);
+        }
+        return cache.get(Fingerprint.of(info, conditions),
+                key -> calculationTimer.record(() -> yieldCalculator.calculate(info, conditions)));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Kompakter Schlüssel aus allen Eingaben, verlustfrei in primitive Felder gepackt;
+    // der (unveränderliche) Speicher-Record geht direkt ein, ohne Speicher null. Das Produkt mit allen Katalogwerten,
+    // damit nach einer Katalogänderung (z.B. neuer Preis) nicht das alte Ergebnis geliefert wird
+    record Fingerprint(
+            long rateAndConsumption,
+            long householdAndAngle,
+            long shadeBits,
+            PvProduct product,
+            int direction,
+            long latitudeBits,
+            long longitudeBits,
+            BatteryConfig battery
+    ) {
+        static Fingerprint of(UserInfo info, UserConditions conditions) {
+            return new Fingerprint(
+                    pack(info.userRateOfElectricity(), info.userElectricityConsumption()),
+                    pack(info.userHouseholdNumber(), conditions.montageAngle()),
+                    Double.doubleToLongBits(conditions.montageShadeFactor()),
+                    conditions.userPvConfig().product(),
+                    conditions.montageDirection().ordinal(),
+                    coordinateBits(conditions.latitude()),
+                    coordinateBits(conditions.longitude()),
+                    conditions.battery()
+            );
+        }
+
+        // Ohne Standort: NaN-Bits (kein gültiger Koordinatenwert)
+        private static long coordinateBits(Double coordinate) {
+            return Double.doubleToLongBits(coordinate != null ? coordinate : Double.NaN);
+        }
+
+        private static long pack(int high, int low) {
+            return ((long) high << 32) | (low & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.Direction;
+import org.example.backend.model.PvProduct;
+import org.example.backend.model.UserPvConfig;
+import org.springframework.stereotype.Component;
+
+// Beim Start vorberechnete Orientierungstabelle (Ausrichtung × Neigungswinkel 0–90°). Die PV-Kombi kommt
+// beim Nachschlagen aus dem Produktkatalog (kWp, Clipping), damit neue Produkte ohne Neustart rechnen.
+// Die Verschattung geht linear ein und wird deshalb beim Nachschlagen multipliziert statt in Stufen abgelegt.
+@Component
+public class YieldTable implements YieldModel {
+
+    // Constants
+    private static final int SOLAR_IRRADIANCE = 1000; //Sonnenstrahlung Konstante
+    private static final double DAYS_PER_YEAR = 365.0;
+
+    private static final int MIN_ANGLE = 0;
+    private static final int MAX_ANGLE = 90;
+    private static final int ANGLE_COUNT = MAX_ANGLE - MIN_ANGLE + 1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Richtungs- und Winkelfaktor getrennt, nach Ordinal bzw. Winkel indiziert
+    private final double[] directionFactors;
+    private final double[] angleFactors;
+
+    private final DegradationModel degradationModel;
+
+    public YieldTable(DegradationModel degradationModel) {
+        this.degradationModel = degradationModel;
+
+        directionFactors = new double[DIRECTIONS.length];
+        for (Direction direction : DIRECTIONS) {
+            directionFactors[direction.ordinal()] = getDirectionFactor(direction);
+        }
+        angleFactors = new double[ANGLE_COUNT];
+        for (int angle = MIN_ANGLE; angle <= MAX_ANGLE; angle++) {
+            angleFactors[angle - MIN_ANGLE] = getAngleFactor(angle);
+        }
+    }
+
+    // Jahresertrag in kWh (ungerundet)
+    @Override
+    public double yearlyYield(UserPvConfig config, Direction direction, int angle, double shadeFactor) {
+        PvProduct product = config.product();
+        return product.totalModuleKwp()
+                * directionFactors[direction.ordinal()]
+                * angleFactors[clampAngle(angle) - MIN_ANGLE]
+                * (1 - shadeFactor)
+                * SOLAR_IRRADIANCE
+                * product.clippingFactor();
+    }
+
+    // Gesamtertrag über die Systemlebensdauer inkl. Degradation
+    public double lifetimeYield(double yearlyYield) {
+        return degradationModel.lifetimeYield(yearlyYield);
+    }
+
+    // Ertrag je Betriebsjahr über die Lebensdauer
+    public double[] yearlyYields(double yearlyYield) {
+        return degradationModel.yearlyYields(yearlyYield);
+    }
+
+    // Durchschnittlicher Tagesertrag in kWh (ungerundet)
+    public double dailyYield(double yearlyYield) {
+        return yearlyYield / DAYS_PER_YEAR;
+    }
+
+    // ----------------------------------------------------
+    //  Hilfsmethoden
+    // ----------------------------------------------------
+
+    private static int clampAngle(int angle) {
+        if (angle < MIN_ANGLE) return MIN_ANGLE;
+        if (angle > MAX_ANGLE) return MAX_ANGLE;
+        return angle;
+    }
+
+    private static double getDirectionFactor(Direction direction) {
+        return switch (direction) {
+            case SOUTH -> 1.0;
+            case SOUTHEAST, SOUTHWEST -> 0.95;
+            case EAST, WEST -> 0.8;
+            case NORTHEAST, NORTHWEST -> 0.65;
+            case NORTH -> 0.5;
+        };
+    }
+
+    private static double getAngleFactor(int angle) {
+        double diff = Math.abs(angle - 30);
+        double factor = 1.0 - diff * 0.01;
+        return Math.max(factor, 0.6);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.backend.config;
+
+import org.example.backend.calculation.DegradationModel;
+import org.example.backend.calculation.HourlySimulator;
+import org.example.backend.calculation.IrradianceSeries;
+import org.example.backend.calculation.IrradianceSource;
+import org.example.backend.calculation.TmyStore;
+import org.example.backend.calculation.YieldModel;
+import org.example.backend.calculation.YieldTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class CalculationConfig {
+
+    @Bean
+    public DegradationModel degradationModel(
+            @Value("${solarcheck.degradation.curve:GEOMETRIC}") DegradationModel.Curve curve,
+            @Value("${solarcheck.degradation.lifetime-years:25}") int lifetimeYears,
+            @Value("${solarcheck.degradation.annual-rate:0.005}") double annualRate,
+            @Value("${solarcheck.degradation.first-year-loss:0.0}") double firstYearLoss) {
+        return DegradationModel.of(curve, lifetimeYears, annualRate, firstYearLoss);
+    }
+
+    // Einstrahlung der Stundensimulation: TMY-Datei (per mmap) oder synthetisches Jahr am Standardstandort
+    // (Standard: Mitte Deutschlands). Der Standardstandort gilt für Anlagen ohne Standortangabe.
+    @Bean
+    public IrradianceSource irradianceSource(
+            @Value("${solarcheck.simulation.tmy-store:}") String tmyStore,
+            @Value("${solarcheck.simulation.latitude:51.2}") double latitude,
+            @Value("${solarcheck.simulation.longitude:10.4}") double longitude,
+            @Value("${solarcheck.simulation.annual-ghi:1100}") double annualGhiKwhPerM2) throws IOException {
+        if (tmyStore.isBlank()) {
+            return IrradianceSource.fixed(IrradianceSeries.synthetic(latitude, longitude, annualGhiKwhPerM2));
+        }
+        return TmyStore.open(Path.of(tmyStore), latitude, longitude);
+    }
+
+    // Ertragsmodell für YieldCalculator: STATIC (Faktortabelle) oder HOURLY (Stundensimulation)
+    @Bean
+    @Primary
+    public YieldModel yieldModel(
+            @Value("${solarcheck.calculation.yield-model:STATIC}") YieldModel.Type type,
+            YieldTable yieldTable,
+            HourlySimulator hourlySimulator) {
+        return switch (type) {
+            case STATIC -> yieldTable;
+            case HOURLY -> hourlySimulator;
+        };
+    }
+}
@@ -1,13 +1,18 @@
 package org.example.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.service.PreconditionFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,33 +25,31 @@ public class GlobalExceptionHandler {
 
     private static final String ERROR_KEY = "error";
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        if (logger.isDebugEnabled()) {
-            logger.debug("Validation failed: {}", ex.getMessage());
-        }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put(ERROR_KEY, "Validation failed");
+        countException("validation", ex);
+        return validationFailed(ex, ex.getBindingResult());
+    }
 
-        Map<String, String> fieldErrors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach(error -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            fieldErrors.put(fieldName, errorMessage);
-        });
 
-        response.put("fieldErrors", fieldErrors);
-
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .body(response);
+    // WebFlux (Profil "reactive") meldet @Valid-Fehler als WebExchangeBindException
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        countException("validation", ex);
+        return validationFailed(ex, ex.getBindingResult());
     }
 
 
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Map<String, String>> handleIllegalState(IllegalStateException ex) {
+        countException("illegal_state", ex);
         logger.warn("Business logic error: {}", ex.getMessage());
 
         Map<String, String> response = new HashMap<>();
@@ -60,6 +63,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
+        countException("illegal_argument", ex);
         logger.warn("Invalid argument: {}", ex.getMessage());
 
         Map<String, String> response = new HashMap<>();
@@ -71,8 +75,38 @@ public class GlobalExceptionHandler {
     }
 
 
+    // Veraltetes If-Match: der Client muss neu laden, ein Wiederholen derselben Anfrage hilft nicht
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, String>> handlePreconditionFailed(PreconditionFailedException ex) {
+        countException("precondition_failed", ex);
+        logger.warn("Precondition failed: {}", ex.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put(ERROR_KEY, ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(response);
+    }
+
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLocking(OptimisticLockingFailureException ex) {
+        countException("optimistic_locking", ex);
+        logger.warn("Concurrent modification: {}", ex.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put(ERROR_KEY, ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(response);
+    }
+
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
+        countException("generic", ex);
         logger.error("Unexpected error occurred", ex);
 
         Map<String, String> response = new HashMap<>();
@@ -82,4 +116,35 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(response);
     }
+
+
+    private ResponseEntity<Map<String, Object>> validationFailed(Exception ex, BindingResult bindingResult) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Validation failed: {}", ex.getMessage());
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put(ERROR_KEY, "Validation failed");
+
+        Map<String, String> fieldErrors = new HashMap<>();
+        bindingResult.getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            fieldErrors.put(fieldName, errorMessage);
+        });
+
+        response.put("fieldErrors", fieldErrors);
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(response);
+    }
+
+    // Zähler je Handler und Exception-Typ
+    private void countException(String handler, Exception ex) {
+        meterRegistry.counter("solarcheck.exceptions",
+                "handler", handler,
+                "exception", ex.getClass().getSimpleName()
+        ).increment();
+    }
 }
@@ -0,0 +1,26 @@
+package org.example.backend.config;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.backend.mapper.UserJsonSerializer;
+import org.example.backend.model.User;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Antwortform von User (UserResponseDTO, UserJsonSerializer) nur für die Mapper der Web-Schicht: Boot registriert
+// Module-Beans im Jackson2ObjectMapperBuilder, daraus entstehen der JSON-Mapper, die WebFlux-Codecs und die
+// CBOR-/Smile-Mapper (WireFormatConfig). Das Modell selbst bleibt ohne Jackson-Annotation; andere Mapper
+// serialisieren User vollständig (inkl. version, createdAt, resultContribution)
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public SimpleModule userJsonModule(MeterRegistry meterRegistry) {
+        Timer timer = Timer.builder("solarcheck.mapping")
+                .description("Dauer der Serialisierung User → UserResponseDTO-Form")
+                .tag("target", "UserResponseDTO")
+                .register(meterRegistry);
+        return new SimpleModule("solarcheck-user").addSerializer(User.class, new UserJsonSerializer(timer));
+    }
+}
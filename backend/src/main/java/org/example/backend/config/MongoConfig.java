@@ -0,0 +1,63 @@
+package org.example.backend.config;
+
+import org.example.backend.model.UserPvConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+
+    // Mit virtuellen Threads begrenzt der Connection-Pool die parallelen Mongo-Zugriffe,
+    // nicht mehr der Tomcat-Threadpool. Wartezeit deshalb kurz halten statt 2 min Treiber-Default.
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${solarcheck.mongo.pool.max-size:100}") int maxSize,
+            @Value("${solarcheck.mongo.pool.min-size:0}") int minSize,
+            @Value("${solarcheck.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${solarcheck.mongo.pool.max-wait-time:2m}") Duration maxWaitTime) {
+        if (minSize > maxSize) {
+            throw new IllegalArgumentException("solarcheck.mongo.pool.min-size darf nicht größer als max-size sein.");
+        }
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    // UserPvConfig als Produktcode-String, wie zuvor der Enum-Name (bestehende Dokumente bleiben lesbar)
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(UserPvConfigToString.INSTANCE, StringToUserPvConfig.INSTANCE));
+    }
+
+    @WritingConverter
+    enum UserPvConfigToString implements Converter<UserPvConfig, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(UserPvConfig source) {
+            return source.name();
+        }
+    }
+
+    @ReadingConverter
+    enum StringToUserPvConfig implements Converter<String, UserPvConfig> {
+        INSTANCE;
+
+        @Override
+        public UserPvConfig convert(String source) {
+            return UserPvConfig.valueOf(source);
+        }
+    }
+}
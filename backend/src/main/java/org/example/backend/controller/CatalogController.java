@@ -0,0 +1,35 @@
+package org.example.backend.controller;
+
+import org.example.backend.dto.PvProductDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.model.ProductCatalog;
+import org.example.backend.service.ProductCatalogService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Produktkatalog für beide Stacks (Servlet und WebFlux), nur lesend aus dem Speicherstand; Nachladen über den
+// Actuator-Endpoint CatalogEndpoint
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    private final ProductCatalogService catalogService;
+    private final UserMapper mapper;
+
+    public CatalogController(ProductCatalogService catalogService, UserMapper mapper) {
+        this.catalogService = catalogService;
+        this.mapper = mapper;
+    }
+
+    @GetMapping
+    public List<PvProductDTO> getProducts() {
+        return toDTOs(catalogService.current());
+    }
+
+    private List<PvProductDTO> toDTOs(ProductCatalog catalog) {
+        return catalog.products().stream().map(mapper::toPvProductDTO).toList();
+    }
+}
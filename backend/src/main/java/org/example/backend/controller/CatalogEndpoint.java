@@ -0,0 +1,31 @@
+package org.example.backend.controller;
+
+import org.example.backend.dto.PvProductDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.service.ProductCatalogService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Wartung des Produktkatalogs (beide Stacks): POST /actuator/catalog liest die Quelle neu und liefert den neuen Stand.
+// Nicht Teil der öffentlichen API, per Web nur erreichbar, wenn management.endpoints.web.exposure.include den
+// Endpoint freigibt. Unter WebFlux führt Actuator blockierende Operationen auf boundedElastic aus
+@Component
+@Endpoint(id = "catalog")
+public class CatalogEndpoint {
+
+    private final ProductCatalogService catalogService;
+    private final UserMapper mapper;
+
+    public CatalogEndpoint(ProductCatalogService catalogService, UserMapper mapper) {
+        this.catalogService = catalogService;
+        this.mapper = mapper;
+    }
+
+    @WriteOperation
+    public List<PvProductDTO> reload() {
+        return catalogService.reload().products().stream().map(mapper::toPvProductDTO).toList();
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.backend.controller;
+
+import org.example.backend.model.User;
+
+// ETag/If-Match-Behandlung für beide Controller: ETag = Version des Users
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(User user) {
+        return "\"" + user.version() + "\"";
+    }
+
+    // If-Match: "3" / W/"3" → 3, fehlend oder * → keine Versionsprüfung
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Ungültiger If-Match-Header: " + ifMatch);
+        }
+    }
+}
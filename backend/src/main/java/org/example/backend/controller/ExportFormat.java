@@ -0,0 +1,24 @@
+package org.example.backend.controller;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+// Ausgabeformat von GET /api/home/export: NDJSON (ein UserResponseDTO je Zeile) oder CSV (UserMapper.CSV_HEADER)
+enum ExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "users.ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "users.csv");
+
+    final MediaType mediaType;
+    final String fileName;
+
+    ExportFormat(MediaType mediaType, String fileName) {
+        this.mediaType = mediaType;
+        this.fileName = fileName;
+    }
+
+    String contentDisposition() {
+        return "attachment; filename=\"" + fileName + "\"";
+    }
+}
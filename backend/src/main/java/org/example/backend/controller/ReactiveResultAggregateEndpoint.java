@@ -0,0 +1,26 @@
+package org.example.backend.controller;
+
+import org.example.backend.service.ReactiveResultAggregateService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// Wartung der PLZ-/Regionsaggregate (reaktiver Stack), wie ResultAggregateEndpoint
+@Component
+@Endpoint(id = "resultaggregates")
+@Profile("reactive")
+public class ReactiveResultAggregateEndpoint {
+
+    private final ReactiveResultAggregateService aggregateService;
+
+    public ReactiveResultAggregateEndpoint(ReactiveResultAggregateService aggregateService) {
+        this.aggregateService = aggregateService;
+    }
+
+    @WriteOperation
+    public Mono<Integer> rebuild() {
+        return aggregateService.rebuild();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.backend.controller;
+
+import org.example.backend.dto.ResultAggregateDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.model.AggregateScope;
+import org.example.backend.model.LeaderboardMetric;
+import org.example.backend.service.ReactiveResultAggregateService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// PLZ-/Regionsstatistik (reaktiver Stack), gleiche Endpunkte wie StatsController
+@RestController
+@RequestMapping("/api/stats")
+@Profile("reactive")
+public class ReactiveStatsController {
+
+    private final ReactiveResultAggregateService aggregateService;
+    private final UserMapper mapper;
+
+    public ReactiveStatsController(ReactiveResultAggregateService aggregateService, UserMapper mapper) {
+        this.aggregateService = aggregateService;
+        this.mapper = mapper;
+    }
+
+    @GetMapping("/postcodes/{postcode}")
+    public Mono<ResultAggregateDTO> getPostcode(@PathVariable String postcode) {
+        return aggregateService.getAggregate(AggregateScope.POSTCODE, postcode).map(mapper::toResultAggregateDTO);
+    }
+
+    @GetMapping("/regions/{region}")
+    public Mono<ResultAggregateDTO> getRegion(@PathVariable String region) {
+        return aggregateService.getAggregate(AggregateScope.REGION, region).map(mapper::toResultAggregateDTO);
+    }
+
+    // Als Liste (Mono) statt Flux: höchstens MAX_LEADERBOARD_SIZE Einträge, so auch per CBOR/Smile abrufbar
+    @GetMapping("/leaderboard")
+    public Mono<List<ResultAggregateDTO>> getLeaderboard(
+            @RequestParam(defaultValue = "REGION") AggregateScope scope,
+            @RequestParam(defaultValue = "CO2_SAVINGS") LeaderboardMetric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return aggregateService.leaderboard(scope, metric, limit)
+                .map(mapper::toResultAggregateDTO)
+                .collectList();
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.Valid;
+import org.example.backend.dto.BatteryOptionDTO;
+import org.example.backend.dto.BatterySweepRequestDTO;
+import org.example.backend.dto.UncertaintyResultDTO;
+import org.example.backend.dto.UserBatchRequestDTO;
+import org.example.backend.dto.UserBatchResultDTO;
+import org.example.backend.dto.UserConditionsDTO;
+import org.example.backend.dto.UserInfoDTO;
+import org.example.backend.dto.UserOptimizationRequestDTO;
+import org.example.backend.dto.UserOptimizationResultDTO;
+import org.example.backend.dto.UserPreviewRequestDTO;
+import org.example.backend.dto.UserResultDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.model.User;
+import org.example.backend.model.UserExportFilter;
+import org.example.backend.model.UserPvConfig;
+import org.example.backend.service.ReactiveUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Gleicher /api/home-Vertrag wie UserController, aber auf WebFlux (Profil "reactive")
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/home")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+    private final UserMapper mapper;
+    private final ObjectWriter exportWriter;
+    private final Duration eventHeartbeat;
+
+    public ReactiveUserController(ReactiveUserService userService, UserMapper mapper, ObjectMapper objectMapper) {
+        this(userService, mapper, objectMapper, Duration.ofSeconds(30));
+    }
+
+    @Autowired
+    public ReactiveUserController(ReactiveUserService userService, UserMapper mapper, ObjectMapper objectMapper,
+                                  @Value("${solarcheck.events.heartbeat:30s}") Duration eventHeartbeat) {
+        this.userService = userService;
+        this.mapper = mapper;
+        this.exportWriter = objectMapper.writerFor(User.class);
+        this.eventHeartbeat = eventHeartbeat;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<User>> generateUser() {
+        return userService.generateUser().map(this::toResponse);
+    }
+
+    // ETag = Version des Users, bei passendem If-None-Match → 304 ohne Body
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<User>> getUser(@PathVariable String userId, ServerWebExchange exchange) {
+        return userService.getUser(userId).map(user -> {
+            if (user.version() != null && exchange.checkNotModified(ETags.of(user))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(user)).build();
+            }
+            return toResponse(user);
+        });
+    }
+
+    @PutMapping("/{userId}/info")
+    public Mono<ResponseEntity<User>> updateUserinfo(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserInfoDTO dto) {
+
+        return userService.updateUserinfo(userId, mapper.toUserInfo(dto), ETags.parseVersion(ifMatch))
+                .map(this::toResponse);
+    }
+
+    @PutMapping("/{userId}/conditions")
+    public Mono<ResponseEntity<User>> updateUserConditions(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserConditionsDTO dto) {
+
+        return userService.updateUserConditions(userId, mapper.toUserConditions(dto), ETags.parseVersion(ifMatch))
+                .map(this::toResponse);
+    }
+
+    @PostMapping("/{userId}/result")
+    public Mono<ResponseEntity<User>> calculateUserResult(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return userService.calculateUserResult(userId, ETags.parseVersion(ifMatch)).map(this::toResponse);
+    }
+
+    // Live-Ergebnisse als Server-Sent Events (wie UserController)
+    @GetMapping(path = "/{userId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<UserResultDTO>> streamUserResult(@PathVariable String userId) {
+        return ResultEvents.of(userService.streamUserResult(userId), mapper, eventHeartbeat);
+    }
+
+    // Vorschau: reine Berechnung ohne Datenbankzugriff
+    @PostMapping("/preview")
+    public UserResultDTO previewUserResult(@Valid @RequestBody UserPreviewRequestDTO dto) {
+        return mapper.toUserResultDTO(
+                userService.previewUserResult(
+                        mapper.toUserInfo(dto.userInfo()),
+                        mapper.toUserConditions(dto.userConditions())
+                )
+        );
+    }
+
+    // Monte-Carlo-Bänder (P10/P50/P90) für gespeicherte Eingaben, ohne das Ergebnis zu verändern
+    @GetMapping("/{userId}/uncertainty")
+    public Mono<UncertaintyResultDTO> estimateUncertainty(
+            @PathVariable String userId,
+            @RequestParam(required = false) Integer samples) {
+        return userService.estimateUncertainty(userId, samples).map(mapper::toUncertaintyResultDTO);
+    }
+
+    @PostMapping("/preview/uncertainty")
+    public Mono<UncertaintyResultDTO> previewUncertainty(
+            @Valid @RequestBody UserPreviewRequestDTO dto,
+            @RequestParam(required = false) Integer samples) {
+        return Mono.defer(() -> userService.previewUncertainty(
+                        mapper.toUserInfo(dto.userInfo()),
+                        mapper.toUserConditions(dto.userConditions()),
+                        samples
+                ))
+                .map(mapper::toUncertaintyResultDTO);
+    }
+
+    // Mehrere Speichergrößen für dieselbe Anlage (Wirkungsgrad und Leistung aus userConditions.battery)
+    @PostMapping("/preview/battery-sweep")
+    public List<BatteryOptionDTO> previewBatterySweep(@Valid @RequestBody BatterySweepRequestDTO dto) {
+        return mapper.toBatteryOptionDTOs(
+                userService.previewBatterySweep(
+                        mapper.toUserInfo(dto.userInfo()),
+                        mapper.toUserConditions(dto.userConditions()),
+                        dto.capacitiesKwh().stream().mapToDouble(Double::doubleValue).toArray()
+                )
+        );
+    }
+
+    // Konfigurationssuche: Pareto-optimale Kombinationen aus Modul, Ausrichtung und Winkel, ohne Datenbankzugriff
+    @PostMapping("/optimize")
+    public Mono<UserOptimizationResultDTO> optimizeUserConditions(@Valid @RequestBody UserOptimizationRequestDTO dto) {
+        return Mono.defer(() -> userService.optimizeUserConditions(
+                        mapper.toUserInfo(dto.userInfo()),
+                        mapper.toOptimizationConstraints(dto.constraints())
+                ))
+                .map(mapper::toUserOptimizationResultDTO);
+    }
+
+    // Batch: NDJSON, jede Zeile wird geschrieben, sobald ihr Block gespeichert ist
+    @PostMapping("/results")
+    public ResponseEntity<Flux<UserBatchResultDTO>> calculateUserResults(@Valid @RequestBody UserBatchRequestDTO dto) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService.calculateUserResults(dto.userIds()).map(mapper::toUserBatchResultDTO));
+    }
+
+    // Export per Mongo-Cursor mit Backpressure: der nächste Batch wird erst gelesen, wenn der Client abnimmt.
+    // Beide Formate als fertige Zeilen (Flux<String>), damit ein Encoder für NDJSON und CSV reicht
+    @GetMapping("/export")
+    public ResponseEntity<Flux<String>> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) UserPvConfig pvConfig,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @RequestParam(defaultValue = "false") boolean onlyWithResult) {
+        Flux<User> users = userService.exportUsers(new UserExportFilter(pvConfig, createdFrom, createdTo, onlyWithResult));
+        Flux<String> body = format == ExportFormat.CSV
+                ? users.map(mapper::toCsvRow).startWith(UserMapper.CSV_HEADER)
+                : users.map(this::toNdjsonLine);
+
+        return ResponseEntity.ok()
+                .contentType(format.mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, format.contentDisposition())
+                .body(body);
+    }
+
+    private String toNdjsonLine(User user) {
+        try {
+            return exportWriter.writeValueAsString(user) + '\n';
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Export von User " + user.userId() + " fehlgeschlagen", ex);
+        }
+    }
+
+    // Body im JSON-Format von UserResponseDTO, direkt aus dem User geschrieben (UserJsonSerializer)
+    private ResponseEntity<User> toResponse(User user) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (user.version() != null) {
+            response.eTag(ETags.of(user));
+        }
+        return response.body(user);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.backend.controller;
+
+import org.example.backend.service.ResultAggregateService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// Wartung der PLZ-/Regionsaggregate (blockierender Stack): POST /actuator/resultaggregates baut sie neu auf und
+// liefert die Anzahl der PLZ/Regionen. Nicht Teil der öffentlichen API, per Web nur erreichbar, wenn
+// management.endpoints.web.exposure.include den Endpoint freigibt; nur in ruhigen Phasen ausführen
+@Component
+@Endpoint(id = "resultaggregates")
+@Profile("!reactive")
+public class ResultAggregateEndpoint {
+
+    private final ResultAggregateService aggregateService;
+
+    public ResultAggregateEndpoint(ResultAggregateService aggregateService) {
+        this.aggregateService = aggregateService;
+    }
+
+    @WriteOperation
+    public int rebuild() {
+        return aggregateService.rebuild();
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.backend.controller;
+
+import org.example.backend.dto.UserResultDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.model.User;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+// SSE-Darstellung von GET /api/home/{userId}/events für beide Controller: Ereignis "result" mit dem UserResultDTO,
+// id = Version des Users. Dazwischen alle heartbeat eine Kommentarzeile, damit Proxys die ruhende Verbindung
+// offen lassen und abgebrochene Clients beim nächsten Schreiben auffallen; endet mit dem Update-Stream
+final class ResultEvents {
+
+    static final String EVENT = "result";
+
+    private ResultEvents() {
+    }
+
+    static Flux<ServerSentEvent<UserResultDTO>> of(Flux<User> updates, UserMapper mapper, Duration heartbeat) {
+        return updates.publish(shared -> Flux.merge(
+                shared.map(user -> toEvent(user, mapper)),
+                Flux.interval(heartbeat)
+                        .map(tick -> ServerSentEvent.<UserResultDTO>builder().comment("").build())
+                        .takeUntilOther(shared.then())
+        ));
+    }
+
+    private static ServerSentEvent<UserResultDTO> toEvent(User user, UserMapper mapper) {
+        ServerSentEvent.Builder<UserResultDTO> event = ServerSentEvent.builder(mapper.toUserResultDTO(user.userResult()))
+                .event(EVENT);
+        if (user.version() != null) {
+            event.id(String.valueOf(user.version()));
+        }
+        return event.build();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.backend.controller;
+
+import org.example.backend.dto.ResultAggregateDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.model.AggregateScope;
+import org.example.backend.model.LeaderboardMetric;
+import org.example.backend.service.ResultAggregateService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// PLZ-/Regionsstatistik (blockierender Stack): liest nur die laufend gepflegten Aggregate, keine Aggregation über User
+@RestController
+@RequestMapping("/api/stats")
+@Profile("!reactive")
+public class StatsController {
+
+    private final ResultAggregateService aggregateService;
+    private final UserMapper mapper;
+
+    public StatsController(ResultAggregateService aggregateService, UserMapper mapper) {
+        this.aggregateService = aggregateService;
+        this.mapper = mapper;
+    }
+
+    @GetMapping("/postcodes/{postcode}")
+    public ResultAggregateDTO getPostcode(@PathVariable String postcode) {
+        return mapper.toResultAggregateDTO(aggregateService.getAggregate(AggregateScope.POSTCODE, postcode));
+    }
+
+    @GetMapping("/regions/{region}")
+    public ResultAggregateDTO getRegion(@PathVariable String region) {
+        return mapper.toResultAggregateDTO(aggregateService.getAggregate(AggregateScope.REGION, region));
+    }
+
+    @GetMapping("/leaderboard")
+    public List<ResultAggregateDTO> getLeaderboard(
+            @RequestParam(defaultValue = "REGION") AggregateScope scope,
+            @RequestParam(defaultValue = "CO2_SAVINGS") LeaderboardMetric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return aggregateService.leaderboard(scope, metric, limit).stream()
+                .map(mapper::toResultAggregateDTO)
+                .toList();
+    }
+}
@@ -1,58 +1,317 @@
 package org.example.backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.example.backend.dto.BatteryOptionDTO;
+import org.example.backend.dto.BatterySweepRequestDTO;
+import org.example.backend.dto.UncertaintyResultDTO;
+import org.example.backend.dto.UserBatchRequestDTO;
 import org.example.backend.dto.UserConditionsDTO;
 import org.example.backend.dto.UserInfoDTO;
-import org.example.backend.dto.UserResponseDTO;
+import org.example.backend.dto.UserOptimizationRequestDTO;
+import org.example.backend.dto.UserOptimizationResultDTO;
+import org.example.backend.dto.UserPreviewRequestDTO;
+import org.example.backend.dto.UserResultDTO;
 import org.example.backend.mapper.UserMapper;
+import org.example.backend.model.User;
+import org.example.backend.model.UserBatchOutcome;
+import org.example.backend.model.UserExportFilter;
+import org.example.backend.model.UserPvConfig;
 import org.example.backend.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.Disposable;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Servlet-Stack (Standard); im Profil "reactive" übernimmt ReactiveUserController
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/home")
 public class UserController {
 
+    private static final Duration EVENT_TIMEOUT_MARGIN = Duration.ofMinutes(5);
+
     private final UserService userService;
     private final UserMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final Duration eventHeartbeat;
+    private final long eventTimeoutMillis;
+    private final long exportTimeoutMillis;
 
-    public UserController(UserService userService, UserMapper mapper) {
+    public UserController(UserService userService, UserMapper mapper, ObjectMapper objectMapper,
+                          @Value("${solarcheck.events.heartbeat:30s}") Duration eventHeartbeat,
+                          @Value("${solarcheck.events.max-lifetime:30m}") Duration eventMaxLifetime,
+                          @Value("${solarcheck.export.timeout:0s}") Duration exportTimeout) {
         this.userService = userService;
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.eventHeartbeat = eventHeartbeat;
+        // Nur für diesen Stream über der Höchstdauer, damit er regulär endet; andere asynchrone Endpunkte
+        // behalten spring.mvc.async.request-timeout
+        this.eventTimeoutMillis = eventMaxLifetime.plus(EVENT_TIMEOUT_MARGIN).toMillis();
+        // 0 = ohne Limit (Servlet: Timeout <= 0), damit große Exporte nicht nach spring.mvc.async.request-timeout
+        // abgeschnitten werden
+        this.exportTimeoutMillis = exportTimeout.isPositive() ? exportTimeout.toMillis() : -1;
     }
 
     @PostMapping
-    public UserResponseDTO generateUser() {
-        return mapper.toUserResponseDTO(userService.generateUser());
+    public ResponseEntity<User> generateUser() {
+        return toResponse(userService.generateUser());
+    }
+
+    // ETag = Version des Users, bei passendem If-None-Match → 304 ohne Body
+    @GetMapping("/{userId}")
+    public ResponseEntity<User> getUser(@PathVariable String userId, WebRequest webRequest) {
+        User user = userService.getUser(userId);
+        if (user.version() != null && webRequest.checkNotModified(ETags.of(user))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(user)).build();
+        }
+        return toResponse(user);
     }
 
     @PutMapping("/{userId}/info")
-    public UserResponseDTO updateUserinfo(
+    public ResponseEntity<User> updateUserinfo(
             @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UserInfoDTO dto) {
 
-        return mapper.toUserResponseDTO(
+        return toResponse(
                 userService.updateUserinfo(
                         userId,
-                        mapper.toUserInfo(dto)
+                        mapper.toUserInfo(dto),
+                        ETags.parseVersion(ifMatch)
                 )
         );
     }
 
     @PutMapping("/{userId}/conditions")
-    public UserResponseDTO updateUserConditions(
+    public ResponseEntity<User> updateUserConditions(
             @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UserConditionsDTO dto) {
 
-        return mapper.toUserResponseDTO(
+        return toResponse(
                 userService.updateUserConditions(
                         userId,
-                        mapper.toUserConditions(dto)
+                        mapper.toUserConditions(dto),
+                        ETags.parseVersion(ifMatch)
                 )
         );
     }
 
     @PostMapping("/{userId}/result")
-    public UserResponseDTO calculateUserResult(@PathVariable String userId) {
-        return mapper.toUserResponseDTO(userService.calculateUserResult(userId));
+    public ResponseEntity<User> calculateUserResult(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return toResponse(userService.calculateUserResult(userId, ETags.parseVersion(ifMatch)));
+    }
+
+    // Live-Ergebnisse als Server-Sent Events: gespeicherter Stand, danach jede neue Berechnung.
+    // Asynchron verarbeitet – eine offene Verbindung belegt keinen Request-Thread; Timeout je Emitter
+    @GetMapping(path = "/{userId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserResult(@PathVariable String userId) {
+        SseEmitter emitter = new SseEmitter(eventTimeoutMillis);
+        Disposable subscription = ResultEvents.of(userService.streamUserResult(userId), mapper, eventHeartbeat)
+                .subscribe(event -> send(emitter, event), emitter::completeWithError, emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    // Vorschau: reine Berechnung ohne Datenbankzugriff
+    @PostMapping("/preview")
+    public UserResultDTO previewUserResult(@Valid @RequestBody UserPreviewRequestDTO dto) {
+        return mapper.toUserResultDTO(
+                userService.previewUserResult(
+                        mapper.toUserInfo(dto.userInfo()),
+                        mapper.toUserConditions(dto.userConditions())
+                )
+        );
+    }
+
+    // Monte-Carlo-Bänder (P10/P50/P90) für gespeicherte Eingaben, ohne das Ergebnis zu verändern
+    @GetMapping("/{userId}/uncertainty")
+    public UncertaintyResultDTO estimateUncertainty(
+            @PathVariable String userId,
+            @RequestParam(required = false) Integer samples) {
+        return mapper.toUncertaintyResultDTO(userService.estimateUncertainty(userId, samples));
+    }
+
+    @PostMapping("/preview/uncertainty")
+    public UncertaintyResultDTO previewUncertainty(
+            @Valid @RequestBody UserPreviewRequestDTO dto,
+            @RequestParam(required = false) Integer samples) {
+        return mapper.toUncertaintyResultDTO(
+                userService.previewUncertainty(
+                        mapper.toUserInfo(dto.userInfo()),
+                        mapper.toUserConditions(dto.userConditions()),
+                        samples
+                )
+        );
+    }
+
+    // Mehrere Speichergrößen für dieselbe Anlage (Wirkungsgrad und Leistung aus userConditions.battery)
+    @PostMapping("/preview/battery-sweep")
+    public List<BatteryOptionDTO> previewBatterySweep(@Valid @RequestBody BatterySweepRequestDTO dto) {
+        return mapper.toBatteryOptionDTOs(
+                userService.previewBatterySweep(
+                        mapper.toUserInfo(dto.userInfo()),
+                        mapper.toUserConditions(dto.userConditions()),
+                        dto.capacitiesKwh().stream().mapToDouble(Double::doubleValue).toArray()
+                )
+        );
+    }
+
+    // Konfigurationssuche: Pareto-optimale Kombinationen aus Modul, Ausrichtung und Winkel, ohne Datenbankzugriff
+    @PostMapping("/optimize")
+    public UserOptimizationResultDTO optimizeUserConditions(@Valid @RequestBody UserOptimizationRequestDTO dto) {
+        return mapper.toUserOptimizationResultDTO(
+                userService.optimizeUserConditions(
+                        mapper.toUserInfo(dto.userInfo()),
+                        mapper.toOptimizationConstraints(dto.constraints())
+                )
+        );
+    }
+
+    // Batch: Ergebnisse werden pro Block als NDJSON gestreamt, sobald sie gespeichert sind
+    @PostMapping("/results")
+    public ResponseEntity<StreamingResponseBody> calculateUserResults(@Valid @RequestBody UserBatchRequestDTO dto) {
+        StreamingResponseBody body = out -> userService.calculateUserResults(
+                dto.userIds(),
+                outcomes -> writeBatch(out, outcomes)
+        );
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Export aller (gefilterten) User, per Mongo-Cursor direkt in den Response geschrieben:
+    // Speicherbedarf konstant, unabhängig von der Anzahl der Dokumente. Eigener Timeout (solarcheck.export.timeout)
+    // statt des globalen Async-Timeouts, der große Exporte sonst mittendrin abbricht
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) UserPvConfig pvConfig,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @RequestParam(defaultValue = "false") boolean onlyWithResult,
+            HttpServletResponse response) {
+        UserExportFilter filter = new UserExportFilter(pvConfig, createdFrom, createdTo, onlyWithResult);
+        response.setContentType(format.mediaType.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, format.contentDisposition());
+
+        Callable<Void> export = () -> {
+            OutputStream out = response.getOutputStream();
+            if (format == ExportFormat.CSV) {
+                writeCsv(out, filter);
+            } else {
+                writeNdjson(out, filter);
+            }
+            out.flush();
+            return null;
+        };
+        return new WebAsyncTask<>(exportTimeoutMillis, export);
+    }
+
+    // Ein Generator für den ganzen Export; geflusht wird nur, wenn sein Puffer voll ist
+    private void writeNdjson(OutputStream out, UserExportFilter filter) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(User.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            userService.exportUsers(filter, user -> {
+                try {
+                    writer.writeValue(generator, user);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream out, UserExportFilter filter) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(UserMapper.CSV_HEADER);
+        userService.exportUsers(filter, user -> {
+            try {
+                writer.write(mapper.toCsvRow(user));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeBatch(OutputStream out, List<UserBatchOutcome> outcomes) {
+        try {
+            for (UserBatchOutcome outcome : outcomes) {
+                out.write(objectMapper.writeValueAsBytes(mapper.toUserBatchResultDTO(outcome)));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // ServerSentEvent aus ResultEvents als SseEmitter-Ereignis; Schreibfehler (Client weg) beenden das Abo
+    private static void send(SseEmitter emitter, ServerSentEvent<UserResultDTO> event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.comment() != null) {
+            builder.comment(event.comment());
+        }
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        if (event.event() != null) {
+            builder.name(event.event());
+        }
+        if (event.data() != null) {
+            builder.data(event.data(), MediaType.APPLICATION_JSON);
+        }
+        try {
+            emitter.send(builder);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Body im JSON-Format von UserResponseDTO, direkt aus dem User geschrieben (UserJsonSerializer)
+    private ResponseEntity<User> toResponse(User user) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (user.version() != null) {
+            response.eTag(ETags.of(user));
+        }
+        return response.body(user);
     }
 }
@@ -0,0 +1,25 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.*;
+
+public record BatteryConfigDTO(
+        @NotNull
+        @DecimalMin("0.1")
+        @DecimalMax("50.0")
+        double capacityKwh,            //  0,1-50 kWh
+
+        @NotNull
+        @DecimalMin("0.5")
+        @DecimalMax("1.0")
+        double roundTripEfficiency,    //  0,5-1
+
+        @NotNull
+        @DecimalMin("0.1")
+        @DecimalMax("20.0")
+        double maxChargeKw,            //  0,1-20 kW
+
+        @NotNull
+        @DecimalMin("0.1")
+        @DecimalMax("20.0")
+        double maxDischargeKw          //  0,1-20 kW
+) {}
@@ -0,0 +1,6 @@
+package org.example.backend.dto;
+
+public record BatteryOptionDTO(
+        double capacityKwh,
+        BatteryResultDTO result
+) {}
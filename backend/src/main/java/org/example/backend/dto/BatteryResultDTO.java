@@ -0,0 +1,13 @@
+package org.example.backend.dto;
+
+// amortisationTime und pvOnlyAmortisationTime (gleiche Anlage ohne Speicher) bewerten Eigenverbrauch zum
+// Strompreis und Einspeisung mit Vergütung; userAmortisationTime setzt dagegen den gesamten Ertrag zum Strompreis an
+public record BatteryResultDTO(
+        double selfConsumptionRate,
+        double autarkyRate,
+        double additionalSelfConsumedKwh,
+        int batteryCostEur,
+        double amortisationTime,
+        double pvOnlyAmortisationTime,
+        double fullCyclesPerYear
+) {}
@@ -0,0 +1,21 @@
+package org.example.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+// userConditions.battery gibt Wirkungsgrad und Leistungsgrenzen vor, verglichen werden die Kapazitäten
+public record BatterySweepRequestDTO(
+        @NotNull
+        @Valid
+        UserInfoDTO userInfo,
+
+        @NotNull
+        @Valid
+        UserConditionsDTO userConditions,
+
+        @NotEmpty
+        @Size(max = 50)
+        List<@NotNull @DecimalMin("0.1") @DecimalMax("50.0") Double> capacitiesKwh
+) {}
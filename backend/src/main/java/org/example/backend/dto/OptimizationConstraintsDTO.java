@@ -0,0 +1,40 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.*;
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserPvConfig;
+
+import java.util.List;
+
+// Alle Felder optional: ohne Angabe werden alle Module/Ausrichtungen, 0–90° in 5°-Schritten
+// und keine Verschattung durchsucht
+public record OptimizationConstraintsDTO(
+        List<@NotNull UserPvConfig> pvConfigs,
+
+        List<@NotNull Direction> directions,
+
+        @Min(0)
+        @Max(90)
+        Integer minAngle,
+
+        @Min(0)
+        @Max(90)
+        Integer maxAngle,
+
+        @Min(1)
+        @Max(90)
+        Integer angleStep,
+
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        Double montageShadeFactor,
+
+        // optional, nur zusammen mit longitude
+        @DecimalMin("-90.0")
+        @DecimalMax("90.0")
+        Double latitude,
+
+        @DecimalMin("-180.0")
+        @DecimalMax("180.0")
+        Double longitude
+) {}
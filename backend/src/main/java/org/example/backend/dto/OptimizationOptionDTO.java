@@ -0,0 +1,6 @@
+package org.example.backend.dto;
+
+public record OptimizationOptionDTO(
+        UserConditionsDTO userConditions,
+        UserResultDTO userResult
+) {}
@@ -0,0 +1,11 @@
+package org.example.backend.dto;
+
+public record PvProductDTO(
+        String code,
+        int moduleCount,
+        int moduleWatt,
+        int inverterWatt,
+        int installationCostEur,
+        double clippingFactor,
+        double totalModuleKwp
+) {}
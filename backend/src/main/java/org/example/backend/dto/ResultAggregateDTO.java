@@ -0,0 +1,17 @@
+package org.example.backend.dto;
+
+import org.example.backend.model.AggregateScope;
+
+// Statistik einer PLZ bzw. Region; Perzentile (p10/p50/p90) aus dem QuantileSketch, ohne Werte null.
+// averageAmortisationTime nur über User mit Ersparnis
+public record ResultAggregateDTO(
+        AggregateScope scope,
+        String key,
+        long users,
+        double installedKwp,
+        long yearlyYieldKwh,
+        double co2SavingsKgPerYear,
+        Double averageAmortisationTime,
+        UncertaintyBandDTO yearlyYieldPercentiles,
+        UncertaintyBandDTO amortisationTimePercentiles
+) {}
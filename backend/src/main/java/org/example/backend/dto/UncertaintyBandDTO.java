@@ -0,0 +1,7 @@
+package org.example.backend.dto;
+
+public record UncertaintyBandDTO(
+        double p10,
+        double p50,
+        double p90
+) {}
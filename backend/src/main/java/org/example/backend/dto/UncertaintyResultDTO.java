@@ -0,0 +1,8 @@
+package org.example.backend.dto;
+
+public record UncertaintyResultDTO(
+        int samples,
+        UncertaintyBandDTO yearlyYieldKwh,
+        UncertaintyBandDTO yearlySavingsEur,
+        UncertaintyBandDTO amortisationTime
+) {}
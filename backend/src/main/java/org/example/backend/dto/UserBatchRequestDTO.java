@@ -0,0 +1,11 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public record UserBatchRequestDTO(
+        @NotEmpty
+        @Size(max = 100000)
+        List<@NotBlank String> userIds
+) {}
@@ -0,0 +1,7 @@
+package org.example.backend.dto;
+
+public record UserBatchResultDTO(
+        String userId,
+        UserResultDTO userResult,
+        String error
+) {}
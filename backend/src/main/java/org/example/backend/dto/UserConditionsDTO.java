@@ -1,5 +1,6 @@
 package org.example.backend.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import org.example.backend.model.Direction;
 import org.example.backend.model.UserPvConfig;
@@ -19,5 +20,27 @@ public record UserConditionsDTO(
         @NotNull
         @DecimalMin("0.0")
         @DecimalMax("1.0")
-        double montageShadeFactor
-) {}
+        double montageShadeFactor,
+
+        // optional, nur zusammen mit longitude
+        @DecimalMin("-90.0")
+        @DecimalMax("90.0")
+        Double latitude,
+
+        @DecimalMin("-180.0")
+        @DecimalMax("180.0")
+        Double longitude,
+
+        // optional, ohne Speicher: null
+        @Valid
+        BatteryConfigDTO battery
+) {
+    public UserConditionsDTO(UserPvConfig userPvConfig, int montageAngle, Direction montageDirection, double montageShadeFactor) {
+        this(userPvConfig, montageAngle, montageDirection, montageShadeFactor, null, null, null);
+    }
+
+    public UserConditionsDTO(UserPvConfig userPvConfig, int montageAngle, Direction montageDirection, double montageShadeFactor,
+                             Double latitude, Double longitude) {
+        this(userPvConfig, montageAngle, montageDirection, montageShadeFactor, latitude, longitude, null);
+    }
+}
@@ -16,5 +16,13 @@ public record UserInfoDTO(
         @NotNull
         @Positive
         @Max(100000)
-        int userElectricityConsumption //  1-100000
-) {}
+        int userElectricityConsumption, //  1-100000
+
+        // optional, fünfstellige PLZ (PLZ-/Regionsstatistik)
+        @Pattern(regexp = "\\d{5}")
+        String postcode
+) {
+    public UserInfoDTO(int userRateOfElectricity, int userHouseholdNumber, int userElectricityConsumption) {
+        this(userRateOfElectricity, userHouseholdNumber, userElectricityConsumption, null);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record UserOptimizationRequestDTO(
+        @NotNull
+        @Valid
+        UserInfoDTO userInfo,
+
+        // optional, ohne Einschränkung: null
+        @Valid
+        OptimizationConstraintsDTO constraints
+) {}
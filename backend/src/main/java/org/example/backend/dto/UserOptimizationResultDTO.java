@@ -0,0 +1,9 @@
+package org.example.backend.dto;
+
+import java.util.List;
+
+public record UserOptimizationResultDTO(
+        int candidates,
+        int fullyCalculated,
+        List<OptimizationOptionDTO> paretoFront
+) {}
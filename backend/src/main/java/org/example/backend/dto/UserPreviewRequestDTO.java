@@ -0,0 +1,14 @@
+package org.example.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record UserPreviewRequestDTO(
+        @NotNull
+        @Valid
+        UserInfoDTO userInfo,
+
+        @NotNull
+        @Valid
+        UserConditionsDTO userConditions
+) {}
@@ -12,5 +12,18 @@ public record UserResultDTO(
         double userDailySavings,
         double userHomeofficeCoverageRate,
         double userDailyEBikeRangeKm,
-        double userDailyECarRangeKm
-) {}
\ No newline at end of file
+        double userDailyECarRangeKm,
+        BatteryResultDTO userBatteryResult
+) {
+    // Ergebnis ohne Speicher
+    public UserResultDTO(
+            int userPossibleElectricityGeneration, int userAmountOfPossibleSavings, double userAmortisationTime,
+            double userLifetimeYieldKwh, double userCo2SavingsKgPerYear, double userSelfConsumptionRate,
+            double userAutarkyRate, double userDailyYield, double userDailySavings,
+            double userHomeofficeCoverageRate, double userDailyEBikeRangeKm, double userDailyECarRangeKm) {
+        this(userPossibleElectricityGeneration, userAmountOfPossibleSavings, userAmortisationTime,
+                userLifetimeYieldKwh, userCo2SavingsKgPerYear, userSelfConsumptionRate,
+                userAutarkyRate, userDailyYield, userDailySavings,
+                userHomeofficeCoverageRate, userDailyEBikeRangeKm, userDailyECarRangeKm, null);
+    }
+}
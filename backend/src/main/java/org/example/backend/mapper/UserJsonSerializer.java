@@ -0,0 +1,265 @@
+package org.example.backend.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.micrometer.core.instrument.Timer;
+import org.example.backend.model.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Schreibt einen User direkt in den Generator, in exakt der JSON-Form von UserResponseDTO (Feldnamen, Reihenfolge,
+// null-Felder, eine Nachkommastelle wie UserMapper.toUserResultDTO). Lesepfade (GET/PUT/POST auf /api/home,
+// NDJSON-Export) sparen so je Antwort die DTO-Objekte und die Zahlen-Strings von Jackson.
+// Feldnamen sind vorkodiert; Dezimalwerte werden einmal auf Zehntel gerundet und im JSON-Text aus einem
+// wiederverwendeten char[] als Zahl geschrieben (ohne Double.toString). CBOR/Smile bekommen dieselben Werte binär.
+// Dauer je User im Timer solarcheck.mapping (an die Stelle des früheren DTO-Mappings getreten).
+public class UserJsonSerializer extends StdSerializer<User> {
+
+    // Ab 10^7 schreibt Double.toString in Exponentialschreibweise, darüber bleibt es bei writeNumber
+    private static final double PLAIN_LIMIT = 1.0e7;
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0);
+    // "-9999999.9": Vorzeichen, 7 Stellen vor und eine nach dem Punkt
+    private static final int MAX_DECIMAL_CHARS = 10;
+    // Ein Puffer je Thread; ein Generator schreibt eine Zahl immer vollständig auf einem Thread
+    private static final ThreadLocal<char[]> DECIMAL_BUFFER = ThreadLocal.withInitial(() -> new char[MAX_DECIMAL_CHARS]);
+
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString USER_INFO = new SerializedString("userInfo");
+    private static final SerializableString USER_CONDITIONS = new SerializedString("userConditions");
+    private static final SerializableString USER_RESULT = new SerializedString("userResult");
+
+    private static final SerializableString RATE_OF_ELECTRICITY = new SerializedString("userRateOfElectricity");
+    private static final SerializableString HOUSEHOLD_NUMBER = new SerializedString("userHouseholdNumber");
+    private static final SerializableString ELECTRICITY_CONSUMPTION = new SerializedString("userElectricityConsumption");
+    private static final SerializableString POSTCODE = new SerializedString("postcode");
+
+    private static final SerializableString PV_CONFIG = new SerializedString("userPvConfig");
+    private static final SerializableString MONTAGE_ANGLE = new SerializedString("montageAngle");
+    private static final SerializableString MONTAGE_DIRECTION = new SerializedString("montageDirection");
+    private static final SerializableString MONTAGE_SHADE_FACTOR = new SerializedString("montageShadeFactor");
+    private static final SerializableString LATITUDE = new SerializedString("latitude");
+    private static final SerializableString LONGITUDE = new SerializedString("longitude");
+    private static final SerializableString BATTERY = new SerializedString("battery");
+    private static final SerializableString CAPACITY_KWH = new SerializedString("capacityKwh");
+    private static final SerializableString ROUND_TRIP_EFFICIENCY = new SerializedString("roundTripEfficiency");
+    private static final SerializableString MAX_CHARGE_KW = new SerializedString("maxChargeKw");
+    private static final SerializableString MAX_DISCHARGE_KW = new SerializedString("maxDischargeKw");
+
+    private static final SerializableString POSSIBLE_ELECTRICITY_GENERATION = new SerializedString("userPossibleElectricityGeneration");
+    private static final SerializableString AMOUNT_OF_POSSIBLE_SAVINGS = new SerializedString("userAmountOfPossibleSavings");
+    private static final SerializableString AMORTISATION_TIME = new SerializedString("userAmortisationTime");
+    private static final SerializableString LIFETIME_YIELD_KWH = new SerializedString("userLifetimeYieldKwh");
+    private static final SerializableString CO2_SAVINGS = new SerializedString("userCo2SavingsKgPerYear");
+    private static final SerializableString SELF_CONSUMPTION_RATE = new SerializedString("userSelfConsumptionRate");
+    private static final SerializableString AUTARKY_RATE = new SerializedString("userAutarkyRate");
+    private static final SerializableString DAILY_YIELD = new SerializedString("userDailyYield");
+    private static final SerializableString DAILY_SAVINGS = new SerializedString("userDailySavings");
+    private static final SerializableString HOMEOFFICE_COVERAGE_RATE = new SerializedString("userHomeofficeCoverageRate");
+    private static final SerializableString DAILY_EBIKE_RANGE = new SerializedString("userDailyEBikeRangeKm");
+    private static final SerializableString DAILY_ECAR_RANGE = new SerializedString("userDailyECarRangeKm");
+    private static final SerializableString BATTERY_RESULT = new SerializedString("userBatteryResult");
+
+    private static final SerializableString BATTERY_SELF_CONSUMPTION_RATE = new SerializedString("selfConsumptionRate");
+    private static final SerializableString BATTERY_AUTARKY_RATE = new SerializedString("autarkyRate");
+    private static final SerializableString BATTERY_ADDITIONAL_SELF_CONSUMED = new SerializedString("additionalSelfConsumedKwh");
+    private static final SerializableString BATTERY_COST_EUR = new SerializedString("batteryCostEur");
+    private static final SerializableString BATTERY_AMORTISATION_TIME = new SerializedString("amortisationTime");
+    private static final SerializableString BATTERY_PV_ONLY_AMORTISATION_TIME = new SerializedString("pvOnlyAmortisationTime");
+    private static final SerializableString BATTERY_FULL_CYCLES = new SerializedString("fullCyclesPerYear");
+
+    private final Timer timer;
+
+    public UserJsonSerializer(Timer timer) {
+        super(User.class);
+        this.timer = timer;
+    }
+
+    // Ohne Timer.Sample: nanoTime-Differenz, damit je User nichts alloziert wird
+    @Override
+    public void serialize(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        long start = System.nanoTime();
+        writeUser(user, gen);
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static void writeUser(User user, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(user);
+        gen.writeFieldName(USER_ID);
+        writeString(gen, user.userId());
+
+        gen.writeFieldName(USER_INFO);
+        if (user.userInfo() != null) {
+            writeUserInfo(gen, user.userInfo());
+        } else {
+            gen.writeNull();
+        }
+
+        gen.writeFieldName(USER_CONDITIONS);
+        if (user.userConditions() != null) {
+            writeUserConditions(gen, user.userConditions());
+        } else {
+            gen.writeNull();
+        }
+
+        gen.writeFieldName(USER_RESULT);
+        if (user.userResult() != null) {
+            writeUserResult(gen, user.userResult());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeEndObject();
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static void writeUserInfo(JsonGenerator gen, UserInfo info) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(RATE_OF_ELECTRICITY);
+        gen.writeNumber(info.userRateOfElectricity());
+        gen.writeFieldName(HOUSEHOLD_NUMBER);
+        gen.writeNumber(info.userHouseholdNumber());
+        gen.writeFieldName(ELECTRICITY_CONSUMPTION);
+        gen.writeNumber(info.userElectricityConsumption());
+        gen.writeFieldName(POSTCODE);
+        writeString(gen, info.postcode());
+        gen.writeEndObject();
+    }
+
+    // Eingabewerte unverändert wie im DTO; Werte mit höchstens einer Nachkommastelle gehen trotzdem über den Puffer
+    private static void writeUserConditions(JsonGenerator gen, UserConditions conditions) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(PV_CONFIG);
+        writeString(gen, conditions.userPvConfig() != null ? conditions.userPvConfig().name() : null);
+        gen.writeFieldName(MONTAGE_ANGLE);
+        gen.writeNumber(conditions.montageAngle());
+        gen.writeFieldName(MONTAGE_DIRECTION);
+        writeString(gen, conditions.montageDirection() != null ? conditions.montageDirection().name() : null);
+        gen.writeFieldName(MONTAGE_SHADE_FACTOR);
+        writeDecimal(gen, conditions.montageShadeFactor());
+        gen.writeFieldName(LATITUDE);
+        writeNullableDecimal(gen, conditions.latitude());
+        gen.writeFieldName(LONGITUDE);
+        writeNullableDecimal(gen, conditions.longitude());
+
+        gen.writeFieldName(BATTERY);
+        BatteryConfig battery = conditions.battery();
+        if (battery != null) {
+            gen.writeStartObject();
+            gen.writeFieldName(CAPACITY_KWH);
+            writeDecimal(gen, battery.capacityKwh());
+            gen.writeFieldName(ROUND_TRIP_EFFICIENCY);
+            writeDecimal(gen, battery.roundTripEfficiency());
+            gen.writeFieldName(MAX_CHARGE_KW);
+            writeDecimal(gen, battery.maxChargeKw());
+            gen.writeFieldName(MAX_DISCHARGE_KW);
+            writeDecimal(gen, battery.maxDischargeKw());
+            gen.writeEndObject();
+        } else {
+            gen.writeNull();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeUserResult(JsonGenerator gen, UserResult result) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(POSSIBLE_ELECTRICITY_GENERATION);
+        gen.writeNumber(result.userPossibleElectricityGeneration());
+        gen.writeFieldName(AMOUNT_OF_POSSIBLE_SAVINGS);
+        gen.writeNumber(result.userAmountOfPossibleSavings());
+        gen.writeFieldName(AMORTISATION_TIME);
+        writeRounded(gen, result.userAmortisationTime());
+        gen.writeFieldName(LIFETIME_YIELD_KWH);
+        writeRounded(gen, result.userLifetimeYieldKwh());
+        gen.writeFieldName(CO2_SAVINGS);
+        writeRounded(gen, result.userCo2SavingsKgPerYear());
+        gen.writeFieldName(SELF_CONSUMPTION_RATE);
+        writeRounded(gen, result.userSelfConsumptionRate());
+        gen.writeFieldName(AUTARKY_RATE);
+        writeRounded(gen, result.userAutarkyRate());
+        gen.writeFieldName(DAILY_YIELD);
+        writeRounded(gen, result.userDailyYield());
+        gen.writeFieldName(DAILY_SAVINGS);
+        writeRounded(gen, result.userDailySavings());
+        gen.writeFieldName(HOMEOFFICE_COVERAGE_RATE);
+        writeRounded(gen, result.userHomeofficeCoverageRate());
+        gen.writeFieldName(DAILY_EBIKE_RANGE);
+        writeRounded(gen, result.userDailyEBikeRangeKm());
+        gen.writeFieldName(DAILY_ECAR_RANGE);
+        writeRounded(gen, result.userDailyECarRangeKm());
+
+        gen.writeFieldName(BATTERY_RESULT);
+        BatteryResult battery = result.userBatteryResult();
+        if (battery != null) {
+            gen.writeStartObject();
+            gen.writeFieldName(BATTERY_SELF_CONSUMPTION_RATE);
+            writeRounded(gen, battery.selfConsumptionRate());
+            gen.writeFieldName(BATTERY_AUTARKY_RATE);
+            writeRounded(gen, battery.autarkyRate());
+            gen.writeFieldName(BATTERY_ADDITIONAL_SELF_CONSUMED);
+            writeRounded(gen, battery.additionalSelfConsumedKwh());
+            gen.writeFieldName(BATTERY_COST_EUR);
+            gen.writeNumber(battery.batteryCostEur());
+            gen.writeFieldName(BATTERY_AMORTISATION_TIME);
+            writeRounded(gen, battery.amortisationTime());
+            gen.writeFieldName(BATTERY_PV_ONLY_AMORTISATION_TIME);
+            writeRounded(gen, battery.pvOnlyAmortisationTime());
+            gen.writeFieldName(BATTERY_FULL_CYCLES);
+            writeRounded(gen, battery.fullCyclesPerYear());
+            gen.writeEndObject();
+        } else {
+            gen.writeNull();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, String value) throws IOException {
+        if (value != null) {
+            gen.writeString(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    private static void writeNullableDecimal(JsonGenerator gen, Double value) throws IOException {
+        if (value != null) {
+            writeDecimal(gen, value);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    // Ergebniswerte: eine Nachkommastelle, gleiche Rundung wie UserMapper.round
+    private static void writeRounded(JsonGenerator gen, double value) throws IOException {
+        writeDecimal(gen, Math.round(value * 10.0) / 10.0);
+    }
+
+    // JSON-Text: Werte mit höchstens einer Nachkommastelle aus den Zehnteln von hinten in den Puffer (gleiche Ausgabe
+    // wie Double.toString, aber ohne String); alles andere über writeNumber(double). Binäre Formate (CBOR/Smile) und
+    // TokenBuffer schreiben Zahlen nativ – erkennbar an canWriteBinaryNatively()
+    private static void writeDecimal(JsonGenerator gen, double value) throws IOException {
+        long tenths = Math.round(value * 10.0);
+        if (gen.canWriteBinaryNatively() || Math.abs(value) >= PLAIN_LIMIT || tenths / 10.0 != value
+                || Double.doubleToRawLongBits(value) == NEGATIVE_ZERO_BITS) {
+            gen.writeNumber(value);
+            return;
+        }
+        char[] buffer = DECIMAL_BUFFER.get();
+        long rest = Math.abs(tenths);
+        int start = buffer.length;
+        buffer[--start] = (char) ('0' + rest % 10);
+        buffer[--start] = '.';
+        rest /= 10;
+        do {
+            buffer[--start] = (char) ('0' + rest % 10);
+            rest /= 10;
+        } while (rest > 0);
+        if (tenths < 0) {
+            buffer[--start] = '-';
+        }
+        gen.writeNumber(buffer, start, buffer.length - start);
+    }
+}
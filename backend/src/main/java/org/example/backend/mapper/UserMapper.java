@@ -4,6 +4,9 @@ import org.example.backend.dto.*;
 import org.example.backend.model.*;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class UserMapper {
 
@@ -15,7 +18,8 @@ public class UserMapper {
         return new UserInfo(
                 dto.userRateOfElectricity(),
                 dto.userHouseholdNumber(),
-                dto.userElectricityConsumption()
+                dto.userElectricityConsumption(),
+                dto.postcode()
         );
     }
 
@@ -23,11 +27,45 @@ public class UserMapper {
         if (dto == null) {
             throw new IllegalArgumentException("UserConditionsDTO darf nicht null sein");
         }
+        requireAvailable(dto.userPvConfig());
         return new UserConditions(
                 dto.userPvConfig(),
                 dto.montageAngle(),
                 dto.montageDirection(),
-                dto.montageShadeFactor()
+                dto.montageShadeFactor(),
+                dto.latitude(),
+                dto.longitude(),
+                dto.battery() != null ? toBatteryConfig(dto.battery()) : null
+        );
+    }
+
+    private BatteryConfig toBatteryConfig(BatteryConfigDTO dto) {
+        return new BatteryConfig(
+                dto.capacityKwh(),
+                dto.roundTripEfficiency(),
+                dto.maxChargeKw(),
+                dto.maxDischargeKw()
+        );
+    }
+
+    // null → gesamter Suchraum; einzelne fehlende Felder → Standardwerte aus OptimizationConstraints.all()
+    public OptimizationConstraints toOptimizationConstraints(OptimizationConstraintsDTO dto) {
+        OptimizationConstraints all = OptimizationConstraints.all();
+        if (dto == null) {
+            return all;
+        }
+        if (dto.pvConfigs() != null) {
+            dto.pvConfigs().forEach(this::requireAvailable);
+        }
+        return new OptimizationConstraints(
+                dto.pvConfigs() != null ? dto.pvConfigs() : all.pvConfigs(),
+                dto.directions() != null ? dto.directions() : all.directions(),
+                dto.minAngle() != null ? dto.minAngle() : all.minAngle(),
+                dto.maxAngle() != null ? dto.maxAngle() : all.maxAngle(),
+                dto.angleStep() != null ? dto.angleStep() : all.angleStep(),
+                dto.montageShadeFactor() != null ? dto.montageShadeFactor() : all.montageShadeFactor(),
+                dto.latitude(),
+                dto.longitude()
         );
     }
 
@@ -47,38 +85,200 @@ public class UserMapper {
                 dto.userDailySavings(),
                 dto.userHomeofficeCoverageRate(),
                 dto.userDailyEBikeRangeKm(),
-                dto.userDailyECarRangeKm()
+                dto.userDailyECarRangeKm(),
+                dto.userBatteryResult() != null ? toBatteryResult(dto.userBatteryResult()) : null
         );
     }
 
-    // Entities → DTO
-    public UserResponseDTO toUserResponseDTO(User user) {
-        return new UserResponseDTO(
-                user.userId(),
-                user.userInfo() != null ? toUserInfoDTO(user.userInfo()) : null,
-                user.userConditions() != null ? toUserConditionsDTO(user.userConditions()) : null,
-                user.userResult() != null ? toUserResultDTO(user.userResult()) : null
+    private BatteryResult toBatteryResult(BatteryResultDTO dto) {
+        return new BatteryResult(
+                dto.selfConsumptionRate(),
+                dto.autarkyRate(),
+                dto.additionalSelfConsumedKwh(),
+                dto.batteryCostEur(),
+                dto.amortisationTime(),
+                dto.pvOnlyAmortisationTime(),
+                dto.fullCyclesPerYear()
+        );
+    }
+
+    // Export als CSV: eine flache Zeile je User, fehlende Teile als leere Felder, Zahlen wie im JSON gerundet.
+    // Direkt aus den Entities, ohne DTO-Zwischenobjekte
+    public static final String CSV_HEADER = "userId,createdAt,"
+            + "userRateOfElectricity,userHouseholdNumber,userElectricityConsumption,postcode,"
+            + "userPvConfig,montageAngle,montageDirection,montageShadeFactor,latitude,longitude,batteryCapacityKwh,"
+            + "userPossibleElectricityGeneration,userAmountOfPossibleSavings,userAmortisationTime,userLifetimeYieldKwh,"
+            + "userCo2SavingsKgPerYear,userSelfConsumptionRate,userAutarkyRate,userDailyYield,userDailySavings,"
+            + "userHomeofficeCoverageRate,userDailyEBikeRangeKm,userDailyECarRangeKm,"
+            + "batteryAutarkyRate,batteryAmortisationTime\n";
+
+    private static final int CSV_INFO_COLUMNS = 4;
+    private static final int CSV_CONDITIONS_COLUMNS = 7;
+    private static final int CSV_RESULT_COLUMNS = 12;
+    private static final int CSV_BATTERY_COLUMNS = 2;
+
+    public String toCsvRow(User user) {
+        StringBuilder row = new StringBuilder(256);
+        csv(row, user.userId()).append(',');
+        row.append(user.createdAt() != null ? user.createdAt().toString() : "");
+
+        UserInfo info = user.userInfo();
+        if (info != null) {
+            row.append(',').append(info.userRateOfElectricity())
+                    .append(',').append(info.userHouseholdNumber())
+                    .append(',').append(info.userElectricityConsumption())
+                    .append(',').append(info.postcode() != null ? info.postcode() : "");
+        } else {
+            empty(row, CSV_INFO_COLUMNS);
+        }
+
+        UserConditions conditions = user.userConditions();
+        if (conditions != null) {
+            row.append(',');
+            csv(row, conditions.userPvConfig() != null ? conditions.userPvConfig().name() : null);
+            row.append(',').append(conditions.montageAngle())
+                    .append(',').append(conditions.montageDirection() != null ? conditions.montageDirection().name() : "")
+                    .append(',').append(conditions.montageShadeFactor())
+                    .append(',').append(conditions.latitude() != null ? conditions.latitude().toString() : "")
+                    .append(',').append(conditions.longitude() != null ? conditions.longitude().toString() : "")
+                    .append(',').append(conditions.battery() != null ? String.valueOf(conditions.battery().capacityKwh()) : "");
+        } else {
+            empty(row, CSV_CONDITIONS_COLUMNS);
+        }
+
+        UserResult result = user.userResult();
+        if (result != null) {
+            row.append(',').append(result.userPossibleElectricityGeneration())
+                    .append(',').append(result.userAmountOfPossibleSavings())
+                    .append(',').append(round(result.userAmortisationTime()))
+                    .append(',').append(round(result.userLifetimeYieldKwh()))
+                    .append(',').append(round(result.userCo2SavingsKgPerYear()))
+                    .append(',').append(round(result.userSelfConsumptionRate()))
+                    .append(',').append(round(result.userAutarkyRate()))
+                    .append(',').append(round(result.userDailyYield()))
+                    .append(',').append(round(result.userDailySavings()))
+                    .append(',').append(round(result.userHomeofficeCoverageRate()))
+                    .append(',').append(round(result.userDailyEBikeRangeKm()))
+                    .append(',').append(round(result.userDailyECarRangeKm()));
+        } else {
+            empty(row, CSV_RESULT_COLUMNS);
+        }
+
+        BatteryResult battery = result != null ? result.userBatteryResult() : null;
+        if (battery != null) {
+            row.append(',').append(round(battery.autarkyRate()))
+                    .append(',').append(round(battery.amortisationTime()));
+        } else {
+            empty(row, CSV_BATTERY_COLUMNS);
+        }
+        return row.append('\n').toString();
+    }
+
+    public UserBatchResultDTO toUserBatchResultDTO(UserBatchOutcome outcome) {
+        return new UserBatchResultDTO(
+                outcome.userId(),
+                outcome.isSuccess() ? toUserResultDTO(outcome.user().userResult()) : null,
+                outcome.error()
         );
     }
 
-    private UserInfoDTO toUserInfoDTO(UserInfo info) {
+    public UserOptimizationResultDTO toUserOptimizationResultDTO(OptimizationResult result) {
+        List<OptimizationOptionDTO> options = result.paretoFront().stream()
+                .map(option -> new OptimizationOptionDTO(
+                        toUserConditionsDTO(option.userConditions()),
+                        toUserResultDTO(option.userResult())
+                ))
+                .toList();
+        return new UserOptimizationResultDTO(result.candidates(), result.fullyCalculated(), options);
+    }
+
+    public List<BatteryOptionDTO> toBatteryOptionDTOs(List<BatteryOption> options) {
+        return options.stream()
+                .map(option -> new BatteryOptionDTO(option.capacityKwh(), toBatteryResultDTO(option.result())))
+                .toList();
+    }
+
+    public UncertaintyResultDTO toUncertaintyResultDTO(UncertaintyResult result) {
+        return new UncertaintyResultDTO(
+                result.samples(),
+                toUncertaintyBandDTO(result.yearlyYieldKwh()),
+                toUncertaintyBandDTO(result.yearlySavingsEur()),
+                toUncertaintyBandDTO(result.amortisationTime())
+        );
+    }
+
+    private UncertaintyBandDTO toUncertaintyBandDTO(UncertaintyBand band) {
+        return new UncertaintyBandDTO(round(band.p10()), round(band.p50()), round(band.p90()));
+    }
+
+    private UncertaintyBandDTO toPercentiles(Map<String, Long> sketch) {
+        double p50 = QuantileSketch.quantile(sketch, 0.5);
+        if (Double.isNaN(p50)) {
+            return null;
+        }
+        return new UncertaintyBandDTO(
+                round(QuantileSketch.quantile(sketch, 0.1)), round(p50), round(QuantileSketch.quantile(sketch, 0.9)));
+    }
+
+    // Summen gerundet wie die Ergebnisse; Durchschnitt und Perzentile je PLZ/Region
+    public ResultAggregateDTO toResultAggregateDTO(ResultAggregate aggregate) {
+        return new ResultAggregateDTO(
+                aggregate.scope(),
+                aggregate.key(),
+                aggregate.users(),
+                round(aggregate.installedWp() / 1000.0),
+                aggregate.yearlyYieldKwh(),
+                round(aggregate.co2SavingsKgPerYear()),
+                aggregate.amortisationCount() > 0 ? round(aggregate.amortisationTime() / aggregate.amortisationCount()) : null,
+                toPercentiles(aggregate.yieldSketch()),
+                toPercentiles(aggregate.amortisationSketch())
+        );
+    }
+
+    public PvProductDTO toPvProductDTO(PvProduct product) {
+        return new PvProductDTO(
+                product.code(),
+                product.moduleCount(),
+                product.moduleWatt(),
+                product.inverterWatt(),
+                product.installationCostEur(),
+                product.clippingFactor(),
+                product.totalModuleKwp()
+        );
+    }
+
+    // Paket-sichtbar auch für den DTO-Vergleich mit UserJsonSerializer in den Tests
+    UserInfoDTO toUserInfoDTO(UserInfo info) {
         return new UserInfoDTO(
                 info.userRateOfElectricity(),
                 info.userHouseholdNumber(),
-                info.userElectricityConsumption()
+                info.userElectricityConsumption(),
+                info.postcode()
         );
     }
 
-    private UserConditionsDTO toUserConditionsDTO(UserConditions conditions) {
+    UserConditionsDTO toUserConditionsDTO(UserConditions conditions) {
         return new UserConditionsDTO(
                 conditions.userPvConfig(),
                 conditions.montageAngle(),
                 conditions.montageDirection(),
-                conditions.montageShadeFactor()
+                conditions.montageShadeFactor(),
+                conditions.latitude(),
+                conditions.longitude(),
+                conditions.battery() != null ? toBatteryConfigDTO(conditions.battery()) : null
         );
     }
 
-    private UserResultDTO toUserResultDTO(UserResult result) {
+    private BatteryConfigDTO toBatteryConfigDTO(BatteryConfig battery) {
+        return new BatteryConfigDTO(
+                battery.capacityKwh(),
+                battery.roundTripEfficiency(),
+                battery.maxChargeKw(),
+                battery.maxDischargeKw()
+        );
+    }
+
+    public UserResultDTO toUserResultDTO(UserResult result) {
         return new UserResultDTO(
                 result.userPossibleElectricityGeneration(),
                 result.userAmountOfPossibleSavings(),
@@ -91,10 +291,47 @@ public class UserMapper {
                 round(result.userDailySavings()),
                 round(result.userHomeofficeCoverageRate()),
                 round(result.userDailyEBikeRangeKm()),
-                round(result.userDailyECarRangeKm())
+                round(result.userDailyECarRangeKm()),
+                result.userBatteryResult() != null ? toBatteryResultDTO(result.userBatteryResult()) : null
+        );
+    }
+
+    private BatteryResultDTO toBatteryResultDTO(BatteryResult battery) {
+        return new BatteryResultDTO(
+                round(battery.selfConsumptionRate()),
+                round(battery.autarkyRate()),
+                round(battery.additionalSelfConsumedKwh()),
+                battery.batteryCostEur(),
+                round(battery.amortisationTime()),
+                round(battery.pvOnlyAmortisationTime()),
+                round(battery.fullCyclesPerYear())
         );
     }
 
+    // Produkt muss im aktuellen Katalog stehen (sonst 400 statt Fehler erst bei der Berechnung)
+    private void requireAvailable(UserPvConfig config) {
+        if (config != null && !config.isAvailable()) {
+            throw new IllegalArgumentException("Unbekanntes PV-Produkt: " + config.name());
+        }
+    }
+
+    // RFC 4180: Feld in Anführungszeichen, wenn es Trennzeichen, Anführungszeichen oder Zeilenumbrüche enthält
+    private static StringBuilder csv(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void empty(StringBuilder row, int columns) {
+        for (int i = 0; i < columns; i++) {
+            row.append(',');
+        }
+    }
+
     private double round(double value) {
         return Math.round(value * 10.0) / 10.0;
     }
@@ -0,0 +1,42 @@
+package org.example.backend.model;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Sammelt die Aggregat-Änderungen gespeicherter Ergebnisse (vorher → nachher) je PLZ und Region.
+// Ein Batch mit vielen Usern einer PLZ ergibt so nur einen Upsert je betroffenem Aggregat
+public final class AggregateChanges {
+
+    private final Map<String, AggregateDelta> deltas = new LinkedHashMap<>();
+
+    // before: bisher gespeicherter Anteil (null = zählte nirgends), after: Anteil des neuen Ergebnisses
+    public AggregateChanges change(ResultContribution before, ResultContribution after) {
+        if (Objects.equals(before, after)) {
+            return this;
+        }
+        if (before != null) {
+            add(before, -1);
+        }
+        if (after != null) {
+            add(after, 1);
+        }
+        return this;
+    }
+
+    public Collection<AggregateDelta> deltas() {
+        return deltas.values().stream().filter(delta -> !delta.isEmpty()).toList();
+    }
+
+    public boolean isEmpty() {
+        return deltas().isEmpty();
+    }
+
+    private void add(ResultContribution contribution, int sign) {
+        for (AggregateScope scope : AggregateScope.values()) {
+            String key = scope.keyOf(contribution.postcode());
+            deltas.computeIfAbsent(scope.id(key), id -> new AggregateDelta(scope, key)).add(contribution, sign);
+        }
+    }
+}
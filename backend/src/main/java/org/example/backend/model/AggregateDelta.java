@@ -0,0 +1,90 @@
+package org.example.backend.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Änderung eines ResultAggregate (ein $inc-Upsert): Summe der abgezogenen und hinzugefügten ResultContributions
+public final class AggregateDelta {
+
+    private final AggregateScope scope;
+    private final String key;
+    private long users;
+    private long installedWp;
+    private long yearlyYieldKwh;
+    private double co2SavingsKgPerYear;
+    private double amortisationTime;
+    private long amortisationCount;
+    private final Map<String, Long> yieldSketch = new HashMap<>();
+    private final Map<String, Long> amortisationSketch = new HashMap<>();
+
+    AggregateDelta(AggregateScope scope, String key) {
+        this.scope = scope;
+        this.key = key;
+    }
+
+    // sign: +1 hinzufügen, -1 abziehen
+    void add(ResultContribution contribution, int sign) {
+        users += sign;
+        installedWp += (long) sign * contribution.installedWp();
+        yearlyYieldKwh += (long) sign * contribution.yearlyYieldKwh();
+        co2SavingsKgPerYear += sign * contribution.co2SavingsKgPerYear();
+        yieldSketch.merge(QuantileSketch.bucket(contribution.yearlyYieldKwh()), (long) sign, Long::sum);
+        if (contribution.hasAmortisation()) {
+            amortisationTime += sign * contribution.amortisationTime();
+            amortisationCount += sign;
+            amortisationSketch.merge(QuantileSketch.bucket(contribution.amortisationTime()), (long) sign, Long::sum);
+        }
+    }
+
+    // Abziehen und Hinzufügen gleicher Werte (z.B. unverändertes Ergebnis) heben sich auf
+    public boolean isEmpty() {
+        return users == 0 && installedWp == 0 && yearlyYieldKwh == 0 && co2SavingsKgPerYear == 0
+                && amortisationTime == 0 && amortisationCount == 0
+                && yieldSketch.values().stream().allMatch(count -> count == 0)
+                && amortisationSketch.values().stream().allMatch(count -> count == 0);
+    }
+
+    public String id() {
+        return scope.id(key);
+    }
+
+    public AggregateScope scope() {
+        return scope;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public long users() {
+        return users;
+    }
+
+    public long installedWp() {
+        return installedWp;
+    }
+
+    public long yearlyYieldKwh() {
+        return yearlyYieldKwh;
+    }
+
+    public double co2SavingsKgPerYear() {
+        return co2SavingsKgPerYear;
+    }
+
+    public double amortisationTime() {
+        return amortisationTime;
+    }
+
+    public long amortisationCount() {
+        return amortisationCount;
+    }
+
+    public Map<String, Long> yieldSketch() {
+        return yieldSketch;
+    }
+
+    public Map<String, Long> amortisationSketch() {
+        return amortisationSketch;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.backend.model;
+
+import java.util.regex.Pattern;
+
+// Ebenen der Ergebnisstatistik: einzelne PLZ oder Region (Leitregion = die ersten zwei Ziffern der PLZ)
+public enum AggregateScope {
+    POSTCODE(5),
+    REGION(2);
+
+    private final int digits;
+    private final Pattern pattern;
+
+    AggregateScope(int digits) {
+        this.digits = digits;
+        this.pattern = Pattern.compile("\\d{" + digits + "}");
+    }
+
+    public String keyOf(String postcode) {
+        return postcode.substring(0, digits);
+    }
+
+    // _id in resultAggregates, z.B. "POSTCODE:10115" oder "REGION:10"
+    public String id(String key) {
+        return name() + ":" + key;
+    }
+
+    public String requireKey(String key) {
+        if (key == null || !pattern.matcher(key).matches()) {
+            throw new IllegalArgumentException(this == POSTCODE
+                    ? "PLZ muss fünfstellig sein: " + key
+                    : "Region muss zweistellig sein (erste zwei Ziffern der PLZ): " + key);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.backend.model;
+
+// Stromspeicher: nutzbare Kapazität, Wirkungsgrad (Laden + Entladen), Lade-/Entladeleistung
+public record BatteryConfig(
+        double capacityKwh,
+        double roundTripEfficiency,
+        double maxChargeKw,
+        double maxDischargeKw
+) {}
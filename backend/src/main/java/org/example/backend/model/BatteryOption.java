@@ -0,0 +1,7 @@
+package org.example.backend.model;
+
+// Eine Speichergröße aus dem Vergleich mehrerer Kapazitäten (POST /api/home/preview/battery-sweep)
+public record BatteryOption(
+        double capacityKwh,
+        BatteryResult result
+) {}
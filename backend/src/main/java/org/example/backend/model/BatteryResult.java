@@ -0,0 +1,15 @@
+package org.example.backend.model;
+
+// Ergebnis mit Speicher; Quoten ersetzen die Werte ohne Speicher. Beide Amortisationszeiten bewerten die gedeckte
+// Last zum Strompreis und nur den eingespeisten Überschuss mit der Einspeisevergütung – anders als
+// UserResult.userAmortisationTime, das den gesamten Ertrag zum Strompreis ansetzt. pvOnlyAmortisationTime ist
+// die Anlage ohne Speicher auf derselben Basis (direkt vergleichbar mit amortisationTime)
+public record BatteryResult(
+        double selfConsumptionRate,
+        double autarkyRate,
+        double additionalSelfConsumedKwh,
+        int batteryCostEur,
+        double amortisationTime,
+        double pvOnlyAmortisationTime,
+        double fullCyclesPerYear
+) {}
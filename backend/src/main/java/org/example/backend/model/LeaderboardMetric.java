@@ -0,0 +1,14 @@
+package org.example.backend.model;
+
+// Sortierung der Rangliste (absteigend, Summen je PLZ/Region); field = Feld in resultAggregates
+public enum LeaderboardMetric {
+    INSTALLED_KWP("installedWp"),
+    YEARLY_YIELD("yearlyYieldKwh"),
+    CO2_SAVINGS("co2SavingsKgPerYear");
+
+    public final String field;
+
+    LeaderboardMetric(String field) {
+        this.field = field;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.backend.model;
+
+import java.util.List;
+
+// Suchraum der Konfigurationsoptimierung: alle Kombinationen aus pvConfigs × directions × Winkel
+// (minAngle..maxAngle in angleStep-Schritten) bei fester Verschattung und optionalem Standort
+public record OptimizationConstraints(
+        List<UserPvConfig> pvConfigs,
+        List<Direction> directions,
+        int minAngle,
+        int maxAngle,
+        int angleStep,
+        double montageShadeFactor,
+        Double latitude,
+        Double longitude
+) {
+    public static final int DEFAULT_ANGLE_STEP = 5;
+
+    public OptimizationConstraints {
+        if (pvConfigs == null || pvConfigs.isEmpty() || directions == null || directions.isEmpty()) {
+            throw new IllegalArgumentException("Mindestens ein PV-Modul und eine Ausrichtung angeben");
+        }
+        if (minAngle < 0 || maxAngle > 90 || minAngle > maxAngle) {
+            throw new IllegalArgumentException("Winkelbereich muss in 0–90° liegen: " + minAngle + "–" + maxAngle);
+        }
+        if (angleStep < 1) {
+            throw new IllegalArgumentException("Winkelschritt muss mindestens 1° sein: " + angleStep);
+        }
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("Breiten- und Längengrad nur gemeinsam angeben");
+        }
+        pvConfigs = List.copyOf(pvConfigs);
+        directions = List.copyOf(directions);
+    }
+
+    // Alle Module, alle Ausrichtungen, 0–90° in 5°-Schritten, ohne Verschattung
+    public static OptimizationConstraints all() {
+        return new OptimizationConstraints(List.of(UserPvConfig.values()), List.of(Direction.values()),
+                0, 90, DEFAULT_ANGLE_STEP, 0.0, null, null);
+    }
+
+    public int candidateCount() {
+        return pvConfigs.size() * directions.size() * ((maxAngle - minAngle) / angleStep + 1);
+    }
+}
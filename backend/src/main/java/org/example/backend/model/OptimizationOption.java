@@ -0,0 +1,7 @@
+package org.example.backend.model;
+
+// Eine Pareto-optimale Konfiguration mit vollständigem Ergebnis
+public record OptimizationOption(
+        UserConditions userConditions,
+        UserResult userResult
+) {}
@@ -0,0 +1,11 @@
+package org.example.backend.model;
+
+import java.util.List;
+
+// candidates: Größe des Suchraums, fullyCalculated: davon vollständig berechnet (Rest vorab als dominiert verworfen),
+// paretoFront nach Amortisationszeit aufsteigend
+public record OptimizationResult(
+        int candidates,
+        int fullyCalculated,
+        List<OptimizationOption> paretoFront
+) {}
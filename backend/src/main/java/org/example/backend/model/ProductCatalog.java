@@ -0,0 +1,81 @@
+package org.example.backend.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Unveränderlicher Stand des PV-Produktkatalogs (Liste + Index nach Code).
+// Aktualisierung per Copy-on-Write: install() baut einen neuen Stand und tauscht die Referenz atomar,
+// Leser (UserPvConfig, Berechnung) sehen immer einen vollständigen Stand – ohne Sperren, ohne DB-Zugriff.
+// Die drei bisherigen Produkte bleiben als Grundbestand erhalten und lassen sich über den gleichen Code überschreiben.
+public final class ProductCatalog {
+
+    public static final List<PvProduct> BUILTIN = List.of(
+            new PvProduct("CHEAP_PV_COMBI", 2, 400, 800, 450, 1.00),
+            new PvProduct("MEDIUM_PV_COMBI", 3, 400, 800, 600, 0.85),
+            new PvProduct("PREMIUM_PV_COMBI", 4, 400, 800, 750, 0.80)
+    );
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+    private static volatile ProductCatalog current = of(List.of());
+
+    private final long version;
+    private final List<PvProduct> products;
+    private final Map<String, PvProduct> byCode;
+
+    private ProductCatalog(long version, List<PvProduct> products, Map<String, PvProduct> byCode) {
+        this.version = version;
+        this.products = products;
+        this.byCode = byCode;
+    }
+
+    public static ProductCatalog current() {
+        return current;
+    }
+
+    // Ersetzt den aktuellen Stand; Reihenfolge: Grundbestand, danach weitere Produkte in Eingabereihenfolge
+    public static synchronized ProductCatalog install(Collection<PvProduct> products) {
+        ProductCatalog next = of(products);
+        current = next;
+        return next;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<PvProduct> products() {
+        return products;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public Optional<PvProduct> find(String code) {
+        return Optional.ofNullable(byCode.get(code));
+    }
+
+    public PvProduct require(String code) {
+        PvProduct product = byCode.get(code);
+        if (product == null) {
+            throw new IllegalArgumentException("Unbekanntes PV-Produkt: " + code);
+        }
+        return product;
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static ProductCatalog of(Collection<PvProduct> products) {
+        Map<String, PvProduct> byCode = new LinkedHashMap<>();
+        BUILTIN.forEach(product -> byCode.put(product.code(), product));
+        for (PvProduct product : products) {
+            byCode.put(product.code(), product);
+        }
+        return new ProductCatalog(VERSIONS.incrementAndGet(), List.copyOf(byCode.values()), Map.copyOf(byCode));
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Katalogeintrag einer PV-Kombi (Module + Wechselrichter); code ist der Wert von UserPvConfig
+@Document("pvProducts")
+public record PvProduct(
+        @Id
+        String code,
+        int moduleCount,
+        int moduleWatt,
+        int inverterWatt,
+        int installationCostEur,
+        double clippingFactor
+) {
+    public PvProduct {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("Produktcode darf nicht leer sein");
+        }
+        if (moduleCount < 1 || moduleWatt < 1 || inverterWatt < 1) {
+            throw new IllegalArgumentException("Module und Wechselrichter müssen positiv sein: " + code);
+        }
+        if (installationCostEur < 0) {
+            throw new IllegalArgumentException("Installationskosten dürfen nicht negativ sein: " + code);
+        }
+        if (!(clippingFactor > 0 && clippingFactor <= 1)) {
+            throw new IllegalArgumentException("Clipping-Faktor muss in (0, 1] liegen: " + code);
+        }
+    }
+
+    public double totalModuleKwp() {
+        return (moduleCount * moduleWatt) / 1000.0;
+    }
+}
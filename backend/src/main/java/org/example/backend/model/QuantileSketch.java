@@ -0,0 +1,68 @@
+package org.example.backend.model;
+
+import java.util.Comparator;
+import java.util.Map;
+
+// Quantile über logarithmische Buckets (Prinzip DDSketch): ein Wert v zählt in Bucket ceil(log_γ v) mit
+// γ = (1 + α) / (1 - α), der Bucket-Mittelwert liegt höchstens um α relativ daneben. Die Buckets sind reine Zähler
+// (Schlüssel = Index als String, passend für Mongo-Felder): Einfügen und Entfernen per $inc, Speicher
+// unabhängig von der Anzahl der Werte (z.B. 1–50 Jahre Amortisation bei α = 1 % → rund 200 Buckets).
+public final class QuantileSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    // Werte darunter (0, negative) in einem gemeinsamen Bucket, geschätzt als 0
+    static final double MIN_VALUE = 1.0e-3;
+    static final String ZERO_BUCKET = "min";
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private QuantileSketch() {
+    }
+
+    public static String bucket(double value) {
+        if (value < MIN_VALUE) {
+            return ZERO_BUCKET;
+        }
+        return Integer.toString((int) Math.ceil(Math.log(value) / LOG_GAMMA));
+    }
+
+    // Schätzwert eines Buckets: Mitte (im relativen Sinn) von (γ^(i-1), γ^i]
+    static double value(String bucket) {
+        if (ZERO_BUCKET.equals(bucket)) {
+            return 0.0;
+        }
+        return 2 * Math.pow(GAMMA, Integer.parseInt(bucket)) / (GAMMA + 1);
+    }
+
+    // q in [0, 1]; leerer Sketch → NaN. Aufwand abhängig von der Bucket-Anzahl, nicht von der Anzahl der Werte
+    public static double quantile(Map<String, Long> buckets, double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantil muss in [0, 1] liegen: " + q);
+        }
+        if (buckets == null) {
+            return Double.NaN;
+        }
+        long total = 0;
+        for (long count : buckets.values()) {
+            total += Math.max(count, 0);
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) Math.floor(q * (total - 1));
+        long seen = 0;
+        for (Map.Entry<String, Long> entry : buckets.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Comparator.comparingDouble(entry -> value(entry.getKey())))
+                .toList()) {
+            seen += entry.getValue();
+            if (seen > rank) {
+                return value(entry.getKey());
+            }
+        }
+        throw new IllegalStateException("Quantil nicht gefunden");
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+// Laufende Summen je PLZ bzw. Region über alle gespeicherten Ergebnisse, inkrementell per $inc gepflegt
+// (AggregateDelta). amortisationTime ist die Summe über amortisationCount User mit Ersparnis; die Sketches sind
+// QuantileSketch-Buckets für Jahresertrag und Amortisation.
+// Indizes je Ranglisten-Metrik: Top-N einer Ebene ohne Sortierung im Speicher
+@Document("resultAggregates")
+@CompoundIndexes({
+        @CompoundIndex(name = "scope_installedWp", def = "{'scope': 1, 'installedWp': -1}"),
+        @CompoundIndex(name = "scope_yearlyYieldKwh", def = "{'scope': 1, 'yearlyYieldKwh': -1}"),
+        @CompoundIndex(name = "scope_co2SavingsKgPerYear", def = "{'scope': 1, 'co2SavingsKgPerYear': -1}")
+})
+public record ResultAggregate(
+        @Id
+        String id,
+        AggregateScope scope,
+        String key,
+        long users,
+        long installedWp,
+        long yearlyYieldKwh,
+        double co2SavingsKgPerYear,
+        double amortisationTime,
+        long amortisationCount,
+        Map<String, Long> yieldSketch,
+        Map<String, Long> amortisationSketch
+) {
+    @PersistenceCreator
+    public ResultAggregate {
+        // kanonischer Konstruktor für Spring Data
+    }
+
+    // PLZ/Region ohne gespeicherte Ergebnisse
+    public static ResultAggregate empty(AggregateScope scope, String key) {
+        return new ResultAggregate(scope.id(key), scope, key, 0, 0, 0, 0.0, 0.0, 0, Map.of(), Map.of());
+    }
+}
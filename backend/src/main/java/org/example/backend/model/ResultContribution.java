@@ -0,0 +1,33 @@
+package org.example.backend.model;
+
+// Anteil eines Users an den PLZ-/Regionsaggregaten (ResultAggregate), gespeichert zusammen mit dem Ergebnis.
+// Beim nächsten Ergebnis wird genau dieser Stand wieder abgezogen – auch wenn sich PLZ oder Produkt inzwischen
+// geändert haben. Leistung in Wp (ganzzahlig, Summen bleiben beim Abziehen exakt)
+public record ResultContribution(
+        String postcode,
+        int installedWp,
+        int yearlyYieldKwh,
+        double co2SavingsKgPerYear,
+        double amortisationTime
+) {
+    // null, solange PLZ, Produkt oder Ergebnis fehlen (User zählt dann in keinem Aggregat)
+    public static ResultContribution of(UserInfo info, UserConditions conditions, UserResult result) {
+        if (info == null || info.postcode() == null || conditions == null || conditions.userPvConfig() == null
+                || result == null) {
+            return null;
+        }
+        PvProduct product = conditions.userPvConfig().product();
+        return new ResultContribution(
+                info.postcode(),
+                product.moduleCount() * product.moduleWatt(),
+                result.userPossibleElectricityGeneration(),
+                result.userCo2SavingsKgPerYear(),
+                result.userAmortisationTime()
+        );
+    }
+
+    // Ohne Ersparnis ist die Amortisationszeit Double.MAX_VALUE → nicht im Durchschnitt/Sketch
+    public boolean hasAmortisation() {
+        return amortisationTime < Double.MAX_VALUE;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.backend.model;
+
+// Perzentile einer Monte-Carlo-Verteilung
+public record UncertaintyBand(
+        double p10,
+        double p50,
+        double p90
+) {}
@@ -0,0 +1,9 @@
+package org.example.backend.model;
+
+// Bänder je Kennzahl, jeweils einzeln über alle Stichproben bestimmt
+public record UncertaintyResult(
+        int samples,
+        UncertaintyBand yearlyYieldKwh,
+        UncertaintyBand yearlySavingsEur,
+        UncertaintyBand amortisationTime
+) {}
@@ -1,14 +1,49 @@
 package org.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
+// userId: zeitlich sortierte UUIDv7 (neue Einträge landen am rechten Rand des _id-Index);
+// ältere Dokumente mit zufälliger UUID und ohne createdAt bleiben gültig.
+// Indizes (spring.data.mongodb.auto-index-creation): Anlagedatum und PV-Produkt + Anlagedatum
+// resultContribution: Anteil an den PLZ-/Regionsaggregaten, zusammen mit userResult geschrieben (nicht Teil der API).
+// API-Antworten in der Form von UserResponseDTO schreibt UserJsonSerializer (registriert in JacksonConfig)
 @Document
+@CompoundIndex(name = "pvConfig_createdAt", def = "{'userConditions.userPvConfig': 1, 'createdAt': 1}")
 public record User(
         @Id
         String userId,
         UserInfo userInfo,
         UserConditions userConditions,
-        UserResult userResult
+        UserResult userResult,
+        @Version
+        Long version,
+        @Indexed(name = "createdAt")
+        Instant createdAt,
+        ResultContribution resultContribution
 ) {
+    @PersistenceCreator
+    public User {
+        // kanonischer Konstruktor für Spring Data
+    }
+
+    public User(String userId, UserInfo userInfo, UserConditions userConditions, UserResult userResult, Long version,
+                Instant createdAt) {
+        this(userId, userInfo, userConditions, userResult, version, createdAt, null);
+    }
+
+    public User(String userId, UserInfo userInfo, UserConditions userConditions, UserResult userResult, Long version) {
+        this(userId, userInfo, userConditions, userResult, version, null, null);
+    }
+
+    // Neuer, noch nicht gespeicherter User (Version wird beim Insert gesetzt)
+    public User(String userId, UserInfo userInfo, UserConditions userConditions, UserResult userResult) {
+        this(userId, userInfo, userConditions, userResult, null, null, null);
+    }
 }
@@ -0,0 +1,20 @@
+package org.example.backend.model;
+
+// Ergebnis einer Batch-Berechnung: entweder der aktualisierte User oder eine Fehlermeldung
+public record UserBatchOutcome(
+        String userId,
+        User user,
+        String error
+) {
+    public static UserBatchOutcome success(User user) {
+        return new UserBatchOutcome(user.userId(), user, null);
+    }
+
+    public static UserBatchOutcome failure(String userId, String error) {
+        return new UserBatchOutcome(userId, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
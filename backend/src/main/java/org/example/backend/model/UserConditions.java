@@ -1,9 +1,36 @@
 package org.example.backend.model;
 
+import org.springframework.data.annotation.PersistenceCreator;
 
+// latitude/longitude optional, aber nur gemeinsam (Standort der Anlage, beide null → Standardstandort der
+// Stundensimulation), battery optional (null → ohne Speicher)
 public record UserConditions(
         UserPvConfig userPvConfig,
         int montageAngle,
         Direction montageDirection,
-        double montageShadeFactor
-) {}
+        double montageShadeFactor,
+        Double latitude,
+        Double longitude,
+        BatteryConfig battery
+) {
+    @PersistenceCreator
+    public UserConditions {
+        // kanonischer Konstruktor, auch für Spring Data
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("Breiten- und Längengrad nur gemeinsam angeben");
+        }
+    }
+
+    public UserConditions(UserPvConfig userPvConfig, int montageAngle, Direction montageDirection, double montageShadeFactor) {
+        this(userPvConfig, montageAngle, montageDirection, montageShadeFactor, null, null, null);
+    }
+
+    public UserConditions(UserPvConfig userPvConfig, int montageAngle, Direction montageDirection, double montageShadeFactor,
+                          Double latitude, Double longitude) {
+        this(userPvConfig, montageAngle, montageDirection, montageShadeFactor, latitude, longitude, null);
+    }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+}
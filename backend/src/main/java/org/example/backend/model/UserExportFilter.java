@@ -0,0 +1,22 @@
+package org.example.backend.model;
+
+import java.time.Instant;
+
+// Export-Filter, alle Kriterien optional (null → kein Filter); createdFrom inklusiv, createdTo exklusiv.
+// onlyWithResult → nur User mit berechnetem Ergebnis
+public record UserExportFilter(
+        UserPvConfig userPvConfig,
+        Instant createdFrom,
+        Instant createdTo,
+        boolean onlyWithResult
+) {
+    public UserExportFilter {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("createdFrom muss vor createdTo liegen");
+        }
+    }
+
+    public static UserExportFilter none() {
+        return new UserExportFilter(null, null, null, false);
+    }
+}
@@ -1,9 +1,21 @@
 package org.example.backend.model;
 
+import org.springframework.data.annotation.PersistenceCreator;
 
 // Required fields → primitives (more efficient, can't be null)
+// postcode optional (fünfstellige PLZ, Grundlage der PLZ-/Regionsstatistik), ältere Dokumente ohne PLZ bleiben gültig
 public record UserInfo(
         int userRateOfElectricity,
         int userHouseholdNumber,
-        int userElectricityConsumption
-) {}
+        int userElectricityConsumption,
+        String postcode
+) {
+    @PersistenceCreator
+    public UserInfo {
+        // kanonischer Konstruktor für Spring Data
+    }
+
+    public UserInfo(int userRateOfElectricity, int userHouseholdNumber, int userElectricityConsumption) {
+        this(userRateOfElectricity, userHouseholdNumber, userElectricityConsumption, null);
+    }
+}
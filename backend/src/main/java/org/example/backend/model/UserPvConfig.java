@@ -1,49 +1,110 @@
 package org.example.backend.model;
 
-public enum UserPvConfig {
-    CHEAP_PV_COMBI(2, 400, 800, 450, 1.00),
-    MEDIUM_PV_COMBI(3, 400, 800, 600, 0.85),
-    PREMIUM_PV_COMBI(4, 400, 800, 750, 0.80);
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 
-    private final int moduleCount;
-    private final int moduleWatt;
-    private final int inverterWatt;
-    private final int installationCostEur;
-    private final double clippingFactor;
+// Auswahl einer PV-Kombi über ihren Produktcode. Früher ein Enum mit drei festen Produkten, jetzt ein Verweis
+// in den ProductCatalog; Konstanten, values()/valueOf()/name() und die Getter bleiben wie gehabt.
+// Die Getter lesen den aktuellen Katalogstand (zwischengespeichert je Stand, kein Lock, kein DB-Zugriff).
+// JSON und Mongo: der Code als String (wie zuvor der Enum-Name).
+public final class UserPvConfig {
 
-    UserPvConfig(int moduleCount, int moduleWatt, int inverterWatt, int installationCostEur, double clippingFactor) {
-        this.moduleCount = moduleCount;
-        this.moduleWatt = moduleWatt;
-        this.inverterWatt = inverterWatt;
-        this.installationCostEur = installationCostEur;
-        this.clippingFactor = clippingFactor;
+    public static final UserPvConfig CHEAP_PV_COMBI = new UserPvConfig("CHEAP_PV_COMBI");
+    public static final UserPvConfig MEDIUM_PV_COMBI = new UserPvConfig("MEDIUM_PV_COMBI");
+    public static final UserPvConfig PREMIUM_PV_COMBI = new UserPvConfig("PREMIUM_PV_COMBI");
+
+    private final String code;
+    private volatile Resolved resolved;
+
+    private UserPvConfig(String code) {
+        this.code = code;
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static UserPvConfig valueOf(String code) {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("Produktcode darf nicht leer sein");
+        }
+        return switch (code) {
+            case "CHEAP_PV_COMBI" -> CHEAP_PV_COMBI;
+            case "MEDIUM_PV_COMBI" -> MEDIUM_PV_COMBI;
+            case "PREMIUM_PV_COMBI" -> PREMIUM_PV_COMBI;
+            default -> new UserPvConfig(code);
+        };
+    }
+
+    // Alle Produkte des aktuellen Katalogstands
+    public static UserPvConfig[] values() {
+        return ProductCatalog.current().products().stream()
+                .map(product -> valueOf(product.code()))
+                .toArray(UserPvConfig[]::new);
+    }
+
+    @JsonValue
+    public String name() {
+        return code;
+    }
+
+    public boolean isAvailable() {
+        return ProductCatalog.current().find(code).isPresent();
+    }
+
+    // Katalogeintrag im aktuellen Stand; unbekannter Code → IllegalArgumentException
+    public PvProduct product() {
+        ProductCatalog catalog = ProductCatalog.current();
+        Resolved cached = resolved;
+        if (cached != null && cached.catalog() == catalog) {
+            return cached.product();
+        }
+        PvProduct product = catalog.require(code);
+        resolved = new Resolved(catalog, product);
+        return product;
     }
 
     public int getModuleCount() {
-        return moduleCount;
+        return product().moduleCount();
     }
 
     public int getModuleWatt() {
-        return moduleWatt;
+        return product().moduleWatt();
     }
 
     public int getInverterWatt() {
-        return inverterWatt;
+        return product().inverterWatt();
     }
 
     public int getInstallationCostEur() {
-        return installationCostEur;
+        return product().installationCostEur();
     }
 
     public double getTotalModuleKwp() {
-        return (moduleCount * moduleWatt) / 1000.0;
+        return product().totalModuleKwp();
     }
 
     public double getOversizingRatio() {
-        return (double) (moduleCount * moduleWatt) / inverterWatt;
+        PvProduct product = product();
+        return (double) (product.moduleCount() * product.moduleWatt()) / product.inverterWatt();
     }
 
     public double getClippingFactor() {
-        return clippingFactor;
+        return product().clippingFactor();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof UserPvConfig config && code.equals(config.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return code.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+
+    private record Resolved(ProductCatalog catalog, PvProduct product) {
     }
 }
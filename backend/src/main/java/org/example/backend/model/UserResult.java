@@ -1,5 +1,7 @@
 package org.example.backend.model;
 
+import org.springframework.data.annotation.PersistenceCreator;
+
 public record UserResult(
         int userPossibleElectricityGeneration,
         int userAmountOfPossibleSavings,
@@ -12,5 +14,23 @@ public record UserResult(
         double userDailySavings,
         double userHomeofficeCoverageRate,
         double userDailyEBikeRangeKm,
-        double userDailyECarRangeKm
-) {}
\ No newline at end of file
+        double userDailyECarRangeKm,
+        BatteryResult userBatteryResult
+) {
+    @PersistenceCreator
+    public UserResult {
+        // kanonischer Konstruktor für Spring Data
+    }
+
+    // Ergebnis ohne Speicher
+    public UserResult(
+            int userPossibleElectricityGeneration, int userAmountOfPossibleSavings, double userAmortisationTime,
+            double userLifetimeYieldKwh, double userCo2SavingsKgPerYear, double userSelfConsumptionRate,
+            double userAutarkyRate, double userDailyYield, double userDailySavings,
+            double userHomeofficeCoverageRate, double userDailyEBikeRangeKm, double userDailyECarRangeKm) {
+        this(userPossibleElectricityGeneration, userAmountOfPossibleSavings, userAmortisationTime,
+                userLifetimeYieldKwh, userCo2SavingsKgPerYear, userSelfConsumptionRate,
+                userAutarkyRate, userDailyYield, userDailySavings,
+                userHomeofficeCoverageRate, userDailyEBikeRangeKm, userDailyECarRangeKm, null);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.backend.repo;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.example.backend.model.AggregateDelta;
+import org.example.backend.model.ResultAggregate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+
+// Gemeinsame Upserts und Neuaufbau-Hilfen für das blockierende und das reaktive ResultAggregate-Repository
+final class AggregateUpdates {
+
+    static final String SCOPE = "scope";
+    static final String KEY = "key";
+    static final String USERS = "users";
+    static final String INSTALLED_WP = "installedWp";
+    static final String YEARLY_YIELD_KWH = "yearlyYieldKwh";
+    static final String CO2_SAVINGS = "co2SavingsKgPerYear";
+    static final String AMORTISATION_TIME = "amortisationTime";
+    static final String AMORTISATION_COUNT = "amortisationCount";
+    static final String YIELD_SKETCH = "yieldSketch";
+    static final String AMORTISATION_SKETCH = "amortisationSketch";
+
+    // Neuaufbau: Staging-Collection neben resultAggregates, danach per renameCollection getauscht
+    static final String STAGING_SUFFIX = "_rebuild";
+
+    private AggregateUpdates() {
+    }
+
+    static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    // Ein $inc je Summe und je geändertem Sketch-Bucket; scope/key nur beim ersten Upsert
+    static Update inc(AggregateDelta delta) {
+        Update update = new Update()
+                .setOnInsert(SCOPE, delta.scope())
+                .setOnInsert(KEY, delta.key())
+                .inc(USERS, delta.users())
+                .inc(INSTALLED_WP, delta.installedWp())
+                .inc(YEARLY_YIELD_KWH, delta.yearlyYieldKwh())
+                .inc(CO2_SAVINGS, delta.co2SavingsKgPerYear())
+                .inc(AMORTISATION_TIME, delta.amortisationTime())
+                .inc(AMORTISATION_COUNT, delta.amortisationCount());
+        incBuckets(update, YIELD_SKETCH, delta.yieldSketch());
+        incBuckets(update, AMORTISATION_SKETCH, delta.amortisationSketch());
+        return update;
+    }
+
+    // Indizes von ResultAggregate (@CompoundIndexes), für die Staging-Collection beim Neuaufbau
+    static Iterable<? extends IndexDefinition> indexes(MongoConverter converter) {
+        return IndexResolver.create(converter.getMappingContext()).resolveIndexFor(ResultAggregate.class);
+    }
+
+    // Ersetzt die Ziel-Collection in einem Schritt (renameCollection mit dropTarget)
+    static MongoNamespace target(MongoNamespace staging, String collection) {
+        return new MongoNamespace(staging.getDatabaseName(), collection);
+    }
+
+    static RenameCollectionOptions replaceTarget() {
+        return new RenameCollectionOptions().dropTarget(true);
+    }
+
+    private static void incBuckets(Update update, String sketch, Map<String, Long> buckets) {
+        buckets.forEach((bucket, count) -> {
+            if (count != 0) {
+                update.inc(sketch + "." + bucket, count);
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.AggregateScope;
+import org.example.backend.model.ResultAggregate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+// Reaktives Gegenstück zu ResultAggregateRepository (Profil "reactive"), gleiche Collection
+@Repository
+public interface ReactiveResultAggregateRepository
+        extends ReactiveMongoRepository<ResultAggregate, String>, ReactiveResultAggregateRepositoryCustom {
+
+    Flux<ResultAggregate> findByScopeAndUsersGreaterThan(AggregateScope scope, long users, Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.AggregateDelta;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+// Wie ResultAggregateRepositoryCustom
+public interface ReactiveResultAggregateRepositoryCustom {
+
+    Mono<Void> apply(Collection<AggregateDelta> deltas);
+
+    Mono<Void> replaceAll(Collection<AggregateDelta> deltas);
+}
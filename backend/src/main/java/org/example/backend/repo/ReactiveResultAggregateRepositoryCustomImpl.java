@@ -0,0 +1,59 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.AggregateDelta;
+import org.example.backend.model.ResultAggregate;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+import static org.example.backend.repo.AggregateUpdates.*;
+
+public class ReactiveResultAggregateRepositoryCustomImpl implements ReactiveResultAggregateRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveResultAggregateRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Void> apply(Collection<AggregateDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return upsert(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResultAggregate.class), deltas);
+    }
+
+    @Override
+    public Mono<Void> replaceAll(Collection<AggregateDelta> deltas) {
+        String collection = mongoTemplate.getCollectionName(ResultAggregate.class);
+        String staging = collection + STAGING_SUFFIX;
+        ReactiveIndexOperations indexOps = mongoTemplate.indexOps(staging);
+        Mono<Void> fill = deltas.isEmpty()
+                ? Mono.empty()
+                : Mono.defer(() -> upsert(
+                        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResultAggregate.class, staging), deltas));
+
+        return mongoTemplate.dropCollection(staging)
+                .then(mongoTemplate.createCollection(staging))
+                .flatMap(created -> Flux.fromIterable(indexes(mongoTemplate.getConverter()))
+                        .concatMap(indexOps::createIndex)
+                        .then(fill)
+                        .then(Mono.from(created.renameCollection(target(created.getNamespace(), collection), replaceTarget()))));
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static Mono<Void> upsert(ReactiveBulkOperations bulk, Collection<AggregateDelta> deltas) {
+        for (AggregateDelta delta : deltas) {
+            bulk.upsert(byId(delta.id()), inc(delta));
+        }
+        return bulk.execute().then();
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.User;
+import org.example.backend.model.UserPvConfig;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Reaktives Gegenstück zu UserRepository (Profil "reactive"), gleiche Collection
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+
+    Flux<User> findByCreatedAtBetween(Instant from, Instant to, Pageable pageable);
+
+    Mono<Long> countByUserConditionsUserPvConfig(UserPvConfig userPvConfig);
+}
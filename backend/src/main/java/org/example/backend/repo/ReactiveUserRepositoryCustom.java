@@ -0,0 +1,28 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.ResultContribution;
+import org.example.backend.model.User;
+import org.example.backend.model.UserExportFilter;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserInfo;
+import org.example.backend.model.UserResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Wie UserRepositoryCustom; ein leeres Mono bedeutet: User fehlt oder Version passt nicht
+public interface ReactiveUserRepositoryCustom {
+
+    Mono<User> updateUserInfo(String userId, UserInfo userInfo, Long expectedVersion);
+
+    Mono<User> updateUserConditions(String userId, UserConditions userConditions, Long expectedVersion);
+
+    // Ergebnis samt Aggregat-Anteil (ResultContribution), immer gegen die Version, aus der es berechnet wurde
+    Mono<User> updateUserResult(String userId, UserResult userResult, ResultContribution contribution, Long expectedVersion);
+
+    Mono<Integer> updateUserResults(List<User> users);
+
+    // Cursor mit Backpressure: weitere Batches erst auf Nachfrage des Subscribers
+    Flux<User> streamUsers(UserExportFilter filter, int batchSize);
+}
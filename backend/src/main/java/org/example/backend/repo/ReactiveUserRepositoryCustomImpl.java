@@ -0,0 +1,73 @@
+package org.example.backend.repo;
+
+import com.mongodb.bulk.BulkWriteResult;
+import org.example.backend.model.ResultContribution;
+import org.example.backend.model.User;
+import org.example.backend.model.UserExportFilter;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserInfo;
+import org.example.backend.model.UserResult;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.example.backend.repo.UserUpdates.*;
+
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveUserRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<User> updateUserInfo(String userId, UserInfo userInfo, Long expectedVersion) {
+        return modify(byId(userId, expectedVersion), setField(USER_INFO, userInfo));
+    }
+
+    @Override
+    public Mono<User> updateUserConditions(String userId, UserConditions userConditions, Long expectedVersion) {
+        return modify(byId(userId, expectedVersion), setField(USER_CONDITIONS, userConditions));
+    }
+
+    @Override
+    public Mono<User> updateUserResult(String userId, UserResult userResult, ResultContribution contribution,
+                                       Long expectedVersion) {
+        return modify(byVersion(userId, expectedVersion), setResult(userResult, contribution));
+    }
+
+    @Override
+    public Mono<Integer> updateUserResults(List<User> users) {
+        if (users.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        for (User user : users) {
+            bulk.updateOne(byVersion(user.userId(), user.version()), setResult(user));
+        }
+        return bulk.execute().map(BulkWriteResult::getMatchedCount);
+    }
+
+    @Override
+    public Flux<User> streamUsers(UserExportFilter filter, int batchSize) {
+        return mongoTemplate.find(byFilter(filter, batchSize), User.class);
+    }
+
+    private Mono<User> modify(Query query, Update update) {
+        return mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                User.class
+        );
+    }
+}
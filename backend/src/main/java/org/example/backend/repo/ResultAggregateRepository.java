@@ -0,0 +1,16 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.AggregateScope;
+import org.example.backend.model.ResultAggregate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ResultAggregateRepository extends MongoRepository<ResultAggregate, String>, ResultAggregateRepositoryCustom {
+
+    // Rangliste: Index scope_<Metrik>, Sortierung und Limit aus dem Pageable; users > 0 blendet geleerte Aggregate aus
+    List<ResultAggregate> findByScopeAndUsersGreaterThan(AggregateScope scope, long users, Pageable pageable);
+}
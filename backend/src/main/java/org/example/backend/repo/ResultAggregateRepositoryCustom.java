@@ -0,0 +1,15 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.AggregateDelta;
+
+import java.util.Collection;
+
+// Inkrementelle Pflege der PLZ-/Regionsaggregate: je Delta ein $inc-Upsert, alle in einem Bulk-Write
+public interface ResultAggregateRepositoryCustom {
+
+    void apply(Collection<AggregateDelta> deltas);
+
+    // Ersetzt alle Aggregate durch deltas: Aufbau in einer Staging-Collection (mit denselben Indizes), danach
+    // Tausch per renameCollection – Leser sehen bis dahin den alten Stand, nie eine leere Collection
+    void replaceAll(Collection<AggregateDelta> deltas);
+}
@@ -0,0 +1,55 @@
+package org.example.backend.repo;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.example.backend.model.AggregateDelta;
+import org.example.backend.model.ResultAggregate;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.Collection;
+
+import static org.example.backend.repo.AggregateUpdates.*;
+
+public class ResultAggregateRepositoryCustomImpl implements ResultAggregateRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ResultAggregateRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void apply(Collection<AggregateDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        upsert(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResultAggregate.class), deltas);
+    }
+
+    @Override
+    public void replaceAll(Collection<AggregateDelta> deltas) {
+        String collection = mongoTemplate.getCollectionName(ResultAggregate.class);
+        String staging = collection + STAGING_SUFFIX;
+
+        mongoTemplate.dropCollection(staging);
+        MongoCollection<Document> created = mongoTemplate.createCollection(staging);
+        IndexOperations indexOps = mongoTemplate.indexOps(staging);
+        indexes(mongoTemplate.getConverter()).forEach(indexOps::createIndex);
+        if (!deltas.isEmpty()) {
+            upsert(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResultAggregate.class, staging), deltas);
+        }
+        created.renameCollection(target(created.getNamespace(), collection), replaceTarget());
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static void upsert(BulkOperations bulk, Collection<AggregateDelta> deltas) {
+        for (AggregateDelta delta : deltas) {
+            bulk.upsert(byId(delta.id()), inc(delta));
+        }
+        bulk.execute();
+    }
+}
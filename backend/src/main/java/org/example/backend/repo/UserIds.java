@@ -0,0 +1,48 @@
+package org.example.backend.repo;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// UUIDv7 (RFC 9562) als userId: 48 Bit Unix-Millisekunden, 12 Bit Zähler, 62 Bit Zufall.
+// Als String lexikographisch nach Erzeugungszeit sortiert → Inserts hängen an den _id-Index an,
+// statt zufällige B-Baum-Seiten zu treffen. Innerhalb eines Prozesses streng monoton
+// (gleiche Millisekunde → Zähler; Überlauf → nächste Millisekunde), ohne Lock.
+public final class UserIds {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST = new AtomicLong();      // (Millisekunden << 12) | Zähler
+
+    private UserIds() {
+    }
+
+    public static String next() {
+        return next(System.currentTimeMillis()).toString();
+    }
+
+    // Erzeugungszeit einer UUIDv7; andere Versionen (z.B. ältere zufällige UUIDs) → IllegalArgumentException
+    public static Instant timestamp(String userId) {
+        UUID uuid = UUID.fromString(userId);
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Keine zeitbasierte userId: " + userId);
+        }
+        return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+    }
+
+    // ---- Hilfsmethoden ----
+
+    static UUID next(long nowMillis) {
+        long stamp;
+        while (true) {
+            long last = LAST.get();
+            stamp = Math.max(nowMillis << 12, last + 1);
+            if (LAST.compareAndSet(last, stamp)) {
+                break;
+            }
+        }
+        long msb = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long lsb = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -1,9 +1,20 @@
 package org.example.backend.repo;
 
 import org.example.backend.model.User;
+import org.example.backend.model.UserPvConfig;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
+
+    // Index createdAt; Slice statt Page → keine zusätzliche count-Abfrage
+    Slice<User> findByCreatedAtBetween(Instant from, Instant to, Pageable pageable);
+
+    // Index pvConfig_createdAt (Präfix)
+    long countByUserConditionsUserPvConfig(UserPvConfig userPvConfig);
 }
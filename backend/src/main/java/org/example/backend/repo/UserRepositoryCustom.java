@@ -0,0 +1,30 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.ResultContribution;
+import org.example.backend.model.User;
+import org.example.backend.model.UserExportFilter;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserInfo;
+import org.example.backend.model.UserResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Teil-Updates per $set, ohne das restliche Dokument neu zu schreiben.
+// Jede Änderung erhöht die Version; ist expectedVersion gesetzt, greift das Update nur bei gleicher Version.
+public interface UserRepositoryCustom {
+
+    Optional<User> updateUserInfo(String userId, UserInfo userInfo, Long expectedVersion);
+
+    Optional<User> updateUserConditions(String userId, UserConditions userConditions, Long expectedVersion);
+
+    // Ergebnis samt Aggregat-Anteil (ResultContribution), immer gegen die Version, aus der es berechnet wurde
+    Optional<User> updateUserResult(String userId, UserResult userResult, ResultContribution contribution, Long expectedVersion);
+
+    // Bulk-Variante: jeder User wird nur geschrieben, wenn seine Version unverändert ist
+    int updateUserResults(List<User> users);
+
+    // Cursor über alle passenden User, batchSize Dokumente je Roundtrip; Stream muss geschlossen werden
+    Stream<User> streamUsers(UserExportFilter filter, int batchSize);
+}
@@ -0,0 +1,73 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.ResultContribution;
+import org.example.backend.model.User;
+import org.example.backend.model.UserExportFilter;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserInfo;
+import org.example.backend.model.UserResult;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.example.backend.repo.UserUpdates.*;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<User> updateUserInfo(String userId, UserInfo userInfo, Long expectedVersion) {
+        return modify(byId(userId, expectedVersion), setField(USER_INFO, userInfo));
+    }
+
+    @Override
+    public Optional<User> updateUserConditions(String userId, UserConditions userConditions, Long expectedVersion) {
+        return modify(byId(userId, expectedVersion), setField(USER_CONDITIONS, userConditions));
+    }
+
+    @Override
+    public Optional<User> updateUserResult(String userId, UserResult userResult, ResultContribution contribution,
+                                           Long expectedVersion) {
+        // Ergebnis immer gegen die Version prüfen, aus der es berechnet wurde
+        return modify(byVersion(userId, expectedVersion), setResult(userResult, contribution));
+    }
+
+    @Override
+    public int updateUserResults(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        for (User user : users) {
+            bulk.updateOne(byVersion(user.userId(), user.version()), setResult(user));
+        }
+        return bulk.execute().getMatchedCount();
+    }
+
+    @Override
+    public Stream<User> streamUsers(UserExportFilter filter, int batchSize) {
+        return mongoTemplate.stream(byFilter(filter, batchSize), User.class);
+    }
+
+    // Ein Roundtrip: $set auf die Unterdokumente, Rückgabe des aktualisierten Users
+    private Optional<User> modify(Query query, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                User.class
+        ));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.ResultContribution;
+import org.example.backend.model.User;
+import org.example.backend.model.UserExportFilter;
+import org.example.backend.model.UserResult;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+// Gemeinsame Queries/Updates für das blockierende und das reaktive Repository
+final class UserUpdates {
+
+    static final String USER_INFO = "userInfo";
+    static final String USER_CONDITIONS = "userConditions";
+    static final String USER_RESULT = "userResult";
+    static final String RESULT_CONTRIBUTION = "resultContribution";
+    static final String VERSION = "version";
+    static final String CREATED_AT = "createdAt";
+    static final String USER_PV_CONFIG = USER_CONDITIONS + ".userPvConfig";
+
+    private UserUpdates() {
+    }
+
+    // $set auf das Unterdokument, jede Änderung erhöht die Version
+    static Update setField(String field, Object value) {
+        return new Update().set(field, value).inc(VERSION, 1);
+    }
+
+    // Ergebnis und Aggregat-Anteil immer gemeinsam, damit der gespeicherte Anteil zum gespeicherten Ergebnis passt
+    static Update setResult(UserResult userResult, ResultContribution contribution) {
+        return setField(USER_RESULT, userResult).set(RESULT_CONTRIBUTION, contribution);
+    }
+
+    static Update setResult(User user) {
+        return setResult(user.userResult(), user.resultContribution());
+    }
+
+    // Versionsprüfung nur, wenn der Client eine Version vorgibt
+    static Query byId(String userId, Long expectedVersion) {
+        return expectedVersion == null
+                ? Query.query(Criteria.where("_id").is(userId))
+                : byVersion(userId, expectedVersion);
+    }
+
+    // Export: Kriterien passen zu den Indizes createdAt bzw. pvConfig_createdAt, ohne Sortierung
+    // (Reihenfolge wie vom Index/Collection-Scan geliefert); batchSize = Dokumente je getMore
+    static Query byFilter(UserExportFilter filter, int batchSize) {
+        Query query = new Query().cursorBatchSize(batchSize);
+        if (filter.userPvConfig() != null) {
+            query.addCriteria(Criteria.where(USER_PV_CONFIG).is(filter.userPvConfig()));
+        }
+        if (filter.createdFrom() != null || filter.createdTo() != null) {
+            Criteria created = Criteria.where(CREATED_AT);
+            if (filter.createdFrom() != null) {
+                created.gte(filter.createdFrom());
+            }
+            if (filter.createdTo() != null) {
+                created.lt(filter.createdTo());
+            }
+            query.addCriteria(created);
+        }
+        if (filter.onlyWithResult()) {
+            query.addCriteria(Criteria.where(USER_RESULT).ne(null));
+        }
+        return query;
+    }
+
+    // version == null trifft auch Altdokumente ohne Versionsfeld
+    static Query byVersion(String userId, Long version) {
+        return Query.query(Criteria.where("_id").is(userId).and(VERSION).is(version));
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.backend.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+// Vom Client per If-Match vorgegebene Version passt nicht mehr (→ 412). Ein Konflikt nach allen
+// Schreibversuchen ohne Vorgabe bleibt eine OptimisticLockingFailureException (→ 409)
+public class PreconditionFailedException extends OptimisticLockingFailureException {
+
+    public PreconditionFailedException(String msg) {
+        super(msg);
+    }
+}
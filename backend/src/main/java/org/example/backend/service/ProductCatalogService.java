@@ -0,0 +1,127 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.example.backend.model.ProductCatalog;
+import org.example.backend.model.PvProduct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Lädt den Produktkatalog (Grundbestand, JSON-Datei oder Collection "pvProducts") und installiert ihn als neuen
+// ProductCatalog-Stand. Beim Start einmal (Fehler → Start bricht ab), danach per reload() oder optional periodisch;
+// schlägt ein späteres Nachladen fehl, bleibt der bisherige Stand aktiv. Die Berechnung liest nur den Stand.
+@Service
+public class ProductCatalogService {
+
+    public enum Source {
+        BUILTIN,
+        FILE,
+        MONGO
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalogService.class);
+    private static final Duration MONGO_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Source source;
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final ObjectProvider<ReactiveMongoTemplate> reactiveMongoTemplate;
+    private final ScheduledExecutorService refresher;
+
+    public ProductCatalogService(
+            @Value("${solarcheck.catalog.source:BUILTIN}") Source source,
+            @Value("${solarcheck.catalog.file:}") String file,
+            @Value("${solarcheck.catalog.refresh-interval:0s}") Duration refreshInterval,
+            ObjectMapper objectMapper,
+            ObjectProvider<MongoTemplate> mongoTemplate,
+            ObjectProvider<ReactiveMongoTemplate> reactiveMongoTemplate) {
+        if (source == Source.FILE && file.isBlank()) {
+            throw new IllegalArgumentException("solarcheck.catalog.file fehlt für Katalogquelle FILE");
+        }
+        this.source = source;
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.objectMapper = objectMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+
+        reload();
+
+        if (source != Source.BUILTIN && refreshInterval.isPositive()) {
+            refresher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("catalog-refresh").daemon().factory());
+            refresher.scheduleWithFixedDelay(this::refreshQuietly,
+                    refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            refresher = null;
+        }
+    }
+
+    public ProductCatalog current() {
+        return ProductCatalog.current();
+    }
+
+    // Liest die Quelle neu und tauscht den Katalog atomar aus
+    public synchronized ProductCatalog reload() {
+        List<PvProduct> products = switch (source) {
+            case BUILTIN -> List.of();
+            case FILE -> readFile();
+            case MONGO -> readMongo();
+        };
+        ProductCatalog catalog = ProductCatalog.install(products);
+        logger.info("Produktkatalog geladen: {} Produkte aus {} (Stand {})", catalog.size(), source, catalog.version());
+        return catalog;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private void refreshQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            logger.warn("Produktkatalog konnte nicht nachgeladen werden, bisheriger Stand bleibt aktiv", ex);
+        }
+    }
+
+    private List<PvProduct> readFile() {
+        try {
+            return objectMapper.readValue(file.toFile(), new TypeReference<List<PvProduct>>() {
+            });
+        } catch (IOException ex) {
+            throw new IllegalStateException("Produktkatalog nicht lesbar: " + file, ex);
+        }
+    }
+
+    private List<PvProduct> readMongo() {
+        MongoTemplate template = mongoTemplate.getIfAvailable();
+        if (template != null) {
+            return template.findAll(PvProduct.class);
+        }
+        ReactiveMongoTemplate reactive = reactiveMongoTemplate.getIfAvailable();
+        if (reactive == null) {
+            throw new IllegalStateException("Katalogquelle MONGO ohne Mongo-Verbindung");
+        }
+        return reactive.findAll(PvProduct.class).collectList().block(MONGO_TIMEOUT);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.model.*;
+import org.example.backend.repo.ReactiveResultAggregateRepository;
+import org.example.backend.repo.ReactiveUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+import static org.example.backend.service.UserServiceSupport.*;
+
+// Nicht-blockierende Variante von ResultAggregateService (Profil "reactive"), gleiche Semantik
+@Service
+@Profile("reactive")
+public class ReactiveResultAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveResultAggregateService.class);
+
+    private final ReactiveResultAggregateRepository aggregateRepository;
+    private final ReactiveUserRepository userRepository;
+    private final Counter updates;
+    private final Counter failures;
+
+    public ReactiveResultAggregateService(ReactiveResultAggregateRepository aggregateRepository,
+                                          ReactiveUserRepository userRepository, MeterRegistry meterRegistry) {
+        this.aggregateRepository = aggregateRepository;
+        this.userRepository = userRepository;
+        this.updates = aggregateUpdates(meterRegistry);
+        this.failures = aggregateFailures(meterRegistry);
+    }
+
+    // Fehler werden wie im ResultAggregateService nur gezählt und geloggt, das Mono endet immer leer
+    public Mono<Void> apply(AggregateChanges changes) {
+        Collection<AggregateDelta> deltas = changes.deltas();
+        if (deltas.isEmpty()) {
+            return Mono.empty();
+        }
+        return aggregateRepository.apply(deltas)
+                .doOnSuccess(done -> updates.increment(deltas.size()))
+                .onErrorResume(DataAccessException.class, ex -> {
+                    failures.increment();
+                    logger.warn("Aggregate nicht aktualisiert ({} Änderungen), Abgleich per rebuild", deltas.size(), ex);
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<ResultAggregate> getAggregate(AggregateScope scope, String key) {
+        return Mono.defer(() -> aggregateRepository.findById(scope.id(scope.requireKey(key)))
+                .defaultIfEmpty(ResultAggregate.empty(scope, key)));
+    }
+
+    public Flux<ResultAggregate> leaderboard(AggregateScope scope, LeaderboardMetric metric, int limit) {
+        return Flux.defer(() -> aggregateRepository.findByScopeAndUsersGreaterThan(scope, 0, leaderboardPage(metric, limit)));
+    }
+
+    // Wartung, wie ResultAggregateService.rebuild()
+    public Mono<Integer> rebuild() {
+        return userRepository.streamUsers(WITH_RESULT, EXPORT_BATCH_SIZE)
+                .reduceWith(AggregateChanges::new, (changes, user) -> changes.change(null, user.resultContribution()))
+                .map(AggregateChanges::deltas)
+                .flatMap(deltas -> aggregateRepository.replaceAll(deltas)
+                        .doOnSuccess(done -> logger.info("Aggregate neu aufgebaut: {} PLZ/Regionen", deltas.size()))
+                        .thenReturn(deltas.size()));
+    }
+}
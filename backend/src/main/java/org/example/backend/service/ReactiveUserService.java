@@ -0,0 +1,227 @@
+package org.example.backend.service;
+
+import org.example.backend.calculation.ConfigurationOptimizer;
+import org.example.backend.calculation.UncertaintyModel;
+import org.example.backend.calculation.YieldCalculator;
+import org.example.backend.calculation.YieldResultCache;
+import org.example.backend.model.*;
+import org.example.backend.repo.ReactiveUserRepository;
+import org.example.backend.repo.UserIds;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.example.backend.service.UserServiceSupport.*;
+
+// Nicht-blockierende Variante von UserService (Profil "reactive"), gleiche Semantik und Fehlermeldungen
+@Service
+@Profile("reactive")
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+    private final YieldResultCache yieldResultCache;
+    private final YieldCalculator yieldCalculator;
+    private final ConfigurationOptimizer configurationOptimizer;
+    private final UncertaintyModel uncertaintyModel;
+    private final RecalculationQueue recalculationQueue;
+    private final UserResultEvents userResultEvents;
+    private final ReactiveResultAggregateService resultAggregates;
+
+    public ReactiveUserService(ReactiveUserRepository userRepository, YieldResultCache yieldResultCache,
+                 YieldCalculator yieldCalculator, ConfigurationOptimizer configurationOptimizer,
+                 UncertaintyModel uncertaintyModel, RecalculationQueue recalculationQueue, UserResultEvents userResultEvents,
+                 ReactiveResultAggregateService resultAggregates) {
+        this.userRepository = userRepository;
+        this.yieldResultCache = yieldResultCache;
+        this.yieldCalculator = yieldCalculator;
+        this.configurationOptimizer = configurationOptimizer;
+        this.uncertaintyModel = uncertaintyModel;
+        this.recalculationQueue = recalculationQueue;
+        this.userResultEvents = userResultEvents;
+        this.resultAggregates = resultAggregates;
+    }
+
+    public Mono<User> generateUser() {
+        return Mono.defer(() -> {
+            String id = UserIds.next();
+            return userRepository.save(new User(id, null, null, null, null, UserIds.timestamp(id)));
+        });
+    }
+
+    public Mono<User> getUser(String userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> notFound(userId)));
+    }
+
+    // Export über einen Cursor; der Subscriber bestimmt per Backpressure, wann der nächste Batch kommt
+    public Flux<User> exportUsers(UserExportFilter filter) {
+        return userRepository.streamUsers(filter, EXPORT_BATCH_SIZE);
+    }
+
+    public Mono<User> updateUserinfo(String userId, UserInfo userInfo, Long expectedVersion) {
+        return userRepository.updateUserInfo(userId, userInfo, expectedVersion)
+                .switchIfEmpty(notFoundOrPreconditionFailed(userId, expectedVersion))
+                .doOnNext(recalculationQueue::enqueue);
+    }
+
+    public Mono<User> updateUserConditions(String userId, UserConditions userConditions, Long expectedVersion) {
+        return userRepository.updateUserConditions(userId, userConditions, expectedVersion)
+                .switchIfEmpty(notFoundOrPreconditionFailed(userId, expectedVersion))
+                .doOnNext(recalculationQueue::enqueue);
+    }
+
+    // ERTRAGSRECHNER
+    public Mono<User> calculateUserResult(String userId, Long expectedVersion) {
+        return calculateUserResult(userId, expectedVersion, 1)
+                .doOnNext(userResultEvents::publish);
+    }
+
+    // Wie UserService: bei parallelen Änderungen mit den neuen Daten neu rechnen (max. MAX_WRITE_ATTEMPTS Versuche)
+    private Mono<User> calculateUserResult(String userId, Long expectedVersion, int attempt) {
+        return getUser(userId).flatMap(user -> {
+            if (expectedVersion != null && !expectedVersion.equals(user.version())) {
+                return Mono.error(preconditionFailed(userId, expectedVersion));
+            }
+            UserResult result = computeUserResult(user);
+            ResultContribution contribution = ResultContribution.of(user.userInfo(), user.userConditions(), result);
+            return userRepository.updateUserResult(userId, result, contribution, user.version())
+                    .flatMap(saved -> resultAggregates
+                            .apply(new AggregateChanges().change(user.resultContribution(), contribution))
+                            .thenReturn(saved))
+                    .switchIfEmpty(Mono.defer(() -> attempt < MAX_WRITE_ATTEMPTS
+                            ? calculateUserResult(userId, expectedVersion, attempt + 1)
+                            : Mono.error(conflict(userId))));
+        });
+    }
+
+    // Vorschau ohne Persistenz: reine CPU-Arbeit, kein Scheduler-Wechsel nötig
+    public UserResult previewUserResult(UserInfo userInfo, UserConditions userConditions) {
+        return yieldResultCache.calculate(userInfo, userConditions);
+    }
+
+    // Wie die Vorschau: ein SoC-Durchlauf je Kapazität, kurz genug für den Event-Loop
+    public List<BatteryOption> previewBatterySweep(UserInfo userInfo, UserConditions userConditions,
+                                                   double[] capacitiesKwh) {
+        return yieldCalculator.sweepBattery(userInfo, userConditions, capacitiesKwh);
+    }
+
+    // Konfigurationssuche ohne Persistenz; rechnet parallel im ForkJoin-Pool und blockiert dabei,
+    // daher nicht auf einem Event-Loop-Thread
+    public Mono<OptimizationResult> optimizeUserConditions(UserInfo userInfo, OptimizationConstraints constraints) {
+        return Mono.fromCallable(() -> configurationOptimizer.optimize(userInfo, constraints))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Monte-Carlo-Bänder für einen gespeicherten User (nur lesen); wie die Optimierung nicht auf dem Event-Loop
+    public Mono<UncertaintyResult> estimateUncertainty(String userId, Integer samples) {
+        return getUser(userId)
+                .flatMap(user -> previewUncertainty(user.userInfo(), user.userConditions(), samples));
+    }
+
+    public Mono<UncertaintyResult> previewUncertainty(UserInfo userInfo, UserConditions userConditions, Integer samples) {
+        return Mono.fromCallable(() -> samples == null
+                        ? uncertaintyModel.estimate(userInfo, userConditions)
+                        : uncertaintyModel.estimate(userInfo, userConditions, samples))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // BATCH-ERTRAGSRECHNER: Blöcke nacheinander, Ergebnisse in Eingabereihenfolge
+    public Flux<UserBatchOutcome> calculateUserResults(Collection<String> userIds) {
+        return Flux.defer(() -> Flux.fromIterable(distinctIds(userIds)))
+                .buffer(BATCH_SIZE)
+                .concatMap(chunk -> calculateChunk(chunk, new HashMap<>(), chunk, 1))
+                .concatMapIterable(Function.identity())
+                .doOnNext(outcome -> {
+                    if (outcome.isSuccess()) {
+                        userResultEvents.publish(outcome.user());
+                    }
+                });
+    }
+
+    // Live-Ergebnisse (SSE) wie im UserService: unbekannte userId → Fehler, sonst gespeicherter Stand und Updates
+    public Flux<User> streamUserResult(String userId) {
+        return getUser(userId).flatMapMany(user -> userResultEvents.updates(userId, getUser(userId)));
+    }
+
+    private Mono<List<UserBatchOutcome>> calculateChunk(List<String> chunkIds,
+                                                         Map<String, UserBatchOutcome> outcomes,
+                                                         List<String> pending,
+                                                         int attempt) {
+        if (pending.isEmpty() || attempt > MAX_WRITE_ATTEMPTS) {
+            // Auch nach allen Versuchen parallel geändert
+            pending.forEach(id -> outcomes.put(id, UserBatchOutcome.failure(id, conflict(id).getMessage())));
+            return Mono.just(chunkIds.stream().map(outcomes::get).toList());
+        }
+
+        return loadUsers(pending)
+                .flatMap(usersById -> {
+                    List<User> toWrite = new ArrayList<>();
+                    for (String id : pending) {
+                        UserBatchOutcome outcome = calculateOutcome(id, usersById.get(id), this::computeUserResult);
+                        if (outcome.isSuccess()) {
+                            toWrite.add(outcome.user());
+                        } else {
+                            outcomes.put(id, outcome);
+                        }
+                    }
+                    return writeResults(toWrite, outcomes)
+                            .flatMap(write -> resultAggregates
+                                    .apply(aggregateChanges(toWrite, usersById, write))
+                                    .thenReturn(write.conflicts()));
+                })
+                .flatMap(conflicts -> calculateChunk(chunkIds, outcomes, conflicts, attempt + 1));
+    }
+
+    // Schreibt per Bulk-Update; liefert die IDs, deren Version sich seit dem Laden geändert hat,
+    // und die, deren Ergebnis ein paralleler Schreiber schon gespeichert hat
+    private Mono<BulkWrite> writeResults(List<User> calculated, Map<String, UserBatchOutcome> outcomes) {
+        return userRepository.updateUserResults(calculated).flatMap(matched -> {
+            if (matched == calculated.size()) {
+                calculated.forEach(user -> outcomes.put(user.userId(), UserBatchOutcome.success(withNextVersion(user))));
+                return Mono.just(BulkWrite.COMPLETE);
+            }
+
+            return loadUsers(calculated.stream().map(User::userId).toList()).map(stored -> {
+                List<String> conflicts = new ArrayList<>();
+                Set<String> alreadyStored = new HashSet<>();
+                for (User user : calculated) {
+                    User current = stored.get(user.userId());
+                    if (alreadyStored(current, user)) {
+                        outcomes.put(user.userId(), UserBatchOutcome.success(current));
+                        alreadyStored.add(user.userId());
+                    } else {
+                        conflicts.add(user.userId());
+                    }
+                }
+                return new BulkWrite(conflicts, alreadyStored);
+            });
+        });
+    }
+
+    private Mono<Map<String, User>> loadUsers(List<String> userIds) {
+        return userRepository.findAllById(userIds).collectMap(User::userId);
+    }
+
+    private Mono<User> notFoundOrPreconditionFailed(String userId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(() -> updateTargetNotFound(userId));
+        }
+        return userRepository.existsById(userId)
+                .flatMap(exists -> Mono.error(exists ? preconditionFailed(userId, expectedVersion) : updateTargetNotFound(userId)));
+    }
+
+    private UserResult computeUserResult(User user) {
+        return yieldResultCache.calculate(user.userInfo(), user.userConditions());
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Offene Nachberechnungen nach Änderungen an UserInfo/UserConditions, abgearbeitet vom RecalculationWorker.
+// Je User höchstens ein Eintrag: mehrere Änderungen bis zur nächsten Runde ergeben eine Berechnung.
+// Begrenzt auf capacity User; ist die Queue voll, wird die Änderung nicht vorgemerkt (Zähler "dropped")
+// und das Ergebnis bleibt veraltet, bis der Client /result aufruft.
+// ReentrantLock statt synchronized, weil die Aufrufer auf virtuellen Threads laufen können.
+@Component
+public class RecalculationQueue {
+
+    private final boolean enabled;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashSet<String> pending = new LinkedHashSet<>();
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    public RecalculationQueue(
+            @Value("${solarcheck.recalculation.enabled:true}") boolean enabled,
+            @Value("${solarcheck.recalculation.capacity:100000}") int capacity,
+            MeterRegistry meterRegistry) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("solarcheck.recalculation.capacity muss positiv sein: " + capacity);
+        }
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.queued = requests(meterRegistry, "queued");
+        this.coalesced = requests(meterRegistry, "coalesced");
+        this.dropped = requests(meterRegistry, "dropped");
+        Gauge.builder("solarcheck.recalculation.pending", this, RecalculationQueue::size)
+                .description("Offene Nachberechnungen")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Nur User mit vollständigen Eingaben; false → nicht (neu) vorgemerkt
+    public boolean enqueue(User user) {
+        if (!enabled || user.userInfo() == null || user.userConditions() == null) {
+            return false;
+        }
+        return enqueue(user.userId());
+    }
+
+    boolean enqueue(String userId) {
+        lock.lock();
+        try {
+            if (pending.contains(userId)) {
+                coalesced.increment();
+                return false;
+            }
+            if (pending.size() >= capacity) {
+                dropped.increment();
+                return false;
+            }
+            pending.add(userId);
+            queued.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Entnimmt bis zu max userIds in Eingangsreihenfolge
+    List<String> drain(int max) {
+        lock.lock();
+        try {
+            List<String> batch = new ArrayList<>(Math.min(max, pending.size()));
+            Iterator<String> it = pending.iterator();
+            while (it.hasNext() && batch.size() < max) {
+                batch.add(it.next());
+                it.remove();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("solarcheck.recalculation.requests")
+                .description("Vormerkungen für die Nachberechnung")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
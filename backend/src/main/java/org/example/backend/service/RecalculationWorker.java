@@ -0,0 +1,171 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.backend.model.UserBatchOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Arbeitet die RecalculationQueue ab: workers Threads holen alle interval bis zu batchSize userIds und rechnen sie
+// über den Batch-Pfad des aktiven Services (ein findAllById, parallele Berechnung, ein Bulk-Update).
+// Das Bulk-Update prüft die Version: wurde ein User zwischendurch erneut geändert, wird mit den neuen Daten
+// gerechnet. interval ist zugleich das Fenster, in dem Änderungen desselben Users zusammengefasst werden.
+// Fehler einzelner User (z.B. Standort außerhalb des TMY-Rasters) sind Teil der Ergebnisse und blockieren die Runde nicht.
+// Schlägt eine ganze Runde am Datenzugriff fehl (z.B. Mongo nicht erreichbar), kommen ihre userIds zurück in die
+// Queue, je User höchstens maxAttempts Runden; andere Fehler einer Runde werden gezählt und nicht wiederholt.
+@Component
+public class RecalculationWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecalculationWorker.class);
+
+    private final RecalculationQueue queue;
+    private final Function<List<String>, List<UserBatchOutcome>> recalculation;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private final Timer batchTimer;
+    private final Counter succeeded;
+    private final Counter failed;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public RecalculationWorker(
+            RecalculationQueue queue,
+            ObjectProvider<UserService> userService,
+            ObjectProvider<ReactiveUserService> reactiveUserService,
+            @Value("${solarcheck.recalculation.batch-size:500}") int batchSize,
+            @Value("${solarcheck.recalculation.workers:2}") int workers,
+            @Value("${solarcheck.recalculation.interval:200ms}") Duration interval,
+            @Value("${solarcheck.recalculation.max-attempts:5}") int maxAttempts,
+            MeterRegistry meterRegistry) {
+        this(queue, recalculation(userService, reactiveUserService), batchSize, maxAttempts, meterRegistry);
+        if (workers < 1 || !interval.isPositive()) {
+            throw new IllegalArgumentException("solarcheck.recalculation.workers und interval müssen positiv sein");
+        }
+
+        if (queue.isEnabled()) {
+            executor = Executors.newScheduledThreadPool(workers, Thread.ofPlatform()
+                    .name("recalculation-", 0).daemon().factory());
+            for (int i = 0; i < workers; i++) {
+                executor.scheduleWithFixedDelay(this::drainQuietly,
+                        interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // Ohne eigene Threads (Tests): drain() direkt aufrufen
+    RecalculationWorker(RecalculationQueue queue, Function<List<String>, List<UserBatchOutcome>> recalculation,
+                        int batchSize, int maxAttempts, MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("solarcheck.recalculation.batch-size muss positiv sein: " + batchSize);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("solarcheck.recalculation.max-attempts muss positiv sein: " + maxAttempts);
+        }
+        this.queue = queue;
+        this.recalculation = recalculation;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.batchTimer = Timer.builder("solarcheck.recalculation.batch")
+                .description("Dauer einer Nachberechnungsrunde")
+                .register(meterRegistry);
+        this.succeeded = users(meterRegistry, "success");
+        this.failed = users(meterRegistry, "failure");
+    }
+
+    // Rechnet, bis die Queue leer ist; liefert die Anzahl bearbeiteter User
+    int drain() {
+        int processed = 0;
+        List<String> batch;
+        while (!(batch = queue.drain(batchSize)).isEmpty()) {
+            List<String> ids = batch;
+            try {
+                List<UserBatchOutcome> outcomes = batchTimer.record(() -> recalculation.apply(ids));
+                for (UserBatchOutcome outcome : outcomes) {
+                    (outcome.isSuccess() ? succeeded : failed).increment();
+                }
+                ids.forEach(attempts::remove);
+            } catch (DataAccessException ex) {
+                requeue(ids);
+                throw ex;
+            } catch (RuntimeException ex) {
+                ids.forEach(attempts::remove);
+                failed.increment(ids.size());
+                logger.error("Nachberechnung von {} Usern fehlgeschlagen, wird nicht wiederholt", ids.size(), ex);
+            }
+            processed += ids.size();
+        }
+        return processed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // ---- Hilfsmethoden ----
+
+    // Zurück in die Queue, bis ein User maxAttempts Runden erfolglos war
+    private void requeue(List<String> ids) {
+        for (String id : ids) {
+            if (attempts.merge(id, 1, Integer::sum) < maxAttempts) {
+                queue.enqueue(id);
+            } else {
+                attempts.remove(id);
+                failed.increment();
+            }
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            logger.warn("Nachberechnung fehlgeschlagen, offene User bleiben vorgemerkt", ex);
+        }
+    }
+
+    // Servlet-Stack: UserService; Profil "reactive": ReactiveUserService (blockiert hier auf dem Worker-Thread)
+    private static Function<List<String>, List<UserBatchOutcome>> recalculation(
+            ObjectProvider<UserService> userService, ObjectProvider<ReactiveUserService> reactiveUserService) {
+        return ids -> {
+            UserService blocking = userService.getIfAvailable();
+            if (blocking != null) {
+                List<UserBatchOutcome> outcomes = new ArrayList<>(ids.size());
+                blocking.calculateUserResults(ids, outcomes::addAll);
+                return outcomes;
+            }
+            ReactiveUserService reactive = reactiveUserService.getIfAvailable();
+            if (reactive == null) {
+                throw new IllegalStateException("Kein UserService für die Nachberechnung verfügbar");
+            }
+            return reactive.calculateUserResults(ids).collectList().block();
+        };
+    }
+
+    private static Counter users(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("solarcheck.recalculation.users")
+                .description("Nachberechnete User")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
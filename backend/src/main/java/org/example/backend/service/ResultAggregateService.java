@@ -0,0 +1,82 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.model.*;
+import org.example.backend.repo.ResultAggregateRepository;
+import org.example.backend.repo.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.example.backend.service.UserServiceSupport.*;
+
+// PLZ-/Regionsstatistik über alle gespeicherten Ergebnisse (blockierender Stack). Jedes gespeicherte Ergebnis
+// ändert die Aggregate per $inc um (alter Anteil → neuer Anteil); Abfragen lesen ein Dokument bzw. die ersten
+// Einträge eines Index, unabhängig von der Anzahl der User.
+@Service
+@Profile("!reactive")
+public class ResultAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultAggregateService.class);
+
+    private final ResultAggregateRepository aggregateRepository;
+    private final UserRepository userRepository;
+    private final Counter updates;
+    private final Counter failures;
+
+    public ResultAggregateService(ResultAggregateRepository aggregateRepository, UserRepository userRepository,
+                                  MeterRegistry meterRegistry) {
+        this.aggregateRepository = aggregateRepository;
+        this.userRepository = userRepository;
+        this.updates = aggregateUpdates(meterRegistry);
+        this.failures = aggregateFailures(meterRegistry);
+    }
+
+    // Nach dem Speichern von Ergebnissen. Das Ergebnis ist dann schon gespeichert, ein Fehler hier wird daher nur
+    // gezählt und geloggt; rebuild() stellt die Aggregate wieder her
+    public void apply(AggregateChanges changes) {
+        Collection<AggregateDelta> deltas = changes.deltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            aggregateRepository.apply(deltas);
+            updates.increment(deltas.size());
+        } catch (DataAccessException ex) {
+            failures.increment();
+            logger.warn("Aggregate nicht aktualisiert ({} Änderungen), Abgleich per rebuild", deltas.size(), ex);
+        }
+    }
+
+    // Unbekannte PLZ/Region → leeres Aggregat
+    public ResultAggregate getAggregate(AggregateScope scope, String key) {
+        scope.requireKey(key);
+        return aggregateRepository.findById(scope.id(key))
+                .orElseGet(() -> ResultAggregate.empty(scope, key));
+    }
+
+    public List<ResultAggregate> leaderboard(AggregateScope scope, LeaderboardMetric metric, int limit) {
+        return aggregateRepository.findByScopeAndUsersGreaterThan(scope, 0, leaderboardPage(metric, limit));
+    }
+
+    // Wartung: vollständiger Neuaufbau aus den gespeicherten Anteilen der User (ein Cursor über alle User mit Ergebnis),
+    // z.B. nach fehlgeschlagenen Updates. Der neue Stand ersetzt den alten in einem Schritt (replaceAll); Ergebnisse,
+    // die während des Laufs gespeichert werden, können fehlen → nur in ruhigen Phasen, nicht über die öffentliche API
+    public int rebuild() {
+        AggregateChanges changes = new AggregateChanges();
+        try (Stream<User> users = userRepository.streamUsers(WITH_RESULT, EXPORT_BATCH_SIZE)) {
+            users.forEach(user -> changes.change(null, user.resultContribution()));
+        }
+        Collection<AggregateDelta> deltas = changes.deltas();
+        aggregateRepository.replaceAll(deltas);
+        logger.info("Aggregate neu aufgebaut: {} PLZ/Regionen", deltas.size());
+        return deltas.size();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pub/Sub im Prozess für neue Ergebnisse je userId (Grundlage von GET /api/home/{userId}/events).
+// Veröffentlicht wird jeder gespeicherte User mit Ergebnis – aus /result, /results und der Nachberechnung.
+// Jeder Abonnent hat einen eigenen Puffer von bufferSize Einträgen; ist er voll, fällt der älteste weg
+// (jedes Ereignis trägt das vollständige Ergebnis, der neueste Stand genügt). Ein wartender Abonnent
+// belegt keinen Thread, nur seinen Eintrag in der Map und den Puffer.
+@Component
+public class UserResultEvents {
+
+    private final int bufferSize;
+    private final Duration maxLifetime;
+    private final Map<String, Set<FluxSink<User>>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter published;
+    private final Counter dropped;
+
+    public UserResultEvents(
+            @Value("${solarcheck.events.buffer-size:16}") int bufferSize,
+            @Value("${solarcheck.events.max-lifetime:30m}") Duration maxLifetime,
+            MeterRegistry meterRegistry) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("solarcheck.events.buffer-size muss positiv sein: " + bufferSize);
+        }
+        if (!maxLifetime.isPositive()) {
+            throw new IllegalArgumentException("solarcheck.events.max-lifetime muss positiv sein: " + maxLifetime);
+        }
+        this.bufferSize = bufferSize;
+        this.maxLifetime = maxLifetime;
+        this.published = Counter.builder("solarcheck.events.published")
+                .description("Zugestellte Ergebnis-Ereignisse (je Abonnent)")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("solarcheck.events.dropped")
+                .description("Wegen vollem Puffer verworfene Ergebnis-Ereignisse")
+                .register(meterRegistry);
+        Gauge.builder("solarcheck.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Offene Ergebnis-Streams")
+                .register(meterRegistry);
+    }
+
+    public void publish(User user) {
+        if (user.userResult() == null) {
+            return;
+        }
+        Set<FluxSink<User>> sinks = subscribers.get(user.userId());
+        if (sinks == null) {
+            return;
+        }
+        for (FluxSink<User> sink : sinks) {
+            sink.next(user);
+            published.increment();
+        }
+    }
+
+    // current (falls schon berechnet) und danach jede neuere Version; endet nach maxLifetime
+    // (EventSource verbindet sich dann neu). Erst abonnieren, dann current lesen, damit kein Ereignis
+    // dazwischen verloren geht – Duplikate und ältere Stände filtert die Version heraus.
+    public Flux<User> updates(String userId, Mono<User> current) {
+        return Flux.defer(() -> {
+            AtomicLong lastVersion = new AtomicLong(Long.MIN_VALUE);
+            return Flux.merge(subscribe(userId), current.filter(user -> user.userResult() != null))
+                    .filter(user -> newer(lastVersion, user));
+        }).take(maxLifetime);
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // ---- Hilfsmethoden ----
+
+    Flux<User> subscribe(String userId) {
+        return Flux.<User>create(sink -> {
+                    subscribers.compute(userId, (id, sinks) -> {
+                        Set<FluxSink<User>> set = sinks != null ? sinks : ConcurrentHashMap.newKeySet();
+                        set.add(sink);
+                        return set;
+                    });
+                    subscriberCount.incrementAndGet();
+                    sink.onDispose(() -> unsubscribe(userId, sink));
+                })
+                .onBackpressureBuffer(bufferSize, user -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    private void unsubscribe(String userId, FluxSink<User> sink) {
+        subscribers.computeIfPresent(userId, (id, sinks) -> {
+            sinks.remove(sink);
+            return sinks.isEmpty() ? null : sinks;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    // Ohne Version (Altbestand) wird jedes Ereignis durchgereicht
+    private static boolean newer(AtomicLong lastVersion, User user) {
+        if (user.version() == null) {
+            return true;
+        }
+        long previous = lastVersion.get();
+        if (user.version() <= previous) {
+            return false;
+        }
+        lastVersion.set(user.version());
+        return true;
+    }
+}
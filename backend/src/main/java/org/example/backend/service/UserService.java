@@ -1,215 +1,254 @@
 package org.example.backend.service;
 
+import org.example.backend.calculation.ConfigurationOptimizer;
+import org.example.backend.calculation.UncertaintyModel;
+import org.example.backend.calculation.YieldCalculator;
+import org.example.backend.calculation.YieldResultCache;
 import org.example.backend.model.*;
+import org.example.backend.repo.UserIds;
 import org.example.backend.repo.UserRepository;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.example.backend.service.UserServiceSupport.*;
 
+// Blockierender Stack (Standard); im Profil "reactive" übernimmt ReactiveUserService
 @Service
+@Profile("!reactive")
 public class UserService {
 
     private final UserRepository userRepository;
-
-    // Constants
-    private static final int SOLAR_IRRADIANCE = 1000; //Sonnenstrahlung Konstante
-    private static final int LIFETIME_YEARS = 25;
-    private static final double DEGRADATION_RATE = 0.005; // 0.5%/Jahr
-    private static final double CO2_PER_KWH = 0.4; // kg CO₂ pro kWh
-
-    // Zusätzliche Konstanten für Tagesberechnung
-    private static final double HOME_OFFICE_DAILY_KWH = 3.0;     // angenommener Verbrauch pro Tag im Homeoffice
-    private static final double EBIKE_KWH_PER_KM = 0.015;         // Verbrauch E-Bike
-    private static final double ECAR_KWH_PER_KM = 0.17;           // Verbrauch E-Auto
-
-    public UserService(UserRepository userRepository) {
+    private final YieldResultCache yieldResultCache;
+    private final YieldCalculator yieldCalculator;
+    private final ConfigurationOptimizer configurationOptimizer;
+    private final UncertaintyModel uncertaintyModel;
+    private final RecalculationQueue recalculationQueue;
+    private final UserResultEvents userResultEvents;
+    private final ResultAggregateService resultAggregates;
+
+    public UserService(UserRepository userRepository, YieldResultCache yieldResultCache,
+                 YieldCalculator yieldCalculator, ConfigurationOptimizer configurationOptimizer,
+                 UncertaintyModel uncertaintyModel, RecalculationQueue recalculationQueue, UserResultEvents userResultEvents,
+                 ResultAggregateService resultAggregates) {
         this.userRepository = userRepository;
+        this.yieldResultCache = yieldResultCache;
+        this.yieldCalculator = yieldCalculator;
+        this.configurationOptimizer = configurationOptimizer;
+        this.uncertaintyModel = uncertaintyModel;
+        this.recalculationQueue = recalculationQueue;
+        this.userResultEvents = userResultEvents;
+        this.resultAggregates = resultAggregates;
     }
 
     public User generateUser() {
-        String id = UUID.randomUUID().toString();
-        User user = new User(id, null, null, null);
+        String id = UserIds.next();
+        User user = new User(id, null, null, null, null, UserIds.timestamp(id));
         return userRepository.save(user);
     }
 
-    public User updateUserinfo(String userId, UserInfo userInfo) {
-        Optional<User> existingUser = userRepository.findById(userId);
-        if (existingUser.isEmpty()) {
-            throw new IllegalArgumentException("User not found: " + userId);
+    public User getUser(String userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> notFound(userId));
+    }
+
+    // Export über einen Cursor: je User ein consumer-Aufruf, nie mehr als ein Batch im Speicher
+    public void exportUsers(UserExportFilter filter, Consumer<User> consumer) {
+        try (Stream<User> users = userRepository.streamUsers(filter, EXPORT_BATCH_SIZE)) {
+            users.forEach(consumer);
         }
+    }
 
-        User user = existingUser.get();
-        User updatedUser = new User(
-                user.userId(),
-                userInfo,
-                user.userConditions(),
-                user.userResult()
-        );
+    public User updateUserinfo(String userId, UserInfo userInfo) {
+        return updateUserinfo(userId, userInfo, null);
+    }
 
-        return userRepository.save(updatedUser);
+    // expectedVersion (aus If-Match) optional: null = ohne Versionsprüfung.
+    // Sind danach Info und Bedingungen gesetzt, wird das Ergebnis asynchron neu berechnet (RecalculationWorker)
+    public User updateUserinfo(String userId, UserInfo userInfo, Long expectedVersion) {
+        User user = userRepository.updateUserInfo(userId, userInfo, expectedVersion)
+                .orElseThrow(() -> notFoundOrPreconditionFailed(userId, expectedVersion));
+        recalculationQueue.enqueue(user);
+        return user;
     }
 
     public User updateUserConditions(String userId, UserConditions userConditions) {
-        Optional<User> existingUser = userRepository.findById(userId);
-        if (existingUser.isEmpty()) {
-            throw new IllegalArgumentException("User not found: " + userId);
-        }
-
-        User user = existingUser.get();
-        User updatedUser = new User(
-                user.userId(),
-                user.userInfo(),
-                userConditions,
-                user.userResult()
-        );
+        return updateUserConditions(userId, userConditions, null);
+    }
 
-        return userRepository.save(updatedUser);
+    public User updateUserConditions(String userId, UserConditions userConditions, Long expectedVersion) {
+        User user = userRepository.updateUserConditions(userId, userConditions, expectedVersion)
+                .orElseThrow(() -> notFoundOrPreconditionFailed(userId, expectedVersion));
+        recalculationQueue.enqueue(user);
+        return user;
     }
 
     // ERTRAGSRECHNER
     public User calculateUserResult(String userId) {
-        // Load user from DB
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User mit ID " + userId + " nicht gefunden"));
+        return calculateUserResult(userId, null);
+    }
+
+    // Optimistic Locking: das Ergebnis wird nur gespeichert, wenn sich der User seit dem Laden nicht geändert hat.
+    // Bei parallelen Änderungen wird mit den neuen Daten neu gerechnet (max. MAX_WRITE_ATTEMPTS Versuche).
+    // Die PLZ-/Regionsaggregate tauschen danach den geladenen Anteil gegen den neuen (gleiche Version → exakt)
+    public User calculateUserResult(String userId, Long expectedVersion) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            // Load user from DB
+            User user = getUser(userId);
+            if (expectedVersion != null && !expectedVersion.equals(user.version())) {
+                throw preconditionFailed(userId, expectedVersion);
+            }
+
+            UserResult result = computeUserResult(user);
+            ResultContribution contribution = ResultContribution.of(user.userInfo(), user.userConditions(), result);
+            Optional<User> saved = userRepository.updateUserResult(userId, result, contribution, user.version());
+            if (saved.isPresent()) {
+                resultAggregates.apply(new AggregateChanges().change(user.resultContribution(), contribution));
+                userResultEvents.publish(saved.get());
+                return saved.get();
+            }
+        }
+        throw conflict(userId);
+    }
 
-        // Validate required data exists
-        UserConditions conditions = Optional.ofNullable(user.userConditions())
-                .orElseThrow(() -> new IllegalStateException("UserConditions fehlen."));
+    // Vorschau ohne Persistenz (z.B. beim Verschieben von Winkel/Verschattung)
+    public UserResult previewUserResult(UserInfo userInfo, UserConditions userConditions) {
+        return yieldResultCache.calculate(userInfo, userConditions);
+    }
+
+    // Speichergrößen vergleichen ohne Persistenz; eine PV-Kurve für alle Kapazitäten
+    public List<BatteryOption> previewBatterySweep(UserInfo userInfo, UserConditions userConditions,
+                                                   double[] capacitiesKwh) {
+        return yieldCalculator.sweepBattery(userInfo, userConditions, capacitiesKwh);
+    }
 
-        UserInfo info = Optional.ofNullable(user.userInfo())
-                .orElseThrow(() -> new IllegalStateException("UserInfo fehlen."));
+    // Konfigurationssuche ohne Persistenz: Pareto-Front über den Suchraum
+    public OptimizationResult optimizeUserConditions(UserInfo userInfo, OptimizationConstraints constraints) {
+        return configurationOptimizer.optimize(userInfo, constraints);
+    }
+
+    // Monte-Carlo-Bänder für einen gespeicherten User (nur lesen, nichts speichern); samples null → Standardanzahl
+    public UncertaintyResult estimateUncertainty(String userId, Integer samples) {
+        User user = getUser(userId);
+        return previewUncertainty(user.userInfo(), user.userConditions(), samples);
+    }
 
-        UserPvConfig pvConfig = conditions.userPvConfig();
-        if (pvConfig == null) {
-            throw new IllegalStateException("Kein PV-Modul gewählt.");
+    public UncertaintyResult previewUncertainty(UserInfo userInfo, UserConditions userConditions, Integer samples) {
+        return samples == null
+                ? uncertaintyModel.estimate(userInfo, userConditions)
+                : uncertaintyModel.estimate(userInfo, userConditions, samples);
+    }
+
+    // BATCH-ERTRAGSRECHNER
+    public void calculateUserResults(Collection<String> userIds, Consumer<List<UserBatchOutcome>> batchConsumer) {
+        List<String> distinctIds = distinctIds(userIds);
+
+        for (int from = 0; from < distinctIds.size(); from += BATCH_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + BATCH_SIZE, distinctIds.size()));
+            List<UserBatchOutcome> outcomes = calculateChunk(chunk);
+            publish(outcomes);
+            batchConsumer.accept(outcomes);
+        }
+    }
+
+    // Live-Ergebnisse (SSE): zuerst der gespeicherte Stand, danach jedes neu gespeicherte Ergebnis.
+    // Unbekannte userId → Fehler, bevor der Stream geöffnet wird; current wird erst nach dem Abonnieren gelesen
+    public Flux<User> streamUserResult(String userId) {
+        getUser(userId);
+        return userResultEvents.updates(userId, Mono.fromCallable(() -> getUser(userId)));
+    }
+
+    private void publish(List<UserBatchOutcome> outcomes) {
+        for (UserBatchOutcome outcome : outcomes) {
+            if (outcome.isSuccess()) {
+                userResultEvents.publish(outcome.user());
+            }
         }
+    }
 
-        double powerKwp = pvConfig.getTotalModuleKwp();
-        int installationCost = pvConfig.getInstallationCostEur();
-
-        double directionFactor = getDirectionFactor(conditions.montageDirection());
-        double angleFactor = getAngleFactor(conditions.montageAngle());
-        double shadeFactor = conditions.montageShadeFactor();
-
-        // --- Jahresertrag ---
-        double yearlyYield = powerKwp
-                * directionFactor
-                * angleFactor
-                * (1 - shadeFactor)
-                * SOLAR_IRRADIANCE
-                * pvConfig.getClippingFactor();
-
-        int possibleElectricity = (int) Math.round(yearlyYield);
-
-        double pricePerKwh = info.userRateOfElectricity() / 100.0;
-        int savings = (int) Math.round(possibleElectricity * pricePerKwh);
-
-        double amortisationTime = savings > 0
-                ? (double) installationCost / savings
-                : Double.MAX_VALUE;
-
-        // --- Neue Berechnungen ---
-        // 1) Gesamtertrag über Systemlebensdauer (25 Jahre mit Degradation)
-        double lifetimeYield = 0.0;
-        double yearlyFactor = 1.0;
-        for (int y = 0; y < LIFETIME_YEARS; y++) {
-            lifetimeYield += yearlyYield * yearlyFactor;
-            yearlyFactor *= (1.0 - DEGRADATION_RATE);
+    private List<UserBatchOutcome> calculateChunk(List<String> chunkIds) {
+        Map<String, UserBatchOutcome> outcomes = new HashMap<>();
+        List<String> pending = chunkIds;
+
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            Map<String, User> usersById = loadUsers(pending);
+
+            // Berechnung parallel über alle Kerne, Schreiben gesammelt
+            List<UserBatchOutcome> calculated = pending.parallelStream()
+                    .map(id -> calculateOutcome(id, usersById.get(id), this::computeUserResult))
+                    .toList();
+
+            List<User> toWrite = new ArrayList<>();
+            for (UserBatchOutcome outcome : calculated) {
+                if (outcome.isSuccess()) {
+                    toWrite.add(outcome.user());
+                } else {
+                    outcomes.put(outcome.userId(), outcome);
+                }
+            }
+
+            BulkWrite write = writeResults(toWrite, outcomes);
+            resultAggregates.apply(aggregateChanges(toWrite, usersById, write));
+            pending = write.conflicts();
         }
 
-        // 2) CO₂-Ersparnis pro Jahr
-        double co2SavingsKgPerYear = possibleElectricity * CO2_PER_KWH;
-
-        // 3) Eigenverbrauchsquote (vereinfacht, ohne Speicher)
-        double annualConsumption = info.userElectricityConsumption();
-        double pvToConsumptionRatio = annualConsumption > 0 ? (possibleElectricity / annualConsumption) : 0.0;
-        double selfConsumptionRate;
-        if (pvToConsumptionRatio <= 0.3) selfConsumptionRate = 0.70;
-        else if (pvToConsumptionRatio <= 0.7) selfConsumptionRate = 0.50;
-        else if (pvToConsumptionRatio <= 1.0) selfConsumptionRate = 0.35;
-        else if (pvToConsumptionRatio <= 1.5) selfConsumptionRate = 0.25;
-        else selfConsumptionRate = 0.20;
-
-        // 4) Autarkiegrad = Eigenverbrauch / Gesamtverbrauch
-        double selfConsumedEnergy = selfConsumptionRate * possibleElectricity;
-        double autarkyRate = (annualConsumption <= 0)
-                ? 0.0
-                : Math.min(1.0, selfConsumedEnergy / annualConsumption);
-
-        // --- Tageswerte ---
-        double dailyYield = roundToOneDecimal(yearlyYield / 365.0);
-        double dailySavings = roundToOneDecimal(dailyYield * pricePerKwh);
-        double homeofficeCoverageRate = roundToOneDecimal(calculateHomeofficeCoverageRate(dailyYield));
-        double dailyEBikeRangeKm = roundToOneDecimal(calculateDailyEBikeRangeKm(dailyYield));
-        double dailyECarRangeKm = roundToOneDecimal(calculateDailyECarRangeKm(dailyYield));
-
-        // --- Ergebnisobjekt ---
-        UserResult result = new UserResult(
-                possibleElectricity,
-                savings,
-                amortisationTime,
-                lifetimeYield,
-                co2SavingsKgPerYear,
-                selfConsumptionRate,
-                autarkyRate,
-                dailyYield,
-                dailySavings,
-                homeofficeCoverageRate,
-                dailyEBikeRangeKm,
-                dailyECarRangeKm
-        );
-
-        User updatedUser = new User(
-                user.userId(),
-                user.userInfo(),
-                user.userConditions(),
-                result
-        );
-
-        return userRepository.save(updatedUser);
-    }
-
-    // ----------------------------------------------------
-    //  Hilfsmethoden
-    // ----------------------------------------------------
-
-    private double calculateHomeofficeCoverageRate(double dailyYieldKwh) {
-        // Anteil des Homeoffice-Verbrauchs, der durch PV gedeckt wird
-        return HOME_OFFICE_DAILY_KWH > 0
-                ? Math.min(100.0, (dailyYieldKwh / HOME_OFFICE_DAILY_KWH) * 100.0)
-                : 0.0;
-    }
-
-    private double calculateDailyEBikeRangeKm(double dailyYieldKwh) {
-        // Maximale km Reichweite E-Bike pro Tag basierend auf PV-Ertrag
-        return dailyYieldKwh / EBIKE_KWH_PER_KM;
-    }
-
-    private double calculateDailyECarRangeKm(double dailyYieldKwh) {
-        // Maximale km Reichweite E-Auto pro Tag basierend auf PV-Ertrag
-        return dailyYieldKwh / ECAR_KWH_PER_KM;
-    }
-
-    private double roundToOneDecimal(double value) {
-        return Math.round(value * 10.0) / 10.0;
-    }
-
-    private double getDirectionFactor(Direction direction) {
-        return switch (direction) {
-            case SOUTH -> 1.0;
-            case SOUTHEAST, SOUTHWEST -> 0.95;
-            case EAST, WEST -> 0.8;
-            case NORTHEAST, NORTHWEST -> 0.65;
-            case NORTH -> 0.5;
-        };
-    }
-
-    private double getAngleFactor(int angle) {
-        if (angle < 0) angle = 0;
-        if (angle > 90) angle = 90;
-        double diff = Math.abs(angle - 30);
-        double factor = 1.0 - diff * 0.01;
-        return Math.max(factor, 0.6);
-    }
-}
\ No newline at end of file
+        // Auch nach allen Versuchen parallel geändert
+        pending.forEach(id -> outcomes.put(id, UserBatchOutcome.failure(id, conflict(id).getMessage())));
+
+        return chunkIds.stream().map(outcomes::get).toList();
+    }
+
+    // Schreibt per Bulk-Update; liefert die IDs, deren Version sich seit dem Laden geändert hat,
+    // und die, deren Ergebnis ein paralleler Schreiber schon gespeichert hat
+    private BulkWrite writeResults(List<User> calculated, Map<String, UserBatchOutcome> outcomes) {
+        int matched = userRepository.updateUserResults(calculated);
+        if (matched == calculated.size()) {
+            calculated.forEach(user -> outcomes.put(user.userId(), UserBatchOutcome.success(withNextVersion(user))));
+            return BulkWrite.COMPLETE;
+        }
+
+        // Welche Updates nicht gegriffen haben, liefert der Bulk-Write nicht → aktuellen Stand nachladen
+        Map<String, User> stored = loadUsers(calculated.stream().map(User::userId).toList());
+        List<String> conflicts = new ArrayList<>();
+        Set<String> alreadyStored = new HashSet<>();
+        for (User user : calculated) {
+            User current = stored.get(user.userId());
+            if (alreadyStored(current, user)) {
+                outcomes.put(user.userId(), UserBatchOutcome.success(current));
+                alreadyStored.add(user.userId());
+            } else {
+                conflicts.add(user.userId());
+            }
+        }
+        return new BulkWrite(conflicts, alreadyStored);
+    }
+
+    private Map<String, User> loadUsers(List<String> userIds) {
+        Map<String, User> usersById = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> usersById.put(user.userId(), user));
+        return usersById;
+    }
+
+    private RuntimeException notFoundOrPreconditionFailed(String userId, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.existsById(userId)) {
+            return preconditionFailed(userId, expectedVersion);
+        }
+        return updateTargetNotFound(userId);
+    }
+
+    private UserResult computeUserResult(User user) {
+        return yieldResultCache.calculate(user.userInfo(), user.userConditions());
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.model.AggregateChanges;
+import org.example.backend.model.LeaderboardMetric;
+import org.example.backend.model.ResultContribution;
+import org.example.backend.model.User;
+import org.example.backend.model.UserBatchOutcome;
+import org.example.backend.model.UserExportFilter;
+import org.example.backend.model.UserResult;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+// Gemeinsame Logik von UserService (blockierend) und ReactiveUserService
+final class UserServiceSupport {
+
+    static final int BATCH_SIZE = 500; // Users pro findAllById/Bulk-Update-Runde
+    static final int MAX_WRITE_ATTEMPTS = 3; // Versuche bei parallelen Änderungen
+    static final int EXPORT_BATCH_SIZE = 1000; // Dokumente je Cursor-Roundtrip beim Export
+    static final int MAX_LEADERBOARD_SIZE = 100; // Einträge je Rangliste
+
+    // Abgleich der Aggregate: alle User mit Ergebnis
+    static final UserExportFilter WITH_RESULT = new UserExportFilter(null, null, null, true);
+
+    private UserServiceSupport() {
+    }
+
+    static IllegalArgumentException notFound(String userId) {
+        return new IllegalArgumentException("User mit ID " + userId + " nicht gefunden");
+    }
+
+    // Teil-Update ohne Treffer und ohne Versionsvorgabe
+    static IllegalArgumentException updateTargetNotFound(String userId) {
+        return new IllegalArgumentException("User not found: " + userId);
+    }
+
+    static OptimisticLockingFailureException conflict(String userId) {
+        return new OptimisticLockingFailureException("User " + userId + " wurde zwischenzeitlich geändert");
+    }
+
+    // If-Match mit veralteter Version
+    static PreconditionFailedException preconditionFailed(String userId, Long expectedVersion) {
+        return new PreconditionFailedException("User " + userId + " hat nicht mehr Version " + expectedVersion);
+    }
+
+    static int requireLeaderboardSize(int limit) {
+        if (limit < 1 || limit > MAX_LEADERBOARD_SIZE) {
+            throw new IllegalArgumentException("limit muss zwischen 1 und " + MAX_LEADERBOARD_SIZE + " liegen");
+        }
+        return limit;
+    }
+
+    // Erste Seite absteigend nach der Metrik (Index scope_<Metrik>)
+    static Pageable leaderboardPage(LeaderboardMetric metric, int limit) {
+        return PageRequest.of(0, requireLeaderboardSize(limit), Sort.by(Sort.Direction.DESC, metric.field));
+    }
+
+    static Counter aggregateUpdates(MeterRegistry meterRegistry) {
+        return Counter.builder("solarcheck.aggregates.updates")
+                .description("Geänderte PLZ-/Regionsaggregate")
+                .register(meterRegistry);
+    }
+
+    static Counter aggregateFailures(MeterRegistry meterRegistry) {
+        return Counter.builder("solarcheck.aggregates.failures")
+                .description("Fehlgeschlagene Aggregat-Updates (Abgleich per Neuaufbau)")
+                .register(meterRegistry);
+    }
+
+    static List<String> distinctIds(Collection<String> userIds) {
+        return List.copyOf(new LinkedHashSet<>(userIds));
+    }
+
+    static UserBatchOutcome calculateOutcome(String userId, User user, Function<User, UserResult> calculator) {
+        if (user == null) {
+            return UserBatchOutcome.failure(userId, notFound(userId).getMessage());
+        }
+        try {
+            return UserBatchOutcome.success(withResult(user, calculator.apply(user)));
+        } catch (DataAccessException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            // Fehler eines Users (unvollständige Eingaben, Standort außerhalb des TMY-Rasters, Produkt nicht mehr im
+            // Katalog) betreffen nur diesen User, nicht den ganzen Block
+            return UserBatchOutcome.failure(userId, ex.getMessage());
+        }
+    }
+
+    // Bulk-Update hat nicht gegriffen: trotzdem Erfolg, wenn bereits genau dieses Ergebnis gespeichert ist
+    static boolean alreadyStored(User current, User calculated) {
+        return current != null
+                && Objects.equals(current.userResult(), calculated.userResult())
+                && Objects.equals(current.userInfo(), calculated.userInfo())
+                && Objects.equals(current.userConditions(), calculated.userConditions());
+    }
+
+    static User withNextVersion(User user) {
+        long next = user.version() == null ? 1L : user.version() + 1;
+        return new User(user.userId(), user.userInfo(), user.userConditions(), user.userResult(), next, user.createdAt(),
+                user.resultContribution());
+    }
+
+    static User withResult(User user, UserResult result) {
+        return new User(
+                user.userId(),
+                user.userInfo(),
+                user.userConditions(),
+                result,
+                user.version(),
+                user.createdAt(),
+                ResultContribution.of(user.userInfo(), user.userConditions(), result)
+        );
+    }
+
+    // Aggregat-Änderungen eines Bulk-Writes: je geschriebenem User der geladene Anteil → der neue.
+    // Ohne Konflikte und ohne alreadyStored: dort hat ein paralleler Schreiber das Ergebnis gespeichert und dieselbe
+    // Änderung schon angewendet
+    static AggregateChanges aggregateChanges(List<User> written, Map<String, User> loaded, BulkWrite write) {
+        Set<String> skipped = new HashSet<>(write.conflicts());
+        skipped.addAll(write.alreadyStored());
+        AggregateChanges changes = new AggregateChanges();
+        for (User user : written) {
+            if (!skipped.contains(user.userId())) {
+                changes.change(loaded.get(user.userId()).resultContribution(), user.resultContribution());
+            }
+        }
+        return changes;
+    }
+
+    // Ausgang eines Bulk-Writes mit Versionsprüfung: conflicts → neu laden und rechnen,
+    // alreadyStored → genau dieses Ergebnis war bereits gespeichert (paralleler Schreiber)
+    record BulkWrite(List<String> conflicts, Set<String> alreadyStored) {
+        static final BulkWrite COMPLETE = new BulkWrite(List.of(), Set.of());
+    }
+}
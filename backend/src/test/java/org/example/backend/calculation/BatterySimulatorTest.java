@@ -0,0 +1,162 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.BatteryConfig;
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserInfo;
+import org.example.backend.model.UserPvConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatterySimulatorTest {
+
+    private static final int HOURS = IrradianceSeries.HOURS_PER_YEAR;
+
+    // Last 1 kWh je Stunde bei 8760 kWh Jahresverbrauch
+    private final double[] flatLoad = flatLoad();
+
+    // =====================================================
+    // SoC-Schleife
+    // =====================================================
+
+    @Test
+    void simulate_shouldShiftSurplusIntoFollowingDeficit() {
+        double[] pv = new double[HOURS];
+        pv[0] = 3.0; // 2 kWh Überschuss, danach nur Defizit
+
+        BatterySimulator.Result result = BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS,
+                new BatteryConfig(10.0, 1.0, 5.0, 5.0));
+
+        assertEquals(3.0, result.selfConsumedKwh(), 1e-9);
+        assertEquals(2.0, result.dischargedKwh(), 1e-9);
+        assertEquals(3.0, result.suppliedKwh(), 1e-9);
+    }
+
+    @Test
+    void simulate_shouldRespectCapacityAndPowerLimits() {
+        double[] pv = new double[HOURS];
+        pv[0] = 6.0; // 5 kWh Überschuss
+
+        BatterySimulator.Result smallCapacity = BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS,
+                new BatteryConfig(2.0, 1.0, 5.0, 5.0));
+        BatterySimulator.Result slowCharge = BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS,
+                new BatteryConfig(10.0, 1.0, 1.5, 5.0));
+        BatterySimulator.Result slowDischarge = BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS,
+                new BatteryConfig(10.0, 1.0, 5.0, 0.5));
+
+        assertEquals(2.0, smallCapacity.dischargedKwh(), 1e-9);
+        assertEquals(1.5, slowCharge.dischargedKwh(), 1e-9);
+        // Entladung je Stunde auf 0,5 kWh begrenzt, Speicher über 10 Stunden leer
+        assertEquals(5.0, slowDischarge.dischargedKwh(), 1e-9);
+        assertEquals(6.0, slowDischarge.selfConsumedKwh(), 1e-9);
+    }
+
+    @Test
+    void simulate_shouldLoseRoundTripEfficiency() {
+        double[] pv = new double[HOURS];
+        pv[0] = 3.0;
+
+        BatterySimulator.Result result = BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS,
+                new BatteryConfig(10.0, 0.81, 5.0, 5.0));
+
+        // 2 kWh geladen, √0,81 = 0,9 beim Laden und Entladen
+        assertEquals(3.0, result.selfConsumedKwh(), 1e-9);
+        assertEquals(2.0 * 0.81, result.dischargedKwh(), 1e-9);
+    }
+
+    @Test
+    void simulate_shouldRejectInvalidConfig() {
+        double[] pv = new double[HOURS];
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS, new BatteryConfig(0.0, 0.9, 1.0, 1.0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS, new BatteryConfig(5.0, 1.2, 1.0, 1.0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS, new BatteryConfig(5.0, 0.9, 0.0, 1.0)));
+    }
+
+    // =====================================================
+    // Sweep
+    // =====================================================
+
+    @Test
+    void sweep_shouldMatchSingleSimulationsAndGrowWithCapacity() {
+        double[] pv = new double[HOURS];
+        for (int h = 0; h < HOURS; h += 24) {
+            pv[h + 12] = 4.0; // täglich eine Mittagsspitze
+        }
+        BatteryConfig template = new BatteryConfig(1.0, 0.9, 2.0, 2.0);
+        double[] capacities = {0.0, 0.5, 1.0, 2.0, 4.0};
+        double[] selfConsumed = new double[capacities.length];
+        double[] supplied = new double[capacities.length];
+        double[] discharged = new double[capacities.length];
+
+        BatterySimulator.sweep(pv, 1.0, flatLoad, HOURS, template, capacities, selfConsumed, supplied, discharged);
+
+        assertEquals(SelfConsumptionModel.selfConsumed(pv, 1.0, flatLoad, HOURS), supplied[0], 1e-9);
+        for (int i = 1; i < capacities.length; i++) {
+            assertTrue(supplied[i] >= supplied[i - 1]);
+            BatterySimulator.Result single = BatterySimulator.simulate(pv, 1.0, flatLoad, HOURS,
+                    new BatteryConfig(capacities[i], 0.9, 2.0, 2.0));
+            assertEquals(single.selfConsumedKwh(), selfConsumed[i], 1e-9);
+            assertEquals(single.suppliedKwh(), supplied[i], 1e-9);
+            assertEquals(single.dischargedKwh(), discharged[i], 1e-9);
+        }
+    }
+
+    @Test
+    void sweep_shouldRejectShortResultArrays() {
+        assertThrows(IllegalArgumentException.class, () -> BatterySimulator.sweep(new double[HOURS], 1.0, flatLoad,
+                HOURS, new BatteryConfig(1.0, 0.9, 1.0, 1.0), new double[3], new double[3], new double[3], new double[2]));
+    }
+
+    // =====================================================
+    // Einbindung in SelfConsumptionModel
+    // =====================================================
+
+    @Test
+    void selfConsumptionModel_shouldRaiseRatesWithBattery() {
+        SelfConsumptionModel model = SelfConsumptionModel.standard();
+        UserInfo info = new UserInfo(30, 2, 2500);
+        UserConditions conditions = new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30, Direction.SOUTH, 0.0,
+                null, null, new BatteryConfig(2.0, 0.9, 0.8, 0.8));
+
+        SelfConsumptionModel.Result result = model.calculate(info, conditions, 1200);
+
+        assertNotNull(result.battery());
+        assertTrue(result.battery().selfConsumptionRate() > result.selfConsumptionRate());
+        assertTrue(result.battery().autarkyRate() > result.autarkyRate());
+        assertTrue(result.battery().autarkyRate() <= 1.0);
+        assertTrue(result.battery().fullCyclesPerYear() > 0 && result.battery().fullCyclesPerYear() < 366);
+    }
+
+    @Test
+    void selfConsumptionModel_sweepShouldMatchCalculate() {
+        SelfConsumptionModel model = SelfConsumptionModel.standard();
+        UserInfo info = new UserInfo(30, 3, 3500);
+        BatteryConfig battery = new BatteryConfig(2.0, 0.9, 0.8, 0.8);
+        UserConditions conditions = new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30, Direction.SOUTH, 0.0,
+                null, null, battery);
+
+        SelfConsumptionModel.Sweep sweep = model.sweepBattery(info, conditions, 1200, battery, new double[]{1.0, 2.0, 3.0});
+        SelfConsumptionModel.Result direct = model.calculate(info, conditions, 1200);
+        assertEquals(new SelfConsumptionModel.Result(direct.selfConsumedKwh(), direct.selfConsumptionRate(),
+                direct.autarkyRate()), sweep.withoutBattery());
+        assertEquals(direct.battery(), sweep.batteries().get(1));
+        assertTrue(sweep.batteries().get(2).autarkyRate() >= sweep.batteries().get(1).autarkyRate());
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static double[] flatLoad() {
+        double[] load = new double[HOURS];
+        Arrays.fill(load, 1.0 / HOURS);
+        return load;
+    }
+}
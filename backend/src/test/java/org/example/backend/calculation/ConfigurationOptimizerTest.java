@@ -0,0 +1,134 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigurationOptimizerTest {
+
+    private YieldCalculator calculator;
+    private ConfigurationOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        YieldTable table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        calculator = new YieldCalculator(table, table, SelfConsumptionModel.standard());
+        optimizer = new ConfigurationOptimizer(calculator);
+    }
+
+    // =====================================================
+    // Pareto-Front
+    // =====================================================
+
+    @Test
+    void optimize_shouldMatchExhaustiveParetoFront() {
+        UserInfo info = new UserInfo(32, 2, 2500);
+        OptimizationConstraints constraints = OptimizationConstraints.all();
+
+        OptimizationResult result = optimizer.optimize(info, constraints);
+
+        assertEquals(3 * 8 * 19, result.candidates());
+        assertFalse(result.paretoFront().isEmpty());
+        assertEquals(new HashSet<>(exhaustiveFront(info, constraints)), new HashSet<>(result.paretoFront()));
+    }
+
+    @Test
+    void optimize_shouldPruneDominatedCandidates() {
+        OptimizationResult result = optimizer.optimize(new UserInfo(32, 2, 2500), OptimizationConstraints.all());
+
+        assertTrue(result.fullyCalculated() < result.candidates(),
+                "erwartet Vorauswahl, berechnet: " + result.fullyCalculated());
+    }
+
+    @Test
+    void optimize_shouldSortFrontByAmortisationAndRespectConstraints() {
+        OptimizationConstraints constraints = new OptimizationConstraints(
+                List.of(UserPvConfig.CHEAP_PV_COMBI, UserPvConfig.PREMIUM_PV_COMBI),
+                List.of(Direction.EAST, Direction.SOUTH, Direction.WEST),
+                20, 60, 10, 0.1, null, null);
+
+        OptimizationResult result = optimizer.optimize(new UserInfo(30, 3, 3500), constraints);
+
+        assertEquals(2 * 3 * 5, result.candidates());
+        double previous = 0;
+        for (OptimizationOption option : result.paretoFront()) {
+            UserConditions conditions = option.userConditions();
+            assertTrue(constraints.pvConfigs().contains(conditions.userPvConfig()));
+            assertTrue(constraints.directions().contains(conditions.montageDirection()));
+            assertTrue(conditions.montageAngle() >= 20 && conditions.montageAngle() <= 60);
+            assertEquals(0.1, conditions.montageShadeFactor());
+            assertEquals(calculator.calculate(new UserInfo(30, 3, 3500), conditions), option.userResult());
+            assertTrue(option.userResult().userAmortisationTime() >= previous);
+            previous = option.userResult().userAmortisationTime();
+        }
+    }
+
+    @Test
+    void optimize_shouldThrowWhenInfoMissing() {
+        assertThrows(IllegalStateException.class, () -> optimizer.optimize(null, OptimizationConstraints.all()));
+    }
+
+    // =====================================================
+    // Suchraum
+    // =====================================================
+
+    @Test
+    void constraints_shouldRejectInvalidRanges() {
+        List<UserPvConfig> configs = List.of(UserPvConfig.CHEAP_PV_COMBI);
+        List<Direction> directions = List.of(Direction.SOUTH);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new OptimizationConstraints(List.of(), directions, 0, 90, 5, 0.0, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OptimizationConstraints(configs, directions, 60, 30, 5, 0.0, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OptimizationConstraints(configs, directions, 0, 90, 0, 0.0, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OptimizationConstraints(configs, directions, 0, 90, 5, 0.0, 52.5, null));
+    }
+
+    @Test
+    void candidates_shouldCoverAllCombinations() {
+        OptimizationConstraints constraints = new OptimizationConstraints(
+                List.of(UserPvConfig.MEDIUM_PV_COMBI), List.of(Direction.SOUTH, Direction.WEST),
+                10, 25, 10, 0.0, 52.5, 13.4);
+
+        List<UserConditions> candidates = ConfigurationOptimizer.candidates(constraints);
+
+        assertEquals(constraints.candidateCount(), candidates.size());
+        assertEquals(4, candidates.size()); // 10°, 20° je Ausrichtung
+        assertTrue(candidates.stream().allMatch(UserConditions::hasLocation));
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private List<OptimizationOption> exhaustiveFront(UserInfo info, OptimizationConstraints constraints) {
+        List<OptimizationOption> all = new ArrayList<>();
+        for (UserConditions conditions : ConfigurationOptimizer.candidates(constraints)) {
+            all.add(new OptimizationOption(conditions, calculator.calculate(info, conditions)));
+        }
+        List<OptimizationOption> front = new ArrayList<>();
+        for (OptimizationOption option : all) {
+            boolean dominated = all.stream().anyMatch(other -> dominates(other.userResult(), option.userResult()));
+            if (!dominated) {
+                front.add(option);
+            }
+        }
+        return front;
+    }
+
+    private static boolean dominates(UserResult a, UserResult b) {
+        return a.userAmortisationTime() <= b.userAmortisationTime()
+                && a.userAmountOfPossibleSavings() >= b.userAmountOfPossibleSavings()
+                && a.userAutarkyRate() >= b.userAutarkyRate()
+                && (a.userAmortisationTime() < b.userAmortisationTime()
+                || a.userAmountOfPossibleSavings() > b.userAmountOfPossibleSavings()
+                || a.userAutarkyRate() > b.userAutarkyRate());
+    }
+}
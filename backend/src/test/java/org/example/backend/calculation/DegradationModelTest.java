@@ -0,0 +1,94 @@
+package org.example.backend.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DegradationModelTest {
+
+    @Test
+    void geometric_shouldMatchIterativeSum() {
+        DegradationModel model = DegradationModel.geometric(25, 0.005);
+
+        double expected = 0.0;
+        double factor = 1.0;
+        for (int y = 0; y < 25; y++) {
+            expected += factor;
+            factor *= 0.995;
+        }
+
+        assertEquals(25, model.lifetimeYears());
+        assertEquals(expected, model.lifetimeFactor(), 1e-12);
+        assertEquals(1000.0 * expected, model.lifetimeYield(1000.0), 1e-9);
+    }
+
+    @Test
+    void geometric_withoutDegradation_shouldSumToLifetime() {
+        DegradationModel model = DegradationModel.geometric(20, 0.0);
+
+        assertEquals(20.0, model.lifetimeFactor());
+        assertEquals(1.0, model.yearlyFactor(19));
+    }
+
+    @Test
+    void geometric_withFirstYearLoss_shouldScaleAllYears() {
+        DegradationModel plain = DegradationModel.geometric(25, 0.005);
+        DegradationModel withLid = DegradationModel.geometric(25, 0.005, 0.02);
+
+        assertEquals(0.98, withLid.yearlyFactor(0), 1e-12);
+        assertEquals(plain.lifetimeFactor() * 0.98, withLid.lifetimeFactor(), 1e-9);
+    }
+
+    @Test
+    void linear_shouldDeductFixedAmountPerYear() {
+        DegradationModel model = DegradationModel.linear(25, 0.0055, 0.02);
+
+        assertEquals(0.98, model.yearlyFactor(0), 1e-12);
+        assertEquals(0.98 - 0.0055 * 24, model.yearlyFactor(24), 1e-12);
+
+        double expected = 0.0;
+        for (int y = 0; y < 25; y++) {
+            expected += 0.98 - 0.0055 * y;
+        }
+        assertEquals(expected, model.lifetimeFactor(), 1e-12);
+    }
+
+    @Test
+    void linear_shouldNotGoBelowZero() {
+        DegradationModel model = DegradationModel.linear(10, 0.5, 0.0);
+
+        assertEquals(0.0, model.yearlyFactor(5));
+        assertEquals(1.5, model.lifetimeFactor(), 1e-12);
+    }
+
+    @Test
+    void yearlyYields_shouldSumToLifetimeYield() {
+        DegradationModel model = DegradationModel.of(DegradationModel.Curve.GEOMETRIC, 25, 0.005, 0.0);
+
+        double[] yields = model.yearlyYields(1020.0);
+
+        assertEquals(25, yields.length);
+        assertEquals(1020.0, yields[0]);
+        double sum = 0.0;
+        for (double yield : yields) {
+            sum += yield;
+        }
+        assertEquals(model.lifetimeYield(1020.0), sum, 1e-9);
+    }
+
+    @Test
+    void yearlyFactors_shouldReturnDefensiveCopy() {
+        DegradationModel model = DegradationModel.geometric(5, 0.01);
+
+        model.yearlyFactors()[0] = 42.0;
+
+        assertEquals(1.0, model.yearlyFactor(0));
+    }
+
+    @Test
+    void shouldRejectInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> DegradationModel.geometric(0, 0.005));
+        assertThrows(IllegalArgumentException.class, () -> DegradationModel.geometric(25, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> DegradationModel.linear(25, 0.005, 1.0));
+    }
+}
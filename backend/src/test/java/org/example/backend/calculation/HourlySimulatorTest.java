@@ -0,0 +1,135 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserPvConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HourlySimulatorTest {
+
+    private static IrradianceSeries irradiance;
+    private static HourlySimulator simulator;
+
+    @BeforeAll
+    static void setUp() {
+        irradiance = IrradianceSeries.synthetic(51.2, 10.4, 1100);
+        simulator = new HourlySimulator(irradiance, 0.9, 0.96, 0.2, -0.0037);
+    }
+
+    // ===================================
+    // Einstrahlung / Sonnenstand
+    // ===================================
+    @Test
+    void synthetic_shouldMatchConfiguredAnnualGhi() {
+        assertEquals(1100, irradiance.annualGhi(), 1e-3); // float-Speicherung
+    }
+
+    @Test
+    void synthetic_shouldHaveNoIrradianceAtNight() {
+        // 1. Januar, 0:30 UTC
+        assertTrue(irradiance.cosZenith.get(0) < 0);
+        assertEquals(0.0f, irradiance.ghi.get(0));
+        assertEquals(0.0f, irradiance.dni.get(0));
+    }
+
+    @Test
+    void synthetic_shouldPeakAroundSolarNoonInSummer() {
+        // 21. Juni (Tag 172): Sonne bei 10,4° Ost gegen 11:20 UTC am höchsten
+        int noon = 171 * 24 + 11;
+        assertTrue(irradiance.ghi.get(noon) > irradiance.ghi.get(noon - 3));
+        assertTrue(irradiance.ghi.get(noon) > irradiance.ghi.get(noon + 3));
+        // Sonnenhöhe ca. 90° - 51,2° + 23,45°
+        double elevation = Math.toDegrees(Math.asin(irradiance.cosZenith.get(noon)));
+        assertEquals(62.2, elevation, 1.5);
+    }
+
+    @Test
+    void synthetic_shouldRejectInvalidLocation() {
+        assertThrows(IllegalArgumentException.class, () -> IrradianceSeries.synthetic(80, 10, 1000));
+        assertThrows(IllegalArgumentException.class, () -> IrradianceSeries.synthetic(50, 200, 1000));
+        assertThrows(IllegalArgumentException.class, () -> IrradianceSeries.synthetic(50, 10, 0));
+    }
+
+    // ===================================
+    // Ertrag
+    // ===================================
+    @Test
+    void yearlyYield_shouldBeInTypicalRangeForGermany() {
+        // CHEAP_PV_COMBI: 0,8 kWp, Wechselrichter 800 W → kaum Clipping
+        double specificYield = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 30, 0.0)
+                / UserPvConfig.CHEAP_PV_COMBI.getTotalModuleKwp();
+
+        assertTrue(specificYield > 850 && specificYield < 1200, "spez. Ertrag: " + specificYield);
+    }
+
+    @Test
+    void yearlyYield_shouldDependOnOrientation() {
+        double south = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 30, 0.0);
+        double east = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.EAST, 30, 0.0);
+        double west = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.WEST, 30, 0.0);
+        double north = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.NORTH, 30, 0.0);
+        double flat = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.NORTH, 0, 0.0);
+
+        assertTrue(south > east);
+        assertTrue(east > north);
+        assertEquals(east, west, east * 0.03); // nahezu symmetrisch um den Mittag
+        assertTrue(flat > north);
+    }
+
+    @Test
+    void yearlyYield_shouldClipAtInverterPower() {
+        double[] acPower = new double[HourlySimulator.HOURS_PER_YEAR];
+        simulator.simulate(UserPvConfig.PREMIUM_PV_COMBI, Direction.SOUTH, 30, 0.0, acPower);
+
+        double inverterKw = UserPvConfig.PREMIUM_PV_COMBI.getInverterWatt() / 1000.0;
+        double max = 0;
+        for (double value : acPower) {
+            max = Math.max(max, value);
+        }
+        assertEquals(inverterKw, max, 1e-12);
+
+        // 1,6 kWp an 800 W: spezifischer Ertrag deutlich unter dem der 0,8-kWp-Anlage
+        double cheap = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 30, 0.0)
+                / UserPvConfig.CHEAP_PV_COMBI.getTotalModuleKwp();
+        double premium = simulator.yearlyYield(UserPvConfig.PREMIUM_PV_COMBI, Direction.SOUTH, 30, 0.0)
+                / UserPvConfig.PREMIUM_PV_COMBI.getTotalModuleKwp();
+        assertTrue(premium < cheap * 0.95);
+    }
+
+    @Test
+    void simulate_shouldMatchYearlyYield() {
+        double[] acPower = new double[HourlySimulator.HOURS_PER_YEAR];
+
+        for (UserPvConfig config : UserPvConfig.values()) {
+            for (Direction direction : Direction.values()) {
+                double total = simulator.simulate(config, direction, 35, 0.1, acPower);
+                assertEquals(simulator.yearlyYield(config, direction, 35, 0.1), total, 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void simulate_shouldRejectTooSmallBuffer() {
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 30, 0.0, new double[24]));
+    }
+
+    @Test
+    void yearlyYield_shouldScaleWithShadeWithoutClipping() {
+        double unshaded = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 30, 0.0);
+        double shaded = simulator.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 30, 0.5);
+
+        assertTrue(shaded < unshaded);
+        assertTrue(shaded >= unshaded * 0.5 - 1e-9);
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidLossParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new HourlySimulator(irradiance, 0, 0.96, 0.2, -0.0037));
+        assertThrows(IllegalArgumentException.class, () -> new HourlySimulator(irradiance, 0.9, 1.5, 0.2, -0.0037));
+        assertThrows(IllegalArgumentException.class, () -> new HourlySimulator(irradiance, 0.9, 0.96, -1, -0.0037));
+        assertThrows(IllegalArgumentException.class, () -> new HourlySimulator(irradiance, 0.9, 0.96, 0.2, 0.01));
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.backend.calculation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadProfileTest {
+
+    @Test
+    void forHousehold_shouldSumToOne() {
+        for (int persons = 1; persons <= LoadProfile.MAX_HOUSEHOLD_SIZE; persons++) {
+            double sum = 0;
+            for (int h = 0; h < LoadProfile.HOURS_PER_YEAR; h++) {
+                sum += LoadProfile.forHousehold(persons).share(h);
+            }
+            assertEquals(1.0, sum, 1e-9);
+        }
+    }
+
+    @Test
+    void forHousehold_shouldShareProfilesAndCapLargeHouseholds() {
+        assertSame(LoadProfile.forHousehold(2), LoadProfile.forHousehold(2));
+        assertSame(LoadProfile.forHousehold(5), LoadProfile.forHousehold(20));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.forHousehold(0));
+    }
+
+    @Test
+    void forHousehold_shouldPeakInWinterEvening() {
+        LoadProfile profile = LoadProfile.forHousehold(2);
+        // 15. Januar (Montag): 19 Uhr MEZ = 18 Uhr UTC vs. 3 Uhr MEZ
+        int day = 14 * 24;
+        assertTrue(profile.share(day + 18) > 3 * profile.share(day + 2));
+        // Winter insgesamt höher als Sommer (Dynamisierung + Typtage)
+        assertTrue(profile.share(day + 18) > profile.share(190 * 24 + 18));
+    }
+
+    @Test
+    void forHousehold_shouldUseMoreDaytimeEnergyInLargerHouseholds() {
+        double single = daytimeShare(LoadProfile.forHousehold(1));
+        double family = daytimeShare(LoadProfile.forHousehold(4));
+
+        assertTrue(family > single);
+    }
+
+    private static double daytimeShare(LoadProfile profile) {
+        double sum = 0;
+        for (int h = 0; h < LoadProfile.HOURS_PER_YEAR; h++) {
+            int utcHour = h % 24;
+            if (utcHour >= 7 && utcHour < 15) {
+                sum += profile.share(h);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserInfo;
+import org.example.backend.model.UserPvConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfConsumptionModelTest {
+
+    private final SelfConsumptionModel model = SelfConsumptionModel.standard();
+    private final UserConditions south = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+
+    @Test
+    void calculate_shouldStayWithinBounds() {
+        SelfConsumptionModel.Result result = model.calculate(new UserInfo(30, 2, 2500), south, 1020);
+
+        assertTrue(result.selfConsumptionRate() > 0 && result.selfConsumptionRate() <= 1);
+        assertTrue(result.autarkyRate() > 0 && result.autarkyRate() <= 1);
+        assertEquals(result.selfConsumedKwh(), result.selfConsumptionRate() * 1020, 1e-9);
+        assertEquals(result.selfConsumedKwh(), result.autarkyRate() * 2500, 1e-9);
+    }
+
+    @Test
+    void calculate_shouldIncreaseSelfConsumptionWithConsumption() {
+        double low = model.calculate(new UserInfo(30, 2, 1500), south, 1020).selfConsumptionRate();
+        double high = model.calculate(new UserInfo(30, 2, 6000), south, 1020).selfConsumptionRate();
+
+        assertTrue(high > low);
+    }
+
+    @Test
+    void calculate_shouldReturnZeroWithoutYieldOrConsumption() {
+        assertEquals(new SelfConsumptionModel.Result(0, 0, 0), model.calculate(new UserInfo(30, 2, 2500), south, 0));
+        assertEquals(new SelfConsumptionModel.Result(0, 0, 0), model.calculate(new UserInfo(30, 2, 0), south, 1020));
+    }
+
+    @Test
+    void calculate_shouldScaleSimulatedCurveToYearlyYield() {
+        double[] pv = new double[IrradianceSeries.HOURS_PER_YEAR];
+        double simulated = HourlySimulator.standard().simulate(south, pv);
+        double expected = SelfConsumptionModel.selfConsumed(pv, 1020 / simulated,
+                LoadProfile.forHousehold(2).shares(), 2500);
+
+        // zweimal: der zweite Aufruf nutzt die zwischengespeicherte Kurve
+        assertEquals(expected, model.calculate(new UserInfo(30, 2, 2500), south, 1020).selfConsumedKwh(), 1e-6);
+        assertEquals(expected, model.calculate(new UserInfo(30, 2, 2500), south, 1020).selfConsumedKwh(), 1e-6);
+    }
+
+    @Test
+    void calculate_outsideIrradianceGrid_shouldFallBackToDefaultSeries() {
+        IrradianceSeries synthetic = IrradianceSeries.synthetic(51.2, 10.4, 1100);
+        HourlySimulator simulator = new HourlySimulator(new IrradianceSource() {
+            @Override
+            public IrradianceSeries at(double latitude, double longitude) {
+                throw new IllegalArgumentException("Standort außerhalb des TMY-Rasters: " + latitude + ", " + longitude);
+            }
+
+            @Override
+            public IrradianceSeries defaultSeries() {
+                return synthetic;
+            }
+        }, 0.9, 0.96, 0.2, -0.0037);
+        SelfConsumptionModel restricted = new SelfConsumptionModel(simulator, 256);
+        UserConditions abroad = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0, -33.9, 151.2);
+
+        SelfConsumptionModel.Result result = restricted.calculate(new UserInfo(30, 2, 2500), abroad, 1020);
+
+        assertEquals(restricted.calculate(new UserInfo(30, 2, 2500), south, 1020), result);
+        assertThrows(IllegalArgumentException.class, () -> simulator.yearlyYield(abroad));
+    }
+
+    @Test
+    void selfConsumed_shouldTakeHourlyMinimumOfGenerationAndLoad() {
+        double[] pv = new double[IrradianceSeries.HOURS_PER_YEAR];
+        double[] load = new double[IrradianceSeries.HOURS_PER_YEAR];
+        Arrays.fill(load, 1.0 / IrradianceSeries.HOURS_PER_YEAR); // 1 kWh/h bei 8760 kWh Jahresverbrauch
+        pv[0] = 3.0; // Überschuss
+        pv[1] = 0.5; // komplett selbst verbraucht
+
+        assertEquals(1.5, SelfConsumptionModel.selfConsumed(pv, 1.0, load, 8760), 1e-9);
+        assertEquals(2.0, SelfConsumptionModel.selfConsumed(pv, 2.0, load, 8760), 1e-9);
+    }
+}
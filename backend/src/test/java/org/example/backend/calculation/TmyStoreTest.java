@@ -0,0 +1,175 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserConditions;
+import org.example.backend.model.UserPvConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmyStoreTest {
+
+    @TempDir
+    Path dir;
+
+    // ===================================
+    // Builder (PVGIS-CSV / EPW)
+    // ===================================
+    @Test
+    void read_shouldParsePvgisCsv() throws IOException {
+        TmyStoreBuilder.Station station = TmyStoreBuilder.read(pvgisCsv("berlin.csv", 52.5, 13.4, 200));
+
+        assertEquals(52.5, station.latitude());
+        assertEquals(13.4, station.longitude());
+        assertEquals(200.0, station.ghi()[12]);
+        assertEquals(0.0, station.ghi()[0]);
+        assertEquals(10.0, station.temperature()[12]);
+    }
+
+    @Test
+    void read_shouldShiftEpwFromLocalTimeToUtc() throws IOException {
+        // Zeitzone +1: erster Wert (Ortszeit 0–1 Uhr) gehört zu 23–24 Uhr UTC des Vorjahres → letzter Index
+        TmyStoreBuilder.Station station = TmyStoreBuilder.read(epw("muenchen.epw", 48.1, 11.6, 1));
+
+        assertEquals(0.0, station.ghi()[IrradianceSeries.HOURS_PER_YEAR - 1]);
+        assertEquals(1.0, station.ghi()[0]);
+        assertEquals(2.0, station.ghi()[1]);
+    }
+
+    @Test
+    void read_shouldRejectIncompleteFile() throws IOException {
+        Path file = dir.resolve("kurz.csv");
+        Files.writeString(file, "Latitude (decimal degrees):\t50\nLongitude (decimal degrees):\t8\ntime(UTC),T2m,G(h),Gb(n),Gd(h)\n"
+                + "20070101:0010,1,0,0,0\n");
+
+        assertThrows(IllegalArgumentException.class, () -> TmyStoreBuilder.read(file));
+    }
+
+    // ===================================
+    // Store
+    // ===================================
+    @Test
+    void at_shouldReturnNearestStationAsMappedView() throws IOException {
+        Path store = buildStore();
+
+        try (TmyStore tmy = TmyStore.open(store, 50, 10)) {
+            assertEquals(5 * 5, tmy.cellCount());
+
+            IrradianceSeries north = tmy.at(52.4, 13.1);
+            IrradianceSeries south = tmy.at(48.2, 11.0);
+
+            assertEquals(52.0, north.latitude());
+            assertEquals(13.0, north.longitude());
+            assertEquals(200.0f, north.ghi.get(12));
+            assertEquals(100.0f, south.ghi.get(12));
+
+            // Sicht auf die gemappte Datei, keine Kopie
+            assertTrue(north.ghi.isDirect());
+            assertTrue(north.temperature.isDirect());
+            assertSame(north, tmy.at(52.3, 13.2));
+        }
+    }
+
+    @Test
+    void at_shouldComputeSunPositionForCellCenter() throws IOException {
+        try (TmyStore tmy = TmyStore.open(buildStore(), 50, 10)) {
+            IrradianceSeries cell = tmy.at(50, 10);
+            double[][] sun = IrradianceSeries.sunPosition(50, 10);
+
+            for (int h = 0; h < IrradianceSeries.HOURS_PER_YEAR; h += 97) {
+                assertEquals(sun[IrradianceSeries.COS_ZENITH][h], cell.cosZenith.get(h), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void at_shouldRejectLocationOutsideGrid() throws IOException {
+        try (TmyStore tmy = TmyStore.open(buildStore(), 50, 10)) {
+            assertThrows(IllegalArgumentException.class, () -> tmy.at(40, 10));
+            assertThrows(IllegalArgumentException.class, () -> tmy.at(50, 20));
+            assertThrows(IllegalArgumentException.class, () -> tmy.at(Double.NaN, 10));
+        }
+    }
+
+    @Test
+    void open_shouldRejectTruncatedFile() throws IOException {
+        Path store = buildStore();
+        byte[] bytes = Files.readAllBytes(store);
+        Path truncated = dir.resolve("kaputt.tmy");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IllegalStateException.class, () -> TmyStore.open(truncated, 50, 10));
+        assertThrows(IllegalStateException.class, () -> TmyStore.open(dir.resolve("berlin.csv"), 50, 10));
+    }
+
+    @Test
+    void hourlySimulator_shouldUseLocationOfConditions() throws IOException {
+        try (TmyStore tmy = TmyStore.open(buildStore(), 48, 11)) {
+            HourlySimulator simulator = new HourlySimulator(tmy, 0.9, 0.96, 0.2, -0.0037);
+
+            double withoutLocation = simulator.yearlyYield(
+                    new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 30, Direction.SOUTH, 0.0));
+            double berlin = simulator.yearlyYield(
+                    new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 30, Direction.SOUTH, 0.0, 52.3, 13.2));
+
+            // Station Berlin hat die doppelte Einstrahlung der Station München (Standardstandort)
+            assertTrue(berlin > withoutLocation * 1.5);
+        }
+    }
+
+    // ---- Hilfsmethoden ----
+
+    // Raster 48–52 / 9–13 mit 1°, Stationen München (GHI 100) und Berlin (GHI 200)
+    private Path buildStore() throws IOException {
+        pvgisCsv("berlin.csv", 52.5, 13.4, 200);
+        Path munich = epw("muenchen.epw", 48.1, 11.6, 0);
+        Path store = dir.resolve("irradiance.tmy");
+        TmyStoreBuilder.build(List.of(dir.resolve("berlin.csv"), munich), store, 48, 52, 9, 13, 1);
+        return store;
+    }
+
+    // Einstrahlung ghi zwischen 6 und 18 Uhr UTC, sonst 0; 10 °C
+    private Path pvgisCsv(String name, double latitude, double longitude, double ghi) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "Latitude (decimal degrees):\t%.3f", latitude));
+        lines.add(String.format(Locale.ROOT, "Longitude (decimal degrees):\t%.3f", longitude));
+        lines.add("Elevation (m):\t34");
+        lines.add("time(UTC),T2m,RH,G(h),Gb(n),Gd(h),IR(h),WS10m,WD10m,SP");
+        for (int h = 0; h < IrradianceSeries.HOURS_PER_YEAR; h++) {
+            double value = h % 24 >= 6 && h % 24 < 18 ? ghi : 0;
+            lines.add(String.format(Locale.ROOT, "20070101:%02d10,10.0,80,%.1f,%.1f,%.1f,300,2,180,101000",
+                    h % 24, value, value, value / 2));
+        }
+        lines.add("");
+        lines.add("T2m: 2-m air temperature (degree Celsius)");
+        Path file = dir.resolve(name);
+        Files.write(file, lines);
+        return file;
+    }
+
+    // timeZone != 0: GHI = Stundenindex in Ortszeit; timeZone 0: wie pvgisCsv mit GHI 100
+    private Path epw(String name, double latitude, double longitude, int timeZone) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "LOCATION,Muenchen,BY,DEU,TMY,108660,%.2f,%.2f,%d,520", latitude, longitude, timeZone));
+        for (int i = 0; i < 7; i++) {
+            lines.add("HEADER-" + i);
+        }
+        for (int h = 0; h < IrradianceSeries.HOURS_PER_YEAR; h++) {
+            double ghi = timeZone != 0 ? h : (h % 24 >= 6 && h % 24 < 18 ? 100 : 0);
+            lines.add(String.format(Locale.ROOT, "2005,%d,%d,%d,60,?,10.0,5.0,80,101000,0,0,300,%.1f,%.1f,%.1f,0,0,0,0",
+                    h / 24 / 31 + 1, h / 24 % 31 + 1, h % 24 + 1, ghi, ghi, ghi / 2));
+        }
+        Path file = dir.resolve(name);
+        Files.write(file, lines);
+        return file;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UncertaintyModelTest {
+
+    private YieldCalculator calculator;
+    private UncertaintyModel model;
+
+    private final UserInfo info = new UserInfo(30, 2, 4000);
+    private final UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.1);
+
+    @BeforeEach
+    void setUp() {
+        YieldTable table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        calculator = new YieldCalculator(table, table, SelfConsumptionModel.standard());
+        model = new UncertaintyModel(calculator, 10_000, 0.05, 0.05, 0.1, 42L);
+    }
+
+    // =====================================================
+    // Bänder
+    // =====================================================
+
+    @Test
+    void estimate_shouldBracketPointEstimate() {
+        UserResult point = calculator.calculate(info, conditions);
+
+        UncertaintyResult result = model.estimate(info, conditions);
+
+        assertEquals(10_000, result.samples());
+        assertOrdered(result.yearlyYieldKwh());
+        assertOrdered(result.yearlySavingsEur());
+        assertOrdered(result.amortisationTime());
+        assertTrue(result.yearlyYieldKwh().p10() < point.userPossibleElectricityGeneration());
+        assertTrue(result.yearlyYieldKwh().p90() > point.userPossibleElectricityGeneration());
+        assertEquals(point.userPossibleElectricityGeneration(), result.yearlyYieldKwh().p50(),
+                0.03 * point.userPossibleElectricityGeneration());
+        assertEquals(point.userAmortisationTime(), result.amortisationTime().p50(), 0.05 * point.userAmortisationTime());
+    }
+
+    @Test
+    void estimate_shouldBeReproducible() {
+        assertEquals(model.estimate(info, conditions, 5_000), model.estimate(info, conditions, 5_000));
+    }
+
+    @Test
+    void estimate_shouldCollapseWithoutSpread() {
+        UncertaintyModel exact = new UncertaintyModel(calculator, 1_000, 0.0, 0.0, 0.0, 1L);
+        UserResult point = calculator.calculate(info, conditions);
+
+        UncertaintyResult result = exact.estimate(info, conditions);
+
+        assertEquals(calculator.yearlyYield(conditions), result.yearlyYieldKwh().p10(), 1e-9);
+        assertEquals(calculator.yearlyYield(conditions), result.yearlyYieldKwh().p90(), 1e-9);
+        assertEquals(point.userAmortisationTime(), result.amortisationTime().p50(), 0.01);
+    }
+
+    @Test
+    void estimate_shouldWidenWithShadeUncertainty() {
+        UncertaintyModel narrow = new UncertaintyModel(calculator, 10_000, 0.01, 0.0, 0.0, 7L);
+        UncertaintyModel wide = new UncertaintyModel(calculator, 10_000, 0.1, 0.0, 0.0, 7L);
+
+        assertTrue(width(wide.estimate(info, conditions).yearlyYieldKwh())
+                > width(narrow.estimate(info, conditions).yearlyYieldKwh()));
+    }
+
+    @Test
+    void estimate_shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> model.estimate(info, conditions, 10));
+        assertThrows(IllegalArgumentException.class, () -> model.estimate(info, conditions, 1_000_000));
+        assertThrows(IllegalStateException.class, () -> model.estimate(null, conditions));
+        assertThrows(IllegalStateException.class, () -> model.estimate(info, null));
+    }
+
+    @Test
+    void band_shouldUseNearestRank() {
+        double[] values = {5, 1, 4, 2, 3, 10, 9, 8, 7, 6};
+
+        assertEquals(new UncertaintyBand(1, 5, 9), UncertaintyModel.band(values));
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static void assertOrdered(UncertaintyBand band) {
+        assertTrue(band.p10() <= band.p50() && band.p50() <= band.p90(), band.toString());
+    }
+
+    private static double width(UncertaintyBand band) {
+        return band.p90() - band.p10();
+    }
+}
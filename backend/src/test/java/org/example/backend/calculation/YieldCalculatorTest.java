@@ -0,0 +1,153 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YieldCalculatorTest {
+
+    private YieldCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        YieldTable table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        calculator = new YieldCalculator(table, table, SelfConsumptionModel.standard());
+    }
+
+    @Test
+    void calculate_shouldReturnExpectedValuesForSouthOptimalAngle() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(
+                UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
+        );
+
+        UserResult result = calculator.calculate(info, conditions);
+
+        // 1.2 kWp * 1000 kWh/kWp * 0.85 Clipping = 1020 kWh
+        assertEquals(1020, result.userPossibleElectricityGeneration());
+        assertEquals(306, result.userAmountOfPossibleSavings());
+        assertEquals(600.0 / 306, result.userAmortisationTime(), 1e-9);
+        assertEquals(408.0, result.userCo2SavingsKgPerYear(), 1e-9);
+        assertEquals(2.8, result.userDailyYield(), 1e-9);
+    }
+
+    @Test
+    void calculate_shouldBeDeterministic() {
+        UserInfo info = new UserInfo(42, 3, 3500);
+        UserConditions conditions = new UserConditions(
+                UserPvConfig.PREMIUM_PV_COMBI, 45, Direction.SOUTHWEST, 0.15
+        );
+
+        assertEquals(calculator.calculate(info, conditions), calculator.calculate(info, conditions));
+    }
+
+    @Test
+    void calculate_shouldReportBatteryOnlyWhenConfigured() {
+        UserInfo info = new UserInfo(30, 2, 3000);
+        UserConditions withoutBattery = new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        UserConditions withBattery = new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30, Direction.SOUTH, 0.0,
+                null, null, new BatteryConfig(2.0, 0.9, 0.8, 0.8));
+
+        UserResult plain = calculator.calculate(info, withoutBattery);
+        UserResult result = calculator.calculate(info, withBattery);
+        BatteryResult battery = result.userBatteryResult();
+
+        assertNull(plain.userBatteryResult());
+        assertNotNull(battery);
+        assertEquals(plain.userSelfConsumptionRate(), result.userSelfConsumptionRate(), 1e-12);
+        assertTrue(battery.selfConsumptionRate() > result.userSelfConsumptionRate());
+        assertTrue(battery.additionalSelfConsumedKwh() > 0);
+        assertEquals(1000, battery.batteryCostEur());
+        assertTrue(battery.amortisationTime() > 0 && battery.amortisationTime() < Double.MAX_VALUE);
+    }
+
+    @Test
+    void calculate_batteryAmortisation_shouldOnlyCountEnergyThatReachesTheLoad() {
+        UserInfo info = new UserInfo(30, 2, 3000);
+        BatteryResult lossless = calculator.calculate(info, new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30,
+                Direction.SOUTH, 0.0, null, null, new BatteryConfig(2.0, 1.0, 0.8, 0.8))).userBatteryResult();
+        BatteryResult lossy = calculator.calculate(info, new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30,
+                Direction.SOUTH, 0.0, null, null, new BatteryConfig(2.0, 0.5, 0.8, 0.8))).userBatteryResult();
+
+        // Geladen wird mindestens gleich viel, verlustbehaftet kommt aber weniger bei der Last an
+        assertTrue(lossy.selfConsumptionRate() >= lossless.selfConsumptionRate());
+        assertTrue(lossy.additionalSelfConsumedKwh() < lossless.additionalSelfConsumedKwh());
+        assertTrue(lossy.amortisationTime() > lossless.amortisationTime());
+    }
+
+    @Test
+    void calculate_pvOnlyAmortisation_shouldUseSameBasisAsBattery() {
+        UserInfo info = new UserInfo(30, 2, 3000);
+        UserResult result = calculator.calculate(info, new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30,
+                Direction.SOUTH, 0.0, null, null, new BatteryConfig(2.0, 0.9, 0.8, 0.8)));
+        BatteryResult battery = result.userBatteryResult();
+
+        // Eigenverbrauch zum Strompreis, Rest mit 8 ct/kWh vergütet
+        double yield = result.userPossibleElectricityGeneration();
+        double direct = result.userSelfConsumptionRate() * yield;
+        double savings = direct * 0.30 + (yield - direct) * 0.08;
+        assertEquals(UserPvConfig.PREMIUM_PV_COMBI.getInstallationCostEur() / savings,
+                battery.pvOnlyAmortisationTime(), 0.01);
+        assertTrue(battery.pvOnlyAmortisationTime() > result.userAmortisationTime());
+    }
+
+    @Test
+    void sweepBattery_shouldMatchSingleCalculation() {
+        UserInfo info = new UserInfo(30, 3, 3500);
+        BatteryConfig battery = new BatteryConfig(2.0, 0.9, 0.8, 0.8);
+        UserConditions conditions = new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30, Direction.SOUTH, 0.0,
+                null, null, battery);
+
+        List<BatteryOption> options = calculator.sweepBattery(info, conditions, new double[]{1.0, 2.0, 4.0});
+
+        assertEquals(List.of(1.0, 2.0, 4.0), options.stream().map(BatteryOption::capacityKwh).toList());
+        assertEquals(calculator.calculate(info, conditions).userBatteryResult(), options.get(1).result());
+        assertEquals(2000, options.get(2).result().batteryCostEur());
+        assertTrue(options.get(2).result().autarkyRate() >= options.get(0).result().autarkyRate());
+    }
+
+    @Test
+    void sweepBattery_shouldRequireBatteryTemplateAndPositiveCapacities() {
+        UserInfo info = new UserInfo(30, 3, 3500);
+        UserConditions withoutBattery = new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        UserConditions withBattery = new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30, Direction.SOUTH, 0.0,
+                null, null, new BatteryConfig(2.0, 0.9, 0.8, 0.8));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.sweepBattery(info, withoutBattery, new double[]{1.0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.sweepBattery(info, withBattery, new double[]{1.0, 0.0}));
+    }
+
+    @Test
+    void calculate_shouldThrowWhenConditionsMissing() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> calculator.calculate(info, null));
+        assertEquals("UserConditions fehlen.", ex.getMessage());
+    }
+
+    @Test
+    void calculate_shouldThrowWhenInfoMissing() {
+        UserConditions conditions = new UserConditions(
+                UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
+        );
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> calculator.calculate(null, conditions));
+        assertEquals("UserInfo fehlen.", ex.getMessage());
+    }
+
+    @Test
+    void calculate_shouldThrowWhenNoPvConfig() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(null, 30, Direction.SOUTH, 0.0);
+
+        assertThrows(IllegalStateException.class, () -> calculator.calculate(info, conditions));
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.backend.calculation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class YieldResultCacheTest {
+
+    private YieldCalculator calculator;
+    private YieldResultCache cache;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final UserInfo info = new UserInfo(30, 2, 4000);
+    private final UserConditions conditions = new UserConditions(
+            UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
+    );
+
+    @BeforeEach
+    void setUp() {
+        YieldTable table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        calculator = spy(new YieldCalculator(table, table, SelfConsumptionModel.standard()));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new YieldResultCache(calculator, meterRegistry, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    void calculate_shouldReturnSharedResultForSameInputs() {
+        UserResult first = cache.calculate(info, conditions);
+        UserResult second = cache.calculate(new UserInfo(30, 2, 4000),
+                new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0));
+
+        assertSame(first, second);
+        verify(calculator, times(1)).calculate(any(), any());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void calculate_shouldMatchCalculatorResult() {
+        YieldTable table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        assertEquals(new YieldCalculator(table, table, SelfConsumptionModel.standard()).calculate(info, conditions),
+                cache.calculate(info, conditions));
+    }
+
+    @Test
+    void calculate_shouldTimeOnlyCacheMisses() {
+        cache.calculate(info, conditions);
+        cache.calculate(info, conditions);
+
+        assertEquals(1, meterRegistry.get("solarcheck.calculation").timer().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "yieldResults").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void calculate_shouldDistinguishDifferentInputs() {
+        UserResult south = cache.calculate(info, conditions);
+        UserResult shaded = cache.calculate(info,
+                new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.1));
+        UserResult otherRate = cache.calculate(new UserInfo(31, 2, 4000), conditions);
+
+        assertNotEquals(south, shaded);
+        assertNotEquals(south, otherRate);
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void calculate_shouldNotCacheIncompleteInputs() {
+        assertThrows(IllegalStateException.class, () -> cache.calculate(info, null));
+        assertThrows(IllegalStateException.class, () -> cache.calculate(null, conditions));
+        assertThrows(IllegalStateException.class,
+                () -> cache.calculate(info, new UserConditions(null, 30, Direction.SOUTH, 0.0)));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidateAll_shouldForceRecalculation() {
+        cache.calculate(info, conditions);
+        cache.invalidateAll();
+        cache.calculate(info, conditions);
+
+        verify(calculator, times(2)).calculate(any(), any());
+    }
+
+    @Test
+    void fingerprint_shouldBeEqualForEqualInputsOnly() {
+        YieldResultCache.Fingerprint a = YieldResultCache.Fingerprint.of(info, conditions);
+        YieldResultCache.Fingerprint b = YieldResultCache.Fingerprint.of(new UserInfo(30, 2, 4000), conditions);
+        YieldResultCache.Fingerprint otherHousehold = YieldResultCache.Fingerprint.of(new UserInfo(30, 3, 4000), conditions);
+        YieldResultCache.Fingerprint otherDirection = YieldResultCache.Fingerprint.of(info,
+                new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTHEAST, 0.0));
+        YieldResultCache.Fingerprint negativeAngle = YieldResultCache.Fingerprint.of(info,
+                new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, -1, Direction.SOUTH, 0.0));
+        YieldResultCache.Fingerprint withLocation = YieldResultCache.Fingerprint.of(info,
+                new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0, 52.5, 13.4));
+        YieldResultCache.Fingerprint withBattery = YieldResultCache.Fingerprint.of(info,
+                new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0, null, null,
+                        new BatteryConfig(2.0, 0.9, 0.8, 0.8)));
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, otherHousehold);
+        assertNotEquals(a, otherDirection);
+        assertNotEquals(a, negativeAngle);
+        assertNotEquals(a, withLocation);
+        assertNotEquals(a, withBattery);
+    }
+
+    @Test
+    void fingerprint_shouldChangeWhenCatalogEntryChanges() {
+        try {
+            YieldResultCache.Fingerprint before = YieldResultCache.Fingerprint.of(info, conditions);
+            ProductCatalog.install(List.of(new PvProduct("MEDIUM_PV_COMBI", 3, 450, 800, 650, 0.85)));
+
+            assertNotEquals(before, YieldResultCache.Fingerprint.of(info, conditions));
+        } finally {
+            ProductCatalog.install(List.of());
+        }
+    }
+}
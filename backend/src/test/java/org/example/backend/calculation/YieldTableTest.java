@@ -0,0 +1,153 @@
+package org.example.backend.calculation;
+
+import org.example.backend.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YieldTableTest {
+
+    private YieldTable table;
+    private YieldCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        calculator = new YieldCalculator(table, table, SelfConsumptionModel.standard());
+    }
+
+    @Test
+    void yearlyYield_shouldMatchFactorFormulaForWholeInputSpace() {
+        for (UserPvConfig config : UserPvConfig.values()) {
+            for (Direction direction : Direction.values()) {
+                for (int angle = 0; angle <= 90; angle++) {
+                    for (int shadeStep = 0; shadeStep <= 20; shadeStep++) {
+                        double shade = shadeStep / 20.0;
+                        assertEquals(
+                                referenceYearlyYield(config, direction, angle, shade),
+                                table.yearlyYield(config, direction, angle, shade),
+                                "config=" + config + " direction=" + direction + " angle=" + angle + " shade=" + shade
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void yearlyYield_shouldClampAnglesOutsideTable() {
+        assertEquals(
+                table.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 0, 0.0),
+                table.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, -10, 0.0)
+        );
+        assertEquals(
+                table.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 90, 0.0),
+                table.yearlyYield(UserPvConfig.CHEAP_PV_COMBI, Direction.SOUTH, 120, 0.0)
+        );
+    }
+
+    @Test
+    void calculator_shouldMatchPreviousUserServiceOutput() {
+        UserInfo[] infos = {
+                new UserInfo(1, 1, 1),
+                new UserInfo(30, 2, 4000),
+                new UserInfo(42, 4, 2500),
+                new UserInfo(100, 20, 100000),
+                new UserInfo(30, 2, 0)
+        };
+
+        for (UserInfo info : infos) {
+            for (UserPvConfig config : UserPvConfig.values()) {
+                for (Direction direction : Direction.values()) {
+                    for (int angle = 0; angle <= 90; angle += 5) {
+                        for (int shadeStep = 0; shadeStep <= 10; shadeStep++) {
+                            UserConditions conditions = new UserConditions(config, angle, direction, shadeStep / 10.0);
+                            UserResult expected = referenceResult(info, conditions);
+                            UserResult actual = calculator.calculate(info, conditions);
+
+                            assertEquals(expected.userPossibleElectricityGeneration(), actual.userPossibleElectricityGeneration());
+                            assertEquals(expected.userAmountOfPossibleSavings(), actual.userAmountOfPossibleSavings());
+                            assertEquals(expected.userAmortisationTime(), actual.userAmortisationTime());
+                            assertEquals(expected.userLifetimeYieldKwh(), actual.userLifetimeYieldKwh(), 1e-6);
+                            assertEquals(expected.userCo2SavingsKgPerYear(), actual.userCo2SavingsKgPerYear());
+                            assertEquals(expected.userDailyYield(), actual.userDailyYield());
+                            assertEquals(expected.userDailySavings(), actual.userDailySavings());
+                            assertEquals(expected.userHomeofficeCoverageRate(), actual.userHomeofficeCoverageRate());
+                            assertEquals(expected.userDailyEBikeRangeKm(), actual.userDailyEBikeRangeKm());
+                            assertEquals(expected.userDailyECarRangeKm(), actual.userDailyECarRangeKm());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // ----------------------------------------------------
+    //  Referenz: Berechnung wie bisher in UserService
+    //  (ohne Eigenverbrauch/Autarkie → stündliches Modell, siehe SelfConsumptionModelTest)
+    // ----------------------------------------------------
+
+    private static double referenceYearlyYield(UserPvConfig config, Direction direction, int angle, double shade) {
+        return config.getTotalModuleKwp()
+                * referenceDirectionFactor(direction)
+                * referenceAngleFactor(angle)
+                * (1 - shade)
+                * 1000
+                * config.getClippingFactor();
+    }
+
+    private static UserResult referenceResult(UserInfo info, UserConditions conditions) {
+        UserPvConfig pvConfig = conditions.userPvConfig();
+        double yearlyYield = referenceYearlyYield(
+                pvConfig, conditions.montageDirection(), conditions.montageAngle(), conditions.montageShadeFactor());
+
+        int possibleElectricity = (int) Math.round(yearlyYield);
+        double pricePerKwh = info.userRateOfElectricity() / 100.0;
+        int savings = (int) Math.round(possibleElectricity * pricePerKwh);
+        double amortisationTime = savings > 0
+                ? (double) pvConfig.getInstallationCostEur() / savings
+                : Double.MAX_VALUE;
+
+        double lifetimeYield = 0.0;
+        double yearlyFactor = 1.0;
+        for (int y = 0; y < 25; y++) {
+            lifetimeYield += yearlyYield * yearlyFactor;
+            yearlyFactor *= (1.0 - 0.005);
+        }
+
+        double dailyYield = round(yearlyYield / 365.0);
+        return new UserResult(
+                possibleElectricity,
+                savings,
+                amortisationTime,
+                lifetimeYield,
+                possibleElectricity * 0.4,
+                0.0,
+                0.0,
+                dailyYield,
+                round(dailyYield * pricePerKwh),
+                round(Math.min(100.0, (dailyYield / 3.0) * 100.0)),
+                round(dailyYield / 0.015),
+                round(dailyYield / 0.17)
+        );
+    }
+
+    private static double referenceDirectionFactor(Direction direction) {
+        return switch (direction) {
+            case SOUTH -> 1.0;
+            case SOUTHEAST, SOUTHWEST -> 0.95;
+            case EAST, WEST -> 0.8;
+            case NORTHEAST, NORTHWEST -> 0.65;
+            case NORTH -> 0.5;
+        };
+    }
+
+    private static double referenceAngleFactor(int angle) {
+        return Math.max(1.0 - Math.abs(angle - 30) * 0.01, 0.6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
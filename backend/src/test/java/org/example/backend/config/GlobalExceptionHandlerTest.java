@@ -1,7 +1,10 @@
 package org.example.backend.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.service.PreconditionFailedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -16,10 +19,12 @@ import static org.junit.jupiter.api.Assertions.*;
 class GlobalExceptionHandlerTest {
 
     private GlobalExceptionHandler handler;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        handler = new GlobalExceptionHandler();
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(meterRegistry);
     }
 
     @Test
@@ -86,6 +91,35 @@ class GlobalExceptionHandlerTest {
         assertEquals("Invalid user ID", response.getBody().get("error"));
     }
 
+    @Test
+    void handleOptimisticLocking_ShouldReturnConflict() {
+        // Arrange
+        OptimisticLockingFailureException ex =
+                new OptimisticLockingFailureException("User 1 wurde zwischenzeitlich geändert");
+
+        // Act
+        ResponseEntity<Map<String, String>> response = handler.handleOptimisticLocking(ex);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody(), "Response body should not be null");
+        assertEquals("User 1 wurde zwischenzeitlich geändert", response.getBody().get("error"));
+    }
+
+    @Test
+    void handlePreconditionFailed_ShouldReturnPreconditionFailed() {
+        // Arrange
+        PreconditionFailedException ex = new PreconditionFailedException("User 1 hat nicht mehr Version 4");
+
+        // Act
+        ResponseEntity<Map<String, String>> response = handler.handlePreconditionFailed(ex);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertNotNull(response.getBody(), "Response body should not be null");
+        assertEquals("User 1 hat nicht mehr Version 4", response.getBody().get("error"));
+    }
+
     @Test
     void handleGenericException_ShouldReturnInternalServerError() {
         // Arrange
@@ -101,4 +135,19 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody(), "Response body should not be null");
         assertEquals("Ein unerwarteter Fehler ist aufgetreten", response.getBody().get("error"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void handlers_ShouldCountExceptionsPerHandlerAndType() {
+        handler.handleIllegalArgument(new IllegalArgumentException("a"));
+        handler.handleIllegalArgument(new IllegalArgumentException("b"));
+        handler.handleIllegalState(new IllegalStateException("c"));
+
+        assertEquals(2.0, meterRegistry.get("solarcheck.exceptions")
+                .tag("handler", "illegal_argument")
+                .tag("exception", "IllegalArgumentException")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("solarcheck.exceptions")
+                .tag("handler", "illegal_state")
+                .counter().count());
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.controller.ReactiveUserController;
+import org.example.backend.controller.UserController;
+import org.example.backend.dto.UserResponseDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.mapper.UserResponseMapping;
+import org.example.backend.model.*;
+import org.example.backend.service.ReactiveUserService;
+import org.example.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Content Negotiation JSON/CBOR/Smile auf beiden Stacks, ohne Datenbank
+class WireFormatConfigTest {
+
+    private final WireFormatConfig config = new WireFormatConfig();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JacksonConfig().userJsonModule(new SimpleMeterRegistry()));
+    private final UserMapper mapper = new UserMapper();
+    private final User user = new User("1",
+            new UserInfo(30, 3, 5000),
+            new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0),
+            new UserResult(1020, 306, 2.0, 24027.1, 408.0, 0.7, 0.2, 2.8, 0.8, 93.3, 186.7, 16.5),
+            2L);
+
+    private MockMvc servlet() {
+        UserService userService = mock(UserService.class);
+        when(userService.getUser("1")).thenReturn(user);
+        return MockMvcBuilders
+                .standaloneSetup(new UserController(userService, mapper, objectMapper,
+                        Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ZERO))
+                .setMessageConverters(
+                        new MappingJackson2HttpMessageConverter(objectMapper),
+                        config.cborHttpMessageConverter(builder()),
+                        config.smileHttpMessageConverter(builder()))
+                .build();
+    }
+
+    // ===============================
+    // Servlet-Stack
+    // ===============================
+    @Test
+    void servlet_withoutAccept_shouldStayJson() throws Exception {
+        servlet().perform(get("/api/home/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void servlet_cborAndSmile_shouldDecodeToSameResponse() throws Exception {
+        MockMvc mvc = servlet();
+        byte[] cbor = mvc.perform(get("/api/home/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mvc.perform(get("/api/home/1").accept(WireFormatConfig.APPLICATION_SMILE))
+                .andExpect(content().contentTypeCompatibleWith(WireFormatConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        UserResponseDTO expected = UserResponseMapping.toUserResponseDTO(mapper, user);
+        assertEquals(expected, WireFormatConfig.cborMapper(new Jackson2ObjectMapperBuilder()).readValue(cbor, UserResponseDTO.class));
+        assertEquals(expected, WireFormatConfig.smileMapper(new Jackson2ObjectMapperBuilder()).readValue(smile, UserResponseDTO.class));
+    }
+
+    // ===============================
+    // Reaktiver Stack
+    // ===============================
+    @Test
+    void reactive_cborAndSmile_shouldDecodeToSameResponse() throws Exception {
+        ReactiveUserService userService = mock(ReactiveUserService.class);
+        when(userService.getUser("1")).thenReturn(Mono.just(user));
+        WebTestClient client = WebTestClient
+                .bindToController(new ReactiveUserController(userService, mapper, objectMapper))
+                .httpMessageCodecs(config.binaryCodecCustomizer(builder())::customize)
+                .build();
+
+        byte[] cbor = client.get().uri("/api/home/1").accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+        byte[] smile = client.get().uri("/api/home/1").accept(WireFormatConfig.APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(WireFormatConfig.APPLICATION_SMILE)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        UserResponseDTO expected = UserResponseMapping.toUserResponseDTO(mapper, user);
+        assertEquals(expected, WireFormatConfig.cborMapper(new Jackson2ObjectMapperBuilder()).readValue(cbor, UserResponseDTO.class));
+        assertEquals(expected, WireFormatConfig.smileMapper(new Jackson2ObjectMapperBuilder()).readValue(smile, UserResponseDTO.class));
+    }
+
+    // ---- Hilfsmethoden ----
+
+    // Wie der Builder von Boot: mit dem User-Modul aus JacksonConfig
+    private static Jackson2ObjectMapperBuilder builder() {
+        return new Jackson2ObjectMapperBuilder()
+                .modulesToInstall(new JacksonConfig().userJsonModule(new SimpleMeterRegistry()));
+    }
+}
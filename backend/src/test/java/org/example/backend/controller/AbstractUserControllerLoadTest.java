@@ -0,0 +1,172 @@
+package org.example.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dto.UserConditionsDTO;
+import org.example.backend.dto.UserInfoDTO;
+import org.example.backend.model.Direction;
+import org.example.backend.model.UserPvConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Lasttest gegen den laufenden Server (echter Webserver, Embedded MongoDB).
+ * Läuft nicht im normalen Build, nur mit {@code mvn -P load-test test}
+ * (Parallelität z.B. mit {@code -Dload.concurrency=10000}).
+ * Die Servlet-Varianten begrenzen Tomcat auf wenige Plattform-Threads; mit virtuellen
+ * Threads oder WebFlux greift diese Grenze nicht, dann limitiert nur noch der Mongo-Pool.
+ * Neben Durchsatz und Latenz werden Thread-Spitze und Heap geloggt.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=32",
+        "solarcheck.mongo.pool.max-size=100"
+})
+abstract class AbstractUserControllerLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractUserControllerLoadTest.class);
+
+    private static final int USERS = 200;
+    private static final int REQUESTS = 20_000;
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 256);
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> userIds = new ArrayList<>();
+    private HttpClient client;
+
+    // Users über die API anlegen, damit der Test für beide Stacks (Servlet/WebFlux) gleich bleibt
+    @BeforeEach
+    void setup() throws Exception {
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        userIds.clear();
+
+        for (int i = 0; i < USERS; i++) {
+            String userId = objectMapper.readTree(send("POST", "", null)).get("userId").asText();
+            send("PUT", userId + "/info", new UserInfoDTO(30, 1 + i % 5, 2000 + i * 10));
+            send("PUT", userId + "/conditions", new UserConditionsDTO(
+                    UserPvConfig.values()[i % UserPvConfig.values().length],
+                    i % 91, Direction.values()[i % Direction.values().length], 0.0));
+            userIds.add(userId);
+        }
+    }
+
+    @Test
+    void mixedReadAndCalculateLoad() throws Exception {
+        // Aufwärmen (JIT, Connection-Pool)
+        run(REQUESTS / 10);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        long[] latencies = run(REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        // Client und Server laufen in derselben JVM: die Werte taugen zum Vergleich der Varianten
+        Arrays.sort(latencies);
+        logger.info("{}: {} Requests, Parallelität {} -> {} req/s, p50 {} ms, p99 {} ms, Threads max {}, Heap {} MB",
+                getClass().getSimpleName(), REQUESTS, CONCURRENCY,
+                Math.round(REQUESTS / seconds),
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                threads.getPeakThreadCount(), heap.getUsed() >> 20);
+    }
+
+    // ---- Hilfsmethoden ----
+
+    // Jeder vierte Request berechnet das Ergebnis neu (Schreibpfad), der Rest liest.
+    // 409 ist bei parallelen Berechnungen desselben Users erlaubt (Optimistic Locking).
+    private long[] run(int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        String base = "http://localhost:" + port + "/api/home/";
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                int n = i;
+                String userId = userIds.get(n % userIds.size());
+                HttpRequest request = n % 4 == 0
+                        ? HttpRequest.newBuilder(URI.create(base + userId + "/result"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build()
+                        : HttpRequest.newBuilder(URI.create(base + userId)).GET().build();
+
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 409) {
+                            conflicts.incrementAndGet();
+                        } else if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        latencies[n] = System.nanoTime() - t0;
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(0, failures.get(), "Fehlgeschlagene Requests");
+        if (conflicts.get() > 0) {
+            logger.info("{} Konflikte (409) bei parallelen Berechnungen", conflicts.get());
+        }
+        return latencies;
+    }
+
+    private String send(String method, String path, Object body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/home" + (path.isEmpty() ? "" : "/" + path)))
+                .header("Content-Type", "application/json")
+                .method(method, publisher)
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return response.body();
+    }
+
+    private static double percentile(long[] sortedNanos, double p) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(p * sortedNanos.length) - 1);
+        return Math.round(sortedNanos[Math.max(0, index)] / 1e4) / 100.0;
+    }
+}
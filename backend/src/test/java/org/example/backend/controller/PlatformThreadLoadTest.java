@@ -0,0 +1,8 @@
+package org.example.backend.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Standard: ein Plattform-Thread pro Request
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadLoadTest extends AbstractUserControllerLoadTest {
+}
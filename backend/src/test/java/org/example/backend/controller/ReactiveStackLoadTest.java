@@ -0,0 +1,8 @@
+package org.example.backend.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+// WebFlux auf Netty + reaktiver Mongo-Treiber (Profil "reactive")
+@ActiveProfiles("reactive")
+class ReactiveStackLoadTest extends AbstractUserControllerLoadTest {
+}
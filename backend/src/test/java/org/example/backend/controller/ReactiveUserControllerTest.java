@@ -0,0 +1,344 @@
+package org.example.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.GlobalExceptionHandler;
+import org.example.backend.config.JacksonConfig;
+import org.example.backend.dto.UserBatchRequestDTO;
+import org.example.backend.dto.UserBatchResultDTO;
+import org.example.backend.dto.UserInfoDTO;
+import org.example.backend.dto.UserResponseDTO;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.model.*;
+import org.example.backend.service.PreconditionFailedException;
+import org.example.backend.service.ReactiveUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// WebFlux-Handler ohne Datenbank: Service gemockt, gleicher Vertrag wie UserControllerTest
+class ReactiveUserControllerTest {
+
+    private ReactiveUserService userService;
+    private WebTestClient client;
+
+    private final UserInfo info = new UserInfo(30, 3, 5000);
+    private final UserConditions conditions = new UserConditions(
+            UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
+    );
+
+    private static final UserResult RESULT =
+            new UserResult(1020, 306, 2.0, 24027.1, 408.0, 0.7, 0.2, 2.8, 0.8, 93.3, 186.7, 16.5);
+
+    @BeforeEach
+    void setup() {
+        userService = mock(ReactiveUserService.class);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JacksonConfig().userJsonModule(new SimpleMeterRegistry()));
+        client = WebTestClient
+                .bindToController(new ReactiveUserController(userService, new UserMapper(), objectMapper))
+                .controllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .httpMessageCodecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+    }
+
+    // ===============================
+    // Generate / Get User
+    // ===============================
+    @Test
+    void testGenerateUser() {
+        when(userService.generateUser()).thenReturn(Mono.just(new User("1", null, null, null, 0L)));
+
+        client.post().uri("/api/home")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"0\"")
+                .expectBody().jsonPath("$.userId").isEqualTo("1");
+    }
+
+    @Test
+    void testGetUser_notModified() {
+        when(userService.getUser("1")).thenReturn(Mono.just(new User("1", info, null, null, 2L)));
+
+        client.get().uri("/api/home/1")
+                .header("If-None-Match", "\"2\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testGetUser_notFound() {
+        when(userService.getUser("999"))
+                .thenReturn(Mono.error(new IllegalArgumentException("User mit ID 999 nicht gefunden")));
+
+        client.get().uri("/api/home/999")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("User mit ID 999 nicht gefunden");
+    }
+
+    // ===============================
+    // Update UserInfo
+    // ===============================
+    @Test
+    void testUpdateUserinfo_valid() {
+        when(userService.updateUserinfo("1", info, 1L)).thenReturn(Mono.just(new User("1", info, null, null, 2L)));
+
+        client.put().uri("/api/home/1/info")
+                .header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserInfoDTO(30, 3, 5000))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"")
+                .expectBody().jsonPath("$.userInfo.userHouseholdNumber").isEqualTo(3);
+    }
+
+    @Test
+    void testUpdateUserinfo_invalid() {
+        client.put().uri("/api/home/1/info")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserInfoDTO(150, 3, 5000))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation failed")
+                .jsonPath("$.fieldErrors.userRateOfElectricity").exists();
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void testUpdateUserConditions_onlyLatitude_shouldReturnBadRequest() {
+        client.put().uri("/api/home/1/conditions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"userPvConfig":"MEDIUM_PV_COMBI","montageAngle":30,"montageDirection":"SOUTH",
+                         "montageShadeFactor":0.0,"latitude":52.5}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Breiten- und Längengrad nur gemeinsam angeben");
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void testUpdateUserinfo_invalidIfMatch() {
+        client.put().uri("/api/home/1/info")
+                .header("If-Match", "abc")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserInfoDTO(30, 3, 5000))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    // ===============================
+    // Calculate Result
+    // ===============================
+    @Test
+    void testCalculateUserResult_staleIfMatch() {
+        when(userService.calculateUserResult("1", 1L))
+                .thenReturn(Mono.error(new PreconditionFailedException("User 1 hat nicht mehr Version 1")));
+
+        client.post().uri("/api/home/1/result")
+                .header("If-Match", "\"1\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void testCalculateUserResult_conflict() {
+        when(userService.calculateUserResult("1", 1L))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("User 1 wurde zwischenzeitlich geändert")));
+
+        client.post().uri("/api/home/1/result")
+                .header("If-Match", "\"1\"")
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testPreview() {
+        when(userService.previewUserResult(info, conditions)).thenReturn(RESULT);
+
+        client.post().uri("/api/home/preview")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"userInfo":{"userRateOfElectricity":30,"userHouseholdNumber":3,"userElectricityConsumption":5000},
+                         "userConditions":{"userPvConfig":"MEDIUM_PV_COMBI","montageAngle":30,"montageDirection":"SOUTH","montageShadeFactor":0.0}}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.userPossibleElectricityGeneration").isEqualTo(1020);
+    }
+
+    @Test
+    void testPreviewBatterySweep() {
+        when(userService.previewBatterySweep(eq(info), any(UserConditions.class), aryEq(new double[]{1.0, 2.5})))
+                .thenReturn(List.of(
+                        new BatteryOption(1.0, new BatteryResult(0.5, 0.3, 120.04, 500, 9.0, 8.0, 250.0)),
+                        new BatteryOption(2.5, new BatteryResult(0.6, 0.4, 300.0, 1250, 10.0, 8.0, 180.0))));
+
+        client.post().uri("/api/home/preview/battery-sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"userInfo":{"userRateOfElectricity":30,"userHouseholdNumber":3,"userElectricityConsumption":5000},
+                         "userConditions":{"userPvConfig":"MEDIUM_PV_COMBI","montageAngle":30,"montageDirection":"SOUTH","montageShadeFactor":0.0,
+                           "battery":{"capacityKwh":2.0,"roundTripEfficiency":0.9,"maxChargeKw":0.8,"maxDischargeKw":0.8}},
+                         "capacitiesKwh":[1.0,2.5]}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].capacityKwh").isEqualTo(1.0)
+                .jsonPath("$[0].result.additionalSelfConsumedKwh").isEqualTo(120.0)
+                .jsonPath("$[1].result.batteryCostEur").isEqualTo(1250)
+                .jsonPath("$[1].result.pvOnlyAmortisationTime").isEqualTo(8.0);
+    }
+
+    @Test
+    void testPreviewBatterySweep_withoutCapacities_shouldReturnBadRequest() {
+        client.post().uri("/api/home/preview/battery-sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"userInfo":{"userRateOfElectricity":30,"userHouseholdNumber":3,"userElectricityConsumption":5000},
+                         "userConditions":{"userPvConfig":"MEDIUM_PV_COMBI","montageAngle":30,"montageDirection":"SOUTH","montageShadeFactor":0.0},
+                         "capacitiesKwh":[]}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    // ===============================
+    // Live-Ergebnisse (SSE)
+    // ===============================
+    @Test
+    void testStreamUserResult_sendsResultEvents() {
+        when(userService.streamUserResult("1")).thenReturn(Flux.just(new User("1", info, conditions, RESULT, 2L)));
+
+        client.get().uri("/api/home/1/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .value(body -> {
+                    assertTrue(body.contains("id:2\n"));
+                    assertTrue(body.contains("event:result\n"));
+                    assertTrue(body.contains("\"userPossibleElectricityGeneration\":1020"));
+                });
+    }
+
+    @Test
+    void testStreamUserResult_notFound() {
+        when(userService.streamUserResult("999"))
+                .thenReturn(Flux.error(new IllegalArgumentException("User mit ID 999 nicht gefunden")));
+
+        client.get().uri("/api/home/999/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    // ===============================
+    // Batch (NDJSON)
+    // ===============================
+    @Test
+    void testCalculateUserResults_streamsNdjson() {
+        when(userService.calculateUserResults(List.of("1", "2"))).thenReturn(Flux.just(
+                UserBatchOutcome.success(new User("1", info, conditions, RESULT, 2L)),
+                UserBatchOutcome.failure("2", "User mit ID 2 nicht gefunden")
+        ));
+
+        client.post().uri("/api/home/results")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserBatchRequestDTO(List.of("1", "2")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(UserBatchResultDTO.class)
+                .value(lines -> {
+                    assertEquals(2, lines.size());
+                    assertEquals(1020, lines.get(0).userResult().userPossibleElectricityGeneration());
+                    assertEquals("User mit ID 2 nicht gefunden", lines.get(1).error());
+                });
+    }
+
+    @Test
+    void testCalculateUserResults_emptyRequest() {
+        client.post().uri("/api/home/results")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserBatchRequestDTO(List.of()))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).calculateUserResults(anyCollection());
+    }
+
+    // ===============================
+    // Export
+    // ===============================
+    @Test
+    void testExportUsers_ndjson() {
+        when(userService.exportUsers(any())).thenReturn(Flux.just(
+                new User("1", info, conditions, RESULT, 2L),
+                new User("2", null, null, null, 0L)
+        ));
+
+        client.get().uri("/api/home/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(UserResponseDTO.class)
+                .value(lines -> {
+                    assertEquals(2, lines.size());
+                    assertEquals(1020, lines.get(0).userResult().userPossibleElectricityGeneration());
+                    assertEquals("2", lines.get(1).userId());
+                });
+        verify(userService).exportUsers(UserExportFilter.none());
+    }
+
+    @Test
+    void testExportUsers_csvWithFilter() {
+        when(userService.exportUsers(any())).thenReturn(Flux.just(new User("1", info, conditions, RESULT, 2L)));
+
+        String body = client.get().uri("/api/home/export?format=CSV&pvConfig=MEDIUM_PV_COMBI"
+                        + "&createdFrom=2026-01-01T00:00:00Z&onlyWithResult=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("text/csv")
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(UserMapper.CSV_HEADER.trim(), lines[0]);
+        assertTrue(lines[1].startsWith("1,,30,3,5000,,MEDIUM_PV_COMBI,30,SOUTH,0.0,,,,1020,306,2.0,"), lines[1]);
+        verify(userService).exportUsers(new UserExportFilter(
+                UserPvConfig.MEDIUM_PV_COMBI, Instant.parse("2026-01-01T00:00:00Z"), null, true));
+    }
+
+    @Test
+    void testExportUsers_invalidRange() {
+        client.get().uri("/api/home/export?createdFrom=2026-02-01T00:00:00Z&createdTo=2026-01-01T00:00:00Z")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).exportUsers(any());
+    }
+}
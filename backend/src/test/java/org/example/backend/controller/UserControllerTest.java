@@ -1,9 +1,13 @@
 package org.example.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dto.UserBatchRequestDTO;
 import org.example.backend.dto.UserConditionsDTO;
 import org.example.backend.dto.UserInfoDTO;
+import org.example.backend.dto.UserPreviewRequestDTO;
 import org.example.backend.model.Direction;
+import org.example.backend.model.User;
+import org.example.backend.model.UserInfo;
 import org.example.backend.model.UserPvConfig;
 import org.example.backend.repo.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,8 +17,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -181,6 +193,204 @@ class UserControllerTest {
                 .andExpect(content().string(containsString("UserConditions fehlen")));
     }
 
+    // ===============================
+    // ETag / If-Match / If-None-Match
+    // ===============================
+    @Test
+    void testGetUser_returnsEtagAndNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/home/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.userId").value(userId))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/home/" + userId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testUpdateUserinfo_ifMatch() throws Exception {
+        UserInfoDTO info = new UserInfoDTO(30, 3, 5000);
+
+        String etag = mockMvc.perform(get("/api/home/" + userId))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Passende Version → Update, neue Version im ETag
+        String newEtag = mockMvc.perform(put("/api/home/" + userId + "/info")
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(info)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+
+        // Veraltete Version → 412
+        mockMvc.perform(put("/api/home/" + userId + "/info")
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(info)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testGetUser_notFound() throws Exception {
+        mockMvc.perform(get("/api/home/unknown"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===============================
+    // Live-Ergebnisse (SSE)
+    // ===============================
+    @Test
+    void testStreamUserResult_usesEmitterTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/home/" + userId + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // max-lifetime (30 min) + Reserve, nur für diesen Stream statt als globaler Async-Timeout
+        assertEquals(Duration.ofMinutes(35).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+
+    // ===============================
+    // Preview User Result
+    // ===============================
+    @Test
+    void testPreviewUserResult_doesNotPersist() throws Exception {
+        UserPreviewRequestDTO preview = new UserPreviewRequestDTO(
+                new UserInfoDTO(30, 3, 5000),
+                new UserConditionsDTO(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0)
+        );
+        long usersBefore = userRepository.count();
+
+        mockMvc.perform(post("/api/home/preview")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(preview)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userPossibleElectricityGeneration").value(1020))
+                .andExpect(jsonPath("$.userAmountOfPossibleSavings").value(306));
+
+        assertEquals(usersBefore, userRepository.count());
+    }
+
+    @Test
+    void testPreviewUserResult_invalid() throws Exception {
+        UserPreviewRequestDTO preview = new UserPreviewRequestDTO(
+                new UserInfoDTO(30, 3, 5000),
+                new UserConditionsDTO(UserPvConfig.MEDIUM_PV_COMBI, 150, Direction.SOUTH, 0.0)
+        );
+
+        mockMvc.perform(post("/api/home/preview")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(preview)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===============================
+    // Calculate User Results (Batch)
+    // ===============================
+    @Test
+    void testCalculateUserResults_streamsNdjson() throws Exception {
+        UserInfoDTO info = new UserInfoDTO(30, 3, 5000);
+        UserConditionsDTO conditions = new UserConditionsDTO(
+                UserPvConfig.MEDIUM_PV_COMBI,
+                30,
+                Direction.SOUTH,
+                0.0
+        );
+
+        mockMvc.perform(put("/api/home/" + userId + "/info")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(info)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/home/" + userId + "/conditions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(conditions)))
+                .andExpect(status().isOk());
+
+        UserBatchRequestDTO batchRequest = new UserBatchRequestDTO(List.of(userId, "unknown"));
+
+        MvcResult asyncResult = mockMvc.perform(post("/api/home/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).get("userResult").has("userPossibleElectricityGeneration"));
+        assertTrue(objectMapper.readTree(lines[1]).get("error").asText().contains("unknown"));
+    }
+
+    @Test
+    void testCalculateUserResults_emptyRequest() throws Exception {
+        mockMvc.perform(post("/api/home/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserBatchRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ===============================
+    // Export
+    // ===============================
+    @Test
+    void testExportUsers_ndjsonAndCsv() throws Exception {
+        mockMvc.perform(put("/api/home/" + userId + "/info")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserInfoDTO(30, 3, 5000))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/home"))
+                .andExpect(status().isOk());
+
+        MvcResult ndjson = mockMvc.perform(get("/api/home/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] lines = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+
+        MvcResult csv = mockMvc.perform(get("/api/home/export")
+                        .param("format", "CSV")
+                        .param("createdFrom", "2020-01-01T00:00:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.startsWith("userId,createdAt,"));
+        assertTrue(body.contains(userId + ","));
+        assertEquals(3, body.split("\n").length);
+    }
+
+    @Test
+    void testExportUsers_moreThanOneCursorBatch_shouldStreamAllWithoutAsyncTimeout() throws Exception {
+        // Mehr als EXPORT_BATCH_SIZE (1000) Dokumente → mehrere Cursor-Roundtrips in einem Export
+        userRepository.saveAll(IntStream.range(0, 2500)
+                .mapToObj(i -> new User(null, new UserInfo(30, 3, 3000 + i), null, null))
+                .toList());
+
+        MvcResult export = mockMvc.perform(get("/api/home/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Eigener Timeout (Standard 0 = ohne Limit), nicht spring.mvc.async.request-timeout
+        assertEquals(-1, export.getRequest().getAsyncContext().getTimeout());
+
+        String[] lines = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(2501, lines.length);
+        assertTrue(lines[2500].endsWith("}"));
+    }
+
     // ===============================
     // Extremwerttests
     // ===============================
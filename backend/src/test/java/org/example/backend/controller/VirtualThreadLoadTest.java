@@ -0,0 +1,8 @@
+package org.example.backend.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Tomcat und blockierende Repository-Aufrufe auf virtuellen Threads
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadLoadTest extends AbstractUserControllerLoadTest {
+}
@@ -0,0 +1,171 @@
+package org.example.backend.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.JacksonConfig;
+import org.example.backend.dto.UserResponseDTO;
+import org.example.backend.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class UserJsonSerializerTest {
+
+    private final UserMapper mapper = new UserMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SimpleModule userModule = new JacksonConfig().userJsonModule(meterRegistry);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(userModule);
+
+    private static final User FULL_USER = new User("u1",
+            new UserInfo(30, 2, 4000),
+            new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 35, Direction.SOUTH, 0.15, 52.5205, 13.4,
+                    new BatteryConfig(2.0, 0.9, 0.8, 0.8)),
+            new UserResult(1234, 567, 12.345, 25000.04, 1500.666, 0.45, 0.38, 3.44, 1.0, 100.0, 200.0, 20.0,
+                    new BatteryResult(0.666, 0.555, 321.444, 1000, 9.876, 7.25, 187.25)),
+            3L);
+
+    // Eingaben mit höchstens einer Nachkommastelle (wie aus dem Formular); beliebige Koordinaten laufen über writeNumber
+    private static final User FORM_USER = new User("u4",
+            new UserInfo(30, 2, 4000),
+            new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 35, Direction.SOUTH, 0.2, 52.5, 13.4,
+                    new BatteryConfig(2.0, 0.9, 0.8, 0.8)),
+            FULL_USER.userResult(),
+            3L);
+
+    // ===============================
+    // Gleiche JSON-Form wie UserResponseDTO
+    // ===============================
+    @Test
+    void serialize_ShouldWriteSameJsonAsUserResponseDto() throws IOException {
+        List<User> users = List.of(
+                FULL_USER,
+                new User("u2", null, null, null),
+                new User("u3", new UserInfo(25, 1, 1500),
+                        new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 0, Direction.NORTH, 0.0),
+                        new UserResult(0, 0, Double.MAX_VALUE, 0.04, -0.04, -12.35, 1.0e7, 9_999_999.94,
+                                Double.NaN, Double.POSITIVE_INFINITY, 0.05, 0.95)),
+                new User(null, new UserInfo(40, 5, 9000),
+                        new UserConditions(null, 90, null, 1.0 / 3.0, -33.9, -151.2), null));
+
+        for (User user : users) {
+            UserResponseDTO dto = UserResponseMapping.toUserResponseDTO(mapper, user);
+            // Writer- und Stream-basierter Generator
+            assertEquals(objectMapper.writeValueAsString(dto), objectMapper.writeValueAsString(user));
+            assertEquals(new String(objectMapper.writeValueAsBytes(dto), StandardCharsets.UTF_8),
+                    new String(objectMapper.writeValueAsBytes(user), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void serialize_withNumbersAsStrings_ShouldMatchUserResponseDto() throws IOException {
+        ObjectMapper quoting = JsonMapper.builder().addModule(userModule)
+                .enable(JsonWriteFeature.WRITE_NUMBERS_AS_STRINGS).build();
+
+        for (User user : List.of(FULL_USER, FORM_USER)) {
+            assertEquals(quoting.writeValueAsString(UserResponseMapping.toUserResponseDTO(mapper, user)),
+                    quoting.writeValueAsString(user));
+        }
+        assertThat(quoting.writeValueAsString(FORM_USER)).contains("\"montageShadeFactor\":\"0.2\"");
+    }
+
+    @Test
+    void serialize_ShouldRoundResultValuesOnce() throws IOException {
+        String json = objectMapper.writeValueAsString(FULL_USER);
+
+        assertThat(json).contains("\"userAmortisationTime\":12.3", "\"userLifetimeYieldKwh\":25000.0",
+                "\"userCo2SavingsKgPerYear\":1500.7", "\"userSelfConsumptionRate\":0.5",
+                "\"autarkyRate\":0.6", "\"fullCyclesPerYear\":187.3");
+        // Eingaben bleiben ungerundet
+        assertThat(json).contains("\"montageShadeFactor\":0.15", "\"latitude\":52.5205");
+    }
+
+    @Test
+    void serialize_binaryFormat_ShouldDecodeToSameDto() throws IOException {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory()).registerModule(userModule);
+
+        byte[] payload = cbor.writeValueAsBytes(FULL_USER);
+
+        assertEquals(UserResponseMapping.toUserResponseDTO(mapper, FULL_USER), cbor.readValue(payload, UserResponseDTO.class));
+    }
+
+    @Test
+    void serialize_tokenBuffer_ShouldMatchUserResponseDtoTree() {
+        // valueToTree schreibt in einen TokenBuffer (kein JSON-Text) → Zahlen über writeNumber
+        for (User user : List.of(FULL_USER, FORM_USER)) {
+            assertEquals(objectMapper.valueToTree(UserResponseMapping.toUserResponseDTO(mapper, user)),
+                    objectMapper.valueToTree(user));
+        }
+    }
+
+    @Test
+    void serialize_ShouldRecordMappingTimerPerUser() throws IOException {
+        objectMapper.writeValueAsString(FULL_USER);
+        objectMapper.writeValueAsBytes(List.of(FULL_USER, FORM_USER));
+
+        assertEquals(3, meterRegistry.get("solarcheck.mapping").tag("target", "UserResponseDTO").timer().count());
+    }
+
+    @Test
+    void serialize_withoutModule_ShouldKeepAllUserFields() throws IOException {
+        String json = new ObjectMapper().writeValueAsString(FULL_USER);
+
+        // Nur Mapper mit JacksonConfig-Modul schreiben die API-Form; das Modell selbst bleibt vollständig
+        assertThat(json).contains("\"version\":3", "\"createdAt\":null", "\"resultContribution\":null",
+                "\"fullCyclesPerYear\":187.25");
+    }
+
+    // ===============================
+    // Allokationen je Antwort
+    // ===============================
+    @Test
+    void serialize_ShouldNotAllocatePerUser() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        UserJsonSerializer serializer = new UserJsonSerializer(meterRegistry.timer("solarcheck.mapping"));
+        ObjectWriter dtoWriter = objectMapper.writerFor(UserResponseDTO.class);
+        try (JsonGenerator generator = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+            double viaDto = allocatedBytesPerUser(threads,
+                    () -> dtoWriter.writeValue(generator, UserResponseMapping.toUserResponseDTO(mapper, FORM_USER)));
+            double direct = allocatedBytesPerUser(threads,
+                    () -> serializer.serialize(FORM_USER, generator, null));
+
+            // DTO-Weg: Zwischenobjekte plus ein String je Dezimalzahl; direkt: nichts je User
+            assertThat(viaDto).isGreaterThan(500);
+            assertThat(direct).isLessThan(8);
+        }
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private static double allocatedBytesPerUser(com.sun.management.ThreadMXBean threads, Write write) throws IOException {
+        int iterations = 20_000;
+        for (int i = 0; i < iterations; i++) {
+            write.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            write.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / (double) iterations;
+    }
+}
@@ -4,8 +4,13 @@ import org.example.backend.dto.*;
 import org.example.backend.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 class UserMapperTest {
@@ -51,6 +56,42 @@ class UserMapperTest {
         assertEquals(dto.montageShadeFactor(), entity.montageShadeFactor());
     }
 
+    @Test
+    void toUserConditions_ShouldMapLocation() {
+        UserConditionsDTO dto = new UserConditionsDTO(UserPvConfig.CHEAP_PV_COMBI, 35, Direction.SOUTH, 0.1, 52.5, 13.4);
+        UserConditions entity = mapper.toUserConditions(dto);
+
+        assertEquals(52.5, entity.latitude());
+        assertEquals(13.4, entity.longitude());
+        assertTrue(entity.hasLocation());
+    }
+
+    @Test
+    void toUserConditions_ShouldMapBattery() {
+        UserConditionsDTO dto = new UserConditionsDTO(UserPvConfig.CHEAP_PV_COMBI, 35, Direction.SOUTH, 0.1, null, null,
+                new BatteryConfigDTO(2.0, 0.9, 0.8, 0.6));
+        UserConditions entity = mapper.toUserConditions(dto);
+
+        assertEquals(new BatteryConfig(2.0, 0.9, 0.8, 0.6), entity.battery());
+        assertNull(mapper.toUserConditions(new UserConditionsDTO(UserPvConfig.CHEAP_PV_COMBI, 35, Direction.SOUTH, 0.1)).battery());
+    }
+
+    @Test
+    void toUserConditions_ShouldThrow_WhenLocationIncomplete() {
+        UserConditionsDTO dto = new UserConditionsDTO(UserPvConfig.CHEAP_PV_COMBI, 35, Direction.SOUTH, 0.1, 52.5, null);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> mapper.toUserConditions(dto));
+        assertEquals("Breiten- und Längengrad nur gemeinsam angeben", ex.getMessage());
+        // Gleiche Prüfung im Modell, auch ohne DTO
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 35, Direction.SOUTH, 0.1, null, 13.4));
+    }
+
+    @Test
+    void toUserConditions_ShouldThrow_WhenProductNotInCatalog() {
+        UserConditionsDTO dto = new UserConditionsDTO(UserPvConfig.valueOf("XL_PV_COMBI"), 35, Direction.SOUTH, 0.1);
+        assertThrows(IllegalArgumentException.class, () -> mapper.toUserConditions(dto));
+    }
+
     @Test
     void toUserConditions_ShouldThrow_WhenNull() {
         assertThrows(IllegalArgumentException.class, () -> mapper.toUserConditions(null));
@@ -72,6 +113,21 @@ class UserMapperTest {
         assertEquals(dto.userCo2SavingsKgPerYear(), result.userCo2SavingsKgPerYear());
     }
 
+    @Test
+    void toOptimizationConstraints_ShouldFillDefaults() {
+        assertEquals(OptimizationConstraints.all(), mapper.toOptimizationConstraints(null));
+
+        OptimizationConstraints constraints = mapper.toOptimizationConstraints(new OptimizationConstraintsDTO(
+                List.of(UserPvConfig.CHEAP_PV_COMBI), null, 20, null, 10, null, null, null));
+
+        assertEquals(List.of(UserPvConfig.CHEAP_PV_COMBI), constraints.pvConfigs());
+        assertEquals(OptimizationConstraints.all().directions(), constraints.directions());
+        assertEquals(20, constraints.minAngle());
+        assertEquals(90, constraints.maxAngle());
+        assertEquals(10, constraints.angleStep());
+        assertEquals(0.0, constraints.montageShadeFactor());
+    }
+
     @Test
     void toUserResult_ShouldThrow_WhenNull() {
         assertThrows(IllegalArgumentException.class, () -> mapper.toUserResult(null));
@@ -95,7 +151,7 @@ class UserMapperTest {
 
         User user = new User("1", info, cond, result);
 
-        UserResponseDTO dto = mapper.toUserResponseDTO(user);
+        UserResponseDTO dto = UserResponseMapping.toUserResponseDTO(mapper, user);
 
         assertNotNull(dto.userInfo());
         assertNotNull(dto.userConditions());
@@ -112,7 +168,7 @@ class UserMapperTest {
 
         User user = new User("2", null, null, null);  // Changed from 2L to "2"
 
-        UserResponseDTO dto = mapper.toUserResponseDTO(user);
+        UserResponseDTO dto = UserResponseMapping.toUserResponseDTO(mapper, user);
 
         assertNull(dto.userInfo());
         assertNull(dto.userConditions());
@@ -143,7 +199,7 @@ class UserMapperTest {
         User user = new User("test-user-id", null, null, result);
 
         // When - Rufe die öffentliche Methode auf
-        UserResponseDTO responseDTO = mapper.toUserResponseDTO(user);
+        UserResponseDTO responseDTO = UserResponseMapping.toUserResponseDTO(mapper, user);
         UserResultDTO dto = responseDTO.userResult();
 
         // Then - Alle Werte sollten auf 1 Dezimalstelle gerundet sein
@@ -162,4 +218,68 @@ class UserMapperTest {
         assertThat(dto.userPossibleElectricityGeneration()).isEqualTo(1234);
         assertThat(dto.userAmountOfPossibleSavings()).isEqualTo(567);
     }
-}
\ No newline at end of file
+
+    @Test
+    void toUserResponseDTO_ShouldRoundBatteryResult() {
+        UserResult result = new UserResult(1234, 567, 12.3, 25000.0, 1500.0, 0.45, 0.38, 3.4, 1.0, 100.0, 200.0, 20.0,
+                new BatteryResult(0.666, 0.555, 321.444, 1000, 9.876, 7.25, 187.25));
+
+        BatteryResultDTO dto = UserResponseMapping.toUserResponseDTO(mapper, new User("test-user-id", null, null, result))
+                .userResult().userBatteryResult();
+
+        assertEquals(new BatteryResultDTO(0.7, 0.6, 321.4, 1000, 9.9, 7.3, 187.3), dto);
+    }
+
+    @Test
+    void toCsvRow_ShouldMatchHeaderAndRound() {
+        UserResult result = new UserResult(1234, 567, 12.345, 25000.04, 1500.0, 0.45, 0.38, 3.44, 1.0, 100.0, 200.0, 20.0,
+                new BatteryResult(0.666, 0.555, 321.444, 1000, 9.876, 7.25, 187.25));
+        User user = new User("u1", new UserInfo(30, 2, 4000, "10115"),
+                new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 35, Direction.SOUTH, 0.1, 52.5, 13.4,
+                        new BatteryConfig(2.0, 0.9, 0.8, 0.8)),
+                result, 3L, Instant.parse("2026-01-02T03:04:05Z"));
+
+        String row = mapper.toCsvRow(user);
+
+        assertEquals("u1,2026-01-02T03:04:05Z,30,2,4000,10115,CHEAP_PV_COMBI,35,SOUTH,0.1,52.5,13.4,2.0,"
+                + "1234,567,12.3,25000.0,1500.0,0.5,0.4,3.4,1.0,100.0,200.0,20.0,0.6,9.9\n", row);
+        assertEquals(UserMapper.CSV_HEADER.split(",").length, row.split(",", -1).length);
+    }
+
+    @Test
+    void toCsvRow_ShouldLeaveMissingPartsEmpty() {
+        String row = mapper.toCsvRow(new User("u2", null, null, null));
+
+        assertEquals("u2" + ",".repeat(UserMapper.CSV_HEADER.split(",").length - 1) + "\n", row);
+    }
+
+    // ---------- Aggregate ----------
+
+    @Test
+    void toResultAggregateDTO_ShouldAverageAndEstimatePercentiles() {
+        Map<String, Long> yields = new HashMap<>();
+        for (int yieldKwh : new int[]{1000, 2000, 3000}) {
+            yields.merge(QuantileSketch.bucket(yieldKwh), 1L, Long::sum);
+        }
+        ResultAggregate aggregate = new ResultAggregate("REGION:10", AggregateScope.REGION, "10", 3, 4850, 6000,
+                2400.04, 21.0, 2, yields, Map.of(QuantileSketch.bucket(10.5), 2L));
+
+        ResultAggregateDTO dto = mapper.toResultAggregateDTO(aggregate);
+
+        assertEquals(4.9, dto.installedKwp());
+        assertEquals(2400.0, dto.co2SavingsKgPerYear());
+        assertEquals(10.5, dto.averageAmortisationTime());
+        // Perzentile auf ±1 % genau
+        assertEquals(2000, dto.yearlyYieldPercentiles().p50(), 20);
+        assertEquals(10.5, dto.amortisationTimePercentiles().p90(), 0.11);
+    }
+
+    @Test
+    void toResultAggregateDTO_Empty_ShouldHaveNoAverages() {
+        ResultAggregateDTO dto = mapper.toResultAggregateDTO(ResultAggregate.empty(AggregateScope.POSTCODE, "99999"));
+
+        assertEquals(0, dto.users());
+        assertNull(dto.averageAmortisationTime());
+        assertNull(dto.yearlyYieldPercentiles());
+    }
+}
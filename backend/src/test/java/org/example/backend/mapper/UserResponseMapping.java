@@ -0,0 +1,21 @@
+package org.example.backend.mapper;
+
+import org.example.backend.dto.UserResponseDTO;
+import org.example.backend.model.User;
+
+// DTO-Weg zu UserResponseDTO, nur als Vergleich: Die API schreibt dieselbe Form direkt per UserJsonSerializer.
+// Öffentlich für Tests anderer Pakete und die Benchmarks (src/jmh liegt im selben Test-Classpath)
+public final class UserResponseMapping {
+
+    private UserResponseMapping() {
+    }
+
+    public static UserResponseDTO toUserResponseDTO(UserMapper mapper, User user) {
+        return new UserResponseDTO(
+                user.userId(),
+                user.userInfo() != null ? mapper.toUserInfoDTO(user.userInfo()) : null,
+                user.userConditions() != null ? mapper.toUserConditionsDTO(user.userConditions()) : null,
+                user.userResult() != null ? mapper.toUserResultDTO(user.userResult()) : null
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregateChangesTest {
+
+    private static final ResultContribution BERLIN = new ResultContribution("10115", 1600, 1500, 600.0, 9.5);
+    private static final ResultContribution POTSDAM = new ResultContribution("14467", 800, 700, 280.0, Double.MAX_VALUE);
+
+    // ===============================
+    // AggregateChanges
+    // ===============================
+    @Test
+    void change_newResult_shouldAddToPostcodeAndRegion() {
+        Map<String, AggregateDelta> deltas = byId(new AggregateChanges().change(null, BERLIN));
+
+        assertEquals(2, deltas.size());
+        AggregateDelta postcode = deltas.get("POSTCODE:10115");
+        assertEquals(1, postcode.users());
+        assertEquals(1600, postcode.installedWp());
+        assertEquals(1500, postcode.yearlyYieldKwh());
+        assertEquals(600.0, postcode.co2SavingsKgPerYear());
+        assertEquals(9.5, postcode.amortisationTime());
+        assertEquals(1, postcode.amortisationCount());
+        assertEquals(Map.of(QuantileSketch.bucket(1500), 1L), postcode.yieldSketch());
+        assertEquals("10", deltas.get("REGION:10").key());
+    }
+
+    @Test
+    void change_unchangedResult_shouldBeEmpty() {
+        assertTrue(new AggregateChanges().change(BERLIN, BERLIN).isEmpty());
+        assertTrue(new AggregateChanges().change(null, null).isEmpty());
+    }
+
+    @Test
+    void change_movedPostcode_shouldSubtractOldAndAddNew() {
+        ResultContribution moved = new ResultContribution("14467", 1600, 1500, 600.0, 9.5);
+
+        Map<String, AggregateDelta> deltas = byId(new AggregateChanges().change(BERLIN, moved));
+
+        assertEquals(List.of("POSTCODE:10115", "REGION:10", "POSTCODE:14467", "REGION:14"), List.copyOf(deltas.keySet()));
+        assertEquals(-1, deltas.get("POSTCODE:10115").users());
+        assertEquals(-1500, deltas.get("REGION:10").yearlyYieldKwh());
+        assertEquals(1, deltas.get("REGION:14").users());
+    }
+
+    @Test
+    void change_sameRegion_shouldOnlyChangeSums() {
+        ResultContribution bigger = new ResultContribution("10115", 2400, 2200, 880.0, 8.0);
+
+        AggregateDelta region = byId(new AggregateChanges().change(BERLIN, bigger)).get("REGION:10");
+
+        assertEquals(0, region.users());
+        assertEquals(800, region.installedWp());
+        assertEquals(700, region.yearlyYieldKwh());
+        assertEquals(0, region.amortisationCount());
+        assertEquals(-1L, region.yieldSketch().get(QuantileSketch.bucket(1500)));
+        assertEquals(1L, region.yieldSketch().get(QuantileSketch.bucket(2200)));
+    }
+
+    @Test
+    void change_withoutSavings_shouldNotCountAmortisation() {
+        AggregateDelta postcode = byId(new AggregateChanges().change(null, POTSDAM)).get("POSTCODE:14467");
+
+        assertEquals(1, postcode.users());
+        assertEquals(0, postcode.amortisationCount());
+        assertTrue(postcode.amortisationSketch().isEmpty());
+    }
+
+    // ===============================
+    // QuantileSketch
+    // ===============================
+    @Test
+    void quantile_shouldStayWithinRelativeAccuracy() {
+        Map<String, Long> sketch = new HashMap<>();
+        for (int yield = 1; yield <= 10_000; yield++) {
+            sketch.merge(QuantileSketch.bucket(yield), 1L, Long::sum);
+        }
+
+        // Speicher wächst mit log(max/min), nicht mit der Anzahl
+        assertTrue(sketch.size() < 500);
+        for (double q : new double[]{0.1, 0.5, 0.9}) {
+            double exact = 1 + Math.floor(q * 9_999);
+            assertEquals(exact, QuantileSketch.quantile(sketch, q), exact * QuantileSketch.RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    void quantile_shouldIgnoreRemovedValues() {
+        Map<String, Long> sketch = new HashMap<>(Map.of(
+                QuantileSketch.bucket(0.0), 1L,
+                QuantileSketch.bucket(100), 0L,
+                QuantileSketch.bucket(500), 2L));
+
+        assertEquals(0.0, QuantileSketch.quantile(sketch, 0.0));
+        assertEquals(500, QuantileSketch.quantile(sketch, 1.0), 5);
+        assertTrue(Double.isNaN(QuantileSketch.quantile(Map.of(QuantileSketch.bucket(100), 0L), 0.5)));
+        assertTrue(Double.isNaN(QuantileSketch.quantile(null, 0.5)));
+    }
+
+    @Test
+    void quantile_shouldRejectOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.quantile(Map.of(), 1.5));
+    }
+
+    // ---- Hilfsmethoden ----
+
+    private static Map<String, AggregateDelta> byId(AggregateChanges changes) {
+        return changes.deltas().stream().collect(Collectors.toMap(
+                AggregateDelta::id, delta -> delta, (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.backend.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogTest {
+
+    private static final PvProduct XL = new PvProduct("XL_PV_COMBI", 6, 430, 1600, 1200, 0.95);
+
+    @AfterEach
+    void resetCatalog() {
+        ProductCatalog.install(List.of());
+    }
+
+    // =====================================================
+    // Katalogstand
+    // =====================================================
+
+    @Test
+    void current_shouldContainBuiltinProducts() {
+        ProductCatalog catalog = ProductCatalog.current();
+
+        assertEquals(ProductCatalog.BUILTIN, catalog.products());
+        assertEquals(0.8, catalog.require("CHEAP_PV_COMBI").totalModuleKwp(), 1e-9);
+        assertTrue(catalog.find("XL_PV_COMBI").isEmpty());
+    }
+
+    @Test
+    void install_shouldAppendAndOverrideByCode() {
+        PvProduct cheaper = new PvProduct("CHEAP_PV_COMBI", 2, 400, 800, 399, 1.00);
+
+        ProductCatalog catalog = ProductCatalog.install(List.of(XL, cheaper));
+
+        assertSame(catalog, ProductCatalog.current());
+        assertEquals(List.of("CHEAP_PV_COMBI", "MEDIUM_PV_COMBI", "PREMIUM_PV_COMBI", "XL_PV_COMBI"),
+                catalog.products().stream().map(PvProduct::code).toList());
+        assertEquals(399, catalog.require("CHEAP_PV_COMBI").installationCostEur());
+    }
+
+    @Test
+    void install_shouldLeaveOldSnapshotUnchanged() {
+        ProductCatalog before = ProductCatalog.current();
+
+        ProductCatalog after = ProductCatalog.install(List.of(XL));
+
+        assertTrue(after.version() > before.version());
+        assertEquals(3, before.size());
+        assertEquals(4, after.size());
+        assertThrows(UnsupportedOperationException.class, () -> after.products().add(XL));
+    }
+
+    @Test
+    void require_shouldRejectUnknownCode() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> ProductCatalog.current().require("XL_PV_COMBI"));
+        assertTrue(ex.getMessage().contains("XL_PV_COMBI"));
+    }
+
+    @Test
+    void product_shouldRejectInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> new PvProduct(" ", 2, 400, 800, 450, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new PvProduct("X", 0, 400, 800, 450, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new PvProduct("X", 2, 400, 800, -1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new PvProduct("X", 2, 400, 800, 450, 1.2));
+    }
+
+    // =====================================================
+    // UserPvConfig
+    // =====================================================
+
+    @Test
+    void userPvConfig_shouldKeepEnumApi() {
+        assertSame(UserPvConfig.MEDIUM_PV_COMBI, UserPvConfig.valueOf("MEDIUM_PV_COMBI"));
+        assertEquals("MEDIUM_PV_COMBI", UserPvConfig.MEDIUM_PV_COMBI.name());
+        assertEquals(1.2, UserPvConfig.MEDIUM_PV_COMBI.getTotalModuleKwp(), 1e-9);
+        assertEquals(0.85, UserPvConfig.MEDIUM_PV_COMBI.getClippingFactor(), 1e-9);
+        assertEquals(600, UserPvConfig.MEDIUM_PV_COMBI.getInstallationCostEur());
+        assertEquals(3, UserPvConfig.values().length);
+    }
+
+    @Test
+    void userPvConfig_shouldFollowCatalogSwap() {
+        UserPvConfig xl = UserPvConfig.valueOf("XL_PV_COMBI");
+        assertFalse(xl.isAvailable());
+        assertThrows(IllegalArgumentException.class, xl::getInstallationCostEur);
+        assertEquals(600, UserPvConfig.MEDIUM_PV_COMBI.getInstallationCostEur());
+
+        ProductCatalog.install(List.of(XL, new PvProduct("MEDIUM_PV_COMBI", 3, 400, 800, 550, 0.85)));
+
+        assertTrue(xl.isAvailable());
+        assertEquals(2.58, xl.getTotalModuleKwp(), 1e-9);
+        assertEquals(550, UserPvConfig.MEDIUM_PV_COMBI.getInstallationCostEur());
+        assertEquals(xl, UserPvConfig.valueOf("XL_PV_COMBI"));
+        assertEquals(4, UserPvConfig.values().length);
+    }
+}
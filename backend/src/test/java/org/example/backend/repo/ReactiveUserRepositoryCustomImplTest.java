@@ -0,0 +1,96 @@
+package org.example.backend.repo;
+
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.example.backend.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReactiveUserRepositoryCustomImplTest {
+
+    private ReactiveMongoTemplate mongoTemplate;
+    private ReactiveUserRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+        repository = new ReactiveUserRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void updateUserInfo_shouldSetOnlyUserInfo() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        User updated = new User("1", info, null, null, 1L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(User.class))).thenReturn(Mono.just(updated));
+
+        StepVerifier.create(repository.updateUserInfo("1", info, null))
+                .expectNext(updated)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(),
+                any(FindAndModifyOptions.class), eq(User.class));
+
+        assertFalse(query.getValue().getQueryObject().containsKey("version"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(1, set.size());
+        assertEquals(info, set.get("userInfo"));
+        assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    void updateUserResult_shouldAlwaysMatchVersion() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(User.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.updateUserResult("1", null, null, 4L))
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class),
+                any(FindAndModifyOptions.class), eq(User.class));
+        assertEquals(4L, query.getValue().getQueryObject().get("version"));
+    }
+
+    @Test
+    void updateUserResults_shouldReturnMatchedCount() {
+        ReactiveBulkOperations bulk = mock(ReactiveBulkOperations.class);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getMatchedCount()).thenReturn(1);
+        when(bulk.execute()).thenReturn(Mono.just(result));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)).thenReturn(bulk);
+
+        StepVerifier.create(repository.updateUserResults(List.of(
+                        new User("1", null, null, null, 1L),
+                        new User("2", null, null, null, 2L))))
+                .expectNext(1)
+                .verifyComplete();
+        verify(bulk, times(2)).updateOne(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void updateUserResults_withEmptyList_shouldNotTouchDatabase() {
+        StepVerifier.create(repository.updateUserResults(List.of()))
+                .expectNext(0)
+                .verifyComplete();
+        verifyNoInteractions(mongoTemplate);
+    }
+}
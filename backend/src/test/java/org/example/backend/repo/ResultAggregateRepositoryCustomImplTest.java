@@ -0,0 +1,101 @@
+package org.example.backend.repo;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.example.backend.model.AggregateChanges;
+import org.example.backend.model.QuantileSketch;
+import org.example.backend.model.ResultAggregate;
+import org.example.backend.model.ResultContribution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ResultAggregateRepositoryCustomImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private ResultAggregateRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        repository = new ResultAggregateRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void apply_shouldUpsertEachAggregateWithIncrements() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResultAggregate.class)).thenReturn(bulk);
+        ResultContribution before = new ResultContribution("10115", 1600, 1500, 600.0, 9.5);
+        ResultContribution after = new ResultContribution("10117", 1600, 1500, 600.0, 9.5);
+
+        repository.apply(new AggregateChanges().change(before, after).deltas());
+
+        // Region 10 bleibt unverändert → nur die beiden PLZ
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(queries.capture(), updates.capture());
+        verify(bulk).execute();
+        assertEquals(List.of("POSTCODE:10115", "POSTCODE:10117"),
+                queries.getAllValues().stream().map(query -> query.getQueryObject().get("_id")).toList());
+
+        Document update = updates.getAllValues().get(1).getUpdateObject();
+        Document inc = (Document) update.get("$inc");
+        assertEquals(1L, inc.get("users"));
+        assertEquals(1600L, inc.get("installedWp"));
+        assertEquals(1L, inc.get("yieldSketch." + QuantileSketch.bucket(1500)));
+        assertEquals(1L, inc.get("amortisationSketch." + QuantileSketch.bucket(9.5)));
+        assertEquals("10117", ((Document) update.get("$setOnInsert")).get("key"));
+    }
+
+    @Test
+    void apply_withoutChanges_shouldNotTouchDatabase() {
+        repository.apply(List.of());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaceAll_shouldBuildStagingCollectionAndSwapIt() {
+        MongoCollection<Document> staging = mock(MongoCollection.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.getCollectionName(ResultAggregate.class)).thenReturn("resultAggregates");
+        when(mongoTemplate.createCollection("resultAggregates_rebuild")).thenReturn(staging);
+        when(staging.getNamespace()).thenReturn(new MongoNamespace("solarcheck", "resultAggregates_rebuild"));
+        when(mongoTemplate.indexOps("resultAggregates_rebuild")).thenReturn(indexOps);
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResultAggregate.class, "resultAggregates_rebuild"))
+                .thenReturn(bulk);
+
+        repository.replaceAll(new AggregateChanges()
+                .change(null, new ResultContribution("10115", 1600, 1500, 600.0, 9.5)).deltas());
+
+        // Alte Aggregate bleiben bis zum Tausch lesbar: kein Löschen der Ziel-Collection
+        var order = inOrder(mongoTemplate, indexOps, bulk, staging);
+        order.verify(mongoTemplate).dropCollection("resultAggregates_rebuild");
+        order.verify(indexOps, times(3)).createIndex(any());
+        order.verify(bulk, times(2)).upsert(any(Query.class), any(Update.class));
+        order.verify(bulk).execute();
+        ArgumentCaptor<RenameCollectionOptions> options = ArgumentCaptor.forClass(RenameCollectionOptions.class);
+        order.verify(staging).renameCollection(eq(new MongoNamespace("solarcheck", "resultAggregates")), options.capture());
+        assertTrue(options.getValue().isDropTarget());
+        verify(mongoTemplate, never()).dropCollection(ResultAggregate.class);
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(ResultAggregate.class));
+    }
+}
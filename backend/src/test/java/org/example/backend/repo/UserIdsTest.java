@@ -0,0 +1,80 @@
+package org.example.backend.repo;
+
+import org.example.backend.config.MongoConfig;
+import org.example.backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIdsTest {
+
+    // =====================================================
+    // UUIDv7
+    // =====================================================
+
+    @Test
+    void next_shouldCreateVersion7WithTimestamp() {
+        long now = System.currentTimeMillis();
+
+        UUID id = UserIds.next(now + 86_400_000);
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(Instant.ofEpochMilli(now + 86_400_000), UserIds.timestamp(id.toString()));
+    }
+
+    @Test
+    void next_shouldBeStrictlyOrderedAsString() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UserIds.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " < " + ids.get(i));
+        }
+    }
+
+    @Test
+    void next_shouldStayMonotonicWhenClockGoesBack() {
+        UUID later = UserIds.next(System.currentTimeMillis() + 120_000);
+        UUID earlier = UserIds.next(System.currentTimeMillis());
+
+        assertTrue(later.toString().compareTo(earlier.toString()) < 0);
+    }
+
+    @Test
+    void timestamp_shouldRejectRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> UserIds.timestamp(UUID.randomUUID().toString()));
+    }
+
+    // =====================================================
+    // Indizes
+    // =====================================================
+
+    @Test
+    void user_shouldDeclareQueryIndexes() {
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+
+        List<String> indexes = StreamSupport.stream(
+                        new MongoPersistentEntityIndexResolver(context).resolveIndexFor(User.class).spliterator(), false)
+                .map(IndexDefinition::getIndexKeys)
+                .map(Object::toString)
+                .toList();
+
+        assertTrue(indexes.contains("Document{{createdAt=1}}"), indexes::toString);
+        assertTrue(indexes.contains("Document{{userConditions.userPvConfig=1, createdAt=1}}"), indexes::toString);
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.backend.repo;
+
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.example.backend.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserRepositoryCustomImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private UserRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        repository = new UserRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void updateUserInfo_shouldSetOnlyUserInfo() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        User updated = new User("1", info, null, null);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(User.class))).thenReturn(updated);
+
+        Optional<User> result = repository.updateUserInfo("1", info, null);
+
+        assertEquals(Optional.of(updated), result);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(User.class));
+
+        assertEquals("1", query.getValue().getQueryObject().get("_id"));
+        assertFalse(query.getValue().getQueryObject().containsKey("version"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(1, set.size());
+        assertEquals(info, set.get("userInfo"));
+        assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+        assertTrue(options.getValue().isReturnNew());
+    }
+
+    @Test
+    void updateUserConditions_shouldSetOnlyUserConditions() {
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(User.class))).thenReturn(null);
+
+        Optional<User> result = repository.updateUserConditions("999", conditions, null);
+
+        assertTrue(result.isEmpty());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(),
+                any(FindAndModifyOptions.class), eq(User.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(conditions, set.get("userConditions"));
+    }
+
+    @Test
+    void updateUserInfo_withExpectedVersion_shouldMatchVersion() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+
+        repository.updateUserInfo("1", info, 3L);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class),
+                any(FindAndModifyOptions.class), eq(User.class));
+        assertEquals(3L, query.getValue().getQueryObject().get("version"));
+    }
+
+    @Test
+    void updateUserResult_shouldAlwaysMatchLoadedVersion() {
+        UserResult result = new UserResult(1020, 306, 2.0, 24027.1, 408.0, 0.7, 0.2, 2.8, 0.8, 93.3, 186.7, 16.5);
+        ResultContribution contribution = new ResultContribution("10115", 1600, 1020, 408.0, 2.0);
+
+        repository.updateUserResult("1", result, contribution, null);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(),
+                any(FindAndModifyOptions.class), eq(User.class));
+
+        // Altdokumente ohne Versionsfeld → version: null
+        assertTrue(query.getValue().getQueryObject().containsKey("version"));
+        assertNull(query.getValue().getQueryObject().get("version"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(result, set.get("userResult"));
+        // Anteil an den Aggregaten im selben Update → Differenz beim nächsten Ergebnis exakt
+        assertEquals(contribution, set.get("resultContribution"));
+    }
+
+    @Test
+    void updateUserResults_shouldUseOneUnorderedBulkWrite() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()));
+
+        UserResult result = new UserResult(1020, 306, 2.0, 24027.1, 408.0, 0.7, 0.2, 2.8, 0.8, 93.3, 186.7, 16.5);
+        int matched = repository.updateUserResults(List.of(
+                new User("1", null, null, result, 1L),
+                new User("2", null, null, result, 5L)
+        ));
+
+        assertEquals(2, matched);
+        verify(bulk, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulk).execute();
+    }
+
+    @Test
+    void updateUserResults_withEmptyList_shouldNotTouchDatabase() {
+        assertEquals(0, repository.updateUserResults(List.of()));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void streamUsers_shouldFilterByIndexedFieldsWithBatchSize() {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenReturn(Stream.empty());
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+
+        repository.streamUsers(new UserExportFilter(UserPvConfig.CHEAP_PV_COMBI, from, null, true), 250);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(User.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(UserPvConfig.CHEAP_PV_COMBI, filter.get("userConditions.userPvConfig"));
+        assertEquals(new Document("$gte", from), filter.get("createdAt"));
+        assertEquals(new Document("$ne", null), filter.get("userResult"));
+        assertEquals(250, query.getValue().getMeta().getCursorBatchSize());
+    }
+
+    @Test
+    void streamUsers_withoutFilter_shouldMatchAll() {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenReturn(Stream.empty());
+
+        repository.streamUsers(UserExportFilter.none(), 1000);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(User.class));
+        assertTrue(query.getValue().getQueryObject().isEmpty());
+    }
+}
@@ -0,0 +1,288 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.calculation.ConfigurationOptimizer;
+import org.example.backend.calculation.DegradationModel;
+import org.example.backend.calculation.SelfConsumptionModel;
+import org.example.backend.calculation.UncertaintyModel;
+import org.example.backend.calculation.YieldCalculator;
+import org.example.backend.calculation.YieldResultCache;
+import org.example.backend.calculation.YieldTable;
+import org.example.backend.model.*;
+import org.example.backend.repo.ReactiveUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveUserServiceTest {
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private ReactiveResultAggregateService resultAggregates;
+
+    private ReactiveUserService userService;
+
+    private final UserInfo info = new UserInfo(30, 2, 4000);
+    private final UserConditions conditions = new UserConditions(
+            UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
+    );
+
+    private final RecalculationQueue recalculationQueue = new RecalculationQueue(true, 1000, new SimpleMeterRegistry());
+    private final UserResultEvents userResultEvents = new UserResultEvents(16, Duration.ofMinutes(30), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        YieldTable table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        YieldCalculator yieldCalculator = new YieldCalculator(table, table, SelfConsumptionModel.standard());
+        userService = new ReactiveUserService(userRepository, new YieldResultCache(
+                yieldCalculator,
+                new SimpleMeterRegistry(),
+                1000,
+                Duration.ofHours(1)
+        ), yieldCalculator, new ConfigurationOptimizer(yieldCalculator),
+                new UncertaintyModel(yieldCalculator, 10_000, 0.05, 0.05, 0.1, 42L),
+                recalculationQueue,
+                userResultEvents, resultAggregates);
+        when(resultAggregates.apply(any())).thenReturn(Mono.empty());
+    }
+
+    // ===================================
+    // getUser / generateUser
+    // ===================================
+    @Test
+    void generateUser_shouldSaveUserWithTimeOrderedId() {
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(userService.generateUser())
+                .assertNext(user -> {
+                    assertEquals(7, UUID.fromString(user.userId()).version());
+                    assertNotNull(user.createdAt());
+                    assertNull(user.userInfo());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getUser_shouldFailIfUserNotFound() {
+        when(userRepository.findById("999")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.getUser("999"))
+                .expectErrorSatisfies(ex -> {
+                    assertInstanceOf(IllegalArgumentException.class, ex);
+                    assertEquals("User mit ID 999 nicht gefunden", ex.getMessage());
+                })
+                .verify();
+    }
+
+    // ===================================
+    // Teil-Updates
+    // ===================================
+    @Test
+    void updateUserinfo_shouldReturnUpdatedUser() {
+        User updated = new User("1", info, null, null, 1L);
+        when(userRepository.updateUserInfo("1", info, null)).thenReturn(Mono.just(updated));
+
+        StepVerifier.create(userService.updateUserinfo("1", info, null))
+                .expectNext(updated)
+                .verifyComplete();
+        verify(userRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void updateUserConditions_withCompleteInputs_shouldQueueRecalculation() {
+        User updated = new User("1", info, conditions, null, 1L);
+        when(userRepository.updateUserConditions("1", conditions, null)).thenReturn(Mono.just(updated));
+
+        StepVerifier.create(userService.updateUserConditions("1", conditions, null))
+                .expectNext(updated)
+                .verifyComplete();
+        assertEquals(List.of("1"), recalculationQueue.drain(10));
+    }
+
+    @Test
+    void updateUserinfo_shouldFailWithNotFoundWithoutVersion() {
+        when(userRepository.updateUserInfo("999", info, null)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.updateUserinfo("999", info, null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void updateUserConditions_withStaleVersion_shouldFailWithPreconditionFailed() {
+        when(userRepository.updateUserConditions("1", conditions, 2L)).thenReturn(Mono.empty());
+        when(userRepository.existsById("1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(userService.updateUserConditions("1", conditions, 2L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+        assertEquals(0, recalculationQueue.size());
+    }
+
+    // ===================================
+    // calculateUserResult
+    // ===================================
+    @Test
+    void calculateUserResult_shouldStoreResultForLoadedVersion() {
+        User user = new User("1", info, conditions, null, 4L);
+        when(userRepository.findById("1")).thenReturn(Mono.just(user));
+        when(userRepository.updateUserResult(eq("1"), any(UserResult.class), any(), eq(4L)))
+                .thenAnswer(invocation -> Mono.just(new User("1", info, conditions, invocation.getArgument(1), 5L)));
+
+        StepVerifier.create(userService.calculateUserResult("1", null))
+                .assertNext(saved -> {
+                    assertEquals(5L, saved.version());
+                    assertNotNull(saved.userResult());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void calculateUserResult_shouldApplyAggregatesBeforeEmitting() {
+        UserInfo withPostcode = new UserInfo(30, 2, 4000, "10115");
+        when(userRepository.findById("1")).thenReturn(Mono.just(new User("1", withPostcode, conditions, null, 4L)));
+        when(userRepository.updateUserResult(eq("1"), any(UserResult.class), any(), eq(4L)))
+                .thenAnswer(invocation -> Mono.just(new User("1", withPostcode, conditions, invocation.getArgument(1), 5L,
+                        null, invocation.getArgument(2))));
+
+        StepVerifier.create(userService.calculateUserResult("1", null))
+                .assertNext(saved -> assertEquals("10115", saved.resultContribution().postcode()))
+                .verifyComplete();
+
+        ArgumentCaptor<AggregateChanges> changes = ArgumentCaptor.forClass(AggregateChanges.class);
+        verify(resultAggregates).apply(changes.capture());
+        assertEquals(List.of("POSTCODE:10115", "REGION:10"),
+                changes.getValue().deltas().stream().map(AggregateDelta::id).toList());
+    }
+
+    @Test
+    void streamUserResult_shouldEmitStoredAndNewResults() {
+        User stored = new User("1", info, conditions, null, 4L);
+        when(userRepository.findById("1")).thenReturn(Mono.just(stored));
+        when(userRepository.updateUserResult(eq("1"), any(UserResult.class), any(), eq(4L)))
+                .thenAnswer(invocation -> Mono.just(new User("1", info, conditions, invocation.getArgument(1), 5L)));
+
+        StepVerifier.create(userService.streamUserResult("1"))
+                .expectSubscription()
+                .then(() -> userService.calculateUserResult("1", null).block())
+                .assertNext(user -> assertEquals(5L, user.version()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void calculateUserResult_shouldRetryAndFailAfterMaxAttempts() {
+        when(userRepository.findById("1")).thenReturn(Mono.just(new User("1", info, conditions, null, 1L)));
+        when(userRepository.updateUserResult(eq("1"), any(UserResult.class), any(), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.calculateUserResult("1", null))
+                .expectErrorMatches(ex -> ex instanceof OptimisticLockingFailureException
+                        && !(ex instanceof PreconditionFailedException))
+                .verify();
+        verify(userRepository, times(3)).updateUserResult(eq("1"), any(UserResult.class), any(), any());
+    }
+
+    @Test
+    void calculateUserResult_withMismatchingIfMatch_shouldFailWithoutWrite() {
+        when(userRepository.findById("1")).thenReturn(Mono.just(new User("1", info, conditions, null, 2L)));
+
+        StepVerifier.create(userService.calculateUserResult("1", 1L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+        verify(userRepository, never()).updateUserResult(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void calculateUserResult_withMissingConditions_shouldFailWithIllegalState() {
+        when(userRepository.findById("1")).thenReturn(Mono.just(new User("1", info, null, null, 1L)));
+
+        StepVerifier.create(userService.calculateUserResult("1", null))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    // ===================================
+    // Batch
+    // ===================================
+    @Test
+    void calculateUserResults_shouldEmitOutcomesInInputOrder() {
+        User first = new User("1", info, conditions, null, 1L);
+        User incomplete = new User("2", info, null, null, 1L);
+        when(userRepository.findAllById(anyIterable())).thenReturn(Flux.just(incomplete, first));
+        when(userRepository.updateUserResults(anyList())).thenAnswer(invocation ->
+                Mono.just(((List<?>) invocation.getArgument(0)).size()));
+
+        StepVerifier.create(userService.calculateUserResults(List.of("1", "2", "3", "1")))
+                .assertNext(outcome -> {
+                    assertEquals("1", outcome.userId());
+                    assertTrue(outcome.isSuccess());
+                    assertEquals(2L, outcome.user().version());
+                })
+                .assertNext(outcome -> {
+                    assertEquals("2", outcome.userId());
+                    assertEquals("UserConditions fehlen.", outcome.error());
+                })
+                .assertNext(outcome -> {
+                    assertEquals("3", outcome.userId());
+                    assertEquals("User mit ID 3 nicht gefunden", outcome.error());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void calculateUserResults_shouldRetryConflictingUsers() {
+        User stale = new User("1", info, conditions, null, 1L);
+        User changed = new User("1", new UserInfo(40, 2, 4000), conditions, null, 2L);
+        when(userRepository.findAllById(anyIterable()))
+                .thenReturn(Flux.just(stale), Flux.just(changed), Flux.just(changed));
+        when(userRepository.updateUserResults(anyList())).thenReturn(Mono.just(0), Mono.just(1));
+
+        StepVerifier.create(userService.calculateUserResults(List.of("1")))
+                .assertNext(outcome -> {
+                    assertTrue(outcome.isSuccess());
+                    assertEquals(3L, outcome.user().version());
+                    assertEquals(40, outcome.user().userInfo().userRateOfElectricity());
+                })
+                .verifyComplete();
+        verify(userRepository, times(2)).updateUserResults(anyList());
+    }
+
+    @Test
+    void calculateUserResults_alreadyStoredResult_shouldNotCountAggregatesTwice() {
+        UserInfo withPostcode = new UserInfo(30, 2, 4000, "10115");
+        List<User> written = new ArrayList<>();
+        when(userRepository.findAllById(anyIterable()))
+                .thenReturn(Flux.just(new User("1", withPostcode, conditions, null, 1L)))
+                .thenAnswer(invocation -> Flux.fromIterable(written));
+        when(userRepository.updateUserResults(anyList())).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return Mono.just(0);
+        });
+
+        StepVerifier.create(userService.calculateUserResults(List.of("1")))
+                .assertNext(outcome -> assertTrue(outcome.isSuccess()))
+                .verifyComplete();
+
+        ArgumentCaptor<AggregateChanges> changes = ArgumentCaptor.forClass(AggregateChanges.class);
+        verify(resultAggregates).apply(changes.capture());
+        assertTrue(changes.getValue().isEmpty());
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.calculation.*;
+import org.example.backend.model.*;
+import org.example.backend.repo.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecalculationWorkerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static User completeUser(String userId) {
+        return new User(userId, new UserInfo(30, 2, 4000),
+                new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 30, Direction.SOUTH, 0.2), null);
+    }
+
+    // ===================================
+    // RecalculationQueue
+    // ===================================
+    @Test
+    void enqueue_shouldCoalesceRepeatedChangesOfSameUser() {
+        RecalculationQueue queue = new RecalculationQueue(true, 10, meterRegistry);
+
+        assertTrue(queue.enqueue(completeUser("a")));
+        assertFalse(queue.enqueue(completeUser("a")));
+        assertTrue(queue.enqueue(completeUser("b")));
+
+        assertEquals(List.of("a", "b"), queue.drain(10));
+        assertEquals(1.0, meterRegistry.get("solarcheck.recalculation.requests").tag("result", "coalesced").counter().count());
+    }
+
+    @Test
+    void enqueue_shouldIgnoreIncompleteUsersAndDisabledQueue() {
+        RecalculationQueue queue = new RecalculationQueue(true, 10, meterRegistry);
+        RecalculationQueue disabled = new RecalculationQueue(false, 10, new SimpleMeterRegistry());
+
+        assertFalse(queue.enqueue(new User("a", new UserInfo(30, 2, 4000), null, null)));
+        assertFalse(disabled.enqueue(completeUser("a")));
+
+        assertEquals(0, queue.size());
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    void enqueue_shouldDropWhenFull() {
+        RecalculationQueue queue = new RecalculationQueue(true, 2, meterRegistry);
+
+        queue.enqueue(completeUser("a"));
+        queue.enqueue(completeUser("b"));
+
+        assertFalse(queue.enqueue(completeUser("c")));
+        assertEquals(2, queue.size());
+        assertEquals(2.0, meterRegistry.get("solarcheck.recalculation.pending").gauge().value());
+        assertEquals(1.0, meterRegistry.get("solarcheck.recalculation.requests").tag("result", "dropped").counter().count());
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RecalculationQueue(true, 0, meterRegistry));
+    }
+
+    // ===================================
+    // RecalculationWorker
+    // ===================================
+    @Test
+    void drain_shouldProcessQueueInBatches() {
+        RecalculationQueue queue = new RecalculationQueue(true, 10, meterRegistry);
+        List<List<String>> batches = new ArrayList<>();
+        RecalculationWorker worker = new RecalculationWorker(queue, ids -> {
+            batches.add(ids);
+            return ids.stream()
+                    .map(id -> id.equals("c")
+                            ? UserBatchOutcome.failure(id, "UserInfo fehlen.")
+                            : UserBatchOutcome.success(completeUser(id)))
+                    .toList();
+        }, 2, 3, meterRegistry);
+        List.of("a", "b", "c").forEach(id -> queue.enqueue(completeUser(id)));
+
+        assertEquals(3, worker.drain());
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c")), batches);
+        assertEquals(0, queue.size());
+        assertEquals(2.0, meterRegistry.get("solarcheck.recalculation.users").tag("outcome", "success").counter().count());
+        assertEquals(1.0, meterRegistry.get("solarcheck.recalculation.users").tag("outcome", "failure").counter().count());
+        assertEquals(2, meterRegistry.get("solarcheck.recalculation.batch").timer().count());
+    }
+
+    @Test
+    void drain_whenDatabaseFails_shouldRequeueUserIds() {
+        RecalculationQueue queue = new RecalculationQueue(true, 10, meterRegistry);
+        RecalculationWorker worker = new RecalculationWorker(queue, ids -> {
+            throw new DataAccessResourceFailureException("Mongo nicht erreichbar");
+        }, 10, 3, meterRegistry);
+        queue.enqueue(completeUser("a"));
+        queue.enqueue(completeUser("b"));
+
+        assertThrows(DataAccessResourceFailureException.class, worker::drain);
+
+        assertEquals(List.of("a", "b"), queue.drain(10));
+    }
+
+    @Test
+    void drain_whenDatabaseKeepsFailing_shouldGiveUpAfterMaxAttempts() {
+        RecalculationQueue queue = new RecalculationQueue(true, 10, meterRegistry);
+        RecalculationWorker worker = new RecalculationWorker(queue, ids -> {
+            throw new DataAccessResourceFailureException("Mongo nicht erreichbar");
+        }, 10, 2, meterRegistry);
+        queue.enqueue(completeUser("a"));
+
+        assertThrows(DataAccessResourceFailureException.class, worker::drain);
+        assertEquals(1, queue.size());
+        assertThrows(DataAccessResourceFailureException.class, worker::drain);
+
+        assertEquals(0, queue.size());
+        assertEquals(1.0, meterRegistry.get("solarcheck.recalculation.users").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void drain_whenBatchFailsOtherwise_shouldCountWithoutRetry() {
+        RecalculationQueue queue = new RecalculationQueue(true, 10, meterRegistry);
+        RecalculationWorker worker = new RecalculationWorker(queue, ids -> {
+            throw new IllegalStateException("unerwartet");
+        }, 10, 3, meterRegistry);
+        queue.enqueue(completeUser("a"));
+        queue.enqueue(completeUser("b"));
+
+        assertEquals(2, worker.drain());
+
+        assertEquals(0, queue.size());
+        assertEquals(2.0, meterRegistry.get("solarcheck.recalculation.users").tag("outcome", "failure").counter().count());
+    }
+
+    // Einzelne User, deren Berechnung scheitert, dürfen die übrigen Ergebnisse der Runde nicht aufhalten
+    @Test
+    void drain_withUserOutsideGridAndRemovedProduct_shouldStoreOtherResults() {
+        UserRepository userRepository = mock(UserRepository.class);
+        User valid = completeUser("ok");
+        User abroad = new User("abroad", new UserInfo(30, 2, 4000),
+                new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 30, Direction.SOUTH, 0.2, -33.9, 151.2), null, 1L);
+        User removed = new User("removed", new UserInfo(30, 2, 4000),
+                new UserConditions(UserPvConfig.valueOf("DISCONTINUED_PV_COMBI"), 30, Direction.SOUTH, 0.2), null, 1L);
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(valid, abroad, removed));
+        when(userRepository.updateUserResults(anyList())).thenAnswer(invocation -> invocation.<List<User>>getArgument(0).size());
+
+        RecalculationQueue queue = new RecalculationQueue(true, 10, meterRegistry);
+        UserService userService = userService(userRepository, queue);
+        RecalculationWorker worker = new RecalculationWorker(queue, ids -> {
+            List<UserBatchOutcome> outcomes = new ArrayList<>();
+            userService.calculateUserResults(ids, outcomes::addAll);
+            return outcomes;
+        }, 10, 3, meterRegistry);
+        List.of(valid, abroad, removed).forEach(queue::enqueue);
+
+        assertEquals(3, worker.drain());
+
+        assertEquals(0, queue.size());
+        verify(userRepository).updateUserResults(argThat(users -> users.size() == 1 && users.get(0).userId().equals("ok")));
+        assertEquals(1.0, meterRegistry.get("solarcheck.recalculation.users").tag("outcome", "success").counter().count());
+        assertEquals(2.0, meterRegistry.get("solarcheck.recalculation.users").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void drain_onEmptyQueue_shouldNotCallRecalculation() {
+        RecalculationQueue queue = new RecalculationQueue(true, 10, meterRegistry);
+        RecalculationWorker worker = new RecalculationWorker(queue, ids -> fail("keine Runde erwartet"), 10, 3, meterRegistry);
+
+        assertEquals(0, worker.drain());
+    }
+
+    // ---- Hilfsmethoden ----
+
+    // Stundensimulation mit einer Quelle, die wie TmyStore nur ein Raster über Deutschland abdeckt
+    private UserService userService(UserRepository userRepository, RecalculationQueue queue) {
+        IrradianceSeries synthetic = IrradianceSeries.synthetic(51.2, 10.4, 1100);
+        HourlySimulator simulator = new HourlySimulator(new IrradianceSource() {
+            @Override
+            public IrradianceSeries at(double latitude, double longitude) {
+                if (latitude < 47 || latitude > 55 || longitude < 5 || longitude > 16) {
+                    throw new IllegalArgumentException("Standort außerhalb des TMY-Rasters: " + latitude + ", " + longitude);
+                }
+                return synthetic;
+            }
+
+            @Override
+            public IrradianceSeries defaultSeries() {
+                return synthetic;
+            }
+        }, 0.9, 0.96, 0.2, -0.0037);
+        YieldCalculator calculator = new YieldCalculator(new YieldTable(DegradationModel.geometric(25, 0.005)),
+                simulator, new SelfConsumptionModel(simulator, 256));
+        return new UserService(userRepository,
+                new YieldResultCache(calculator, new SimpleMeterRegistry(), 100, Duration.ofHours(1)), calculator,
+                new ConfigurationOptimizer(calculator), new UncertaintyModel(calculator, 10_000, 0.05, 0.05, 0.1, 42L),
+                queue,
+                new UserResultEvents(16, Duration.ofMinutes(30), new SimpleMeterRegistry()), mock(ResultAggregateService.class));
+    }
+}
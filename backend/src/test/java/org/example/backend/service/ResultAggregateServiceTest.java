@@ -0,0 +1,128 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.model.*;
+import org.example.backend.repo.ResultAggregateRepository;
+import org.example.backend.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResultAggregateServiceTest {
+
+    private ResultAggregateRepository aggregateRepository;
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ResultAggregateService service;
+
+    private static final ResultContribution BERLIN = new ResultContribution("10115", 1600, 1500, 600.0, 9.5);
+
+    @BeforeEach
+    void setUp() {
+        aggregateRepository = mock(ResultAggregateRepository.class);
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ResultAggregateService(aggregateRepository, userRepository, meterRegistry);
+    }
+
+    // ===================================
+    // apply
+    // ===================================
+    @Test
+    void apply_shouldWriteDeltasAndCount() {
+        service.apply(new AggregateChanges().change(null, BERLIN));
+
+        verify(aggregateRepository).apply(argThat(deltas -> deltas.size() == 2));
+        assertEquals(2.0, meterRegistry.counter("solarcheck.aggregates.updates").count());
+    }
+
+    @Test
+    void apply_withoutChanges_shouldNotTouchDatabase() {
+        service.apply(new AggregateChanges().change(BERLIN, BERLIN));
+
+        verifyNoInteractions(aggregateRepository);
+    }
+
+    @Test
+    void apply_databaseFailure_shouldBeCountedNotThrown() {
+        doThrow(new DataAccessResourceFailureException("down")).when(aggregateRepository).apply(anyCollection());
+
+        assertDoesNotThrow(() -> service.apply(new AggregateChanges().change(null, BERLIN)));
+        assertEquals(1.0, meterRegistry.counter("solarcheck.aggregates.failures").count());
+        assertEquals(0.0, meterRegistry.counter("solarcheck.aggregates.updates").count());
+    }
+
+    // ===================================
+    // Abfragen
+    // ===================================
+    @Test
+    void getAggregate_unknownPostcode_shouldBeEmpty() {
+        when(aggregateRepository.findById("POSTCODE:99999")).thenReturn(Optional.empty());
+
+        ResultAggregate aggregate = service.getAggregate(AggregateScope.POSTCODE, "99999");
+
+        assertEquals(0, aggregate.users());
+        assertEquals("99999", aggregate.key());
+    }
+
+    @Test
+    void getAggregate_invalidKey_shouldThrowWithoutQuery() {
+        assertThrows(IllegalArgumentException.class, () -> service.getAggregate(AggregateScope.POSTCODE, "101"));
+        assertThrows(IllegalArgumentException.class, () -> service.getAggregate(AggregateScope.REGION, "1a"));
+        verifyNoInteractions(aggregateRepository);
+    }
+
+    @Test
+    void leaderboard_shouldReadTopEntriesOfMetricIndex() {
+        service.leaderboard(AggregateScope.REGION, LeaderboardMetric.CO2_SAVINGS, 10);
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(aggregateRepository).findByScopeAndUsersGreaterThan(eq(AggregateScope.REGION), eq(0L), page.capture());
+        assertEquals(10, page.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Direction.DESC, "co2SavingsKgPerYear"), page.getValue().getSort());
+    }
+
+    @Test
+    void leaderboard_invalidLimit_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.leaderboard(AggregateScope.REGION, LeaderboardMetric.YEARLY_YIELD, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.leaderboard(AggregateScope.REGION, LeaderboardMetric.YEARLY_YIELD, 101));
+    }
+
+    // ===================================
+    // rebuild
+    // ===================================
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_shouldReplaceAggregatesFromStoredContributions() {
+        ResultContribution neighbour = new ResultContribution("10117", 800, 700, 280.0, 12.0);
+        when(userRepository.streamUsers(any(UserExportFilter.class), anyInt())).thenReturn(Stream.of(
+                new User("1", null, null, null, 1L, null, BERLIN),
+                new User("2", null, null, null, 1L, null, neighbour),
+                new User("3", null, null, null, 1L, null, null)));
+
+        assertEquals(3, service.rebuild());
+
+        ArgumentCaptor<Collection<AggregateDelta>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(aggregateRepository).replaceAll(deltas.capture());
+        verify(aggregateRepository, never()).deleteAll();
+        Map<String, Long> users = deltas.getValue().stream()
+                .collect(Collectors.toMap(AggregateDelta::id, AggregateDelta::users));
+        assertEquals(Map.of("POSTCODE:10115", 1L, "POSTCODE:10117", 1L, "REGION:10", 2L), users);
+    }
+}
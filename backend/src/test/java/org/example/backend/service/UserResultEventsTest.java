@@ -0,0 +1,113 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.model.User;
+import org.example.backend.model.UserResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserResultEventsTest {
+
+    private static final UserResult RESULT =
+            new UserResult(1020, 306, 2.0, 24027.1, 408.0, 0.7, 0.2, 2.8, 0.8, 93.3, 186.7, 16.5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserResultEvents events = new UserResultEvents(2, Duration.ofMinutes(30), meterRegistry);
+
+    private static User withResult(String userId, long version) {
+        return new User(userId, null, null, RESULT, version);
+    }
+
+    // ===================================
+    // publish / subscribe
+    // ===================================
+    @Test
+    void publish_shouldReachOnlySubscribersOfSameUser() {
+        StepVerifier.create(events.subscribe("1"))
+                .then(() -> {
+                    events.publish(withResult("2", 1L));
+                    events.publish(withResult("1", 1L));
+                })
+                .assertNext(user -> assertEquals("1", user.userId()))
+                .thenCancel()
+                .verify();
+
+        assertEquals(0, events.subscriberCount());
+    }
+
+    @Test
+    void publish_withoutResult_shouldBeIgnored() {
+        StepVerifier.create(events.subscribe("1"))
+                .then(() -> events.publish(new User("1", null, null, null, 1L)))
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void slowSubscriber_shouldKeepOnlyNewestEvents() {
+        StepVerifier.create(events.subscribe("1"), 0)
+                .then(() -> {
+                    for (long version = 1; version <= 5; version++) {
+                        events.publish(withResult("1", version));
+                    }
+                })
+                .thenRequest(5)
+                .assertNext(user -> assertEquals(4L, user.version()))
+                .assertNext(user -> assertEquals(5L, user.version()))
+                .thenCancel()
+                .verify();
+
+        assertEquals(3.0, meterRegistry.get("solarcheck.events.dropped").counter().count());
+    }
+
+    // ===================================
+    // updates
+    // ===================================
+    @Test
+    void updates_shouldStartWithCurrentAndSkipOlderVersions() {
+        StepVerifier.create(events.updates("1", Mono.just(withResult("1", 3L))))
+                .assertNext(user -> assertEquals(3L, user.version()))
+                .then(() -> {
+                    events.publish(withResult("1", 3L));
+                    events.publish(withResult("1", 2L));
+                    events.publish(withResult("1", 4L));
+                })
+                .assertNext(user -> assertEquals(4L, user.version()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void updates_withoutCurrentResult_shouldWaitForFirstCalculation() {
+        StepVerifier.create(events.updates("1", Mono.just(new User("1", null, null, null, 1L))))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(50))
+                .then(() -> events.publish(withResult("1", 2L)))
+                .assertNext(user -> assertEquals(2L, user.version()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void updates_shouldCompleteAfterMaxLifetime() {
+        UserResultEvents shortLived = new UserResultEvents(2, Duration.ofMillis(50), new SimpleMeterRegistry());
+
+        StepVerifier.create(shortLived.updates("1", Mono.empty()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, shortLived.subscriberCount());
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveBufferSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserResultEvents(0, Duration.ofMinutes(1), meterRegistry));
+    }
+}
@@ -1,14 +1,31 @@
 package org.example.backend.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.calculation.ConfigurationOptimizer;
+import org.example.backend.calculation.DegradationModel;
+import org.example.backend.calculation.SelfConsumptionModel;
+import org.example.backend.calculation.UncertaintyModel;
+import org.example.backend.calculation.YieldCalculator;
+import org.example.backend.calculation.YieldResultCache;
+import org.example.backend.calculation.YieldTable;
 import org.example.backend.model.*;
+import org.example.backend.repo.UserIds;
 import org.example.backend.repo.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -18,7 +35,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private ResultAggregateService resultAggregates;
+
     private UserService userService;
 
     // Konstanten für Tests (synchron mit UserService)
@@ -28,26 +47,56 @@ class UserServiceTest {
     private static final double EBIKE_KWH_PER_KM = 0.015;
     private static final double ECAR_KWH_PER_KM = 0.17;
 
+    private final RecalculationQueue recalculationQueue = new RecalculationQueue(true, 1000, new SimpleMeterRegistry());
+    private final UserResultEvents userResultEvents = new UserResultEvents(16, Duration.ofMinutes(30), new SimpleMeterRegistry());
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        YieldTable table = new YieldTable(DegradationModel.geometric(25, 0.005));
+        YieldCalculator yieldCalculator = new YieldCalculator(table, table, SelfConsumptionModel.standard());
+        userService = new UserService(userRepository, new YieldResultCache(
+                yieldCalculator,
+                new SimpleMeterRegistry(),
+                1000,
+                Duration.ofHours(1)
+        ), yieldCalculator, new ConfigurationOptimizer(yieldCalculator),
+                new UncertaintyModel(yieldCalculator, 10_000, 0.05, 0.05, 0.1, 42L),
+                recalculationQueue,
+                userResultEvents, resultAggregates);
+    }
+
+    // Bedingtes $set auf userResult: liefert den gespeicherten User mit erhöhter Version
+    private void stubResultWrite() {
+        when(userRepository.updateUserResult(anyString(), any(UserResult.class), any(), any()))
+                .thenAnswer(invocation -> userRepository.findById(invocation.getArgument(0))
+                        .map(user -> new User(
+                                user.userId(),
+                                user.userInfo(),
+                                user.userConditions(),
+                                invocation.getArgument(1),
+                                user.version() == null ? 1L : user.version() + 1
+                        )));
     }
 
     // ===================================
     // generateUser Tests
     // ===================================
     @Test
-    void generateUser_shouldSaveUserWithRandomId() {
+    void generateUser_shouldSaveUserWithTimeOrderedId() {
         when(userRepository.save(any(User.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         User result = userService.generateUser();
+        User next = userService.generateUser();
 
-        assertNotNull(result.userId());
+        assertEquals(7, UUID.fromString(result.userId()).version());
+        assertTrue(result.userId().compareTo(next.userId()) < 0);
+        assertEquals(UserIds.timestamp(result.userId()), result.createdAt());
         assertNull(result.userInfo());
         assertNull(result.userConditions());
         assertNull(result.userResult());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository, times(2)).save(any(User.class));
     }
 
     // ===================================
@@ -58,23 +107,36 @@ class UserServiceTest {
         UserConditions existingConditions = new UserConditions(
                 UserPvConfig.CHEAP_PV_COMBI, 30, Direction.SOUTH, 0.2
         );
-        User existing = new User("1", null, existingConditions, null);
-        when(userRepository.findById("1")).thenReturn(Optional.of(existing));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
         UserInfo newInfo = new UserInfo(30, 2, 4000);
+        User updatedInDb = new User("1", newInfo, existingConditions, null);
+        when(userRepository.updateUserInfo("1", newInfo, null)).thenReturn(Optional.of(updatedInDb));
 
         User updated = userService.updateUserinfo("1", newInfo);
 
         assertEquals(newInfo, updated.userInfo());
         assertEquals(existingConditions, updated.userConditions());
-        verify(userRepository).save(updated);
+        verify(userRepository).updateUserInfo("1", newInfo, null);
+        verify(userRepository, never()).findById(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void updateUserinfo_withCompleteInputs_shouldQueueRecalculation() {
+        UserConditions conditions = new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 30, Direction.SOUTH, 0.2);
+        UserInfo newInfo = new UserInfo(30, 2, 4000);
+        when(userRepository.updateUserInfo("1", newInfo, null))
+                .thenReturn(Optional.of(new User("1", newInfo, conditions, null)));
+
+        userService.updateUserinfo("1", newInfo);
+        userService.updateUserinfo("1", newInfo);
+
+        assertEquals(List.of("1"), recalculationQueue.drain(10));
     }
 
     @Test
     void updateUserinfo_shouldThrowIfUserNotFound() {
-        when(userRepository.findById("999")).thenReturn(Optional.empty());
         UserInfo newInfo = new UserInfo(30, 2, 4000);
+        when(userRepository.updateUserInfo("999", newInfo, null)).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> userService.updateUserinfo("999", newInfo));
     }
@@ -84,18 +146,19 @@ class UserServiceTest {
     // ===================================
     @Test
     void updateUserConditions_shouldSetConditions() {
-        User existing = new User("1", null, null, null);
         UserConditions conditions = new UserConditions(
                 UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.3
         );
+        User updatedInDb = new User("1", null, conditions, null);
+        when(userRepository.updateUserConditions("1", conditions, null)).thenReturn(Optional.of(updatedInDb));
 
-        when(userRepository.findById("1")).thenReturn(Optional.of(existing));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        User updated = userService.updateUserConditions("1", conditions);
+        User updated = userService.updateUserConditions("1", conditions, null);
 
         assertEquals(conditions, updated.userConditions());
-        verify(userRepository).save(updated);
+        verify(userRepository).updateUserConditions("1", conditions, null);
+        verify(userRepository, never()).save(any(User.class));
+        // ohne UserInfo noch nichts zu berechnen
+        assertEquals(0, recalculationQueue.size());
     }
 
     @Test
@@ -103,10 +166,10 @@ class UserServiceTest {
         UserConditions conditions = new UserConditions(
                 UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.3
         );
-        when(userRepository.findById("999")).thenReturn(Optional.empty());
+        when(userRepository.updateUserConditions("999", conditions, null)).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class,
-                () -> userService.updateUserConditions("999", conditions));
+                () -> userService.updateUserConditions("999", conditions, null));
     }
 
     // ===================================
@@ -121,7 +184,7 @@ class UserServiceTest {
         User user = new User("1", info, conditions, null);
 
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
 
         User updated = userService.calculateUserResult("1");
 
@@ -137,15 +200,41 @@ class UserServiceTest {
         double expectedCo2 = updated.userResult().userPossibleElectricityGeneration() * CO2_PER_KWH;
         assertEquals(expectedCo2, updated.userResult().userCo2SavingsKgPerYear(), 0.01);
 
-        // Eigenverbrauchsquote liegt in bekanntem Bereich (neue Werte: 0.20-0.70)
-        assertTrue(updated.userResult().userSelfConsumptionRate() >= 0.20);
-        assertTrue(updated.userResult().userSelfConsumptionRate() <= 0.70);
+        // Eigenverbrauchsquote ist ein Anteil des Ertrags
+        assertTrue(updated.userResult().userSelfConsumptionRate() > 0.0);
+        assertTrue(updated.userResult().userSelfConsumptionRate() <= 1.0);
 
         // Autarkiegrad ist zwischen 0 und 1
         assertTrue(updated.userResult().userAutarkyRate() >= 0.0);
         assertTrue(updated.userResult().userAutarkyRate() <= 1.0);
     }
 
+    @Test
+    void streamUserResult_shouldEmitNewlyStoredResult() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        when(userRepository.findById("1")).thenReturn(Optional.of(new User("1", info, conditions, null, 1L)));
+        stubResultWrite();
+
+        // noch kein Ergebnis gespeichert → erstes Ereignis erst nach der Berechnung
+        StepVerifier.create(userService.streamUserResult("1"))
+                .expectSubscription()
+                .then(() -> userService.calculateUserResult("1"))
+                .assertNext(user -> {
+                    assertEquals(2L, user.version());
+                    assertNotNull(user.userResult());
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void streamUserResult_shouldThrowIfUserNotFound() {
+        when(userRepository.findById("999")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> userService.streamUserResult("999"));
+    }
+
     @Test
     void calculateUserResult_shouldReturnZeroYieldWhenFullShade() {
         UserInfo info = new UserInfo(30, 2, 4000);
@@ -155,7 +244,7 @@ class UserServiceTest {
         User user = new User("1", info, conditions, null);
 
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
 
         User updated = userService.calculateUserResult("1");
 
@@ -165,8 +254,8 @@ class UserServiceTest {
         assertEquals(0.0, updated.userResult().userLifetimeYieldKwh());
         assertEquals(0.0, updated.userResult().userCo2SavingsKgPerYear());
 
-        // Bei ratio = 0 → pvToConsumptionRatio <= 0.3 → selfConsumptionRate = 0.70
-        assertEquals(0.70, updated.userResult().userSelfConsumptionRate());
+        // Ohne Ertrag kein Eigenverbrauch
+        assertEquals(0.0, updated.userResult().userSelfConsumptionRate());
         assertEquals(0.0, updated.userResult().userAutarkyRate());
     }
 
@@ -206,7 +295,7 @@ class UserServiceTest {
         );
         User cheapUser = new User("1", info, cheapConditions, null);
         when(userRepository.findById("1")).thenReturn(Optional.of(cheapUser));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
 
         User cheapResult = userService.calculateUserResult("1");
 
@@ -243,7 +332,7 @@ class UserServiceTest {
         User user = new User("1", info, conditions, null);
 
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
 
         User updated = userService.calculateUserResult("1");
         UserResult result = updated.userResult();
@@ -282,7 +371,7 @@ class UserServiceTest {
         );
         User southUser = new User("1", info, southConditions, null);
         when(userRepository.findById("1")).thenReturn(Optional.of(southUser));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
         User southResult = userService.calculateUserResult("1");
 
         // Test mit NORTH (schlechtester Fall: Faktor 0.5)
@@ -312,7 +401,7 @@ class UserServiceTest {
         );
         User negUser = new User("1", info, negativeAngle, null);
         when(userRepository.findById("1")).thenReturn(Optional.of(negUser));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
         User negResult = userService.calculateUserResult("1");
         assertTrue(negResult.userResult().userPossibleElectricityGeneration() > 0);
 
@@ -354,7 +443,7 @@ class UserServiceTest {
         User user = new User("1", info, conditions, null);
 
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
 
         User updated = userService.calculateUserResult("1");
 
@@ -375,34 +464,24 @@ class UserServiceTest {
     // ===================================
 
     @Test
-    void calculateUserResult_shouldCalculateSelfConsumptionRateBasedOnRatio() {
-        UserInfo info = new UserInfo(30, 2, 4000);
-        UserConditions conditions = new UserConditions(
-                UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
-        );
-        User user = new User("1", info, conditions, null);
+    void calculateUserResult_shouldLowerSelfConsumptionRateForLargerSystems() {
+        UserInfo info = new UserInfo(30, 2, 2500);
+        User cheap = new User("1", info, new UserConditions(UserPvConfig.CHEAP_PV_COMBI, 30, Direction.SOUTH, 0.0), null);
+        User premium = new User("2", info, new UserConditions(UserPvConfig.PREMIUM_PV_COMBI, 30, Direction.SOUTH, 0.0), null);
 
-        when(userRepository.findById("1")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findById("1")).thenReturn(Optional.of(cheap));
+        when(userRepository.findById("2")).thenReturn(Optional.of(premium));
+        stubResultWrite();
 
-        User updated = userService.calculateUserResult("1");
+        UserResult small = userService.calculateUserResult("1").userResult();
+        UserResult large = userService.calculateUserResult("2").userResult();
 
-        double generation = updated.userResult().userPossibleElectricityGeneration();
-        double ratio = generation / info.userElectricityConsumption();
-        double selfConsumption = updated.userResult().userSelfConsumptionRate();
-
-        // NEUE Eigenverbrauchsquote basiert auf ratio
-        if (ratio <= 0.3) {
-            assertEquals(0.70, selfConsumption, 0.001);
-        } else if (ratio <= 0.7) {
-            assertEquals(0.50, selfConsumption, 0.001);
-        } else if (ratio <= 1.0) {
-            assertEquals(0.35, selfConsumption, 0.001);
-        } else if (ratio <= 1.5) {
-            assertEquals(0.25, selfConsumption, 0.001);
-        } else {
-            assertEquals(0.20, selfConsumption, 0.001);
-        }
+        // Mehr Erzeugung: kleinerer Anteil wird selbst verbraucht, aber mehr Verbrauch gedeckt
+        assertTrue(large.userSelfConsumptionRate() < small.userSelfConsumptionRate());
+        assertTrue(large.userAutarkyRate() > small.userAutarkyRate());
+
+        // Eigenverbrauch in kWh ist für beide Kennzahlen derselbe
+        assertEquals(small.userSelfConsumptionRate() * 800, small.userAutarkyRate() * 2500, 1.0);
     }
 
     @Test
@@ -415,7 +494,7 @@ class UserServiceTest {
         User userLow = new User("1", infoLow, conditions, null);
 
         when(userRepository.findById("1")).thenReturn(Optional.of(userLow));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
 
         User updatedLow = userService.calculateUserResult("1");
 
@@ -443,11 +522,336 @@ class UserServiceTest {
         User user = new User("1", info, conditions, null);
 
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubResultWrite();
 
         User updated = userService.calculateUserResult("1");
 
         // Bei Verbrauch = 0 → Autarkiegrad = 0
         assertEquals(0.0, updated.userResult().userAutarkyRate(), 0.001);
     }
-}
\ No newline at end of file
+
+    // ===================================
+    // previewUserResult Tests
+    // ===================================
+
+    @Test
+    void previewUserResult_shouldCalculateWithoutRepositoryAccess() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(
+                UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
+        );
+        User user = new User("1", info, conditions, null);
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+        stubResultWrite();
+        UserResult persisted = userService.calculateUserResult("1").userResult();
+        clearInvocations(userRepository);
+
+        UserResult preview = userService.previewUserResult(info, conditions);
+
+        assertEquals(persisted, preview);
+        verifyNoInteractions(userRepository);
+    }
+
+    // ===================================
+    // optimizeUserConditions Tests
+    // ===================================
+
+    @Test
+    void optimizeUserConditions_shouldReturnParetoFrontWithoutRepositoryAccess() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+
+        OptimizationResult result = userService.optimizeUserConditions(info, OptimizationConstraints.all());
+
+        assertFalse(result.paretoFront().isEmpty());
+        for (OptimizationOption option : result.paretoFront()) {
+            assertEquals(userService.previewUserResult(info, option.userConditions()), option.userResult());
+        }
+        verifyNoInteractions(userRepository);
+    }
+
+    // ===================================
+    // estimateUncertainty Tests
+    // ===================================
+
+    @Test
+    void estimateUncertainty_shouldReadStoredUserWithoutWriting() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        when(userRepository.findById("1")).thenReturn(Optional.of(new User("1", info, conditions, null)));
+
+        UncertaintyResult result = userService.estimateUncertainty("1", 1_000);
+
+        assertEquals(1_000, result.samples());
+        assertEquals(userService.previewUncertainty(info, conditions, 1_000), result);
+        verify(userRepository, never()).updateUserResult(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void estimateUncertainty_shouldThrowWhenConditionsMissing() {
+        when(userRepository.findById("1")).thenReturn(Optional.of(new User("1", new UserInfo(30, 2, 4000), null, null)));
+
+        assertThrows(IllegalStateException.class, () -> userService.estimateUncertainty("1", null));
+    }
+
+    // ===================================
+    // exportUsers Tests
+    // ===================================
+    @Test
+    void exportUsers_shouldConsumeAndCloseCursor() {
+        UserExportFilter filter = UserExportFilter.none();
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamUsers(filter, 1000)).thenReturn(Stream.of(
+                new User("1", null, null, null),
+                new User("2", null, null, null)
+        ).onClose(() -> closed.set(true)));
+
+        List<String> exported = new ArrayList<>();
+        userService.exportUsers(filter, user -> exported.add(user.userId()));
+
+        assertEquals(List.of("1", "2"), exported);
+        assertTrue(closed.get());
+    }
+
+    // ===================================
+    // calculateUserResults (Batch) Tests
+    // ===================================
+
+    @Test
+    void calculateUserResults_shouldCalculateAndSaveAllInOneBatch() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(
+                UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
+        );
+        User user1 = new User("1", info, conditions, null, 4L);
+        User user2 = new User("2", info, conditions, null, 7L);
+
+        when(userRepository.findAllById(List.of("1", "2"))).thenReturn(List.of(user1, user2));
+        when(userRepository.updateUserResults(anyList())).thenReturn(2);
+
+        List<UserBatchOutcome> outcomes = new ArrayList<>();
+        userService.calculateUserResults(List.of("1", "2"), outcomes::addAll);
+
+        assertEquals(2, outcomes.size());
+        assertTrue(outcomes.stream().allMatch(UserBatchOutcome::isSuccess));
+        assertEquals("1", outcomes.get(0).userId());
+        assertEquals("2", outcomes.get(1).userId());
+        assertNotNull(outcomes.get(0).user().userResult());
+        assertEquals(5L, outcomes.get(0).user().version());
+        assertEquals(8L, outcomes.get(1).user().version());
+
+        // Ergebnis identisch zur Einzelberechnung
+        when(userRepository.findById("1")).thenReturn(Optional.of(user1));
+        stubResultWrite();
+        User single = userService.calculateUserResult("1");
+        assertEquals(single.userResult(), outcomes.get(0).user().userResult());
+
+        // Geschrieben wird gegen die geladene Version
+        ArgumentCaptor<List<User>> written = ArgumentCaptor.captor();
+        verify(userRepository).updateUserResults(written.capture());
+        assertEquals(List.of(4L, 7L), written.getValue().stream().map(User::version).toList());
+        verify(userRepository).findAllById(List.of("1", "2"));
+        verify(userRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    void calculateUserResults_shouldReportMissingAndIncompleteUsers() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(
+                UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0
+        );
+        User complete = new User("1", info, conditions, null, 0L);
+        User withoutConditions = new User("2", info, null, null, 0L);
+
+        when(userRepository.findAllById(List.of("1", "2", "999")))
+                .thenReturn(List.of(complete, withoutConditions));
+        when(userRepository.updateUserResults(anyList())).thenReturn(1);
+
+        List<UserBatchOutcome> outcomes = new ArrayList<>();
+        userService.calculateUserResults(List.of("1", "2", "999", "1"), outcomes::addAll);
+
+        // Doppelte IDs werden nur einmal berechnet
+        assertEquals(3, outcomes.size());
+        assertTrue(outcomes.get(0).isSuccess());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertEquals("UserConditions fehlen.", outcomes.get(1).error());
+        assertFalse(outcomes.get(2).isSuccess());
+        assertTrue(outcomes.get(2).error().contains("999"));
+
+        verify(userRepository).updateUserResults(argThat(users -> users.size() == 1));
+    }
+
+    @Test
+    void calculateUserResults_shouldRecalculateUsersChangedInBetween() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions south = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        UserConditions north = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.NORTH, 0.0);
+        User stable = new User("1", info, south, null, 1L);
+        User changing = new User("2", info, south, null, 1L);
+        User changed = new User("2", info, north, null, 2L);
+
+        UserResult stableResult = userService.previewUserResult(info, south);
+        User stableStored = new User("1", info, south, stableResult, 2L);
+
+        // 1. Runde: User 2 wurde parallel geändert → nur 1 Treffer
+        when(userRepository.findAllById(List.of("1", "2")))
+                .thenReturn(List.of(stable, changing))
+                .thenReturn(List.of(stableStored, changed));
+        when(userRepository.findAllById(List.of("2"))).thenReturn(List.of(changed));
+        when(userRepository.updateUserResults(anyList())).thenReturn(1, 1);
+
+        List<UserBatchOutcome> outcomes = new ArrayList<>();
+        userService.calculateUserResults(List.of("1", "2"), outcomes::addAll);
+
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals(stableResult, outcomes.get(0).user().userResult());
+        assertTrue(outcomes.get(1).isSuccess());
+        assertEquals(north, outcomes.get(1).user().userConditions());
+        assertEquals(userService.previewUserResult(info, north), outcomes.get(1).user().userResult());
+        verify(userRepository, times(2)).updateUserResults(anyList());
+    }
+
+    @Test
+    void calculateUserResults_shouldSplitIntoBatches() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            ids.add(String.valueOf(i));
+        }
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        List<Integer> batchSizes = new ArrayList<>();
+        userService.calculateUserResults(ids, outcomes -> batchSizes.add(outcomes.size()));
+
+        assertEquals(List.of(500, 500, 200), batchSizes);
+        verify(userRepository, times(3)).findAllById(anyIterable());
+    }
+
+    // ===================================
+    // Optimistic Locking Tests
+    // ===================================
+
+    @Test
+    void calculateUserResult_shouldRetryWhenUserChangedInBetween() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions south = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        UserConditions north = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.NORTH, 0.0);
+
+        when(userRepository.findById("1"))
+                .thenReturn(Optional.of(new User("1", info, south, null, 1L)))
+                .thenReturn(Optional.of(new User("1", info, north, null, 2L)));
+        when(userRepository.updateUserResult(eq("1"), any(UserResult.class), any(), eq(1L))).thenReturn(Optional.empty());
+        when(userRepository.updateUserResult(eq("1"), any(UserResult.class), any(), eq(2L)))
+                .thenAnswer(invocation -> Optional.of(new User("1", info, north, invocation.getArgument(1), 3L)));
+
+        User updated = userService.calculateUserResult("1");
+
+        // Ergebnis basiert auf den neuen Bedingungen
+        assertEquals(3L, updated.version());
+        assertEquals(userService.previewUserResult(info, north), updated.userResult());
+        verify(userRepository, times(2)).findById("1");
+    }
+
+    @Test
+    void calculateUserResult_shouldGiveUpAfterMaxAttempts() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        when(userRepository.findById("1")).thenReturn(Optional.of(new User("1", info, conditions, null, 1L)));
+        when(userRepository.updateUserResult(anyString(), any(UserResult.class), any(), any())).thenReturn(Optional.empty());
+
+        OptimisticLockingFailureException ex =
+                assertThrows(OptimisticLockingFailureException.class, () -> userService.calculateUserResult("1"));
+        assertFalse(ex instanceof PreconditionFailedException);
+        verify(userRepository, times(3)).updateUserResult(anyString(), any(UserResult.class), any(), any());
+    }
+
+    @Test
+    void calculateUserResult_shouldFailWhenExpectedVersionIsStale() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        when(userRepository.findById("1")).thenReturn(Optional.of(new User("1", info, conditions, null, 5L)));
+
+        assertThrows(PreconditionFailedException.class, () -> userService.calculateUserResult("1", 4L));
+        verify(userRepository, never()).updateUserResult(anyString(), any(UserResult.class), any(), any());
+    }
+
+    // ===================================
+    // Aggregate (PLZ/Region)
+    // ===================================
+    @Test
+    void calculateUserResult_shouldMoveContributionToNewPostcode() {
+        UserInfo info = new UserInfo(30, 2, 4000, "14467");
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        ResultContribution before = new ResultContribution("10115", 1600, 1500, 600.0, 9.5);
+        when(userRepository.findById("1")).thenReturn(Optional.of(
+                new User("1", info, conditions, null, 2L, null, before)));
+        when(userRepository.updateUserResult(eq("1"), any(UserResult.class), any(), eq(2L)))
+                .thenAnswer(invocation -> Optional.of(new User("1", info, conditions, invocation.getArgument(1), 3L,
+                        null, invocation.getArgument(2))));
+
+        User updated = userService.calculateUserResult("1");
+
+        ResultContribution after = updated.resultContribution();
+        assertEquals("14467", after.postcode());
+        assertEquals(updated.userResult().userPossibleElectricityGeneration(), after.yearlyYieldKwh());
+        ArgumentCaptor<AggregateChanges> changes = ArgumentCaptor.forClass(AggregateChanges.class);
+        verify(resultAggregates).apply(changes.capture());
+        assertEquals(List.of("POSTCODE:10115", "REGION:10", "POSTCODE:14467", "REGION:14"),
+                changes.getValue().deltas().stream().map(AggregateDelta::id).toList());
+    }
+
+    @Test
+    void calculateUserResults_shouldApplyOneDeltaPerAggregate() {
+        UserInfo info = new UserInfo(30, 2, 4000, "10115");
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        when(userRepository.findAllById(List.of("1", "2"))).thenReturn(List.of(
+                new User("1", info, conditions, null, 1L),
+                new User("2", info, conditions, null, 1L)));
+        when(userRepository.updateUserResults(anyList())).thenReturn(2);
+
+        userService.calculateUserResults(List.of("1", "2"), outcomes -> { });
+
+        ArgumentCaptor<AggregateChanges> changes = ArgumentCaptor.forClass(AggregateChanges.class);
+        verify(resultAggregates).apply(changes.capture());
+        assertEquals(List.of(2L, 2L), changes.getValue().deltas().stream().map(AggregateDelta::users).toList());
+    }
+
+    // Paralleler Schreiber hat genau dieses Ergebnis gespeichert und die Aggregate schon geändert
+    @Test
+    void calculateUserResults_alreadyStoredResult_shouldNotCountAggregatesTwice() {
+        UserInfo info = new UserInfo(30, 2, 4000, "10115");
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        List<User> written = new ArrayList<>();
+        when(userRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(new User("1", info, conditions, null, 1L)))
+                .thenAnswer(invocation -> written);
+        when(userRepository.updateUserResults(anyList())).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return 0;
+        });
+
+        List<UserBatchOutcome> outcomes = new ArrayList<>();
+        userService.calculateUserResults(List.of("1"), outcomes::addAll);
+
+        assertTrue(outcomes.get(0).isSuccess());
+        ArgumentCaptor<AggregateChanges> changes = ArgumentCaptor.forClass(AggregateChanges.class);
+        verify(resultAggregates).apply(changes.capture());
+        assertTrue(changes.getValue().isEmpty());
+    }
+
+    @Test
+    void updateUserinfo_shouldReportPreconditionFailedForStaleVersion() {
+        UserInfo info = new UserInfo(30, 2, 4000);
+        when(userRepository.updateUserInfo("1", info, 3L)).thenReturn(Optional.empty());
+        when(userRepository.existsById("1")).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUserinfo("1", info, 3L));
+    }
+
+    @Test
+    void updateUserConditions_shouldReportNotFoundForUnknownUserWithVersion() {
+        UserConditions conditions = new UserConditions(UserPvConfig.MEDIUM_PV_COMBI, 30, Direction.SOUTH, 0.0);
+        when(userRepository.updateUserConditions("999", conditions, 3L)).thenReturn(Optional.empty());
+        when(userRepository.existsById("999")).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.updateUserConditions("999", conditions, 3L));
+    }
+}
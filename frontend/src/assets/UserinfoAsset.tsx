@@ -5,6 +5,7 @@ export interface UserInfoFormData {
     userRateOfElectricity: number | "";
     userHouseholdNumber: number | "";
     userElectricityConsumption: number | "";
+    postcode: string;
 }
 
 interface UserinfoAssetProps {
@@ -18,7 +19,8 @@ interface UserinfoAssetProps {
 const TOOLTIPS = {
     electricity: "Trage hier den Preis ein, den du aktuell pro kWh zahlst (typisch in Deutschland: 30 bis 40 ct).",
     household: "Anzahl der Personen, die dauerhaft im Haushalt leben",
-    consumption: "Trage hier deinen jährlichen Stromverbrauch in kWh ein (Richtwerte: 1 Person 2.000, 2 Personen 3.000, 4 Personen 4.500)."
+    consumption: "Trage hier deinen jährlichen Stromverbrauch in kWh ein (Richtwerte: 1 Person 2.000, 2 Personen 3.000, 4 Personen 4.500).",
+    postcode: "Optional: Deine Postleitzahl fließt anonym in die Statistik je PLZ und Region ein."
 };
 
 export default function UserinfoAsset({
@@ -29,13 +31,14 @@ export default function UserinfoAsset({
                                           isLoading = false,
                                       }: UserinfoAssetProps) {
     const [submitted, setSubmitted] = useState(false);
-    const {userRateOfElectricity = "", userHouseholdNumber = "", userElectricityConsumption = ""} = formData;
+    const {userRateOfElectricity = "", userHouseholdNumber = "", userElectricityConsumption = "", postcode = ""} = formData;
 
     const isRateValid = userRateOfElectricity !== "" && userRateOfElectricity >= 1 && userRateOfElectricity <= 500;
     const isHouseholdValid = userHouseholdNumber !== "" && userHouseholdNumber >= 1 && userHouseholdNumber <= 20;
     const isConsumptionValid =
         userElectricityConsumption !== "" && userElectricityConsumption >= 100 && userElectricityConsumption <= 100000;
-    const isValid = isRateValid && isHouseholdValid && isConsumptionValid;
+    const isPostcodeValid = postcode === "" || /^\d{5}$/.test(postcode);
+    const isValid = isRateValid && isHouseholdValid && isConsumptionValid && isPostcodeValid;
 
     const handleSubmit = (e: FormEvent<HTMLFormElement>) => {
         e.preventDefault();
@@ -107,6 +110,25 @@ export default function UserinfoAsset({
                     className={getInputClass(isConsumptionValid)}
                 />
 
+                <label htmlFor="postcode" className="FormAndResultLabel">
+                    Postleitzahl (optional){' '}
+                    <span className="TooltipIcon" title={TOOLTIPS.postcode}>
+                        ℹ️
+                    </span>
+                </label>
+                <input
+                    id="postcode"
+                    type="text"
+                    name="postcode"
+                    value={postcode}
+                    onChange={onChange}
+                    inputMode="numeric"
+                    pattern="\d{5}"
+                    maxLength={5}
+                    placeholder="z.B. 10115"
+                    className={getInputClass(isPostcodeValid)}
+                />
+
                 {submitted && !isValid && (
                     <p className="FormAndResultError" role="alert">
                         ⚠️ Bitte fülle alle Felder korrekt aus.
@@ -0,0 +1,6 @@
+export interface BatteryConfigDTO {
+    capacityKwh: number;          // 0,1-50
+    roundTripEfficiency: number;  // 0,5-1
+    maxChargeKw: number;          // 0,1-20
+    maxDischargeKw: number;       // 0,1-20
+}
@@ -0,0 +1,9 @@
+export interface BatteryResultDTO {
+    selfConsumptionRate: number;        // 0–1
+    autarkyRate: number;                // 0–1
+    additionalSelfConsumedKwh: number;
+    batteryCostEur: number;
+    amortisationTime: number;
+    pvOnlyAmortisationTime: number;     // no battery, same basis as amortisationTime
+    fullCyclesPerYear: number;
+}
@@ -0,0 +1,9 @@
+export interface PvProductDTO {
+    code: string;
+    moduleCount: number;
+    moduleWatt: number;
+    inverterWatt: number;
+    installationCostEur: number;
+    clippingFactor: number;             // 0–1
+    totalModuleKwp: number;
+}
@@ -1,3 +1,4 @@
+import type { BatteryConfigDTO } from "./BatteryConfigDTO";
 import type { Direction } from "./Direction";
 import type { UserPvConfig } from "./UserPvConfig";
 
@@ -6,4 +7,7 @@ export interface UserConditionsDTO {
     montageAngle: number;         // 0-90
     montageDirection: Direction;  //
     montageShadeFactor: number;   // 0-1
+    latitude?: number | null;     // optional, -90 bis 90
+    longitude?: number | null;    // optional, -180 bis 180
+    battery?: BatteryConfigDTO | null; // optional, ohne Speicher null
 }
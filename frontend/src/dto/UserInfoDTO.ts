@@ -2,4 +2,5 @@ export interface UserInfoDTO {
     userRateOfElectricity: number;
     userHouseholdNumber: number;
     userElectricityConsumption: number;
+    postcode?: string;
 }
\ No newline at end of file
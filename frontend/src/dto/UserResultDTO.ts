@@ -1,3 +1,5 @@
+import type { BatteryResultDTO } from "./BatteryResultDTO";
+
 export interface UserResultDTO {
     userPossibleElectricityGeneration: number;
     userAmountOfPossibleSavings: number;
@@ -11,4 +13,5 @@ export interface UserResultDTO {
     userDailyEBikeRangeKm: number;
     userDailyECarRangeKm: number;
     userHomeofficeCoverageRate: number; // 0–1
+    userBatteryResult?: BatteryResultDTO | null; // nur mit Speicher
 }
\ No newline at end of file
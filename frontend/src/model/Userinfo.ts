@@ -2,4 +2,5 @@ export interface UserInfo {
     userRateOfElectricity: number;
     userHouseholdNumber: number;
     userElectricityConsumption: number;
+    postcode?: string;
 }
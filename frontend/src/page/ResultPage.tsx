@@ -1,5 +1,7 @@
+import { useEffect, useState } from "react";
 import { useLocation, useNavigate } from "react-router-dom";
 import type { UserResponseDTO } from "../dto/UserResponseDTO";
+import type { UserResultDTO } from "../dto/UserResultDTO";
 import ResultAsset from "../assets/ResultAsset";
 
 export default function ResultPage() {
@@ -7,7 +9,22 @@ export default function ResultPage() {
     const navigate = useNavigate();
 
     // User-Daten aus location.state extrahieren, Fallback auf undefined
-    const { user } = (location.state as { user: UserResponseDTO } | null) || {};
+    const { user: initialUser } = (location.state as { user: UserResponseDTO } | null) || {};
+    const [user, setUser] = useState<UserResponseDTO | undefined>(initialUser);
+    const userId = initialUser?.userId;
+
+    // Live-Updates: neue Berechnungen (z.B. aus der Nachberechnung im Backend) per Server-Sent Events übernehmen
+    useEffect(() => {
+        if (!userId) {
+            return;
+        }
+        const events = new EventSource(`/api/home/${userId}/events`);
+        events.addEventListener("result", (event) => {
+            const userResult = JSON.parse((event as MessageEvent<string>).data) as UserResultDTO;
+            setUser((current) => (current ? { ...current, userResult } : current));
+        });
+        return () => events.close();
+    }, [userId]);
 
     const goBack = () => {
         if (user) {
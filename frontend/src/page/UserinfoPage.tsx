@@ -14,6 +14,7 @@ export default function UserinfoPage() {
         userRateOfElectricity: initialData?.userRateOfElectricity ?? "",
         userHouseholdNumber: initialData?.userHouseholdNumber ?? "",
         userElectricityConsumption: initialData?.userElectricityConsumption ?? "",
+        postcode: initialData?.postcode ?? "",
     });
 
     const [message, setMessage] = useState("");
@@ -23,7 +24,8 @@ export default function UserinfoPage() {
         const { name, value } = e.target;
         setFormData(prev => ({
             ...prev,
-            [name]: value === "" ? "" : Number(value),
+            // Keep the postcode as text (leading zeros, e.g. 01067)
+            [name]: name === "postcode" ? value.trim() : value === "" ? "" : Number(value),
         }));
     };
 
@@ -77,6 +79,7 @@ export default function UserinfoPage() {
             userRateOfElectricity: userRateOfElectricity,
             userHouseholdNumber: userHouseholdNumber,
             userElectricityConsumption: userElectricityConsumption,
+            ...(formData.postcode !== "" && { postcode: formData.postcode }),
         };
 
         setIsLoading(true);